@@ -0,0 +1,71 @@
+package frc.team449.benchmarks;
+
+import frc.team449.other.DebouncerEx;
+import frc.team449.other.TimedDebouncerEx;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures updating a full {@link DebouncerEx} with a bouncy signal and reading it back, and the
+ * same for a {@link TimedDebouncerEx} whose window holds as many 20 ms loops.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DebouncerBenchmark {
+
+  /** The length of a loop, in nanoseconds. */
+  private static final long LOOP_NANOS = 20_000_000;
+
+  /** The number of samples the debouncer keeps. */
+  @Param({"5", "50", "5000"})
+  public int bufferSize;
+
+  private DebouncerEx debouncer;
+  private TimedDebouncerEx timedDebouncer;
+  /** The time of the last sample given to the timed debouncer, in nanoseconds. */
+  private long timeNanos;
+  /** The number of samples given so far, used to make up the next one. */
+  private int samples;
+
+  @Setup
+  public void setup() {
+    this.debouncer = new DebouncerEx(this.bufferSize);
+    this.timedDebouncer = new TimedDebouncerEx(this.bufferSize * LOOP_NANOS / 1e9);
+    for (int i = 0; i < this.bufferSize; i++) {
+      final boolean sample = this.nextSample();
+      this.debouncer.update(sample);
+      this.timedUpdate(sample);
+    }
+  }
+
+  /** @return A signal that's mostly high, with a glitch every few samples. */
+  private boolean nextSample() {
+    return this.samples++ % 7 != 0;
+  }
+
+  /** Gives the timed debouncer a sample one loop after the last one. */
+  private void timedUpdate(final boolean sample) {
+    this.timeNanos += LOOP_NANOS;
+    this.timedDebouncer.update(sample, this.timeNanos);
+  }
+
+  @Benchmark
+  public boolean updateAndGet() {
+    this.debouncer.update(this.nextSample());
+    return this.debouncer.get();
+  }
+
+  @Benchmark
+  public boolean timedUpdateAndGet() {
+    this.timedUpdate(this.nextSample());
+    return this.timedDebouncer.get();
+  }
+}
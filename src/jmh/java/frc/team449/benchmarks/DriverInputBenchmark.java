@@ -0,0 +1,86 @@
+package frc.team449.benchmarks;
+
+import frc.team449.generalInterfaces.doubleUnaryOperator.Polynomial;
+import frc.team449.jacksonWrappers.MappedJoystick;
+import frc.team449.javaMaps.builders.ThrottlePolynomialBuilder;
+import frc.team449.oi.throttles.Throttle;
+import frc.team449.oi.throttles.ThrottlePolynomial;
+import frc.team449.oi.throttles.ThrottleSum;
+import frc.team449.oi.unidirectional.arcade.OIArcadeWithDPad;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures reading the driver's sticks once per loop: one {@link ThrottlePolynomial} on its own,
+ * and the whole {@link OIArcadeWithDPad} update, set up the same way as the drive OI in the maps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DriverInputBenchmark {
+
+  /** The port the simulated drive joystick is on. */
+  private static final int PORT = 1;
+
+  private ThrottlePolynomial throttle;
+  private OIArcadeWithDPad oi;
+
+  @Setup
+  public void setup() {
+    SimulatedHal.initialize();
+    final MappedJoystick stick = new MappedJoystick(PORT);
+    final ThrottlePolynomialBuilder prototype =
+        new ThrottlePolynomialBuilder().stick(stick).smoothingTimeSecs(0.04).scale(0.7);
+    this.throttle =
+        prototype
+            .axis(0)
+            .deadband(0.08)
+            .inverted(false)
+            .polynomial(new Polynomial(Map.of(1., 0.009, 2., 0.002), null))
+            .build();
+    final Throttle fwdThrottle =
+        new ThrottleSum(
+            new Throttle[] {
+              prototype
+                  .axis(3)
+                  .deadband(0.05)
+                  .inverted(true)
+                  .polynomial(new Polynomial(Map.of(1., 0.01, 2., 0.06), null))
+                  .build(),
+              prototype.axis(2).inverted(false).build()
+            });
+    this.oi =
+        new OIArcadeWithDPad(
+            this.throttle,
+            fwdThrottle,
+            0.1,
+            false,
+            stick,
+            new Polynomial(Map.of(0.5, 0.4, 0., 0.2), null),
+            0.7,
+            true);
+
+    // Driving forwards while turning, so every branch that scales the rotation is taken
+    SimulatedHal.setAxis(PORT, 0, 0.4);
+    SimulatedHal.setAxis(PORT, 2, 0.3);
+    SimulatedHal.setAxis(PORT, 3, -0.6);
+  }
+
+  @Benchmark
+  public double throttlePolynomial() {
+    return this.throttle.getValue();
+  }
+
+  @Benchmark
+  public double[] arcadeUpdate() {
+    this.oi.update();
+    return this.oi.getLeftRightOutputCached();
+  }
+}
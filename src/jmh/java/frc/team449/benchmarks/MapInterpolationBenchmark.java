@@ -0,0 +1,119 @@
+package frc.team449.benchmarks;
+
+import frc.team449.components.MapInterpolationComponent;
+import frc.team449.components.MapInterpolationComponent.InterpolationMethod;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link MapInterpolationComponent} against the TreeMap-backed implementation it replaced,
+ * for a shooter-style table queried with a slowly changing distance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapInterpolationBenchmark {
+
+  /** The number of queries per invocation. */
+  private static final int SAMPLES = 1024;
+
+  @Param({"LINEAR", "CUBIC"})
+  public InterpolationMethod method;
+
+  /** The number of entries in the table. */
+  @Param({"8", "64"})
+  public int tableSize;
+
+  private MapInterpolationComponent arrays;
+  private TreeMapInterpolation treeMap;
+  private final double[] inputs = new double[SAMPLES];
+
+  @Setup
+  public void setup() {
+    final List<Map.Entry<Double, Double>> entries = new ArrayList<>();
+    for (int i = 0; i < this.tableSize; i++) {
+      entries.add(new AbstractMap.SimpleEntry<>(1. + i * 0.5, 3000. + 40 * i + 3 * i * i));
+    }
+    this.arrays = new MapInterpolationComponent(this.method, entries);
+    this.treeMap = new TreeMapInterpolation(this.method, entries);
+    // A robot driving slowly towards and away from the goal
+    final double maxKey = 1. + (this.tableSize - 1) * 0.5;
+    for (int i = 0; i < SAMPLES; i++) {
+      this.inputs[i] = 1. + (maxKey - 1.) * (0.5 + 0.49 * Math.sin(i * 0.01));
+    }
+  }
+
+  @Benchmark
+  public double treeMap() {
+    double sum = 0;
+    for (final double x : this.inputs) {
+      sum += this.treeMap.calculate(x);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double arrays() {
+    double sum = 0;
+    for (final double x : this.inputs) {
+      sum += this.arrays.calculate(x);
+    }
+    return sum;
+  }
+
+  /** The TreeMap-backed implementation MapInterpolationComponent used to have. */
+  private static class TreeMapInterpolation {
+    private final TreeMap<Double, Double> LUT = new TreeMap<>();
+    private final InterpolationMethod currentMethod;
+    private Map.Entry<Double, Double> upper;
+    private Map.Entry<Double, Double> lower;
+
+    TreeMapInterpolation(InterpolationMethod method, List<Map.Entry<Double, Double>> entries) {
+      currentMethod = method;
+      for (Map.Entry<Double, Double> entry : entries) {
+        LUT.put(entry.getKey(), entry.getValue());
+      }
+    }
+
+    double calculate(double x) {
+      if (LUT.containsKey(x)) {
+        return LUT.get(x);
+      }
+      lower = LUT.floorEntry(x) != null ? LUT.floorEntry(x) : new AbstractMap.SimpleEntry<>(0., 0.);
+      upper =
+          LUT.ceilingEntry(x) != null ? LUT.ceilingEntry(x) : new AbstractMap.SimpleEntry<>(0., 0.);
+      double ratio = (x - lower.getKey()) / (upper.getKey() - lower.getKey());
+      return currentMethod == InterpolationMethod.CUBIC ? cubic(ratio) : linear(ratio);
+    }
+
+    private double linear(double x) {
+      return lower.getValue() * (1 - x) + upper.getValue() * x;
+    }
+
+    private double cubic(double x) {
+      Map.Entry<Double, Double> highUpper = LUT.higherEntry(upper.getKey());
+      Map.Entry<Double, Double> lowLower = LUT.lowerEntry(lower.getKey());
+      if (highUpper == null || lowLower == null) {
+        return linear(x);
+      }
+      double c1, c2, c3, c4;
+      c1 = highUpper.getValue() + lower.getValue() - upper.getValue() - lowLower.getValue();
+      c2 = lowLower.getValue() - lower.getValue() - c1;
+      c3 = upper.getValue() - lowLower.getValue();
+      c4 = lower.getValue();
+      return (c1 * Math.pow(x, 3) + c2 * Math.pow(x, 2) + c3 * x + c4);
+    }
+  }
+}
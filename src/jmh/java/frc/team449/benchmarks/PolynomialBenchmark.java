@@ -0,0 +1,85 @@
+package frc.team449.benchmarks;
+
+import frc.team449.generalInterfaces.doubleUnaryOperator.Polynomial;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares evaluating a throttle polynomial by iterating a map and calling Math.pow on every term
+ * (what {@link Polynomial} used to do) against the compiled form and the lookup table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PolynomialBenchmark {
+
+  /** The number of samples to evaluate per invocation, spread over [-1, 1]. */
+  private static final int SAMPLES = 1024;
+
+  /** The terms to benchmark: "integer" only has integer powers, "mixed" has a square root too. */
+  @Param({"integer", "mixed"})
+  public String terms;
+
+  private Map<Double, Double> map;
+  private Polynomial compiled;
+  private Polynomial lookupTable;
+  private final double[] inputs = new double[SAMPLES];
+
+  @Setup
+  public void setup() {
+    this.map = new HashMap<>();
+    this.map.put(1., 0.01);
+    this.map.put(2., 0.06);
+    this.map.put(3., 0.02);
+    if (this.terms.equals("mixed")) {
+      this.map.put(0.5, 0.4);
+    }
+    this.compiled = new Polynomial(this.map, 1.);
+    this.lookupTable = new Polynomial(this.map, 1., 256);
+    this.map = new HashMap<>(this.compiled.getPowerToCoefficientMap());
+    for (int i = 0; i < SAMPLES; i++) {
+      this.inputs[i] = -1 + 2. * i / (SAMPLES - 1);
+    }
+  }
+
+  @Benchmark
+  public double hashMapPow() {
+    double sum = 0;
+    for (final double x : this.inputs) {
+      final double abs = Math.abs(x);
+      double value = 0;
+      for (final Map.Entry<Double, Double> term : this.map.entrySet()) {
+        value += Math.pow(abs, term.getKey()) * term.getValue();
+      }
+      sum += value * Math.signum(x);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double compiled() {
+    double sum = 0;
+    for (final double x : this.inputs) {
+      sum += this.compiled.applyAsDouble(x);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double lookupTable() {
+    double sum = 0;
+    for (final double x : this.inputs) {
+      sum += this.lookupTable.applyAsDouble(x);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,66 @@
+package frc.team449.benchmarks;
+
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
+import frc.team449.javaMaps.Bunnybot2021Map;
+import frc.team449.other.HeadlessSimulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the Bunnybot 2021 map in simulated teleop, with the driver holding the sticks: just the
+ * {@link CommandScheduler}, and the whole of {@link frc.team449.Robot#robotPeriodic()}.
+ *
+ * <p>The sticks are moved through the simulated driver station, which the map's joysticks read
+ * from, and setup checks that the drive is really moving so a robot sitting still isn't measured
+ * by mistake.
+ *
+ * <p>A map can only be created once per JVM, which is fine since JMH forks a new one for each
+ * benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RobotLoopBenchmark {
+
+  /** The length of a loop, in seconds. */
+  private static final double PERIOD_SECONDS = 0.02;
+
+  private HeadlessSimulation simulation;
+
+  @Setup
+  public void setup() {
+    this.simulation = new HeadlessSimulation(Bunnybot2021Map::createRobotMap, PERIOD_SECONDS);
+    this.simulation.startTeleop();
+    this.simulation.setAxis(Bunnybot2021Map.DRIVE_JOYSTICK_PORT, 0, 0.3);
+    this.simulation.setAxis(Bunnybot2021Map.DRIVE_JOYSTICK_PORT, 3, -0.7);
+    // Let the default commands get scheduled and the drive get up to speed
+    this.simulation.runFor(1);
+
+    final DriveUnidirectionalWithGyro drive =
+        this.simulation.getRobot().getRobotMap().getSubsystems().stream()
+            .filter(DriveUnidirectionalWithGyro.class::isInstance)
+            .map(DriveUnidirectionalWithGyro.class::cast)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("The map has no drive"));
+    if (Math.abs(drive.getLeftVelCached()) < 0.1 && Math.abs(drive.getRightVelCached()) < 0.1) {
+      throw new IllegalStateException("The drive isn't following the sticks");
+    }
+  }
+
+  @Benchmark
+  public void commandSchedulerRun() {
+    CommandScheduler.getInstance().run();
+  }
+
+  @Benchmark
+  public void robotPeriodic() {
+    this.simulation.step();
+  }
+}
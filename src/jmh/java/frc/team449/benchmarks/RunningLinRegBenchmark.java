@@ -0,0 +1,53 @@
+package frc.team449.benchmarks;
+
+import frc.team449.components.RunningLinRegComponent;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures what the PDP does with its {@link RunningLinRegComponent} every loop: add a
+ * voltage/current point to a full window and read the slope back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RunningLinRegBenchmark {
+
+  /** The number of points the regression is taken over. */
+  @Param({"50", "250"})
+  public int bufferSize;
+
+  private RunningLinRegComponent linReg;
+  /** The number of points added so far, used to make up the next one. */
+  private long points;
+
+  @Setup
+  public void setup() {
+    this.linReg = new RunningLinRegComponent(this.bufferSize, 0.75);
+    // Fill the window so every add has to drop a point
+    for (int i = 0; i < this.bufferSize; i++) {
+      this.addPoint();
+    }
+  }
+
+  /** Adds a point on a noisy line, like battery voltage sagging as current goes up. */
+  private void addPoint() {
+    final double current = 20 + 15 * Math.sin(this.points * 0.05);
+    final double noise = ((this.points * 7919) % 13 - 6) * 0.01;
+    this.linReg.addPoint(current, 12.5 - 0.02 * current + noise);
+    this.points++;
+  }
+
+  @Benchmark
+  public double addPointAndGetSlope() {
+    this.addPoint();
+    return this.linReg.getSlope();
+  }
+}
@@ -0,0 +1,58 @@
+package frc.team449.benchmarks;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+
+/**
+ * Sets up the simulated HAL for benchmarks of code that reads joysticks, the clock, or anything
+ * else that goes through the HAL. JMH runs each benchmark in its own fork, so this happens once per
+ * benchmark.
+ */
+final class SimulatedHal {
+
+  /** The number of axes and buttons every simulated joystick reports. */
+  private static final int AXES = 6, BUTTONS = 12;
+
+  /** Whether the HAL has been set up in this JVM. */
+  private static boolean initialized;
+
+  /** Make constructor private so it can't be called */
+  private SimulatedHal() {}
+
+  /**
+   * Initializes the HAL and gives every joystick port a joystick, if that hasn't been done yet.
+   *
+   * @throws IllegalStateException if the HAL can't be initialized, e.g. because the desktop natives
+   *     aren't on the library path.
+   */
+  static synchronized void initialize() {
+    if (initialized) {
+      return;
+    }
+    if (!HAL.initialize(500, 0)) {
+      throw new IllegalStateException("Failed to initialize the HAL");
+    }
+    for (int port = 0; port < DriverStation.kJoystickPorts; port++) {
+      DriverStationSim.setJoystickAxisCount(port, AXES);
+      DriverStationSim.setJoystickButtonCount(port, BUTTONS);
+      DriverStationSim.setJoystickPOVCount(port, 1);
+      DriverStationSim.setJoystickPOV(port, 0, -1);
+    }
+    DriverStationSim.setDsAttached(true);
+    DriverStationSim.notifyNewData();
+    initialized = true;
+  }
+
+  /**
+   * Moves a joystick axis. Takes effect straight away.
+   *
+   * @param port The joystick's port.
+   * @param axis The axis, starting at 0.
+   * @param value The value, on [-1, 1].
+   */
+  static void setAxis(final int port, final int axis, final double value) {
+    DriverStationSim.setJoystickAxis(port, axis, value);
+    DriverStationSim.notifyNewData();
+  }
+}
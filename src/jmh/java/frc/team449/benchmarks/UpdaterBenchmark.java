@@ -0,0 +1,73 @@
+package frc.team449.benchmarks;
+
+import frc.team449.generalInterfaces.SmartMotor;
+import frc.team449.generalInterfaces.updatable.Updatable;
+import frc.team449.jacksonWrappers.simulated.MPSSmartMotorSimulated;
+import frc.team449.javaMaps.builders.SmartMotorConfig;
+import frc.team449.other.Clock;
+import frc.team449.other.Updater;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures one run of an {@link Updater} over simulated motors, with the clock stepped forward by a
+ * loop each time so the motor physics have something to do. Half the motors run open loop and half
+ * run a velocity loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UpdaterBenchmark {
+
+  /** The length of a loop, in nanoseconds. */
+  private static final long LOOP_NANOS = 20_000_000;
+
+  /** The number of motors to update. */
+  @Param({"4", "16", "64"})
+  public int motors;
+
+  private Updater updater;
+  /** The simulated time, in nanoseconds. */
+  private long timeNanos;
+
+  @Setup
+  public void setup() {
+    SimulatedHal.initialize();
+    Clock.setTimeSource(() -> this.timeNanos);
+
+    final List<Updatable> updatables = new ArrayList<>();
+    for (int i = 0; i < this.motors; i++) {
+      final MPSSmartMotorSimulated motor =
+          new MPSSmartMotorSimulated(
+              new SmartMotorConfig()
+                  .setType(SmartMotor.Type.SPARK)
+                  .setPort(i)
+                  .setName("motor_" + i)
+                  .setUnitPerRotation(0.47)
+                  .setEnableVoltageComp(true));
+      if (i % 2 == 0) {
+        motor.setPercentVoltage(0.5);
+      } else {
+        motor.setVelocityUPS(1.5);
+      }
+      updatables.add(motor);
+    }
+    this.updater = new Updater(updatables);
+  }
+
+  @Benchmark
+  public void run() {
+    this.timeNanos += LOOP_NANOS;
+    Clock.updateTime();
+    this.updater.run();
+  }
+}
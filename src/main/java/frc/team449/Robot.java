@@ -2,20 +2,59 @@ package frc.team449;
 
 import edu.wpi.first.cameraserver.CameraServer;
 import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.team449.components.BringUpComponent;
+import frc.team449.components.ConfigManifest;
+import frc.team449.components.OutputBufferComponent;
+import frc.team449.components.ShadowRegisterComponent;
+import frc.team449.components.StatusFrameComponent;
+import frc.team449.components.TrajectoryCache;
 import frc.team449.javaMaps.FullMap;
 import frc.team449.other.Clock;
+import frc.team449.other.LoopProfiler;
+import frc.team449.other.RobotState;
+import frc.team449.telemetry.EventLog;
+import frc.team449.telemetry.OblogUpdater;
+import frc.team449.telemetry.SnapshotLogger;
+import frc.team449.telemetry.SnapshotLogger.Rate;
+import frc.team449.telemetry.TelemetryRecorder;
 import io.github.oblarg.oblog.Logger;
 import org.jetbrains.annotations.NotNull;
 
 /** The main class of the robot, constructs all the subsystems and initializes default commands. */
 public class Robot extends TimedRobot {
+  /** Reports how many motor controllers had their configuration burned at startup. */
+  private static final EventLog.Site FLASH_LOG = EventLog.site(Robot.class, EventLog.Level.INFO);
   private static boolean isUnitTesting = false;
   private static boolean isTestingHasBeenCalled = false;
-  @NotNull RobotMap robotMap = loadMap();
+  @NotNull final RobotMap robotMap;
+
+  /** Profiler IDs for each step of {@link Robot#robotPeriodic()}. */
+  private final int clockPhase = LoopProfiler.registerPhase("Clock.updateTime"),
+      updaterPhase = LoopProfiler.registerPhase("Updater.run"),
+      snapshotPhase = LoopProfiler.registerPhase("SnapshotLogger.capture"),
+      schedulerPhase = LoopProfiler.registerPhase("CommandScheduler.run"),
+      outputPhase = LoopProfiler.registerPhase("OutputBufferComponent.flushAll"),
+      statusFramePhase = LoopProfiler.registerPhase("StatusFrameComponent.updateAll");
+
+  /** Default constructor. Loads the map with {@link Robot#loadMap()}. */
+  public Robot() {
+    this(loadMap());
+  }
+
+  /**
+   * Constructor for running the robot with a map that's already been loaded, e.g. in a {@link
+   * frc.team449.other.HeadlessSimulation}.
+   *
+   * @param robotMap The map to run.
+   */
+  public Robot(@NotNull final RobotMap robotMap) {
+    this.robotMap = robotMap;
+  }
 
   /** The method that runs when the robot is turned on. Initializes all subsystems from the map. */
   public static @NotNull RobotMap loadMap() {
@@ -55,22 +94,71 @@ public class Robot extends TimedRobot {
     isUnitTesting = true;
   }
 
+  /** @return The map this robot is running. */
+  @NotNull
+  public RobotMap getRobotMap() {
+    return this.robotMap;
+  }
+
   @Override
   public void robotInit() {
     // Set up start time
     Clock.setStartTime();
+    LoopProfiler.setLoopBudget(this.getPeriod());
 
     // Yes this should be a print statement, it's useful to know that robotInit started.
     System.out.println("Started robotInit.");
 
+    // Configure every motor controller the map created, several at once
+    BringUpComponent.runAll();
+    FLASH_LOG.log(
+        "Controller flash: {} up to date, {} rewritten",
+        ConfigManifest.getSkipped(),
+        ConfigManifest.getRewritten());
+
     if (this.robotMap.useCameraServer()) {
       CameraServer.getInstance().startAutomaticCapture();
     }
 
+    // Open telemetry files here rather than when the map's built
+    TelemetryRecorder.startAll();
+
+    // Catch commands that bypass the cached sensor readings while testing in simulation
+    RobotState.setDebug(RobotBase.isSimulation());
     // Read sensors
     this.robotMap.getUpdater().run();
 
+    // From here on, motors get at most one control frame per loop, sent at the end of the loop
+    OutputBufferComponent.setBuffering(true);
+    // Slow down status frames nothing reads, and speed up the ones control loops need
+    StatusFrameComponent.setAdaptive(true);
+
     Logger.configureLoggingAndConfig(this.robotMap, false);
+    // Oblog reflects over everything it logs, so it's updated in the background rather than in the
+    // loop. Anything that needs publishing every loop goes through SnapshotLogger instead. Headless
+    // runs skip it so they stay deterministic
+    if (!isUnitTesting()) {
+      OblogUpdater.start();
+    }
+    SnapshotLogger.addDouble(
+        "MotorOutput", "requests", Rate.TEN_HZ, OutputBufferComponent::getRequestsLastLoop);
+    SnapshotLogger.addDouble(
+        "MotorOutput", "coalesced", Rate.TEN_HZ, OutputBufferComponent::getCoalescedLastLoop);
+    SnapshotLogger.addDouble(
+        "MotorOutput", "sent", Rate.TEN_HZ, OutputBufferComponent::getSentLastLoop);
+    SnapshotLogger.addDouble(
+        "CAN",
+        "estimatedUtilization",
+        Rate.ONE_HZ,
+        StatusFrameComponent::getTotalEstimatedBusUtilization);
+    SnapshotLogger.addDouble(
+        "CAN",
+        "measuredUtilization",
+        Rate.ONE_HZ,
+        () -> RobotController.getCANStatus().percentBusUtilization);
+    SnapshotLogger.start();
+    // Load or generate autonomous trajectories while the robot sits disabled
+    TrajectoryCache.start();
     Shuffleboard.setRecordingFileNameFormat("log-${time}");
     Shuffleboard.startRecording();
 
@@ -82,14 +170,31 @@ public class Robot extends TimedRobot {
 
   @Override
   public void robotPeriodic() {
+    final long loopStart = LoopProfiler.start();
     // save current time
     Clock.updateTime();
+    long lap = LoopProfiler.lap(this.clockPhase, loopStart);
     // Read sensors
     this.robotMap.getUpdater().run();
-    // update shuffleboard
-    Logger.updateEntries();
+    lap = LoopProfiler.lap(this.updaterPhase, lap);
+    // Reads made while logging don't keep status frames fast
+    StatusFrameComponent.beginLogging();
+    // Hand this loop's values off to be published in the background
+    SnapshotLogger.capture();
+    lap = LoopProfiler.lap(this.snapshotPhase, lap);
+    StatusFrameComponent.endLogging();
     // Run all commands. This is a WPILib thing you don't really have to worry about.
     CommandScheduler.getInstance().run();
+    lap = LoopProfiler.lap(this.schedulerPhase, lap);
+    // Send the motor outputs the commands settled on
+    OutputBufferComponent.flushAll();
+    lap = LoopProfiler.lap(this.outputPhase, lap);
+    // Fit status frame periods to what was read this loop
+    StatusFrameComponent.updateAll();
+    // Resend the settings of any controller that's browned out or been power cycled
+    ShadowRegisterComponent.checkAllForResets();
+    LoopProfiler.lap(this.statusFramePhase, lap);
+    LoopProfiler.endLoop(loopStart);
   }
 
   /** Run when we first enable in teleop. */
@@ -105,6 +105,12 @@ public class RobotMap {
     return this.commands.getRobotStartupCommand().iterator();
   }
 
+  /** @return The robot's subsystems. */
+  @NotNull
+  public List<Subsystem> getSubsystems() {
+    return this.subsystems;
+  }
+
   /** @return A runnable that updates cached variables. */
   @NotNull
   public Runnable getUpdater() {
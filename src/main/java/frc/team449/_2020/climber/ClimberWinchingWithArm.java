@@ -8,7 +8,7 @@ import edu.wpi.first.wpilibj.DoubleSolenoid;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.team449._2020.multiSubsystem.SubsystemBinaryMotor;
 import frc.team449._2020.multiSubsystem.SubsystemSolenoid;
-import frc.team449.other.Util;
+import frc.team449.telemetry.EventLog;
 import io.github.oblarg.oblog.Loggable;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,6 +19,10 @@ import org.jetbrains.annotations.NotNull;
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class ClimberWinchingWithArm extends SubsystemBase
     implements SubsystemClimberWithArm, SubsystemBinaryMotor, SubsystemSolenoid, Loggable {
+  /** Logs when the climber is raised, lowered, or turned off. */
+  private static final EventLog.Site STATE_LOG =
+      EventLog.site(ClimberWinchingWithArm.class, EventLog.Level.INFO);
+
   @NotNull private final ClimberCurrentLimited motorSubsystem;
 
   @NotNull private final SubsystemSolenoid solenoidSubsystem;
@@ -44,7 +48,7 @@ public class ClimberWinchingWithArm extends SubsystemBase
   /** Raises the arm by means of the solenoid subsystem and turns off the motor subsystem. */
   @Override
   public void raise() {
-    System.out.println(Util.getLogPrefix(this) + "raise");
+    STATE_LOG.log("raise");
 
     this.turnMotorOff();
     this.setSolenoid(DoubleSolenoid.Value.kForward);
@@ -58,7 +62,7 @@ public class ClimberWinchingWithArm extends SubsystemBase
    */
   @Override
   public void lower() {
-    System.out.println(Util.getLogPrefix(this) + "lower");
+    STATE_LOG.log("lower");
 
     this.setSolenoid(DoubleSolenoid.Value.kOff);
     this.turnMotorOn();
@@ -68,7 +72,7 @@ public class ClimberWinchingWithArm extends SubsystemBase
   /** Turns both solenoid and motor subsystems off. */
   @Override
   public void off() {
-    System.out.println(Util.getLogPrefix(this) + "off");
+    STATE_LOG.log("off");
 
     this.turnMotorOff();
     this.setSolenoid(DoubleSolenoid.Value.kOff);
@@ -11,7 +11,7 @@ import frc.team449._2020.multiSubsystem.SubsystemBinaryMotor;
 import frc.team449._2020.multiSubsystem.SubsystemSolenoid;
 import frc.team449.generalInterfaces.updatable.Updatable;
 import frc.team449.other.Clock;
-import frc.team449.other.Util;
+import frc.team449.telemetry.EventLog;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
@@ -28,6 +28,10 @@ public class SafeWinchingClimber extends SubsystemBase
         SubsystemSolenoid,
         Updatable,
         Loggable {
+  /** Logs when the climber is raised, lowered, or turned off. */
+  private static final EventLog.Site STATE_LOG =
+      EventLog.site(SafeWinchingClimber.class, EventLog.Level.INFO);
+
   private final ClimberCurrentLimited motorSubsystem;
   private final SubsystemSolenoid solenoidSubsystem;
 
@@ -50,7 +54,7 @@ public class SafeWinchingClimber extends SubsystemBase
   /** Raise arm only if it is enabled */
   @Override
   public void raise() {
-    System.out.println(Util.getLogPrefix(this) + "raise");
+    STATE_LOG.log("raise");
 
     if (enableArm) {
       this.setSolenoid(DoubleSolenoid.Value.kForward);
@@ -61,7 +65,7 @@ public class SafeWinchingClimber extends SubsystemBase
   /** Lower arm, but only if it is enabled */
   @Override
   public void lower() {
-    System.out.println(Util.getLogPrefix(this) + "lower");
+    STATE_LOG.log("lower");
 
     if (enableArm) {
       this.setSolenoid(DoubleSolenoid.Value.kReverse);
@@ -70,7 +74,7 @@ public class SafeWinchingClimber extends SubsystemBase
 
   @Override
   public void off() {
-    System.out.println(Util.getLogPrefix(this) + "off");
+    STATE_LOG.log("off");
 
     this.setSolenoid(DoubleSolenoid.Value.kOff);
     this.turnMotorOff();
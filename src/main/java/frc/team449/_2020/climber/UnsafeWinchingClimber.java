@@ -9,7 +9,7 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.team449._2020.multiSubsystem.SubsystemBinaryMotor;
 import frc.team449._2020.multiSubsystem.SubsystemSolenoid;
 import frc.team449.generalInterfaces.updatable.Updatable;
-import frc.team449.other.Util;
+import frc.team449.telemetry.EventLog;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
@@ -22,6 +22,10 @@ public class UnsafeWinchingClimber extends SubsystemBase
         SubsystemSolenoid,
         Updatable,
         Loggable {
+  /** Logs when the climber is raised, lowered, or turned off. */
+  private static final EventLog.Site STATE_LOG =
+      EventLog.site(UnsafeWinchingClimber.class, EventLog.Level.INFO);
+
   private final SubsystemBinaryMotor motorSubsystem;
   private final SubsystemSolenoid solenoidSubsystem;
 
@@ -37,7 +41,7 @@ public class UnsafeWinchingClimber extends SubsystemBase
   /** Raise arm only if it is enabled */
   @Override
   public void raise() {
-    System.out.println(Util.getLogPrefix(this) + "raise");
+    STATE_LOG.log("raise");
 
     this.setSolenoid(DoubleSolenoid.Value.kForward);
   }
@@ -45,14 +49,14 @@ public class UnsafeWinchingClimber extends SubsystemBase
   /** Lower arm, but only if it is enabled */
   @Override
   public void lower() {
-    System.out.println(Util.getLogPrefix(this) + "lower");
+    STATE_LOG.log("lower");
 
     this.setSolenoid(DoubleSolenoid.Value.kReverse);
   }
 
   @Override
   public void off() {
-    System.out.println(Util.getLogPrefix(this) + "off");
+    STATE_LOG.log("off");
 
     this.setSolenoid(DoubleSolenoid.Value.kOff);
     this.turnMotorOff();
@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449._2020.climber.SubsystemClimberWithArm;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
@@ -27,7 +27,7 @@ public class SetClimberWithArmState extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "SetClimberWithArmState init.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 
@@ -51,12 +51,12 @@ public class SetClimberWithArmState extends InstantCommand {
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "SetClimberWithArmState Interrupted!",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "SetClimberWithArmState end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 
@@ -8,6 +8,7 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449._2020.multiSubsystem.SubsystemIntake;
+import frc.team449.telemetry.EventLog;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import java.util.function.BooleanSupplier;
@@ -16,6 +17,9 @@ import org.jetbrains.annotations.NotNull;
 /** A feeder that counts balls */
 @JsonIdentityInfo(generator = StringIdGenerator.class)
 public class BallCountingFeederCommand extends CommandBase implements Loggable {
+  /** Logs how long it's been between executions, at most once a second. */
+  private static final EventLog.Site TIMING_LOG =
+      EventLog.site(BallCountingFeederCommand.class, EventLog.Level.DEBUG, 1);
 
   private final SubsystemIntake feeder;
   private final BooleanSupplier sensor1, sensor2;
@@ -67,8 +71,7 @@ public class BallCountingFeederCommand extends CommandBase implements Loggable {
   @Override
   public synchronized void execute() {
     long now = System.currentTimeMillis();
-    System.out.println("Executed at " + now);
-    System.out.println("Time to update = " + (now - lastTime));
+    TIMING_LOG.log("Executed at {}, time to update = {}", now, now - lastTime);
     boolean sensor1Now = sensor1.getAsBoolean(),
         sensor2Now = sensor2.getAsBoolean(),
         flywheelStoppedNow = flywheelStopCommand.isFinished();
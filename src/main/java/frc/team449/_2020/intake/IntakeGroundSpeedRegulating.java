@@ -9,6 +9,7 @@ import frc.team449._2020.multiSubsystem.SubsystemAnalogMotor;
 import frc.team449._2020.multiSubsystem.SubsystemIntake;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.generalInterfaces.SmartMotor;
+import frc.team449.other.LoopProfiler;
 import frc.team449.other.Util;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
@@ -27,6 +28,8 @@ public class IntakeGroundSpeedRegulating extends SubsystemBase
   private final double minVelFraction;
   @NotNull private final Map<IntakeMode, Double> targetVelocities;
   @Log.ToString @NotNull private SubsystemIntake.IntakeMode mode = IntakeMode.OFF;
+  /** The {@link LoopProfiler} stage ID for {@link IntakeGroundSpeedRegulating#periodic()}. */
+  private final int periodicStage;
 
   /**
    * Default constructor
@@ -51,6 +54,7 @@ public class IntakeGroundSpeedRegulating extends SubsystemBase
     this.minVelFraction = minVelFraction;
 
     this.targetVelocities = velocities;
+    this.periodicStage = LoopProfiler.registerStage(this.getName() + ".periodic()");
   }
 
   @Override
@@ -65,6 +69,7 @@ public class IntakeGroundSpeedRegulating extends SubsystemBase
 
   @Override
   public void periodic() {
+    final long start = LoopProfiler.start();
     final Double targetVelocity = this.targetVelocities.get(this.mode);
 
     if (targetVelocity != null) {
@@ -84,6 +89,7 @@ public class IntakeGroundSpeedRegulating extends SubsystemBase
       // TODO Fix the units
       this.motor.setVelocityUPS(finalVelocity);
     }
+    LoopProfiler.lap(this.periodicStage, start);
   }
 
   /**
@@ -5,10 +5,10 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449._2020.multiSubsystem.SubsystemIntake;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
@@ -40,7 +40,7 @@ public class SetIntakeMode<T extends Subsystem & SubsystemIntake> extends Instan
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "SetIntakeMode init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("SetIntakeMode init.", this.getClass());
   }
@@ -55,10 +55,10 @@ public class SetIntakeMode<T extends Subsystem & SubsystemIntake> extends Instan
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "SetIntakeMode Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "SetIntakeMode end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
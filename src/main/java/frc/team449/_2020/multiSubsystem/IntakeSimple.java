@@ -8,7 +8,7 @@ import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.team449.generalInterfaces.simpleMotor.SimpleMotor;
 import frc.team449.other.InjectiveDependencyHelper;
-import frc.team449.other.Util;
+import frc.team449.telemetry.EventLog;
 import io.github.oblarg.oblog.Loggable;
 import java.util.Map;
 import org.jetbrains.annotations.NotNull;
@@ -17,6 +17,9 @@ import org.jetbrains.annotations.NotNull;
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class IntakeSimple extends SubsystemBase
     implements SubsystemIntake, SubsystemAnalogMotor, Loggable {
+  /** Warns about velocities that were given wrong. */
+  private static final EventLog.Site CONFIG_LOG =
+      EventLog.site(IntakeSimple.class, EventLog.Level.WARN);
 
   /** The motor this subsystem controls. */
   @NotNull private final SimpleMotor motor;
@@ -50,15 +53,10 @@ public class IntakeSimple extends SubsystemBase
     this.mode = IntakeMode.OFF;
 
     if (velocities.containsKey(IntakeMode.OFF))
-      System.err.println(
-          Util.getLogPrefix(this)
-              + "Warning: velocity for mode "
-              + IntakeMode.OFF
-              + " will be ignored.");
+      CONFIG_LOG.log("Warning: velocity for mode {} will be ignored.", IntakeMode.OFF);
 
     if (velocities.isEmpty()) {
-      System.err.println(
-          Util.getLogPrefix(this) + "Warning: no defined velocities; motor will never spin.");
+      CONFIG_LOG.log("Warning: no defined velocities; motor will never spin.");
     }
   }
 
@@ -6,9 +6,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.DoubleSolenoid;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449._2020.multiSubsystem.SubsystemSolenoid;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
@@ -35,7 +35,7 @@ public class ToggleSolenoid extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "ToggleSolenoid init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("ToggleSolenoid init.", this.getClass());
   }
@@ -54,10 +54,10 @@ public class ToggleSolenoid extends InstantCommand {
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "ToggleSolenoid Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "ToggleSolenoid end.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("ToggleSolenoid end.", this.getClass());
   }
@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449._2020.multiSubsystem.SubsystemBinaryMotor;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
@@ -32,7 +32,7 @@ public class TurnMotorOff extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "TurnMotorOff init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("TurnMotorOff init.", this.getClass());
   }
@@ -47,10 +47,9 @@ public class TurnMotorOff extends InstantCommand {
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "TurnMotorOff Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
-        "TurnMotorOff end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("TurnMotorOff end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
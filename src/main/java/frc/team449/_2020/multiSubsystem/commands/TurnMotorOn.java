@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449._2020.multiSubsystem.SubsystemBinaryMotor;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
@@ -31,8 +31,7 @@ public class TurnMotorOn extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
-        "TurnMotorOn init.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("TurnMotorOn init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("TurnMotorOn init.", this.getClass());
   }
 
@@ -46,10 +45,9 @@ public class TurnMotorOn extends InstantCommand {
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "TurnMotorOn Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
-        "TurnMotorOn end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("TurnMotorOn end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
@@ -10,6 +10,7 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.team449._2020.multiSubsystem.SubsystemConditional;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.other.DebouncerEx;
+import frc.team449.other.RobotState;
 import frc.team449.other.SimUtil;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
@@ -40,8 +41,8 @@ public class FlywheelSimple extends SubsystemBase
    * to spin
    */
   @Log private double targetSpeed = Double.NaN;
-  /** Whether the condition was met last time caching was done. */
-  private boolean conditionMetCached;
+  /** The {@link RobotState} column for whether the condition was met when last cached. */
+  @NotNull private final RobotState.Column conditionMetColumn;
 
   /**
    * Default constructor
@@ -68,6 +69,7 @@ public class FlywheelSimple extends SubsystemBase
     this.spinUpTimeoutSecs = spinUpTimeoutSecs;
     this.maxAbsSpeedError = maxAbsSpeedError;
     this.maxRelSpeedError = maxRelSpeedError;
+    this.conditionMetColumn = RobotState.addColumn(this.getName() + "/conditionMet");
 
     // Register variables with the WPILib simulation GUI.
     simDevice = SimDevice.create(this.getClass().getSimpleName(), motor.getPort());
@@ -150,7 +152,7 @@ public class FlywheelSimple extends SubsystemBase
   @Override
   @Log
   public boolean isConditionTrueCached() {
-    return this.conditionMetCached;
+    return this.conditionMetColumn.getBoolean();
   }
 
   /** Updates all cached values with current ones. */
@@ -158,7 +160,7 @@ public class FlywheelSimple extends SubsystemBase
   public void update() {
     this.speedConditionDebouncer.update(this.isAtShootingSpeed());
 
-    this.conditionMetCached = this.isConditionTrue();
+    this.conditionMetColumn.set(this.isConditionTrue());
   }
 
   @Override
@@ -57,8 +57,9 @@ public class RamseteControllerGoToPointsWithDelay extends SequentialCommandGroup
     Command[] res = new Command[poses.size() * 2];
     //    Command waitCommand = new WaitCommand(waitSeconds);
 
+    RamseteControllerGoToPosition previousLeg = null;
     for (int i = 0; i < numPoses; i++) {
-      res[i * 2] =
+      final RamseteControllerGoToPosition leg =
           new RamseteControllerGoToPosition(
               drivetrain,
               maxSpeedMeters,
@@ -66,9 +67,17 @@ public class RamseteControllerGoToPointsWithDelay extends SequentialCommandGroup
               maxCentripetalAcceleration,
               leftPidController,
               rightPidController,
+              // Each leg should start where the last one ended, so its trajectory can be cached
+              i == 0 ? null : poses.get(i - 1),
               poses.get(i),
               Collections.emptyList(),
               reversed);
+      // Plan each leg while the previous one and the wait after it are running
+      if (previousLeg != null) {
+        previousLeg.setNextLeg(leg);
+      }
+      previousLeg = leg;
+      res[i * 2] = leg;
       res[i * 2 + 1] = new WaitCommand(waitSeconds); // waitCommand;
     }
 
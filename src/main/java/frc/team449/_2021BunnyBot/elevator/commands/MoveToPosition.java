@@ -2,9 +2,14 @@ package frc.team449._2021BunnyBot.elevator.commands;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.team449._2021BunnyBot.elevator.OneMotorPulleyElevator;
+import frc.team449.telemetry.EventLog;
 import org.jetbrains.annotations.NotNull;
 
 public class MoveToPosition extends CommandBase {
+  /** Logs when the elevator starts and finishes moving. */
+  private static final EventLog.Site MOVE_LOG =
+      EventLog.site(MoveToPosition.class, EventLog.Level.INFO);
+
   private final OneMotorPulleyElevator.ElevatorPosition position;
   private final OneMotorPulleyElevator elevator;
   private double startTime;
@@ -19,7 +24,7 @@ public class MoveToPosition extends CommandBase {
   // runs when the command starts
   @Override
   public void initialize() {
-    System.out.println("[INITIALIZING] Moving to " + position + " position.");
+    MOVE_LOG.log("[INITIALIZING] Moving to {} position.", position);
     startTime = System.currentTimeMillis();
   }
   /** Moves to designated position for command */
@@ -32,9 +37,9 @@ public class MoveToPosition extends CommandBase {
   @Override
   public void end(boolean interrupted) {
     if (!interrupted) {
-      System.out.println("[SUCCESSFUL] Moved to " + position + " position.");
+      MOVE_LOG.log("[SUCCESSFUL] Moved to {} position.", position);
     } else {
-      System.out.println("[UNSUCCESSFUL] Attempted to move to " + position + " position.");
+      MOVE_LOG.log("[UNSUCCESSFUL] Attempted to move to {} position.", position);
     }
   }
   /** Some tolerance, stops if elevator is within .0075 meters of the setpoint */
@@ -4,8 +4,13 @@ import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.team449.Converter;
 import frc.team449._2021BunnyBot.elevator.OneMotorPulleyElevator;
 import frc.team449.jacksonWrappers.MappedJoystick;
+import frc.team449.telemetry.EventLog;
 
 public class SetVelocity extends CommandBase {
+  /** Logs the velocity the joystick is asking for, at most a few times a second. */
+  private static final EventLog.Site VELOCITY_LOG =
+      EventLog.site(SetVelocity.class, EventLog.Level.DEBUG, 0.25);
+
   private final OneMotorPulleyElevator elevator; // The elevator to control
   private final MappedJoystick joystick; // The joystick to read
   private final double maxVelocity; // The elevator's max allowed velocity
@@ -31,7 +36,7 @@ public class SetVelocity extends CommandBase {
     if (Math.abs(joystickValue) >= minInput) {
       // Set the elevator velocity to the joystick value run through the converter
       var converted = Converter.joystickInputToVelocity(joystickValue, maxVelocity);
-      System.out.println("Joystick Y value: " + converted);
+      VELOCITY_LOG.log("Joystick Y value: {}", converted);
       elevator.setVelocityUPS(converted);
     } else { // set to 0 if input is <1%
       elevator.setVelocityUPS(0.0);
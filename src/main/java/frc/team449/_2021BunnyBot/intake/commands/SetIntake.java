@@ -3,6 +3,7 @@ package frc.team449._2021BunnyBot.intake.commands;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.team449._2021BunnyBot.intake.OnePistonIntake;
 import frc.team449._2021BunnyBot.intake.OnePistonIntake.*;
+import frc.team449.telemetry.EventLog;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -10,6 +11,10 @@ import org.jetbrains.annotations.NotNull;
  * calling close() or open() in the OnePistonIntake.java
  */
 public class SetIntake extends CommandBase {
+  /** Logs the position the intake is being set to. */
+  private static final EventLog.Site POSITION_LOG =
+      EventLog.site(SetIntake.class, EventLog.Level.INFO);
+
   @NotNull private final IntakePosition newPosition;
   @NotNull private final OnePistonIntake intake;
 
@@ -22,9 +27,9 @@ public class SetIntake extends CommandBase {
   /** On init, sends the position that the intake is being set to */
   @Override
   public void initialize() {
-    System.out.println(
-        "Setting the position of the intake to : "
-            + (newPosition == IntakePosition.OPEN ? "OPEN" : "CLOSED"));
+    POSITION_LOG.log(
+        "Setting the position of the intake to : {}",
+        newPosition == IntakePosition.OPEN ? "OPEN" : "CLOSED");
   }
 
   /** Sets the position of the intake to open or closed */
@@ -0,0 +1,227 @@
+package frc.team449.components;
+
+import frc.team449.other.Clock;
+import frc.team449.telemetry.EventLog;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A component that holds a motor controller's configuration until {@link #runAll()} is called in
+ * robotInit, which configures every controller at once on a few threads instead of one after the
+ * other while the map is being built. Configuring a controller blocks on a reply for every setting,
+ * so doing them one at a time makes booting take longer the more controllers there are.
+ *
+ * <p>Anything that writes to the controller before it's been configured, e.g. a subsystem setting
+ * the starting gear in its constructor, should go through {@link #run(Runnable)}, which holds it
+ * and runs it after the configuration, in the order it was given. Controllers created after {@link
+ * #runAll()} has been called are configured straight away.
+ *
+ * <p>Before configuring, the component checks the controller is on the bus with a cheap read. A
+ * controller that doesn't answer isn't configured, since every setting would wait out its own
+ * timeout, and writes to it are dropped.
+ */
+public class BringUpComponent {
+  /** Logs how long configuring took. */
+  private static final EventLog.Site TIME_LOG =
+      EventLog.site(BringUpComponent.class, EventLog.Level.INFO);
+  /** Logs controllers that aren't on the bus. */
+  private static final EventLog.Site MISSING_LOG =
+      EventLog.site(BringUpComponent.class, EventLog.Level.WARN);
+  /** Logs controllers that couldn't be configured. */
+  private static final EventLog.Site FAILURE_LOG =
+      EventLog.site(BringUpComponent.class, EventLog.Level.ERROR);
+
+  /** The most controllers configured at once, so the CAN bus isn't swamped. */
+  public static final int MAX_THREADS = 4;
+
+  /** Every component that hasn't been configured yet, in the order they were created. */
+  @NotNull private static final List<BringUpComponent> pending = new ArrayList<>();
+  /** Whether {@link #runAll()} has been called. */
+  private static boolean started;
+
+  /** The controller's name, used for logging purposes. */
+  @NotNull private final String name;
+  /** Checks whether the controller is on the bus. */
+  @NotNull private final BooleanSupplier isPresent;
+  /** Configures the controller. */
+  @NotNull private final Runnable configure;
+  /** Writes to the controller that were made before it was configured, oldest first. */
+  @NotNull private final Queue<Runnable> held = new ArrayDeque<>();
+  /** Whether the controller has been configured and every held write has been run. */
+  private boolean configured;
+  /** Whether the controller didn't answer when it was checked, so it wasn't configured. */
+  private volatile boolean missing;
+  /** How long configuring the controller took, in nanoseconds, or -1 if it hasn't been. */
+  private volatile long configNanos = -1;
+
+  /**
+   * Constructor for a controller that's always there, e.g. one that isn't on the CAN bus.
+   *
+   * @param name The controller's name, used for logging purposes.
+   * @param configure Configures the controller. Can be run on any thread, but only once.
+   */
+  public BringUpComponent(@NotNull final String name, @NotNull final Runnable configure) {
+    this(name, () -> true, configure);
+  }
+
+  /**
+   * Default constructor.
+   *
+   * @param name The controller's name, used for logging purposes.
+   * @param isPresent Checks whether the controller is on the bus, without changing any of its
+   *     settings. Run just before configuring it, on the same thread.
+   * @param configure Configures the controller. Can be run on any thread, but only once.
+   */
+  public BringUpComponent(
+      @NotNull final String name,
+      @NotNull final BooleanSupplier isPresent,
+      @NotNull final Runnable configure) {
+    this.name = name;
+    this.isPresent = isPresent;
+    this.configure = configure;
+    final boolean configureNow;
+    synchronized (pending) {
+      configureNow = started;
+      if (!configureNow) {
+        pending.add(this);
+      }
+    }
+    if (configureNow) {
+      this.bringUp();
+    }
+  }
+
+  /**
+   * Configures every controller that's waiting to be, on up to {@link #MAX_THREADS} threads, and
+   * logs how long each one took. Returns once they're all done. Should be called once, in
+   * robotInit.
+   *
+   * @throws IllegalStateException if configuring any of them failed.
+   */
+  public static void runAll() {
+    final List<BringUpComponent> toRun;
+    synchronized (pending) {
+      started = true;
+      toRun = new ArrayList<>(pending);
+      pending.clear();
+    }
+    if (toRun.isEmpty()) {
+      return;
+    }
+
+    final long start = Clock.readTimeNanos();
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(MAX_THREADS, toRun.size()),
+            runnable -> {
+              final Thread thread = new Thread(runnable, "BringUpComponent");
+              thread.setDaemon(true);
+              return thread;
+            });
+    final List<Future<?>> futures = new ArrayList<>(toRun.size());
+    for (final BringUpComponent component : toRun) {
+      futures.add(executor.submit(component::bringUp));
+    }
+    executor.shutdown();
+
+    RuntimeException failure = null;
+    long serialNanos = 0;
+    for (int i = 0; i < toRun.size(); i++) {
+      final BringUpComponent component = toRun.get(i);
+      try {
+        futures.get(i).get();
+        serialNanos += component.configNanos;
+        if (component.missing) {
+          MISSING_LOG.log("{} didn't answer, so it wasn't configured", component.name);
+        } else {
+          TIME_LOG.log("Configured {} in {} ms", component.name, component.getConfigMillis());
+        }
+      } catch (final ExecutionException e) {
+        FAILURE_LOG.log("Failed to configure {}: {}", component.name, e.getCause());
+        if (failure == null) {
+          failure = new IllegalStateException("Couldn't configure " + component.name, e.getCause());
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while configuring controllers", e);
+      }
+    }
+    TIME_LOG.log(
+        "Configured " + toRun.size() + " controllers in {} ms ({} ms one at a time)",
+        (Clock.readTimeNanos() - start) / 1_000_000,
+        serialNanos / 1_000_000);
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Configures the controller, then runs every write that was held until it was. If it isn't on
+   * the bus, the held writes are dropped instead.
+   */
+  private void bringUp() {
+    final long start = Clock.readTimeNanos();
+    if (this.isPresent.getAsBoolean()) {
+      this.configure.run();
+    } else {
+      this.missing = true;
+      synchronized (this) {
+        this.held.clear();
+      }
+    }
+    this.configNanos = Clock.readTimeNanos() - start;
+    while (true) {
+      final Runnable write;
+      synchronized (this) {
+        write = this.held.poll();
+        if (write == null) {
+          this.configured = true;
+          return;
+        }
+      }
+      write.run();
+    }
+  }
+
+  /**
+   * Writes to the controller now if it's been configured, or holds the write until it has been.
+   *
+   * @param write The write.
+   */
+  public void run(@NotNull final Runnable write) {
+    if (this.missing) {
+      return;
+    }
+    synchronized (this) {
+      if (!this.configured) {
+        this.held.add(write);
+        return;
+      }
+    }
+    write.run();
+  }
+
+  /** @return Whether the controller has been configured. */
+  public synchronized boolean isConfigured() {
+    return this.configured;
+  }
+
+  /** @return Whether the controller didn't answer when it was checked, so it wasn't configured. */
+  public boolean isMissing() {
+    return this.missing;
+  }
+
+  /** @return How long configuring the controller took, in milliseconds, or -1 if it hasn't been. */
+  public long getConfigMillis() {
+    final long nanos = this.configNanos;
+    return nanos < 0 ? -1 : nanos / 1_000_000;
+  }
+}
@@ -0,0 +1,121 @@
+package frc.team449.components;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Fingerprints the configuration burned to each motor controller's flash, so that controllers whose
+ * configuration hasn't changed don't have to be factory reset and burned again every time the robot
+ * turns on. Burning is slow and wears out the flash.
+ *
+ * <p>Wrappers hash everything they burn with {@link #mix(long, double)}, starting from {@link
+ * #FINGERPRINT_SEED}, and keep the fingerprint on the controller itself, in parameters it doesn't
+ * otherwise use. It's split into {@link #CHUNKS} pieces with {@link #chunk(long, int)} so each one
+ * fits exactly in a 32-bit float parameter. Before configuring, wrappers read the pieces back,
+ * join them with {@link #withChunk(long, int, double)} and check them with {@link
+ * #isUpToDate(long, long)}. If it isn't up to date, they do the full configuration, write the new
+ * pieces and burn, then call {@link #recordBurned()}. Since the fingerprint lives in the
+ * controller's flash, a replacement controller with the same CAN ID still has factory defaults
+ * there and is always configured and burned.
+ */
+public class ConfigManifest {
+  /** The starting value for a fingerprint. */
+  public static final long FINGERPRINT_SEED = 0xcbf29ce484222325L;
+
+  /** The number of pieces a fingerprint is split into. */
+  public static final int CHUNKS = 3;
+  /** The number of bits in each piece, which a float holds exactly. */
+  private static final int CHUNK_BITS = 24;
+  /** The bits of a piece. */
+  private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+  /** The number of controllers that were up to date and weren't burned again. */
+  private static int skipped;
+  /** The number of controllers that were burned. */
+  private static int rewritten;
+
+  /** Make constructor private so it can't be called */
+  private ConfigManifest() {}
+
+  /**
+   * Mixes a value into a fingerprint.
+   *
+   * @param hash The fingerprint so far.
+   * @param value The value to mix in.
+   * @return The new fingerprint.
+   */
+  public static long mix(long hash, final double value) {
+    final long bits = Double.doubleToLongBits(value);
+    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+      hash ^= (bits >>> shift) & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Mixes a value that might not be given into a fingerprint, so that null and every number hash
+   * differently.
+   *
+   * @param hash The fingerprint so far.
+   * @param value The value to mix in, or null.
+   * @return The new fingerprint.
+   */
+  public static long mix(final long hash, @Nullable final Number value) {
+    return value == null ? mix(hash, 0) : mix(mix(hash, 1), value.doubleValue());
+  }
+
+  /**
+   * Splits a fingerprint into pieces small enough to store exactly in a float parameter.
+   *
+   * @param fingerprint The fingerprint.
+   * @param index Which piece to get, from 0 to {@link #CHUNKS} - 1.
+   * @return The piece.
+   */
+  public static double chunk(final long fingerprint, final int index) {
+    return (fingerprint >>> (index * CHUNK_BITS)) & CHUNK_MASK;
+  }
+
+  /**
+   * Joins a piece read back from a controller into a fingerprint. A parameter that doesn't hold a
+   * piece, like a factory default, just gives a fingerprint that doesn't match.
+   *
+   * @param fingerprint The pieces joined so far, starting from 0.
+   * @param index Which piece this is, from 0 to {@link #CHUNKS} - 1.
+   * @param chunk The piece.
+   * @return The pieces joined so far, with this one.
+   */
+  public static long withChunk(final long fingerprint, final int index, final double chunk) {
+    return fingerprint | (((long) chunk & CHUNK_MASK) << (index * CHUNK_BITS));
+  }
+
+  /**
+   * Checks whether the fingerprint stored on a controller matches the configuration it should
+   * have, and counts it as skipped if so.
+   *
+   * @param stored The fingerprint read back from the controller.
+   * @param fingerprint The fingerprint of the configuration it should have.
+   * @return Whether its flash already has that configuration.
+   */
+  public static synchronized boolean isUpToDate(final long stored, final long fingerprint) {
+    final boolean upToDate = stored == fingerprint;
+    if (upToDate) {
+      skipped++;
+    }
+    return upToDate;
+  }
+
+  /** Counts a controller whose configuration was burned to its flash. */
+  public static synchronized void recordBurned() {
+    rewritten++;
+  }
+
+  /** @return The number of controllers that were up to date and weren't burned again. */
+  public static synchronized int getSkipped() {
+    return skipped;
+  }
+
+  /** @return The number of controllers that were burned. */
+  public static synchronized int getRewritten() {
+    return rewritten;
+  }
+}
@@ -7,8 +7,8 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.AddressableLED;
 import edu.wpi.first.wpilibj.AddressableLEDBuffer;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.util.Color;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.Nullable;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
@@ -30,12 +30,12 @@ public class LEDComponent {
 
   public void turnStripOn() {
     LEDStrip.start();
-    Shuffleboard.addEventMarker("LED Controller", "LED's on!", EventImportance.kNormal);
+    EventMarkers.add("LED Controller", "LED's on!", EventImportance.kNormal);
   }
 
   public void turnStripOff() {
     LEDStrip.stop();
-    Shuffleboard.addEventMarker("LED Controller", "LED's off!", EventImportance.kNormal);
+    EventMarkers.add("LED Controller", "LED's off!", EventImportance.kNormal);
   }
 
   public void setSpecificRangeHSV(int lowerBound, int upperBound, int h, int s, int v) {
@@ -45,7 +45,7 @@ public class LEDComponent {
     checkedLowerBound = Math.max(lowerBound, 0);
 
     if (upperBound < buffer.getLength()) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "LED Controller",
           "Set range larger than set strip length! defaulting to set strip length",
           EventImportance.kTrivial);
@@ -66,7 +66,7 @@ public class LEDComponent {
     checkedLowerBound = Math.max(lowerBound, 0);
 
     if (upperBound < buffer.getLength()) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "LED Controller",
           "Set range larger than set strip length! defaulting to set strip length",
           EventImportance.kTrivial);
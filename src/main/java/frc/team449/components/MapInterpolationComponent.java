@@ -4,22 +4,36 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
-import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
+/**
+ * Interpolates between experimentally measured values, e.g. shooter speed by distance.
+ *
+ * <p>The table is stored as sorted primitive arrays, so each call does at most one binary search
+ * and doesn't allocate. Since the input usually changes slowly from one loop to the next, the
+ * segment found by the last call is checked first. The cubic coefficients for each segment are
+ * computed once when the table is built.
+ */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class MapInterpolationComponent {
 
-  /** LookUpTable, the table of experimentally optimized values */
-  private final TreeMap<Double, Double> LUT;
-  /** LINEAR, COSINE, or CUBIC */
+  /** The inputs in the look up table of experimentally optimized values, sorted ascending */
+  private final double[] keys;
+  /** The outputs in the look up table, in the same order as keys */
+  private final double[] values;
+  /**
+   * Coefficients of the cubic for each segment, 4 per segment, or NaN for the segments on the ends
+   */
+  private final double[] cubicCoefficients;
+  /** Coefficients of the Catmull-Rom spline for each segment, laid out like cubicCoefficients */
+  private final double[] catmullRomCoefficients;
+  /** LINEAR, COSINE, CUBIC, or CATMULL_ROM */
   private InterpolationMethod currentMethod;
-  /** Upper and lower limits of an interpolation calc */
-  private Map.Entry<Double, Double> upper;
-
-  private Map.Entry<Double, Double> lower;
+  /** The index of the segment used by the last call to calculate, to check first next time */
+  private int lastSegment;
 
   /**
    * Default constructor
@@ -32,10 +46,39 @@ public class MapInterpolationComponent {
       @JsonProperty(required = true) InterpolationMethod method,
       @JsonProperty(required = true) List<Map.Entry<Double, Double>> entries) {
     currentMethod = method;
-    LUT = new TreeMap<>();
+    // Sort and de-duplicate, with later entries winning
+    TreeMap<Double, Double> LUT = new TreeMap<>();
     for (Map.Entry<Double, Double> entry : entries) {
       LUT.put(entry.getKey(), entry.getValue());
     }
+    keys = new double[LUT.size()];
+    values = new double[LUT.size()];
+    int i = 0;
+    for (Map.Entry<Double, Double> entry : LUT.entrySet()) {
+      keys[i] = entry.getKey();
+      values[i] = entry.getValue();
+      i++;
+    }
+
+    int numSegments = Math.max(keys.length - 1, 0);
+    cubicCoefficients = new double[4 * numSegments];
+    catmullRomCoefficients = new double[4 * numSegments];
+    Arrays.fill(cubicCoefficients, Double.NaN);
+    Arrays.fill(catmullRomCoefficients, Double.NaN);
+    // Only segments with a point on either side get a cubic
+    for (int seg = 1; seg + 2 < keys.length; seg++) {
+      double y0 = values[seg - 1], y1 = values[seg], y2 = values[seg + 1], y3 = values[seg + 2];
+      int c = 4 * seg;
+      cubicCoefficients[c] = y3 + y1 - y2 - y0;
+      cubicCoefficients[c + 1] = y0 - y1 - cubicCoefficients[c];
+      cubicCoefficients[c + 2] = y2 - y0;
+      cubicCoefficients[c + 3] = y1;
+
+      catmullRomCoefficients[c] = -0.5 * y0 + 1.5 * y1 - 1.5 * y2 + 0.5 * y3;
+      catmullRomCoefficients[c + 1] = y0 - 2.5 * y1 + 2 * y2 - 0.5 * y3;
+      catmullRomCoefficients[c + 2] = -0.5 * y0 + 0.5 * y2;
+      catmullRomCoefficients[c + 3] = y1;
+    }
   }
 
   /** Changes the interpolation method */
@@ -50,87 +93,109 @@ public class MapInterpolationComponent {
    * @return the shooter velocity from distance x
    */
   public double calculate(double x) {
-    if (LUT.containsKey(x)) {
-      return LUT.get(x);
+    int n = keys.length;
+    if (n == 0) {
+      return Double.NaN;
     }
-    setBounds(x);
-    double ratio;
-    try {
-      ratio = (x - lower.getKey()) / (upper.getKey() - lower.getKey());
-    } catch (ArithmeticException e) {
-      ratio = 0;
+    int segment = findSegment(x);
+    if (segment >= 0 && keys[segment] == x) {
+      return values[segment];
     }
+
+    // Outside the table, the missing bound is treated as the point (0, 0)
+    double lowerKey, lowerValue, upperKey, upperValue;
+    if (segment < 0) {
+      lowerKey = 0;
+      lowerValue = 0;
+      upperKey = keys[0];
+      upperValue = values[0];
+    } else if (segment == n - 1) {
+      lowerKey = keys[n - 1];
+      lowerValue = values[n - 1];
+      upperKey = 0;
+      upperValue = 0;
+    } else {
+      lowerKey = keys[segment];
+      lowerValue = values[segment];
+      upperKey = keys[segment + 1];
+      upperValue = values[segment + 1];
+    }
+
+    double ratio = (x - lowerKey) / (upperKey - lowerKey);
     switch (currentMethod) {
       case LINEAR:
-        return linear(ratio);
+        return linear(lowerValue, upperValue, ratio);
       case COSINE:
-        return cosine(ratio);
+        return linear(lowerValue, upperValue, (1 - Math.cos(ratio * Math.PI)) / 2);
       case CUBIC:
-        return cubic(ratio);
+        return cubic(cubicCoefficients, segment, lowerValue, upperValue, ratio);
+      case CATMULL_ROM:
+        return cubic(catmullRomCoefficients, segment, lowerValue, upperValue, ratio);
       default:
         return 0;
     }
   }
 
   /**
-   * Sets the upper and lower bounds of the interpolation from distance x
+   * Finds the segment containing x, checking the last segment used and its neighbors before doing
+   * a binary search.
    *
    * @param x the distance from the target
+   * @return the index i such that keys[i] <= x < keys[i + 1], -1 if x is below every key, or the
+   *     last index if x is at or above every key
    */
-  private void setBounds(double x) {
-    lower = LUT.floorEntry(x) != null ? LUT.floorEntry(x) : new AbstractMap.SimpleEntry<>(0., 0.);
-    upper =
-        LUT.ceilingEntry(x) != null ? LUT.ceilingEntry(x) : new AbstractMap.SimpleEntry<>(0., 0.);
+  private int findSegment(double x) {
+    int n = keys.length;
+    for (int seg = Math.max(lastSegment - 1, -1); seg <= lastSegment + 1 && seg < n; seg++) {
+      if ((seg < 0 || keys[seg] <= x) && (seg + 1 >= n || x < keys[seg + 1])) {
+        return lastSegment = seg;
+      }
+    }
+    int index = Arrays.binarySearch(keys, x);
+    // If it wasn't found, binarySearch returns -(insertion point) - 1
+    return lastSegment = index >= 0 ? index : -index - 2;
   }
 
   /**
    * Linear interpolation method
    *
-   * @param x the distance from the target
-   * @return the shooter vel
-   */
-  private double linear(double x) {
-    return lower.getValue() * (1 - x) + upper.getValue() * x;
-  }
-
-  /**
-   * Cosine interpolation method
-   *
-   * @param x the distance from the target
+   * @param lower the value at the lower bound
+   * @param upper the value at the upper bound
+   * @param x how far x is between the bounds, on [0, 1]
    * @return the shooter vel
    */
-  private double cosine(double x) {
-    double smoothpoint = (1 - Math.cos(x * Math.PI)) / 2;
-    return linear(smoothpoint);
+  private static double linear(double lower, double upper, double x) {
+    return lower * (1 - x) + upper * x;
   }
 
   /**
-   * Cubic interpolation method
+   * Cubic interpolation method, using precomputed coefficients
    *
-   * @param x the distance from the target
+   * @param coefficients the coefficients for every segment
+   * @param segment the segment x is in
+   * @param lower the value at the lower bound
+   * @param upper the value at the upper bound
+   * @param x how far x is between the bounds, on [0, 1]
    * @return the shooter vel
    */
-  private double cubic(double x) {
-    // The entries above higher and below lower
-    Map.Entry<Double, Double> highUpper = LUT.higherEntry(upper.getKey());
-    Map.Entry<Double, Double> lowLower = LUT.lowerEntry(lower.getKey());
-    // Use linear if the segment is on the end
-    if (highUpper == null || lowLower == null) {
-      return linear(x);
+  private static double cubic(
+      double[] coefficients, int segment, double lower, double upper, double x) {
+    // Use linear if the segment is on the end, including outside the table on either side
+    if (segment < 0
+        || 4 * segment >= coefficients.length
+        || Double.isNaN(coefficients[4 * segment])) {
+      return linear(lower, upper, x);
     }
-    // Some weird coefficients to simplify calculations
-    double c1, c2, c3, c4;
-    c1 = highUpper.getValue() + lower.getValue() - upper.getValue() - lowLower.getValue();
-    c2 = lowLower.getValue() - lower.getValue() - c1;
-    c3 = upper.getValue() - lowLower.getValue();
-    c4 = lower.getValue();
-    return (c1 * Math.pow(x, 3) + c2 * Math.pow(x, 2) + c3 * x + c4);
+    int c = 4 * segment;
+    return ((coefficients[c] * x + coefficients[c + 1]) * x + coefficients[c + 2]) * x
+        + coefficients[c + 3];
   }
 
   // http://paulbourke.net/miscellaneous/interpolation/
-  enum InterpolationMethod {
+  public enum InterpolationMethod {
     LINEAR,
     COSINE,
-    CUBIC // this one is a bit sketchy...
+    CUBIC, // this one is a bit sketchy...
+    CATMULL_ROM
   }
 }
@@ -0,0 +1,117 @@
+package frc.team449.components;
+
+import frc.team449.components.StatusFrameComponent.Signal;
+import frc.team449.generalInterfaces.SmartMotor;
+import frc.team449.other.RobotState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A component that keeps a motor controller's readings in {@link RobotState}, so that everything
+ * that runs during a loop sees the same readings and the controller is only read once per loop.
+ *
+ * <p>{@link frc.team449.generalInterfaces.MotorContainer} calls {@link #update()} for every
+ * registered motor while the updater runs. Commands, logging and telemetry should use the getters
+ * here, through the motor's cached getters, rather than the motor's live ones. Reads of the cache
+ * are what tell the motor's {@link StatusFrameComponent}, if it has one, which frames are used.
+ */
+public class MotorReadingsComponent {
+  /** The motor that's read. */
+  @NotNull private final SmartMotor motor;
+  /** The motor's status frames, or null if it doesn't have any to adapt. */
+  @Nullable private final StatusFrameComponent frames;
+  /** The {@link RobotState} columns each reading is kept in. */
+  @NotNull
+  private final RobotState.Column position,
+      velocity,
+      outputCurrent,
+      outputVoltage,
+      batteryVoltage;
+
+  /**
+   * Default constructor. Should be called before the updater first runs.
+   *
+   * @param name The motor's name, used to name the columns.
+   * @param motor The motor to read.
+   * @param frames The motor's status frames, or null if it doesn't have any to adapt.
+   */
+  public MotorReadingsComponent(
+      @NotNull final String name,
+      @NotNull final SmartMotor motor,
+      @Nullable final StatusFrameComponent frames) {
+    this.motor = motor;
+    this.frames = frames;
+    this.position = RobotState.addColumn(name + "/position");
+    this.velocity = RobotState.addColumn(name + "/velocity");
+    this.outputCurrent = RobotState.addColumn(name + "/outputCurrent");
+    this.outputVoltage = RobotState.addColumn(name + "/outputVoltage");
+    this.batteryVoltage = RobotState.addColumn(name + "/batteryVoltage");
+  }
+
+  /**
+   * Constructor for motors without status frames to adapt.
+   *
+   * @param name The motor's name, used to name the columns.
+   * @param motor The motor to read.
+   */
+  public MotorReadingsComponent(@NotNull final String name, @NotNull final SmartMotor motor) {
+    this(name, motor, null);
+  }
+
+  /** Reads the motor. Should only be called while updating. */
+  public void update() {
+    if (this.frames != null) {
+      this.frames.beginRefresh();
+    }
+    this.position.set(this.motor.getPositionUnits());
+    this.velocity.set(this.motor.getVelocity());
+    this.outputCurrent.set(this.motor.getOutputCurrent());
+    this.outputVoltage.set(this.motor.getOutputVoltage());
+    this.batteryVoltage.set(this.motor.getBatteryVoltage());
+    if (this.frames != null) {
+      this.frames.endRefresh();
+    }
+  }
+
+  /**
+   * Tells the motor's status frames, if it has any, that a cached reading was used.
+   *
+   * @param signal The reading.
+   */
+  private void markUsed(@NotNull final Signal signal) {
+    if (this.frames != null) {
+      this.frames.markUsed(signal);
+    }
+  }
+
+  /** @return The position in meters, as of the last update. */
+  public double getPosition() {
+    this.markUsed(Signal.POSITION);
+    return this.position.get();
+  }
+
+  /** @return The velocity in MPS, as of the last update. */
+  public double getVelocity() {
+    this.markUsed(Signal.VELOCITY);
+    return this.velocity.get();
+  }
+
+  /** @return The current drawn, in amps, as of the last update. */
+  public double getOutputCurrent() {
+    this.markUsed(Signal.CURRENT);
+    return this.outputCurrent.get();
+  }
+
+  /** @return The voltage output, in volts, as of the last update. */
+  public double getOutputVoltage() {
+    this.markUsed(Signal.OUTPUT);
+    this.markUsed(Signal.BATTERY_VOLTAGE);
+    return this.outputVoltage.get();
+  }
+
+  /** @return The voltage available to the motor, in volts, as of the last update. */
+  public double getBatteryVoltage() {
+    this.markUsed(Signal.BATTERY_VOLTAGE);
+    return this.batteryVoltage.get();
+  }
+}
@@ -0,0 +1,176 @@
+package frc.team449.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A component that holds a motor controller's control requests until the end of the loop, so that
+ * however many times commands set a motor during a loop, at most one control frame is sent for it.
+ *
+ * <p>Wrappers pass every control request through {@link #request(Object, double, double)} instead
+ * of sending it themselves. While buffering is on, only the newest request is kept, and {@link
+ * #flushAll()}, called once at the end of each loop, sends it if the {@link
+ * ShadowRegisterComponent} says it would change anything. While buffering is off, which is the
+ * default, requests are sent straight away, as before.
+ *
+ * <p>Like the wrappers themselves, requests should only be made from the main robot thread.
+ */
+public class OutputBufferComponent {
+
+  /** Sends a control request to the controller. */
+  @FunctionalInterface
+  public interface Sender {
+    /**
+     * @param mode The control mode, in whatever form the vendor library uses.
+     * @param setpoint The setpoint, in native units.
+     * @param feedForward The arbitrary feedforward, or 0 if there isn't one.
+     */
+    void send(@NotNull Object mode, double setpoint, double feedForward);
+  }
+
+  /** Every buffer that's been created, in the order they were created. */
+  @NotNull private static final List<OutputBufferComponent> buffers = new ArrayList<>();
+  /** Whether requests are held until the end of the loop. */
+  private static boolean buffering;
+  /** The number of requests, coalesced requests, and frames sent this loop so far. */
+  private static int loopRequests, loopCoalesced, loopSent;
+  /** The number of requests, coalesced requests, and frames sent during the last flushed loop. */
+  private static int lastLoopRequests, lastLoopCoalesced, lastLoopSent;
+  /** The number of requests that were replaced before they were sent, since the robot started. */
+  private static long totalCoalesced;
+
+  /** Sends requests to the controller. */
+  @NotNull private final Sender sender;
+  /** Used to skip requests that are the same as the last one sent, or null to send everything. */
+  @Nullable private final ShadowRegisterComponent shadow;
+  /** The control mode of the pending request, or null if there isn't one. */
+  @Nullable private Object pendingMode;
+  /** The setpoint and feedforward of the pending request. */
+  private double pendingSetpoint, pendingFeedForward;
+
+  /**
+   * Default constructor.
+   *
+   * @param shadow The controller's shadow registers, used to skip redundant frames. Can be null to
+   *     send every request.
+   * @param sender Sends a request to the controller.
+   */
+  public OutputBufferComponent(
+      @Nullable final ShadowRegisterComponent shadow, @NotNull final Sender sender) {
+    this.shadow = shadow;
+    this.sender = sender;
+    synchronized (buffers) {
+      buffers.add(this);
+    }
+  }
+
+  /**
+   * Turns buffering on or off. Any requests being held are sent when it's turned off.
+   *
+   * @param enabled Whether to hold requests until {@link #flushAll()} is called.
+   */
+  public static void setBuffering(final boolean enabled) {
+    if (buffering && !enabled) {
+      flushAll();
+    }
+    buffering = enabled;
+  }
+
+  /** @return Whether requests are held until the end of the loop. */
+  public static boolean isBuffering() {
+    return buffering;
+  }
+
+  /**
+   * Asks for a control request to be sent. If buffering, it replaces any request already waiting
+   * this loop and is sent at the next flush. Otherwise it's sent now.
+   *
+   * @param mode The control mode, in whatever form the vendor library uses.
+   * @param setpoint The setpoint, in native units.
+   * @param feedForward The arbitrary feedforward, or 0 if there isn't one.
+   */
+  public void request(@NotNull final Object mode, final double setpoint, final double feedForward) {
+    if (!buffering) {
+      this.sendIfChanged(mode, setpoint, feedForward);
+      return;
+    }
+    loopRequests++;
+    if (this.pendingMode != null) {
+      loopCoalesced++;
+    }
+    this.pendingMode = mode;
+    this.pendingSetpoint = setpoint;
+    this.pendingFeedForward = feedForward;
+  }
+
+  /**
+   * Drops the pending request, if there is one. Call this when the controller is commanded directly
+   * in a way that should win over anything requested earlier in the loop, e.g. disabling it.
+   */
+  public void cancel() {
+    this.pendingMode = null;
+  }
+
+  /**
+   * Sends a request unless the shadow registers say the controller already has it.
+   *
+   * @return true if a frame was sent.
+   */
+  private boolean sendIfChanged(
+      @NotNull final Object mode, final double setpoint, final double feedForward) {
+    if (this.shadow != null && !this.shadow.shouldSendSetpoint(mode, setpoint, feedForward)) {
+      return false;
+    }
+    this.sender.send(mode, setpoint, feedForward);
+    return true;
+  }
+
+  /** Sends this buffer's pending request, if it has one. */
+  private void flush() {
+    final Object mode = this.pendingMode;
+    if (mode == null) {
+      return;
+    }
+    this.pendingMode = null;
+    if (this.sendIfChanged(mode, this.pendingSetpoint, this.pendingFeedForward)) {
+      loopSent++;
+    }
+  }
+
+  /**
+   * Sends every pending request and rolls over the per-loop stats. Should be called once per loop,
+   * after the commands have run.
+   */
+  public static void flushAll() {
+    for (int i = 0; i < buffers.size(); i++) {
+      buffers.get(i).flush();
+    }
+    lastLoopRequests = loopRequests;
+    lastLoopCoalesced = loopCoalesced;
+    lastLoopSent = loopSent;
+    totalCoalesced += loopCoalesced;
+    loopRequests = loopCoalesced = loopSent = 0;
+  }
+
+  /** @return The number of control requests made during the last loop. */
+  public static int getRequestsLastLoop() {
+    return lastLoopRequests;
+  }
+
+  /** @return The number of requests during the last loop that were replaced before being sent. */
+  public static int getCoalescedLastLoop() {
+    return lastLoopCoalesced;
+  }
+
+  /** @return The number of control frames sent at the end of the last loop. */
+  public static int getSentLastLoop() {
+    return lastLoopSent;
+  }
+
+  /** @return The number of requests that were replaced before being sent, since startup. */
+  public static long getTotalCoalesced() {
+    return totalCoalesced;
+  }
+}
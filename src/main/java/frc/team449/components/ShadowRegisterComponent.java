@@ -0,0 +1,197 @@
+package frc.team449.components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A component that remembers the last value written to each config parameter and the last control
+ * request sent to a motor controller, so that wrappers can skip CAN frames that wouldn't change
+ * anything.
+ *
+ * <p>Config frames are slow, blocking round trips, so a wrapper should ask {@link
+ * ShadowRegisterComponent#shouldSend(Param, double)} before each one and only send it if that
+ * returns true. Call {@link ShadowRegisterComponent#invalidate()} whenever the controller might
+ * have lost its state (e.g. after it's been disabled) so that everything is sent again.
+ *
+ * <p>A controller that browns out or is power cycled comes back with its runtime settings gone,
+ * which the shadow can't see by itself. Wrappers that pass a reset check to the constructor have it
+ * polled by {@link #checkAllForResets()}, and when it reports a reset, the shadow is invalidated
+ * and the wrapper's settings are written again.
+ */
+public class ShadowRegisterComponent {
+
+  /** The config parameters that are tracked. */
+  public enum Param {
+    K_P,
+    K_I,
+    K_D,
+    K_F,
+    OPEN_LOOP_RAMP,
+    CLOSED_LOOP_RAMP,
+    PEAK_OUTPUT_FWD,
+    PEAK_OUTPUT_REV,
+    NOMINAL_OUTPUT_FWD,
+    NOMINAL_OUTPUT_REV
+  }
+
+  /** The number of calls to {@link #checkAllForResets()} between polls of the reset checks. */
+  private static final int RESET_CHECK_PERIOD_LOOPS = 50;
+  /** Every shadow with a reset check, in the order they were created. */
+  @NotNull private static final List<ShadowRegisterComponent> checked = new ArrayList<>();
+  /** The number of times {@link #checkAllForResets()} has been called. */
+  private static long resetCheckCalls;
+
+  /** Returns true if the controller has reset since the last call, or null to never check. */
+  @Nullable private final BooleanSupplier hasReset;
+  /** Writes the wrapper's settings again after a reset, or null if there's nothing to write. */
+  @Nullable private final Runnable restore;
+  /** The last value written to each parameter, indexed by ordinal. */
+  @NotNull private final double[] values = new double[Param.values().length];
+  /** Whether each parameter has a known value, indexed by ordinal. */
+  @NotNull private final boolean[] known = new boolean[Param.values().length];
+  /** The control mode of the last control request, or null if it isn't known. */
+  @Nullable private Object lastMode;
+  /** The setpoint of the last control request. */
+  private double lastSetpoint;
+  /** The arbitrary feedforward of the last control request. */
+  private double lastFeedForward;
+  /** The number of frames that were sent and suppressed, respectively. */
+  private long sentCount, suppressedCount;
+  /** The number of controller resets that have been detected. */
+  private long resetCount;
+
+  /** Constructor for a shadow that never checks whether the controller has reset. */
+  public ShadowRegisterComponent() {
+    this(null, null);
+  }
+
+  /**
+   * Default constructor.
+   *
+   * @param hasReset Returns true if the controller has reset since the last time it was called,
+   *     clearing whatever flag it reads. Can be null to never check.
+   * @param restore Writes the wrapper's settings again, through this shadow, after a reset. Can be
+   *     null if there's nothing to write.
+   */
+  public ShadowRegisterComponent(
+      @Nullable final BooleanSupplier hasReset, @Nullable final Runnable restore) {
+    this.hasReset = hasReset;
+    this.restore = restore;
+    if (hasReset != null) {
+      synchronized (checked) {
+        checked.add(this);
+      }
+    }
+  }
+
+  /**
+   * Polls every shadow's reset check, once every {@link #RESET_CHECK_PERIOD_LOOPS} calls. Call
+   * this once per loop from the main robot thread. A reset is rare and the settings it drops are
+   * only needed by closed-loop control, so a check about once a second is plenty, and keeps the
+   * fault reads off most loops.
+   */
+  public static void checkAllForResets() {
+    if (resetCheckCalls++ % RESET_CHECK_PERIOD_LOOPS != 0) {
+      return;
+    }
+    synchronized (checked) {
+      for (final ShadowRegisterComponent shadow : checked) {
+        shadow.checkForReset();
+      }
+    }
+  }
+
+  /**
+   * Polls the reset check now, and if the controller has reset, forgets everything that's been sent
+   * and writes the wrapper's settings again.
+   *
+   * @return true if a reset was detected, false otherwise.
+   */
+  public boolean checkForReset() {
+    if (this.hasReset == null || !this.hasReset.getAsBoolean()) {
+      return false;
+    }
+    this.resetCount++;
+    this.invalidate();
+    if (this.restore != null) {
+      this.restore.run();
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether a config parameter needs to be written, and if it does, records the new value.
+   *
+   * @param param The parameter being written.
+   * @param value The value it's being set to.
+   * @return true if the frame should be sent, false if the controller already has that value.
+   */
+  public boolean shouldSend(@NotNull final Param param, final double value) {
+    final int i = param.ordinal();
+    if (this.known[i] && Double.compare(this.values[i], value) == 0) {
+      this.suppressedCount++;
+      return false;
+    }
+    this.known[i] = true;
+    this.values[i] = value;
+    this.sentCount++;
+    return true;
+  }
+
+  /**
+   * Checks whether a control request needs to be sent, and if it does, records it.
+   *
+   * @param mode The control mode, in whatever form the vendor library uses.
+   * @param setpoint The setpoint, in native units.
+   * @param feedForward The arbitrary feedforward sent along with the setpoint, or 0 if there isn't
+   *     one.
+   * @return true if the frame should be sent, false if it's identical to the last one sent.
+   */
+  public boolean shouldSendSetpoint(
+      @NotNull final Object mode, final double setpoint, final double feedForward) {
+    if (mode.equals(this.lastMode)
+        && Double.compare(this.lastSetpoint, setpoint) == 0
+        && Double.compare(this.lastFeedForward, feedForward) == 0) {
+      this.suppressedCount++;
+      return false;
+    }
+    this.lastMode = mode;
+    this.lastSetpoint = setpoint;
+    this.lastFeedForward = feedForward;
+    this.sentCount++;
+    return true;
+  }
+
+  /**
+   * Forgets the last control request. Call this after commanding the controller in a way that
+   * isn't tracked, such as setting a voltage that depends on the battery.
+   */
+  public void invalidateSetpoint() {
+    this.lastMode = null;
+  }
+
+  /** Forgets everything that's been sent, so the next write to every parameter goes through. */
+  public void invalidate() {
+    Arrays.fill(this.known, false);
+    this.invalidateSetpoint();
+  }
+
+  /** @return The number of frames that have been sent. */
+  public long getSentCount() {
+    return this.sentCount;
+  }
+
+  /** @return The number of redundant frames that have been skipped. */
+  public long getSuppressedCount() {
+    return this.suppressedCount;
+  }
+
+  /** @return The number of controller resets that have been detected. */
+  public long getResetCount() {
+    return this.resetCount;
+  }
+}
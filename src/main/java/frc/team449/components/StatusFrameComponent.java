@@ -0,0 +1,438 @@
+package frc.team449.components;
+
+import frc.team449.other.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A component that sets how often a motor controller sends each of its periodic status frames
+ * based on how its readings are actually used, so that frames nobody reads stop taking up the CAN
+ * bus and frames that feed the robot's control loops come in as often as the loops run.
+ *
+ * <p>Readings are tracked where they're used, not where they're read off the bus. {@link
+ * MotorReadingsComponent} calls {@link #markUsed(Signal)} from each cached getter, and wrappers
+ * call {@link #markRead(Signal)} from each live getter, except for the reads that refresh the
+ * cache between {@link #beginRefresh()} and {@link #endRefresh()}. Reads made between {@link
+ * #beginLogging()} and {@link #endLogging()} on the same thread, e.g. the telemetry recorder on an
+ * updater worker, only count as logged, and other reads count as used.
+ * Live reads from threads other than the main one, e.g. a notifier, count as used at the rate they
+ * happen.
+ * {@link #updateAll()}, called once per loop, speeds a frame up straight away when its readings
+ * start being used, or start being read more often than it's sent, and at the end of each window of
+ * {@link #WINDOW_LOOPS} loops sets every frame to the slowest period that still keeps up with:
+ *
+ * <ul>
+ *   <li>the shortest gap between reads of any of its readings, if any of them were used;
+ *   <li>{@link #LOGGED_PERIOD_MILLIS}, if they were only logged;
+ *   <li>{@link #RELAXED_PERIOD_MILLIS} otherwise.
+ * </ul>
+ *
+ * <p>Frames that were given a period in the map, or that followers take their output from, are
+ * pinned and never changed. While adapting is off, which is the default, every frame keeps its
+ * vendor default.
+ */
+public class StatusFrameComponent {
+
+  /** The readings a wrapper can report, each of which comes in on one of the status frames. */
+  public enum Signal {
+    OUTPUT,
+    VELOCITY,
+    POSITION,
+    CURRENT,
+    BATTERY_VOLTAGE,
+    LIMIT_SWITCH
+  }
+
+  /** Sets the period of one of the controller's status frames. */
+  @FunctionalInterface
+  public interface FrameSetter {
+    /**
+     * @param frame The index of the frame, as given to {@link #map(Signal, int)}.
+     * @param periodMillis The new period, in milliseconds.
+     */
+    void setPeriod(int frame, int periodMillis);
+  }
+
+  /** The periods frames are rounded down to, in milliseconds, fastest first. */
+  private static final int[] PERIODS_MILLIS = {10, 20, 50, 100, 250, 500};
+  /** The loop length assumed when speeding up a frame in the middle of a window, in millis. */
+  public static final int LOOP_PERIOD_MILLIS = 20;
+  /** The period of frames whose readings are only logged. */
+  public static final int LOGGED_PERIOD_MILLIS = 100;
+  /** The period of frames whose readings aren't read at all. */
+  public static final int RELAXED_PERIOD_MILLIS = 500;
+  /** The number of loops reads are watched over before frames are slowed down. */
+  public static final int WINDOW_LOOPS = 250;
+  /** The size of a frame on the wire: a 29-bit ID, 8 data bytes, and room for bit stuffing. */
+  private static final double BITS_PER_FRAME = 150;
+  /** The bit rate of the FRC CAN bus. */
+  private static final double BUS_BITS_PER_SECOND = 1_000_000;
+
+  /** Every component that's been created, in the order they were created. */
+  @NotNull private static final List<StatusFrameComponent> components = new ArrayList<>();
+  /** Whether frame periods are being adapted. */
+  private static boolean adaptive;
+  /** The thread that calls {@link #updateAll()}, or null if it hasn't been called yet. */
+  @Nullable private static volatile Thread mainThread;
+  /** Whether each thread is logging. */
+  @NotNull private static final ThreadLocal<Boolean> logging = ThreadLocal.withInitial(() -> false);
+  /** The number of loops frame periods have been adapted for. */
+  private static long loop;
+  /** The loop and {@link Clock} time the current window started at. */
+  private static long windowStartLoop, windowStartNanos;
+
+  /** The controller's name, used for logging purposes. */
+  @NotNull private final String name;
+  /** Sets the period of a frame on the controller. */
+  @NotNull private final FrameSetter setter;
+  /** The longest period the controller allows, in milliseconds. */
+  private final int maxPeriodMillis;
+  /** The period of each frame when the controller powers on, in milliseconds. */
+  @NotNull private final int[] defaultPeriods;
+  /** The period each frame is set to now, in milliseconds. */
+  @NotNull private final int[] periods;
+  /** Whether each frame's period is fixed. */
+  @NotNull private final boolean[] pinned;
+  /** The period control frames are sent to the controller at, or 0 if none are. */
+  private final int controlPeriodMillis;
+  /** The frame each signal comes in on, or -1 if the controller doesn't send it. */
+  @NotNull private final int[] frameOf = new int[Signal.values().length];
+  /** The thread refreshing the controller's cached readings, or null if none is. */
+  @Nullable private volatile Thread refreshingThread;
+  /** Whether each signal was used this loop, outside of logging, as 1 or 0. */
+  @NotNull
+  private final AtomicIntegerArray usedThisLoop = new AtomicIntegerArray(Signal.values().length);
+  /** Whether each signal has been logged this window. */
+  @NotNull
+  private final AtomicIntegerArray loggedInWindow = new AtomicIntegerArray(Signal.values().length);
+  /** The last loop each signal was used in, or -1 if it hasn't been. */
+  @NotNull private final long[] lastUsedLoop = new long[Signal.values().length];
+  /** The fewest loops between two loops each signal was used in this window. */
+  @NotNull private final long[] minUsedGapLoops = new long[Signal.values().length];
+  /** The {@link Clock} time each signal was last read from another thread, in nanoseconds. */
+  @NotNull
+  private final AtomicLongArray lastOtherReadNanos = new AtomicLongArray(Signal.values().length);
+  /** The shortest time between two reads of each signal from other threads this window. */
+  @NotNull
+  private final AtomicLongArray minOtherGapNanos = new AtomicLongArray(Signal.values().length);
+
+  /**
+   * Default constructor. Every frame starts out at its default period and unpinned, and no signals
+   * are mapped to any frame.
+   *
+   * @param name The controller's name, used for logging purposes.
+   * @param defaultPeriods The period each frame has when the controller powers on, in
+   *     milliseconds. Copied.
+   * @param maxPeriodMillis The longest period the controller allows, in milliseconds.
+   * @param controlPeriodMillis The period control frames are sent to the controller at, or 0 if
+   *     none are. Only used to estimate bus utilization.
+   * @param setter Sets the period of a frame on the controller.
+   */
+  public StatusFrameComponent(
+      @NotNull final String name,
+      @NotNull final int[] defaultPeriods,
+      final int maxPeriodMillis,
+      final int controlPeriodMillis,
+      @NotNull final FrameSetter setter) {
+    this.name = name;
+    this.defaultPeriods = defaultPeriods.clone();
+    this.periods = defaultPeriods.clone();
+    this.pinned = new boolean[defaultPeriods.length];
+    this.maxPeriodMillis = maxPeriodMillis;
+    this.controlPeriodMillis = controlPeriodMillis;
+    this.setter = setter;
+    Arrays.fill(this.frameOf, -1);
+    Arrays.fill(this.lastUsedLoop, -1);
+    this.resetWindow();
+    synchronized (components) {
+      components.add(this);
+    }
+  }
+
+  /**
+   * Says which frame a signal comes in on.
+   *
+   * @param signal The signal.
+   * @param frame The index of the frame.
+   * @return this, so calls can be chained.
+   */
+  @NotNull
+  public StatusFrameComponent map(@NotNull final Signal signal, final int frame) {
+    this.frameOf[signal.ordinal()] = frame;
+    return this;
+  }
+
+  /**
+   * Fixes a frame's period so it's never changed. Doesn't send anything, so the wrapper should set
+   * the period itself if it isn't the default.
+   *
+   * @param frame The index of the frame.
+   * @param periodMillis The period the frame has been set to, in milliseconds.
+   */
+  public void pin(final int frame, final int periodMillis) {
+    this.pinned[frame] = true;
+    this.periods[frame] = periodMillis;
+  }
+
+  /**
+   * Turns adapting on or off. Every frame that isn't pinned is put back to its default period when
+   * it's turned off.
+   *
+   * @param enabled Whether to adapt frame periods to how they're read.
+   */
+  public static void setAdaptive(final boolean enabled) {
+    if (adaptive && !enabled) {
+      for (int i = 0; i < components.size(); i++) {
+        components.get(i).restoreDefaults();
+      }
+    }
+    if (!adaptive && enabled) {
+      windowStartLoop = loop;
+      windowStartNanos = Clock.currentTimeNanos();
+    }
+    adaptive = enabled;
+  }
+
+  /** @return Whether frame periods are being adapted. */
+  public static boolean isAdaptive() {
+    return adaptive;
+  }
+
+  /**
+   * Marks the start of logging. Reads made by the calling thread until it calls {@link
+   * #endLogging()} only count as logged. Other threads can log at the same time.
+   */
+  public static void beginLogging() {
+    logging.set(true);
+  }
+
+  /** Marks the end of logging on the calling thread. */
+  public static void endLogging() {
+    logging.set(false);
+  }
+
+  /**
+   * Marks the start of refreshing the controller's cached readings. Reads made by the calling
+   * thread until {@link #endRefresh()} aren't counted, since the cache is refreshed every loop
+   * whether or not anything uses it.
+   */
+  public void beginRefresh() {
+    this.refreshingThread = Thread.currentThread();
+  }
+
+  /** Marks the end of refreshing the controller's cached readings. */
+  public void endRefresh() {
+    this.refreshingThread = null;
+  }
+
+  /**
+   * Records that a cached reading was read. Cheap enough to call from every getter.
+   *
+   * @param signal The reading.
+   */
+  public void markUsed(@NotNull final Signal signal) {
+    final int i = signal.ordinal();
+    if (logging.get()) {
+      this.loggedInWindow.lazySet(i, 1);
+    } else {
+      // The cache only changes once per loop, so reading it more often doesn't need faster frames
+      this.usedThisLoop.lazySet(i, 1);
+    }
+  }
+
+  /**
+   * Records that a reading was read off the bus. Cheap enough to call from every getter.
+   *
+   * @param signal The reading.
+   */
+  public void markRead(@NotNull final Signal signal) {
+    final int i = signal.ordinal();
+    final Thread thread = Thread.currentThread();
+    if (thread == this.refreshingThread) {
+      return;
+    }
+    if (logging.get()) {
+      this.loggedInWindow.lazySet(i, 1);
+    } else if (thread == mainThread) {
+      this.usedThisLoop.lazySet(i, 1);
+    } else if (adaptive) {
+      // Other threads may run faster than the loop, so time their reads instead
+      final long now = Clock.readTimeNanos();
+      final long gap = now - this.lastOtherReadNanos.getAndSet(i, now);
+      this.minOtherGapNanos.accumulateAndGet(i, gap, Math::min);
+      this.usedThisLoop.lazySet(i, 1);
+    }
+  }
+
+  /**
+   * Records this loop's reads, speeds up frames that have just started being used, and at the end
+   * of each window, sets every frame to the period its reads need. Should be called once per loop,
+   * on the main thread.
+   */
+  public static void updateAll() {
+    mainThread = Thread.currentThread();
+    if (!adaptive) {
+      return;
+    }
+    loop++;
+    for (int i = 0; i < components.size(); i++) {
+      components.get(i).update();
+    }
+    if (loop - windowStartLoop >= WINDOW_LOOPS) {
+      final long now = Clock.currentTimeNanos();
+      final double loopMillis = (now - windowStartNanos) / 1e6 / (loop - windowStartLoop);
+      for (int i = 0; i < components.size(); i++) {
+        components.get(i).reschedule(loopMillis);
+      }
+      windowStartLoop = loop;
+      windowStartNanos = now;
+    }
+  }
+
+  /** Records this loop's reads and speeds up any frames now being read faster than they're sent. */
+  private void update() {
+    for (int i = 0; i < this.usedThisLoop.length(); i++) {
+      if (this.usedThisLoop.get(i) == 0 || this.usedThisLoop.getAndSet(i, 0) == 0) {
+        continue;
+      }
+      long gap = 1;
+      if (this.lastUsedLoop[i] >= 0) {
+        gap = loop - this.lastUsedLoop[i];
+        this.minUsedGapLoops[i] = Math.min(this.minUsedGapLoops[i], gap);
+      }
+      this.lastUsedLoop[i] = loop;
+      // Something that's just started reading it probably wants it every loop
+      if (gap > WINDOW_LOOPS) {
+        gap = 1;
+      }
+      final int frame = this.frameOf[i];
+      final int needed = roundDown(gap * LOOP_PERIOD_MILLIS);
+      if (frame >= 0 && this.periods[frame] > needed) {
+        this.setPeriod(frame, needed);
+      }
+    }
+  }
+
+  /**
+   * Sets every frame to the period its reads over the last window need, and starts a new window.
+   *
+   * @param loopMillis The average length of a loop over the window, in milliseconds.
+   */
+  private void reschedule(final double loopMillis) {
+    final int[] needed = new int[this.periods.length];
+    Arrays.fill(needed, RELAXED_PERIOD_MILLIS);
+    for (int i = 0; i < this.frameOf.length; i++) {
+      final int frame = this.frameOf[i];
+      if (frame < 0) {
+        continue;
+      }
+      double periodMillis = RELAXED_PERIOD_MILLIS;
+      if (this.lastUsedLoop[i] >= windowStartLoop) {
+        periodMillis =
+            Math.min(this.minUsedGapLoops[i] * loopMillis, this.minOtherGapNanos.get(i) / 1e6);
+      } else if (this.loggedInWindow.get(i) != 0) {
+        periodMillis = LOGGED_PERIOD_MILLIS;
+      }
+      needed[frame] = Math.min(needed[frame], roundDown(periodMillis));
+    }
+    for (int frame = 0; frame < needed.length; frame++) {
+      this.setPeriod(frame, Math.min(needed[frame], this.maxPeriodMillis));
+    }
+    this.resetWindow();
+  }
+
+  /**
+   * Rounds a period down to one of {@link #PERIODS_MILLIS}, with a little slack so that loops
+   * running slightly fast don't halve it.
+   *
+   * @param periodMillis A period, in milliseconds.
+   * @return The longest of {@link #PERIODS_MILLIS} that's no longer than it, or the shortest one.
+   */
+  private static int roundDown(final double periodMillis) {
+    int rounded = PERIODS_MILLIS[0];
+    for (final int period : PERIODS_MILLIS) {
+      if (period <= periodMillis * 1.1) {
+        rounded = period;
+      }
+    }
+    return rounded;
+  }
+
+  /** Forgets every read, ready for the next window. */
+  private void resetWindow() {
+    Arrays.fill(this.minUsedGapLoops, Long.MAX_VALUE);
+    for (int i = 0; i < this.minOtherGapNanos.length(); i++) {
+      this.loggedInWindow.set(i, 0);
+      this.minOtherGapNanos.set(i, Long.MAX_VALUE);
+    }
+  }
+
+  /** Puts every frame that isn't pinned back to its default period. */
+  private void restoreDefaults() {
+    for (int frame = 0; frame < this.periods.length; frame++) {
+      this.setPeriod(frame, this.defaultPeriods[frame]);
+    }
+  }
+
+  /**
+   * Sends a new period for a frame, unless it's pinned or already has that period.
+   *
+   * @param frame The index of the frame.
+   * @param periodMillis The new period, in milliseconds.
+   */
+  private void setPeriod(final int frame, final int periodMillis) {
+    if (this.pinned[frame] || this.periods[frame] == periodMillis) {
+      return;
+    }
+    this.periods[frame] = periodMillis;
+    this.setter.setPeriod(frame, periodMillis);
+  }
+
+  /**
+   * @param frame The index of the frame.
+   * @return The period the frame is set to now, in milliseconds.
+   */
+  public int getPeriod(final int frame) {
+    return this.periods[frame];
+  }
+
+  /** @return The number of status and control frames per second sent to and from the controller. */
+  public double getFramesPerSecond() {
+    double framesPerSecond = this.controlPeriodMillis > 0 ? 1000. / this.controlPeriodMillis : 0;
+    for (final int period : this.periods) {
+      framesPerSecond += 1000. / period;
+    }
+    return framesPerSecond;
+  }
+
+  /** @return The fraction of the bus this controller's frames take up, on [0, 1]. */
+  public double getEstimatedBusUtilization() {
+    return this.getFramesPerSecond() * BITS_PER_FRAME / BUS_BITS_PER_SECOND;
+  }
+
+  /**
+   * Estimates how much of the CAN bus all the motor controllers' frames take up, from the periods
+   * they're set to now. Doesn't count anything else on the bus, like the PDP or PCM.
+   *
+   * @return The fraction of the bus used, on [0, 1] if it isn't saturated.
+   */
+  public static double getTotalEstimatedBusUtilization() {
+    double utilization = 0;
+    synchronized (components) {
+      for (final StatusFrameComponent component : components) {
+        utilization += component.getEstimatedBusUtilization();
+      }
+    }
+    return utilization;
+  }
+
+  @Override
+  public String toString() {
+    return this.name + " status frames " + Arrays.toString(this.periods);
+  }
+}
@@ -0,0 +1,328 @@
+package frc.team449.components;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+import frc.team449.telemetry.EventLog;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Generates trajectories ahead of time and keeps them, in memory and on disk, so autonomous
+ * commands don't stall while splines are generated.
+ *
+ * <p>Each trajectory is identified by a key that hashes its waypoints, its {@link
+ * TrajectoryConfig}, and the parameters of its constraints (see {@link #quinticKey} and {@link
+ * #cubicKey}). Trajectories that are known when the map is loaded should be registered with {@link
+ * #register(long, Supplier)}; {@link #start()} then loads or generates all of them on a background
+ * thread. Commands fetch them with {@link #get(long, Supplier)}, which only generates on the
+ * calling thread if the trajectory hasn't been registered or the background thread hasn't gotten to
+ * it yet. If the background thread is in the middle of generating it, {@link #get(long, Supplier)}
+ * waits for it instead of starting over.
+ *
+ * <p>Generated trajectories are saved to the deploy directory on the robot (or the temp directory
+ * in simulation), one small binary file per key, so later boots just read them back. Since the key
+ * covers everything that affects the trajectory, changing a waypoint or constraint gives a new key,
+ * and old files are simply never read again.
+ */
+public class TrajectoryCache {
+  /** Warns when a trajectory file can't be read or saved. */
+  private static final EventLog.Site FILE_LOG =
+      EventLog.site(TrajectoryCache.class, EventLog.Level.WARN);
+
+  /** Identifies a cached trajectory file. */
+  private static final int MAGIC = 0x54524a43;
+  /** The current file format version. Bump this if the format or the key hash changes. */
+  private static final int VERSION = 1;
+
+  /** The directory trajectories are saved to. */
+  @NotNull
+  private static final Path directory =
+      (RobotBase.isReal()
+              ? Filesystem.getDeployDirectory().toPath()
+              : Path.of(System.getProperty("java.io.tmpdir")))
+          .resolve("trajectories");
+
+  /** The task that loads or generates each trajectory, by key. */
+  @NotNull
+  private static final Map<Long, FutureTask<Trajectory>> tasks = new ConcurrentHashMap<>();
+
+  /** Runs the background generation and saves files. */
+  @NotNull
+  private static final ExecutorService background =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "TrajectoryCache");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  /** Make constructor private so it can't be called */
+  private TrajectoryCache() {}
+
+  /**
+   * Gets the key for a quintic trajectory, as generated by {@link
+   * edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator#generateTrajectory(List,
+   * TrajectoryConfig)}.
+   *
+   * @param waypoints The waypoints, including the start and end.
+   * @param config The config the trajectory is generated with.
+   * @param constraintParameters Every parameter of the config's constraints, e.g. the feedforward
+   *     gains, track width, and maximum voltage of a voltage constraint.
+   * @return The key.
+   */
+  public static long quinticKey(
+      @NotNull final List<Pose2d> waypoints,
+      @NotNull final TrajectoryConfig config,
+      @NotNull final double... constraintParameters) {
+    final List<Translation2d> noInteriorWaypoints = List.of();
+    return hash(1, waypoints, noInteriorWaypoints, config, constraintParameters);
+  }
+
+  /**
+   * Gets the key for a cubic trajectory, as generated by {@link
+   * edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator#generateTrajectory(Pose2d, List, Pose2d,
+   * TrajectoryConfig)}.
+   *
+   * @param start The starting pose.
+   * @param interiorWaypoints The points to pass through on the way.
+   * @param end The ending pose.
+   * @param config The config the trajectory is generated with.
+   * @param constraintParameters Every parameter of the config's constraints, e.g. the feedforward
+   *     gains, track width, and maximum voltage of a voltage constraint.
+   * @return The key.
+   */
+  public static long cubicKey(
+      @NotNull final Pose2d start,
+      @NotNull final List<Translation2d> interiorWaypoints,
+      @NotNull final Pose2d end,
+      @NotNull final TrajectoryConfig config,
+      @NotNull final double... constraintParameters) {
+    return hash(2, List.of(start, end), interiorWaypoints, config, constraintParameters);
+  }
+
+  /**
+   * @param feedforward The feedforward of a {@link
+   *     edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConstraint}.
+   * @param kinematics Its kinematics.
+   * @param maxVoltage Its maximum voltage.
+   * @return The parameters of the constraint, to include in a key.
+   */
+  @NotNull
+  public static double[] voltageConstraintParameters(
+      @NotNull final SimpleMotorFeedforward feedforward,
+      @NotNull final DifferentialDriveKinematics kinematics,
+      final double maxVoltage) {
+    return new double[] {
+      feedforward.ks, feedforward.kv, feedforward.ka, kinematics.trackWidthMeters, maxVoltage
+    };
+  }
+
+  /** 64-bit FNV-1a over everything that affects the generated trajectory. */
+  private static long hash(
+      final int type,
+      @NotNull final List<Pose2d> poses,
+      @NotNull final List<Translation2d> translations,
+      @NotNull final TrajectoryConfig config,
+      @NotNull final double[] constraintParameters) {
+    long hash = 0xcbf29ce484222325L;
+    hash = mix(hash, type);
+    hash = mix(hash, poses.size());
+    for (final Pose2d pose : poses) {
+      hash = mix(hash, pose.getX());
+      hash = mix(hash, pose.getY());
+      hash = mix(hash, pose.getRotation().getRadians());
+    }
+    hash = mix(hash, translations.size());
+    for (final Translation2d translation : translations) {
+      hash = mix(hash, translation.getX());
+      hash = mix(hash, translation.getY());
+    }
+    hash = mix(hash, config.getMaxVelocity());
+    hash = mix(hash, config.getMaxAcceleration());
+    hash = mix(hash, config.getStartVelocity());
+    hash = mix(hash, config.getEndVelocity());
+    hash = mix(hash, config.isReversed() ? 1 : 0);
+    for (final TrajectoryConstraint constraint : config.getConstraints()) {
+      hash = mix(hash, constraint.getClass().getName().hashCode());
+    }
+    hash = mix(hash, constraintParameters.length);
+    for (final double parameter : constraintParameters) {
+      hash = mix(hash, parameter);
+    }
+    return hash;
+  }
+
+  /** Mixes the bits of a double into an FNV-1a hash. */
+  private static long mix(long hash, final double value) {
+    final long bits = Double.doubleToLongBits(value);
+    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+      hash ^= (bits >>> shift) & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Registers a trajectory so it's generated ahead of time by {@link #start()}. Registering the
+   * same key again does nothing.
+   *
+   * @param key The trajectory's key.
+   * @param generator Generates the trajectory if it isn't on disk. May be called on any thread.
+   */
+  public static void register(final long key, @NotNull final Supplier<Trajectory> generator) {
+    tasks.computeIfAbsent(key, k -> new FutureTask<>(() -> loadOrGenerate(k, generator)));
+  }
+
+  /**
+   * Starts loading or generating every registered trajectory on a background thread. Should be
+   * called once the map has been loaded, e.g. in robotInit().
+   */
+  public static void start() {
+    for (final FutureTask<Trajectory> task : tasks.values()) {
+      // Does nothing if the task has already been run by get()
+      background.execute(task);
+    }
+  }
+
+  /**
+   * Gets a trajectory, generating it on the calling thread only if it isn't ready yet.
+   *
+   * @param key The trajectory's key.
+   * @param generator Generates the trajectory if it isn't registered yet.
+   * @return The trajectory.
+   */
+  @NotNull
+  public static Trajectory get(final long key, @NotNull final Supplier<Trajectory> generator) {
+    register(key, generator);
+    final FutureTask<Trajectory> task = tasks.get(key);
+    // Runs the task here if nothing has started it yet; otherwise get() waits for it to finish
+    task.run();
+    try {
+      return task.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return generator.get();
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Failed to generate trajectory", e.getCause());
+    }
+  }
+
+  /**
+   * Reads a trajectory from disk, or if that fails, generates it and saves it in the background.
+   *
+   * @param key The trajectory's key.
+   * @param generator Generates the trajectory.
+   * @return The trajectory.
+   */
+  @NotNull
+  private static Trajectory loadOrGenerate(
+      final long key, @NotNull final Supplier<Trajectory> generator) {
+    final Path file = directory.resolve(Long.toHexString(key) + ".traj");
+    try {
+      return read(file, key);
+    } catch (final NoSuchFileException e) {
+      // Never generated before
+    } catch (final IOException e) {
+      FILE_LOG.log("Couldn't read {}: {}", file, e);
+    }
+    final Trajectory trajectory = generator.get();
+    background.execute(() -> write(file, key, trajectory));
+    return trajectory;
+  }
+
+  /**
+   * Reads a trajectory file. Each file is the magic number, version, key, and number of states,
+   * followed by each state's time, velocity, acceleration, x, y, heading in radians, and curvature.
+   *
+   * @param file The file to read.
+   * @param key The key the file should have.
+   * @return The trajectory.
+   * @throws IOException if the file can't be read or isn't for this key.
+   */
+  @NotNull
+  private static Trajectory read(@NotNull final Path file, final long key) throws IOException {
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != key) {
+        throw new IOException("Not a trajectory file for key " + Long.toHexString(key));
+      }
+      final int count = in.readInt();
+      final List<Trajectory.State> states = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        final double time = in.readDouble();
+        final double velocity = in.readDouble();
+        final double acceleration = in.readDouble();
+        final Pose2d pose =
+            new Pose2d(in.readDouble(), in.readDouble(), new Rotation2d(in.readDouble()));
+        final double curvature = in.readDouble();
+        states.add(new Trajectory.State(time, velocity, acceleration, pose, curvature));
+      }
+      return new Trajectory(states);
+    }
+  }
+
+  /**
+   * Saves a trajectory in the format {@link #read(Path, long)} reads. Writes to a temporary file
+   * first, so a half-written file is never read.
+   *
+   * @param file The file to write.
+   * @param key The trajectory's key.
+   * @param trajectory The trajectory.
+   */
+  private static void write(
+      @NotNull final Path file, final long key, @NotNull final Trajectory trajectory) {
+    try {
+      Files.createDirectories(directory);
+      final Path temp = Files.createTempFile(directory, Long.toHexString(key), ".tmp");
+      try (final DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        final List<Trajectory.State> states = trajectory.getStates();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(key);
+        out.writeInt(states.size());
+        for (final Trajectory.State state : states) {
+          out.writeDouble(state.timeSeconds);
+          out.writeDouble(state.velocityMetersPerSecond);
+          out.writeDouble(state.accelerationMetersPerSecondSq);
+          out.writeDouble(state.poseMeters.getX());
+          out.writeDouble(state.poseMeters.getY());
+          out.writeDouble(state.poseMeters.getRotation().getRadians());
+          out.writeDouble(state.curvatureRadPerMeter);
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      FILE_LOG.log("Couldn't save {}: {}", file, e);
+    }
+  }
+}
@@ -11,6 +11,8 @@ import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConst
 import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
 import frc.team449.jacksonWrappers.MappedTranslationSet;
+import java.util.Arrays;
+import java.util.function.Supplier;
 import org.jetbrains.annotations.Nullable;
 
 @JsonTypeInfo(
@@ -24,6 +26,10 @@ public class TrajectoryGenerationCubicComponent implements TrajectoryGenerationC
   double maxAccelMeters;
   double maxCentripitalAcceleration;
   Trajectory trajectory;
+  /** The key of this trajectory in the {@link TrajectoryCache}. */
+  private final long cacheKey;
+  /** Generates this trajectory if it isn't cached. */
+  private final Supplier<Trajectory> generator;
 
   @JsonCreator
   public TrajectoryGenerationCubicComponent(
@@ -49,22 +55,40 @@ public class TrajectoryGenerationCubicComponent implements TrajectoryGenerationC
             .addConstraint(voltageConstraint)
             .setReversed(reversed);
 
+    double[] constraintParameters =
+        TrajectoryCache.voltageConstraintParameters(
+            drivetrain.getLeftFeedforwardCalculator(), drivetrain.getDriveKinematics(), 12);
     if (maxCentripetalAcceleration != null) {
       configuration.addConstraint(
           new CentripetalAccelerationConstraint(maxCentripetalAcceleration));
       this.maxCentripitalAcceleration = maxCentripetalAcceleration;
+      constraintParameters = Arrays.copyOf(constraintParameters, constraintParameters.length + 1);
+      constraintParameters[constraintParameters.length - 1] = maxCentripetalAcceleration;
     }
 
-    trajectory =
-        TrajectoryGenerator.generateTrajectory(
+    // Generated in the background once the robot starts, rather than while loading the map
+    this.cacheKey =
+        TrajectoryCache.cubicKey(
             waypoints.getStartingPose(),
             waypoints.getTranslations(),
             waypoints.getEndingPose(),
-            configuration);
+            configuration,
+            constraintParameters);
+    this.generator =
+        () ->
+            TrajectoryGenerator.generateTrajectory(
+                waypoints.getStartingPose(),
+                waypoints.getTranslations(),
+                waypoints.getEndingPose(),
+                configuration);
+    TrajectoryCache.register(this.cacheKey, this.generator);
   }
 
   @Override
   public Trajectory getTrajectory() {
-    return trajectory;
+    if (this.trajectory == null) {
+      this.trajectory = TrajectoryCache.get(this.cacheKey, this.generator);
+    }
+    return this.trajectory;
   }
 }
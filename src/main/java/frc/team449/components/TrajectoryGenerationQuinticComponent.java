@@ -22,6 +22,8 @@ public class TrajectoryGenerationQuinticComponent implements TrajectoryGeneratio
   TrajectoryConfig configuration;
   List<Pose2d> waypoints = new ArrayList<>();
   Trajectory trajectory;
+  /** The key of this trajectory in the {@link TrajectoryCache}. */
+  private final long cacheKey;
 
   @JsonCreator
   public TrajectoryGenerationQuinticComponent(
@@ -42,11 +44,24 @@ public class TrajectoryGenerationQuinticComponent implements TrajectoryGeneratio
             .setReversed(reversed);
 
     this.waypoints.addAll(waypoints);
+
+    this.cacheKey =
+        TrajectoryCache.quinticKey(
+            this.waypoints,
+            this.configuration,
+            TrajectoryCache.voltageConstraintParameters(
+                drivetrain.getLeftFeedforwardCalculator(), drivetrain.getDriveKinematics(), 12));
+    TrajectoryCache.register(this.cacheKey, this::generate);
+  }
+
+  /** @return A newly generated trajectory. */
+  private Trajectory generate() {
+    return TrajectoryGenerator.generateTrajectory(this.waypoints, this.configuration);
   }
 
   @Override
   public Trajectory getTrajectory() {
-    this.trajectory = TrajectoryGenerator.generateTrajectory(this.waypoints, this.configuration);
+    this.trajectory = TrajectoryCache.get(this.cacheKey, this::generate);
     return this.trajectory;
   }
 }
@@ -0,0 +1,69 @@
+package frc.team449.components;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Generates trajectories on a worker thread, so commands that can only plan once they know where
+ * the robot is don't block {@link edu.wpi.first.wpilibj2.command.CommandScheduler#run()} while the
+ * spline is generated.
+ *
+ * <p>Results are handed back as {@link CompletableFuture}s, which a command can poll each loop
+ * without blocking. Plans are generated one at a time, in the order they were requested, since
+ * they're usually for consecutive legs of the same path.
+ */
+public class TrajectoryPlanner {
+
+  /** Generates the trajectories. */
+  @NotNull
+  private static final ExecutorService worker =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "TrajectoryPlanner");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** Make constructor private so it can't be called */
+  private TrajectoryPlanner() {}
+
+  /**
+   * Starts generating a cubic trajectory in the background.
+   *
+   * @param start The pose to start at.
+   * @param interiorWaypoints The points to pass through on the way.
+   * @param end The pose to end at.
+   * @param config The config to generate the trajectory with.
+   * @return The trajectory, once it's been generated.
+   */
+  @NotNull
+  public static CompletableFuture<Trajectory> plan(
+      @NotNull final Pose2d start,
+      @NotNull final List<Translation2d> interiorWaypoints,
+      @NotNull final Pose2d end,
+      @NotNull final TrajectoryConfig config) {
+    return plan(
+        () -> TrajectoryGenerator.generateTrajectory(start, interiorWaypoints, end, config));
+  }
+
+  /**
+   * Gets a trajectory in the background, e.g. from the {@link TrajectoryCache} when it might still
+   * be generating it.
+   *
+   * @param source Where to get the trajectory from. Called on the worker thread.
+   * @return The trajectory, once it's been generated.
+   */
+  @NotNull
+  public static CompletableFuture<Trajectory> plan(@NotNull final Supplier<Trajectory> source) {
+    return CompletableFuture.supplyAsync(source, worker);
+  }
+}
@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449.drive.DriveSubsystem;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 /** Enables the motors of the given drive subsystem. */
@@ -30,7 +30,7 @@ public class EnableMotors extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "EnableMotors init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("EnableMotors init.", this.getClass());
   }
@@ -45,10 +45,9 @@ public class EnableMotors extends InstantCommand {
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "EnableMotors Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
-        "EnableMotors end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("EnableMotors end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
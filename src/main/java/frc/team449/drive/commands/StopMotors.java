@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449.drive.DriveSubsystem;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 /** Stops the motors of the given drive subsystem. */
@@ -30,8 +30,7 @@ public class StopMotors extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
-        "StopMotors init.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("StopMotors init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("StopMotors init.", this.getClass());
   }
 
@@ -45,10 +44,9 @@ public class StopMotors extends InstantCommand {
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "StopMotors Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
-        "StopMotors end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("StopMotors end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449.drive.shifting.DriveShiftable;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -40,7 +40,7 @@ public class OverrideAutoShift extends InstantCommand {
   /** Log on initialization */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "OverrideAutoShift init", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("OverrideAutoShift init", this.getClass());
   }
@@ -56,12 +56,12 @@ public class OverrideAutoShift extends InstantCommand {
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "OverrideAutoShift Interrupted!",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "OverrideAutoShift end", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("OverrideAutoShift end", this.getClass());
   }
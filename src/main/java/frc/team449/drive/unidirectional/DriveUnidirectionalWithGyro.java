@@ -1,10 +1,10 @@
 package frc.team449.drive.unidirectional;
 
 import com.fasterxml.jackson.annotation.*;
+import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
-import edu.wpi.first.wpilibj.geometry.Translation2d;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveOdometry;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
@@ -12,9 +12,16 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.jacksonWrappers.MappedAHRS;
+import frc.team449.jacksonWrappers.simulated.SimulationEngine;
+import frc.team449.other.Clock;
+import frc.team449.other.LoopProfiler;
+import frc.team449.other.RobotState;
+import frc.team449.other.SampleHistory;
+import frc.team449.other.SeqLock;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /** A drive with a cluster of any number of CANTalonSRX controlled motors on each side. */
 @JsonTypeInfo(
@@ -25,6 +32,13 @@ import org.jetbrains.annotations.NotNull;
 public class DriveUnidirectionalWithGyro extends SubsystemBase
     implements SubsystemAHRS, DriveUnidirectional, Loggable {
 
+  /** The number of loops of pose history to keep. 3 seconds at the default 20 ms period. */
+  private static final int HISTORY_CAPACITY = 150;
+  /** The columns of the pose history. Distances are in meters and the heading in degrees. */
+  private static final int X = 0, Y = 1, HEADING = 2, LEFT = 3, RIGHT = 4, HISTORY_COLUMNS = 5;
+  /** The number of values in a published pose: x, y, and heading, in the same columns as above. */
+  private static final int POSE_COLUMNS = 3;
+
   /** Right master Talon */
   @NotNull protected final SmartMotor rightMaster;
 
@@ -37,16 +51,48 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   /** Drivetrain kinematics processor for measuring individual wheel speeds */
   private final DifferentialDriveKinematics driveKinematics;
 
-  /** Drivetrain odometry tracker for tracking position */
+  /** Drivetrain odometry tracker for tracking position. Guarded by odometryLock. */
   private final DifferentialDriveOdometry driveOdometry;
+  /** Guards the odometry, which the odometry notifier updates on its own thread. */
+  @NotNull private final Object odometryLock = new Object();
+  /**
+   * The newest pose from the odometry, so it can be read from any thread without waiting on the
+   * odometry notifier.
+   */
+  @NotNull private final SeqLock publishedPose = new SeqLock(POSE_COLUMNS);
+  /** The pose being published. Guarded by odometryLock. */
+  @NotNull private final double[] poseToPublish = new double[POSE_COLUMNS];
+  /**
+   * Counts odometry resets. Odd while a reset is in progress. The odometry notifier drops any
+   * readings it took while a reset was in progress or before one, since applying them to the reset
+   * odometry would make the pose jump by the whole distance travelled.
+   */
+  private volatile int odometryResets;
+  /** Updates the odometry at a higher rate than the main loop, or null if it's not running. */
+  @Nullable private Notifier odometryNotifier;
+  /**
+   * The period to start the odometry notifier with on the first call to {@link #periodic()}, or
+   * null if it shouldn't be started then.
+   */
+  @Nullable private Double odometryPeriodSeconds;
+  /** The {@link LoopProfiler} stage ID for {@link DriveUnidirectionalWithGyro#periodic()}. */
+  private final int periodicStage;
   /** Whether or not to use the NavX for driving straight */
   private boolean overrideGyro;
-  /** Cached values for various sensor readings. */
-  private double cachedLeftVel = Double.NaN;
 
-  private double cachedRightVel = Double.NaN;
-  private double cachedLeftPos = Double.NaN;
-  private double cachedRightPos = Double.NaN;
+  /**
+   * The pose and wheel distances each loop, by {@link Clock} time. The heading is unwrapped, so
+   * that looking up a time between two loops either side of ±180 doesn't interpolate the long way
+   * around.
+   */
+  @NotNull
+  private final SampleHistory poseHistory = new SampleHistory(HISTORY_CAPACITY, HISTORY_COLUMNS);
+  /** The sample being added to the pose history, reused every loop. */
+  @NotNull private final double[] poseSample = new double[HISTORY_COLUMNS];
+  /** The sample being read from the pose history, reused for every lookup. Main thread only. */
+  @NotNull private final double[] poseLookup = new double[HISTORY_COLUMNS];
+  /** The published pose being added to the pose history. Main thread only. */
+  @NotNull private final double[] publishedLookup = new double[POSE_COLUMNS];
 
   /**
    * Default constructor.
@@ -56,25 +102,78 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
    * @param ahrs The NavX gyro for calculating this drive's heading and angular velocity.
    * @param trackWidthMeters The width between the left and right wheels in meters
    */
+  public DriveUnidirectionalWithGyro(
+      @NotNull final SmartMotor leftMaster,
+      @NotNull final SmartMotor rightMaster,
+      @NotNull final MappedAHRS ahrs,
+      final double trackWidthMeters) {
+    this(leftMaster, rightMaster, ahrs, trackWidthMeters, null);
+  }
+
+  /**
+   * Constructor that can update the odometry on its own thread.
+   *
+   * @param leftMaster The master talon on the left side of the drive.
+   * @param rightMaster The master talon on the right side of the drive.
+   * @param ahrs The NavX gyro for calculating this drive's heading and angular velocity.
+   * @param trackWidthMeters The width between the left and right wheels in meters
+   * @param odometryPeriodSeconds If given, the odometry is updated this often by a notifier that's
+   *     started on the first loop, instead of once per loop. See {@link
+   *     #startOdometryNotifier(double)}.
+   */
   @JsonCreator
   public DriveUnidirectionalWithGyro(
       @NotNull @JsonProperty(required = true) final SmartMotor leftMaster,
       @NotNull @JsonProperty(required = true) final SmartMotor rightMaster,
       @NotNull @JsonProperty(required = true) final MappedAHRS ahrs,
-      @JsonProperty(required = true) final double trackWidthMeters) {
+      @JsonProperty(required = true) final double trackWidthMeters,
+      @Nullable final Double odometryPeriodSeconds) {
     super();
+    this.odometryPeriodSeconds = odometryPeriodSeconds;
     // Initialize stuff
     this.rightMaster = rightMaster;
     this.leftMaster = leftMaster;
     this.ahrs = ahrs;
+    // Couple the two sides' physics and feed the gyro if the controllers are simulated
+    SimulationEngine.addDrivetrain(leftMaster, rightMaster, trackWidthMeters, ahrs);
     this.overrideGyro = false;
     this.driveKinematics = new DifferentialDriveKinematics(trackWidthMeters);
     this.driveOdometry = new DifferentialDriveOdometry(Rotation2d.fromDegrees(this.getHeading()));
+    this.periodicStage = LoopProfiler.registerStage(this.getName() + ".periodic()");
   }
 
   @Override
   public void periodic() {
-    updateOdometry();
+    final long start = LoopProfiler.start();
+    if (this.odometryPeriodSeconds != null && this.odometryNotifier == null) {
+      this.startOdometryNotifier(this.odometryPeriodSeconds);
+      this.odometryPeriodSeconds = null;
+    }
+    if (this.odometryNotifier == null) {
+      updateOdometry();
+    }
+    recordPose();
+    LoopProfiler.lap(this.periodicStage, start);
+  }
+
+  /**
+   * Adds the published pose and the cached wheel distances to the history. Only reads values that
+   * are already cached, so it never adds CAN reads.
+   */
+  private void recordPose() {
+    final double heading = this.getHeadingCached();
+    this.publishedPose.read(this.publishedLookup);
+    this.poseSample[X] = this.publishedLookup[X];
+    this.poseSample[Y] = this.publishedLookup[Y];
+    if (this.poseHistory.isEmpty()) {
+      this.poseSample[HEADING] = heading;
+    } else {
+      // Unwrap relative to the last heading, which is still in the sample
+      this.poseSample[HEADING] += Math.IEEEremainder(heading - this.poseSample[HEADING], 360);
+    }
+    this.poseSample[LEFT] = this.leftMaster.getPositionCached();
+    this.poseSample[RIGHT] = this.rightMaster.getPositionCached();
+    this.poseHistory.add(Clock.currentTimeNanos(), this.poseSample);
   }
 
   /**
@@ -109,6 +208,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @Override
   @NotNull
   public Double getLeftVel() {
+    RobotState.checkLiveRead("DriveUnidirectionalWithGyro.getLeftVel()");
     return this.leftMaster.getVelocity();
   }
 
@@ -120,6 +220,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @Override
   @NotNull
   public Double getRightVel() {
+    RobotState.checkLiveRead("DriveUnidirectionalWithGyro.getRightVel()");
     return this.rightMaster.getVelocity();
   }
 
@@ -131,6 +232,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @NotNull
   @Override
   public Double getLeftPos() {
+    RobotState.checkLiveRead("DriveUnidirectionalWithGyro.getLeftPos()");
     return this.leftMaster.getPositionUnits();
   }
 
@@ -142,6 +244,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @NotNull
   @Override
   public Double getRightPos() {
+    RobotState.checkLiveRead("DriveUnidirectionalWithGyro.getRightPos()");
     return this.rightMaster.getPositionUnits();
   }
 
@@ -153,7 +256,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @NotNull
   @Override
   public Double getLeftVelCached() {
-    return this.cachedLeftVel;
+    return this.leftMaster.getVelocityCached();
   }
 
   /**
@@ -164,7 +267,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @NotNull
   @Override
   public Double getRightVelCached() {
-    return this.cachedRightVel;
+    return this.rightMaster.getVelocityCached();
   }
 
   /**
@@ -175,7 +278,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @NotNull
   @Override
   public Double getLeftPosCached() {
-    return this.cachedLeftPos;
+    return this.leftMaster.getPositionCached();
   }
 
   /**
@@ -186,7 +289,7 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @NotNull
   @Override
   public Double getRightPosCached() {
-    return this.cachedRightPos;
+    return this.rightMaster.getPositionCached();
   }
 
   /** @return The feedforward calculator for left motors */
@@ -231,6 +334,8 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   @Override
   public void setHeading(final double heading) {
     this.ahrs.setHeading(heading);
+    // Don't interpolate across the jump
+    this.poseHistory.clear();
   }
 
   /**
@@ -243,6 +348,22 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
     return this.ahrs.getCachedHeading();
   }
 
+  /**
+   * Get the robot's heading at some point in the recent past, interpolated between loops. Times
+   * older than the history get the oldest heading kept, and times after the last loop get the
+   * cached heading.
+   *
+   * @param timeNanos The time, in {@link Clock} nanoseconds.
+   * @return robot heading, in degrees, on [-180, 180].
+   */
+  @Override
+  public double getHeadingAt(final long timeNanos) {
+    if (this.poseHistory.isEmpty()) {
+      return this.getHeadingCached();
+    }
+    return Math.IEEEremainder(this.poseHistory.get(timeNanos, HEADING), 360);
+  }
+
   /**
    * Get the robot's angular velocity.
    *
@@ -319,30 +440,140 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
   /** Reset odometry tracker to current robot pose */
   @Log
   public void resetOdometry(final Pose2d pose) {
-    resetPosition();
-    ahrs.setHeading(pose.getRotation().getDegrees());
-    driveOdometry.resetPosition(pose, Rotation2d.fromDegrees(this.getHeading()));
+    synchronized (odometryLock) {
+      odometryResets++;
+      resetPosition();
+      ahrs.setHeading(pose.getRotation().getDegrees());
+      poseHistory.clear();
+      driveOdometry.resetPosition(pose, Rotation2d.fromDegrees(this.getHeading()));
+      publishPose();
+      odometryResets++;
+    }
   }
 
-  /** Update odometry tracker with current heading, and encoder readings */
+  /**
+   * Update odometry tracker with the cached heading and encoder readings. Called every loop unless
+   * the odometry notifier is running.
+   */
   public void updateOdometry() {
-    // need to convert to meters
-    this.driveOdometry.update(
-        Rotation2d.fromDegrees(this.getHeading()), this.getLeftPos(), this.getRightPos());
+    synchronized (odometryLock) {
+      this.driveOdometry.update(
+          Rotation2d.fromDegrees(this.getHeadingCached()),
+          this.getLeftPosCached(),
+          this.getRightPosCached());
+      publishPose();
+    }
+  }
+
+  /**
+   * Start updating the odometry on a {@link Notifier} instead of in {@link #periodic()}, so it can
+   * run faster than the main loop, e.g. every 5 ms for more accurate poses on fast paths. Each
+   * update reads the gyro and both encoders back to back and publishes the new pose without
+   * locking, so {@link #getCurrentPose()} never waits on it.
+   *
+   * <p>This only helps if the encoders' and gyro's own update rates are at least as fast, so their
+   * status frame periods may need to be lowered.
+   *
+   * @param periodSeconds The time between updates, in seconds.
+   * @throws IllegalStateException if the notifier is already running.
+   */
+  public void startOdometryNotifier(final double periodSeconds) {
+    if (this.odometryNotifier != null) {
+      throw new IllegalStateException("Odometry notifier is already running");
+    }
+    this.odometryNotifier = new Notifier(this::notifierUpdateOdometry);
+    this.odometryNotifier.setName(this.getName() + " odometry");
+    this.odometryNotifier.startPeriodic(periodSeconds);
+  }
+
+  /** Stop the odometry notifier, if it's running, and go back to updating in periodic(). */
+  public void stopOdometryNotifier() {
+    if (this.odometryNotifier != null) {
+      this.odometryNotifier.stop();
+      this.odometryNotifier.close();
+      this.odometryNotifier = null;
+    }
+  }
+
+  /** Update the odometry with fresh sensor readings. Runs on the odometry notifier's thread. */
+  private void notifierUpdateOdometry() {
+    final int resets = this.odometryResets;
+    if ((resets & 1) != 0) {
+      return;
+    }
+    // Read everything before taking the lock, as close together as possible
+    final double heading = this.getHeading();
+    final double left = this.getLeftPos();
+    final double right = this.getRightPos();
+    synchronized (odometryLock) {
+      if (this.odometryResets != resets) {
+        // Taken before a reset
+        return;
+      }
+      this.driveOdometry.update(Rotation2d.fromDegrees(heading), left, right);
+      publishPose();
+    }
+  }
+
+  /** Publish the odometry's current pose to readers. Must hold odometryLock. */
+  private void publishPose() {
+    final Pose2d pose = this.driveOdometry.getPoseMeters();
+    this.poseToPublish[X] = pose.getX();
+    this.poseToPublish[Y] = pose.getY();
+    this.poseToPublish[HEADING] = pose.getRotation().getDegrees();
+    this.publishedPose.write(this.poseToPublish);
   }
 
   /** @return Current estimated pose based on odometry tracker data */
   @Log.ToString
   public Pose2d getCurrentPose() {
-    return this.driveOdometry.getPoseMeters() != null
-        ? this.driveOdometry.getPoseMeters()
-        : new Pose2d(new Translation2d(0, 0), new Rotation2d(0));
+    final double[] pose = new double[POSE_COLUMNS];
+    this.publishedPose.read(pose);
+    return new Pose2d(pose[X], pose[Y], Rotation2d.fromDegrees(pose[HEADING]));
+  }
+
+  /**
+   * Get the pose at some point in the recent past, interpolated between loops. Times older than the
+   * history get the oldest pose kept, and times after the last loop get the newest one.
+   *
+   * @param timeNanos The time, in {@link Clock} nanoseconds.
+   * @return The estimated pose at that time.
+   */
+  @NotNull
+  public Pose2d getPoseAt(final long timeNanos) {
+    if (this.poseHistory.isEmpty()) {
+      return this.getCurrentPose();
+    }
+    this.poseHistory.get(timeNanos, this.poseLookup);
+    return new Pose2d(
+        this.poseLookup[X], this.poseLookup[Y], Rotation2d.fromDegrees(this.poseLookup[HEADING]));
+  }
+
+  /**
+   * Get the distance each side of the drive had gone at some point in the recent past, interpolated
+   * between loops.
+   *
+   * @param timeNanos The time, in {@link Clock} nanoseconds.
+   * @param left Whether to get the left side, or the right side.
+   * @return The signed position in meters at that time.
+   */
+  public double getPosAt(final long timeNanos, final boolean left) {
+    if (this.poseHistory.isEmpty()) {
+      return (left ? this.leftMaster : this.rightMaster).getPositionCached();
+    }
+    return this.poseHistory.get(timeNanos, left ? LEFT : RIGHT);
+  }
+
+  /** @return The history of poses and wheel distances, by {@link Clock} time. */
+  @NotNull
+  public SampleHistory getPoseHistory() {
+    return this.poseHistory;
   }
 
   /** @return Current wheel speeds based on encoder readings for future pose correction */
   public DifferentialDriveWheelSpeeds getWheelSpeeds() {
     // need to convert to meters
-    return new DifferentialDriveWheelSpeeds(this.getLeftVel(), this.getRightVel());
+    return new DifferentialDriveWheelSpeeds(this.getLeftVelCached(), this.getRightVelCached());
   }
 
   /** @return Kinematics processor for wheel speeds */
@@ -372,14 +603,12 @@ public class DriveUnidirectionalWithGyro extends SubsystemBase
     this.rightMaster.resetPosition();
   }
 
-  /** Updates all cached values with current ones. */
+  /**
+   * Does nothing, since the cached encoder readings are the masters' own, which {@link
+   * frc.team449.generalInterfaces.MotorContainer} updates.
+   */
   @Override
-  public void update() {
-    this.cachedLeftVel = this.getLeftVel();
-    this.cachedLeftPos = this.getLeftPos();
-    this.cachedRightVel = this.getRightVel();
-    this.cachedRightPos = this.getRightPos();
-  }
+  public void update() {}
 
   /**
    * Hold the current position.
@@ -10,6 +10,7 @@ import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.jacksonWrappers.MappedAHRS;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A drive with a cluster of any number of CANTalonSRX controlled motors on each side and a high and
@@ -35,6 +36,35 @@ public class DriveUnidirectionalWithGyroShiftable extends DriveUnidirectionalWit
    * @param shiftComponent The component that controls shifting.
    * @param startingOverrideAutoshift Whether to start with autoshift disabled. Defaults to false.
    */
+  public DriveUnidirectionalWithGyroShiftable(
+      @NotNull final SmartMotor leftMaster,
+      @NotNull final SmartMotor rightMaster,
+      @NotNull final MappedAHRS ahrs,
+      final double trackWidthMeters,
+      @NotNull final ShiftComponent shiftComponent,
+      final boolean startingOverrideAutoshift) {
+    this(
+        leftMaster,
+        rightMaster,
+        ahrs,
+        trackWidthMeters,
+        shiftComponent,
+        startingOverrideAutoshift,
+        null);
+  }
+
+  /**
+   * Constructor that can update the odometry on its own thread.
+   *
+   * @param leftMaster The master talon on the left side of the drive.
+   * @param rightMaster The master talon on the right side of the drive.
+   * @param ahrs The NavX on this drive.
+   * @param trackWidthMeters The width between the left and right wheels in meters
+   * @param shiftComponent The component that controls shifting.
+   * @param startingOverrideAutoshift Whether to start with autoshift disabled. Defaults to false.
+   * @param odometryPeriodSeconds If given, the odometry is updated this often by a notifier that's
+   *     started on the first loop, instead of once per loop.
+   */
   @JsonCreator
   public DriveUnidirectionalWithGyroShiftable(
       @NotNull @JsonProperty(required = true) final SmartMotor leftMaster,
@@ -42,8 +72,9 @@ public class DriveUnidirectionalWithGyroShiftable extends DriveUnidirectionalWit
       @NotNull @JsonProperty(required = true) final MappedAHRS ahrs,
       @JsonProperty(required = true) final double trackWidthMeters,
       @NotNull @JsonProperty(required = true) final ShiftComponent shiftComponent,
-      final boolean startingOverrideAutoshift) {
-    super(leftMaster, rightMaster, ahrs, trackWidthMeters);
+      final boolean startingOverrideAutoshift,
+      @Nullable final Double odometryPeriodSeconds) {
+    super(leftMaster, rightMaster, ahrs, trackWidthMeters, odometryPeriodSeconds);
     // Initialize stuff
     this.shiftComponent = shiftComponent;
 
@@ -5,13 +5,13 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
 import frc.team449.generalInterfaces.AHRS.commands.PIDAngleCommand;
 import frc.team449.oi.unidirectional.tank.OITank;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -118,13 +118,13 @@ public class NavXDriveStraight<T extends Subsystem & DriveUnidirectional & Subsy
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "NavXDriveStraight interrupted!",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
     subsystem.fullStop();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "NavXDriveStraight end", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
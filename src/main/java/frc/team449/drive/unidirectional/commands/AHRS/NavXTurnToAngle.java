@@ -5,13 +5,13 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
 import frc.team449.generalInterfaces.AHRS.commands.PIDAngleCommand;
 import frc.team449.other.Clock;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -94,7 +94,7 @@ public class NavXTurnToAngle<T extends Subsystem & DriveUnidirectional & Subsyst
   /** Set up the start time and setpoint. */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "NavXTurnToAngle init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("NavXTurnToAngle init.", this.getClass());
     // Set up start time
@@ -129,11 +129,11 @@ public class NavXTurnToAngle<T extends Subsystem & DriveUnidirectional & Subsyst
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "NavXTurnToAngle interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
     subsystem.fullStop();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "NavXTurnToAngle end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
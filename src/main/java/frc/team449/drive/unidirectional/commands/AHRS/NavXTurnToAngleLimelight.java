@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.components.limelight.LimelightDistanceComponent;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
@@ -14,15 +13,29 @@ import frc.team449.generalInterfaces.AHRS.commands.PIDAngleCommand;
 import frc.team449.generalInterfaces.limelight.Limelight;
 import frc.team449.other.Clock;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventLog;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-/** Turn a certain number of degrees from the current heading, based on input from the limelight */
+/**
+ * Turn a certain number of degrees from the current heading, based on input from the limelight.
+ *
+ * <p>The limelight's x offset is added to the heading the robot had when the frame was captured,
+ * not the current heading, so the setpoint doesn't lag behind by however far the robot turned
+ * during the limelight's latency. The setpoint is updated with every new frame, so the robot can
+ * keep aiming while it's moving.
+ */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class NavXTurnToAngleLimelight<T extends Subsystem & DriveUnidirectional & SubsystemAHRS>
     extends NavXTurnToAngleRelative<T> {
+  /** Logs the distance to the target when the command starts. */
+  private static final EventLog.Site DISTANCE_LOG =
+      EventLog.site(NavXTurnToAngleLimelight.class, EventLog.Level.DEBUG);
 
   private final Limelight limelight;
+  /** When the frame the setpoint was last set from was captured, in {@link Clock} nanoseconds. */
+  private long lastCaptureTimeNanos;
 
   /**
    * Default constructor.
@@ -84,28 +97,44 @@ public class NavXTurnToAngleLimelight<T extends Subsystem & DriveUnidirectional
   public void initialize() {
     // Setup start time
     this.startTime = Clock.currentTimeMillis();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "NavXTurnToAngleLimelight init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("NavXRelativeTurnToAngle init.", this.getClass());
     // Do math to setup the setpoint.
-    this.setSetpoint(PIDAngleCommand.clipTo180(subsystem.getHeadingCached() - limelight.getX()));
+    this.aimAtTarget();
     // System.out.println("Current setpoint = " + limelight.getX());
     final LimelightDistanceComponent distanceComponent =
         new LimelightDistanceComponent(limelight, 20. / 12., 36, 7.5);
-    System.out.println(distanceComponent.getAsDouble());
+    DISTANCE_LOG.log("Distance to target: {}", distanceComponent.getAsDouble());
+  }
+
+  /** Re-aim if the limelight has seen the target in a new frame, then turn. */
+  @Override
+  public void execute() {
+    if (limelight.hasTarget() && limelight.getCaptureTimeNanos() != lastCaptureTimeNanos) {
+      this.aimAtTarget();
+    }
+    super.execute();
+  }
+
+  /** Set the setpoint to the target's heading, as of when the limelight last saw it. */
+  private void aimAtTarget() {
+    lastCaptureTimeNanos = limelight.getCaptureTimeNanos();
+    final double headingAtCapture = subsystem.getHeadingAt(lastCaptureTimeNanos);
+    this.setSetpoint(PIDAngleCommand.clipTo180(headingAtCapture - limelight.getX()));
   }
 
   /** Log when the command ends. */
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "NavXTurnToAngleLimelight interrupted!",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
     // how the heck do we stop this thing help
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "NavXRelativeTurnToAngleLimelight end.",
         this.getClass().getSimpleName(),
         EventImportance.kNormal);
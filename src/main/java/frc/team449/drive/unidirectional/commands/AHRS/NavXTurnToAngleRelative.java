@@ -5,12 +5,12 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
 import frc.team449.other.Clock;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -78,7 +78,7 @@ public class NavXTurnToAngleRelative<T extends Subsystem & DriveUnidirectional &
   public void initialize() {
     // Setup start time
     startTime = Clock.currentTimeMillis();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "NavXTurnToAngleRelative init.", getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("NavXRelativeTurnToAngle init.", this.getClass());
     // Do math to setup the setpoint.
@@ -89,14 +89,14 @@ public class NavXTurnToAngleRelative<T extends Subsystem & DriveUnidirectional &
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "NavXTurnToAngleRelative interrupted!",
           getClass().getSimpleName(),
           EventImportance.kNormal);
     }
     // how the heck do we stop this thing help
 
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "NavXTurnToAngleRelative end.", getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
@@ -5,11 +5,11 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.other.Clock;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 /** Go at a certain velocity for a set number of seconds */
@@ -45,8 +45,7 @@ public class DriveAtSpeed<T extends Subsystem & DriveUnidirectional> extends Com
     this.velocity = velocity;
     this.seconds = seconds;
     addRequirements(subsystem);
-    Shuffleboard.addEventMarker(
-        "Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("Drive Robot bueno", this.getClass());
   }
 
@@ -57,8 +56,7 @@ public class DriveAtSpeed<T extends Subsystem & DriveUnidirectional> extends Com
     startTime = Clock.currentTimeMillis();
     // Reset drive velocity (for safety reasons)
     subsystem.fullStop();
-    Shuffleboard.addEventMarker(
-        "DriveAtSpeed init", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("DriveAtSpeed init", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("DriveAtSpeed init", this.getClass());
   }
 
@@ -83,7 +81,7 @@ public class DriveAtSpeed<T extends Subsystem & DriveUnidirectional> extends Com
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "DriveAtSpeed Interrupted! Stopping the robot.",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
@@ -92,8 +90,7 @@ public class DriveAtSpeed<T extends Subsystem & DriveUnidirectional> extends Com
     // loop handles a
     // full stop.
     subsystem.fullStop();
-    Shuffleboard.addEventMarker(
-        "DriveAtSpeed end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("DriveAtSpeed end.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("DriveAtSpeed end.", this.getClass());
   }
 }
@@ -5,11 +5,11 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.oi.unidirectional.tank.OITank;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 /** Drives straight when using a tank drive. */
@@ -41,8 +41,7 @@ public class DriveStraight<T extends Subsystem & DriveUnidirectional> extends Co
     this.oi = oi;
     this.useLeft = useLeft;
     addRequirements(subsystem);
-    Shuffleboard.addEventMarker(
-        "Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("Drive Robot bueno", this.getClass());
   }
 
@@ -76,7 +75,7 @@ public class DriveStraight<T extends Subsystem & DriveUnidirectional> extends Co
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "DriveStraight Interrupted! Stopping the robot.",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
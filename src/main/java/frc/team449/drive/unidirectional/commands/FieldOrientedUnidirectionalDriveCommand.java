@@ -2,13 +2,13 @@ package frc.team449.drive.unidirectional.commands;
 
 import com.fasterxml.jackson.annotation.*;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
 import frc.team449.generalInterfaces.AHRS.commands.PIDAngleCommand;
 import frc.team449.oi.fieldoriented.OIFieldOriented;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventMarkers;
 import java.util.ArrayList;
 import java.util.List;
 import org.jetbrains.annotations.NotNull;
@@ -91,8 +91,7 @@ public class FieldOrientedUnidirectionalDriveCommand<
     this.addRequirements(this.subsystem);
 
     // Logging, but in Spanish.
-    Shuffleboard.addEventMarker(
-        "Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("Drive Robot bueno", this.getClass());
   }
 
@@ -101,7 +100,7 @@ public class FieldOrientedUnidirectionalDriveCommand<
   public void initialize() {
     // Reset all values of the PIDController and enable it.
     this.getController().reset();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "FieldOrientedUnidirectionalDriveCommand init.",
         this.getClass().getSimpleName(),
         EventImportance.kNormal);
@@ -146,12 +145,12 @@ public class FieldOrientedUnidirectionalDriveCommand<
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "FieldOrientedUnidirectionalDriveCommand Interrupted!",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "FieldOrientedUnidirectionalDriveCommand End.",
         this.getClass().getSimpleName(),
         EventImportance.kNormal);
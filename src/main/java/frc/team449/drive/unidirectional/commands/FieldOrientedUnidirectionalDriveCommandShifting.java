@@ -2,7 +2,6 @@ package frc.team449.drive.unidirectional.commands;
 
 import com.fasterxml.jackson.annotation.*;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.components.AutoshiftComponent;
 import frc.team449.drive.shifting.DriveShiftable;
@@ -11,6 +10,7 @@ import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
 import frc.team449.oi.fieldoriented.OIFieldOriented;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventMarkers;
 import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -139,12 +139,12 @@ public class FieldOrientedUnidirectionalDriveCommandShifting<
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "FieldOrientedUnidirectionalDriveCommandShifting Interrupted!",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "FieldOrientedUnidirectionalDriveCommandShifting End.",
         this.getClass().getSimpleName(),
         EventImportance.kNormal);
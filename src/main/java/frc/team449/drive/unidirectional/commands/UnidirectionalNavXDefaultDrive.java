@@ -2,7 +2,6 @@ package frc.team449.drive.unidirectional.commands;
 
 import com.fasterxml.jackson.annotation.*;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
@@ -10,6 +9,7 @@ import frc.team449.generalInterfaces.AHRS.commands.PIDAngleCommand;
 import frc.team449.generalInterfaces.doubleUnaryOperator.RampComponent;
 import frc.team449.oi.unidirectional.OIUnidirectional;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import java.util.function.DoubleUnaryOperator;
@@ -120,8 +120,7 @@ public class UnidirectionalNavXDefaultDrive<
     this.addRequirements(this.subsystem);
 
     // Logging, but in Spanish.
-    Shuffleboard.addEventMarker(
-        "Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("Drive Robot bueno", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("Drive Robot bueno", this.getClass());
   }
 
@@ -130,7 +129,7 @@ public class UnidirectionalNavXDefaultDrive<
   public void initialize() {
     // Reset all values of the PIDController and enable it.
     this.getController().reset();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "UnidirectionalNavXArcadeDrive init.",
         this.getClass().getSimpleName(),
         EventImportance.kNormal);
@@ -214,13 +213,13 @@ public class UnidirectionalNavXDefaultDrive<
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "UnidirectionalNavXArcadeDrive Interrupted! Stopping the robot.",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
     this.subsystem.fullStop();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "UnidirectionalNavXArcadeDrive End.",
         this.getClass().getSimpleName(),
         EventImportance.kNormal);
@@ -2,7 +2,6 @@ package frc.team449.drive.unidirectional.commands;
 
 import com.fasterxml.jackson.annotation.*;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.components.AutoshiftComponent;
 import frc.team449.drive.shifting.DriveShiftable;
@@ -12,6 +11,7 @@ import frc.team449.generalInterfaces.doubleUnaryOperator.RampComponent;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
 import frc.team449.oi.unidirectional.OIUnidirectional;
 import frc.team449.other.Debouncer;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import java.util.Objects;
 import org.jetbrains.annotations.NotNull;
@@ -153,13 +153,13 @@ public class UnidirectionalNavXShiftingDefaultDrive<
   @Override
   public void end(final boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "ShiftingUnidirectionalNavXArcadeDrive Interrupted! Stopping the robot.",
           this.getClass().getSimpleName(),
           EventImportance.kNormal);
     }
     this.subsystem.fullStop();
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "ShiftingUnidirectionalNavXArcadeDrive End.",
         this.getClass().getSimpleName(),
         EventImportance.kNormal);
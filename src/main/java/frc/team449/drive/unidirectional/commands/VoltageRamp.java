@@ -5,11 +5,11 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.drive.unidirectional.DriveUnidirectional;
 import frc.team449.other.Clock;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 /** A command to ramp up the motors to full power at a given voltage rate. */
@@ -49,8 +49,7 @@ public class VoltageRamp<T extends Subsystem & DriveUnidirectional> extends Comm
   /** Reset the output */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
-        "VoltageRamp init.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("VoltageRamp init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("VoltageRamp init.", this.getClass());
     lastTime = Clock.currentTimeMillis();
     output = 0;
@@ -78,11 +77,10 @@ public class VoltageRamp<T extends Subsystem & DriveUnidirectional> extends Comm
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "VoltageRamp Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
     subsystem.setOutput(0, 0);
-    Shuffleboard.addEventMarker(
-        "VoltageRamp end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("VoltageRamp end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
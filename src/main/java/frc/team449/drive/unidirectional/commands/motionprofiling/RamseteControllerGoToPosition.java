@@ -4,18 +4,32 @@ import com.fasterxml.jackson.annotation.*;
 import edu.wpi.first.wpilibj.controller.RamseteController;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
 import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConstraint;
 import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import edu.wpi.first.wpilibj2.command.RamseteCommand;
+import frc.team449.components.TrajectoryCache;
+import frc.team449.components.TrajectoryPlanner;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
 import frc.team449.jacksonWrappers.MappedPIDController;
 import io.github.oblarg.oblog.Loggable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * Drives from wherever the robot is to a given pose with a Ramsete controller.
+ *
+ * <p>Since the trajectory depends on where the robot is when this starts, it's generated by the
+ * {@link TrajectoryPlanner} in the background rather than in {@link #initialize()}, and the robot
+ * is held still until it's ready. To avoid that wait, the trajectory can be planned ahead with
+ * {@link #prepare(Pose2d)}, which the previous leg does automatically if it was given this one with
+ * {@link #setNextLeg(RamseteControllerGoToPosition)}.
+ */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.CLASS,
@@ -23,13 +37,29 @@ import java.util.List;
     property = "@class")
 public class RamseteControllerGoToPosition extends CommandBase implements Loggable {
 
+  /** How close the robot must be to a planned starting pose to use the planned trajectory. */
+  private static final double START_TOLERANCE_METERS = 0.1, START_TOLERANCE_DEGREES = 5;
+
   private final DriveUnidirectionalWithGyro drivetrain;
   private final MappedPIDController leftPidController;
   private final MappedPIDController rightPidController;
   private final Pose2d endingPose;
   private final List<Translation2d> translations;
   private final TrajectoryConfig config;
-  private RamseteCommand wrappedCommand;
+  /** Where the robot is expected to be when this starts, or null if it isn't known. */
+  @Nullable private final Pose2d expectedStartingPose;
+  /** The key of the trajectory from expectedStartingPose in the {@link TrajectoryCache}. */
+  private final long cacheKey;
+  /** The command that runs after this one, if it should be planned ahead. */
+  @Nullable private RamseteControllerGoToPosition nextLeg;
+  /** The pose the prepared trajectory starts at. */
+  @Nullable private Pose2d preparedStart;
+  /** A trajectory planned ahead of time by {@link #prepare(Pose2d)}, or null if there isn't one. */
+  @Nullable private CompletableFuture<Trajectory> prepared;
+  /** The trajectory being planned for the current run, or null once it's being followed. */
+  @Nullable private CompletableFuture<Trajectory> pending;
+  /** Follows the trajectory, or null while it's still being planned. */
+  @Nullable private RamseteCommand wrappedCommand;
 
   @JsonCreator
   public RamseteControllerGoToPosition(
@@ -42,11 +72,44 @@ public class RamseteControllerGoToPosition extends CommandBase implements Loggab
       @JsonProperty(required = true) Pose2d endingPose,
       List<Translation2d> translations,
       boolean reversed) {
+    this(
+        drivetrain,
+        maxSpeedMeters,
+        maxAccelMeters,
+        maxCentripetalAcceleration,
+        leftPidController,
+        rightPidController,
+        null,
+        endingPose,
+        translations,
+        reversed);
+  }
+
+  /**
+   * Constructor for when it's known where the robot will be when this starts, e.g. because it's
+   * following another command that ends there. The trajectory from there is generated ahead of time
+   * by the {@link TrajectoryCache}, and used if the robot is close enough to that pose when this
+   * starts. Otherwise, a trajectory is planned from wherever the robot actually is.
+   *
+   * @param expectedStartingPose Where the robot should be when this starts, or null if unknown.
+   */
+  public RamseteControllerGoToPosition(
+      DriveUnidirectionalWithGyro drivetrain,
+      final double maxSpeedMeters,
+      final double maxAccelMeters,
+      Double maxCentripetalAcceleration,
+      MappedPIDController leftPidController,
+      MappedPIDController rightPidController,
+      @Nullable Pose2d expectedStartingPose,
+      Pose2d endingPose,
+      List<Translation2d> translations,
+      boolean reversed) {
     this.drivetrain = drivetrain;
     this.leftPidController = leftPidController;
     this.rightPidController = rightPidController;
+    this.expectedStartingPose = expectedStartingPose;
     this.endingPose = endingPose;
-    this.translations = translations;
+    this.translations = translations == null ? new ArrayList<>() : translations;
 
     TrajectoryConstraint voltageConstraint =
         new DifferentialDriveVoltageConstraint(
@@ -59,18 +122,108 @@ public class RamseteControllerGoToPosition extends CommandBase implements Loggab
             .addConstraint(voltageConstraint)
             .setReversed(reversed);
 
+    if (expectedStartingPose != null) {
+      cacheKey =
+          TrajectoryCache.cubicKey(
+              expectedStartingPose,
+              this.translations,
+              endingPose,
+              config,
+              TrajectoryCache.voltageConstraintParameters(
+                  drivetrain.getLeftFeedforwardCalculator(), drivetrain.getDriveKinematics(), 12));
+      TrajectoryCache.register(cacheKey, () -> generateFrom(expectedStartingPose));
+    } else {
+      cacheKey = 0;
+    }
+
     addRequirements(drivetrain);
   }
 
+  /**
+   * @param start The pose to start at.
+   * @return A newly generated trajectory from the given pose to the ending pose.
+   */
+  private Trajectory generateFrom(final Pose2d start) {
+    return TrajectoryGenerator.generateTrajectory(start, translations, endingPose, config);
+  }
+
+  /**
+   * @param a A pose.
+   * @param b Another pose.
+   * @return Whether the poses are close enough that a trajectory from one can be followed from the
+   *     other, letting the controller correct the difference.
+   */
+  private static boolean isNear(final Pose2d a, final Pose2d b) {
+    final double distance = a.getTranslation().getDistance(b.getTranslation());
+    final double angle = a.getRotation().minus(b.getRotation()).getDegrees();
+    return distance < START_TOLERANCE_METERS && Math.abs(angle) < START_TOLERANCE_DEGREES;
+  }
+
+  /**
+   * Starts getting a trajectory from the given pose in the background, from the {@link
+   * TrajectoryCache} if it's close to the expected starting pose.
+   *
+   * @param start The pose to start at.
+   * @return The trajectory, once it's ready.
+   */
+  private CompletableFuture<Trajectory> planFrom(final Pose2d start) {
+    if (expectedStartingPose != null && isNear(start, expectedStartingPose)) {
+      return TrajectoryPlanner.plan(
+          () -> TrajectoryCache.get(cacheKey, () -> generateFrom(expectedStartingPose)));
+    }
+    return TrajectoryPlanner.plan(start, translations, endingPose, config);
+  }
+
+  /**
+   * Sets the command that runs after this one, so its trajectory can be planned from where this one
+   * will end while this one is still running.
+   *
+   * @param nextLeg The next command, or null if there isn't one.
+   */
+  public void setNextLeg(@Nullable final RamseteControllerGoToPosition nextLeg) {
+    this.nextLeg = nextLeg;
+  }
+
+  /**
+   * Starts planning this command's trajectory from where the robot is predicted to be when it
+   * starts. If the robot is close enough to that pose when it does start, the plan is used instead
+   * of planning from scratch.
+   *
+   * @param predictedStart Where the robot is predicted to be when this starts.
+   */
+  public void prepare(final Pose2d predictedStart) {
+    preparedStart = predictedStart;
+    prepared = planFrom(predictedStart);
+  }
+
   @Override
   public void initialize() {
+    final Pose2d currentPose = drivetrain.getCurrentPose();
+    wrappedCommand = null;
+    pending =
+        prepared != null && isNear(currentPose, preparedStart)
+            ? prepared
+            : planFrom(currentPose);
+    prepared = null;
+    startIfReady();
+  }
+
+  /**
+   * Starts following the trajectory if it's finished being planned, and starts planning the next
+   * leg from where this one ends.
+   *
+   * @return Whether the trajectory is being followed.
+   */
+  private boolean startIfReady() {
+    if (!pending.isDone()) {
+      return false;
+    }
+    // Rethrows anything thrown while generating
+    final Trajectory trajectory = pending.join();
+    pending = null;
     wrappedCommand =
         new RamseteCommand(
-            TrajectoryGenerator.generateTrajectory(
-                drivetrain.getCurrentPose(),
-                translations == null ? new ArrayList<>() : translations,
-                endingPose,
-                config),
+            trajectory,
             drivetrain::getCurrentPose,
             new RamseteController(),
             drivetrain.getLeftFeedforwardCalculator(),
@@ -80,20 +233,35 @@ public class RamseteControllerGoToPosition extends CommandBase implements Loggab
             rightPidController,
             drivetrain::setVoltage);
     wrappedCommand.initialize();
+
+    if (nextLeg != null) {
+      final List<Trajectory.State> states = trajectory.getStates();
+      nextLeg.prepare(states.get(states.size() - 1).poseMeters);
+    }
+    return true;
   }
 
   @Override
   public void execute() {
+    if (wrappedCommand == null && !startIfReady()) {
+      // Hold still until the trajectory is ready
+      drivetrain.fullStop();
+      return;
+    }
     wrappedCommand.execute();
   }
 
   @Override
   public void end(boolean interrupted) {
-    wrappedCommand.end(interrupted);
+    if (wrappedCommand != null) {
+      wrappedCommand.end(interrupted);
+    } else {
+      drivetrain.fullStop();
+    }
   }
 
   @Override
   public boolean isFinished() {
-    return wrappedCommand.isFinished();
+    return wrappedCommand != null && wrappedCommand.isFinished();
   }
 }
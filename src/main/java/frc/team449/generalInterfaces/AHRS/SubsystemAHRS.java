@@ -27,6 +27,17 @@ public interface SubsystemAHRS {
    */
   double getHeadingCached();
 
+  /**
+   * Get the robot's heading at some point in the recent past, e.g. when a camera frame was
+   * captured. Subsystems that don't keep a history just return the cached heading.
+   *
+   * @param timeNanos The time, in {@link frc.team449.other.Clock} nanoseconds.
+   * @return robot heading, in degrees, on [-180, 180].
+   */
+  default double getHeadingAt(final long timeNanos) {
+    return getHeadingCached();
+  }
+
   /**
    * Get the robot's angular velocity.
    *
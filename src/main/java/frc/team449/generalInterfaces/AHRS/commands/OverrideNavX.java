@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
@@ -38,8 +38,7 @@ public class OverrideNavX extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
-        "OverrideNavX init", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("OverrideNavX init", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("OverrideNavX init", this.getClass());
   }
 
@@ -53,10 +52,9 @@ public class OverrideNavX extends InstantCommand {
   @Override
   public void end(boolean interrupt) {
     if (interrupt) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "OverrideNavX Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
-        "OverrideNavX end", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("OverrideNavX end", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
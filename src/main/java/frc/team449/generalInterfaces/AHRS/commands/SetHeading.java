@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449.generalInterfaces.AHRS.SubsystemAHRS;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
@@ -37,8 +37,7 @@ public class SetHeading extends InstantCommand {
   /** Log on init. */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
-        "SetHeading init.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("SetHeading init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("SetHeading init.", this.getClass());
   }
 
@@ -51,8 +50,7 @@ public class SetHeading extends InstantCommand {
   /** Log on exit. */
   @Override
   public void end(boolean interrupted) {
-    Shuffleboard.addEventMarker(
-        "SetHeading end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("SetHeading end.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("SetHeading end.", this.getClass());
   }
 }
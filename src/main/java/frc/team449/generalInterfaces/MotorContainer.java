@@ -1,14 +1,28 @@
 package frc.team449.generalInterfaces;
 
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.team449.generalInterfaces.updatable.Updatable;
+import frc.team449.jacksonWrappers.simulated.SimulationEngine;
+import frc.team449.other.Clock;
+import frc.team449.telemetry.SnapshotLogger;
+import frc.team449.telemetry.SnapshotLogger.Rate;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.Logger;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-public class MotorContainer implements Loggable {
+/**
+ * Keeps track of every motor that's been created, and reads them all into {@link
+ * frc.team449.other.RobotState} once per loop. Maps should put the instance first in their
+ * updater, before anything that reads motors' cached values. Maps with a {@link
+ * frc.team449.other.ParallelUpdater} should put {@link #getUpdatables()} in its first group
+ * instead, so the motors are read at the same time.
+ */
+public class MotorContainer implements Loggable, Updatable {
   @NotNull @Log.Exclude private static final MotorContainer instance = new MotorContainer();
 
   @NotNull private final List<SmartMotor> motors = new ArrayList<>();
@@ -18,13 +32,21 @@ public class MotorContainer implements Loggable {
   }
 
   /**
-   * Registers a motor to be included in the container.
+   * Registers a motor to be included in the container. Its cached readings are published through
+   * {@link SnapshotLogger} rather than {@code @Log}, so logging never reads the motor over CAN.
    *
    * @param motor the motor to be registered
    */
   public static void register(@NotNull final SmartMotor motor) {
     if (!instance.motors.contains(motor)) {
       instance.motors.add(motor);
+      final String name = motor.configureLogName();
+      SnapshotLogger.addDouble(name, "position", Rate.EVERY_LOOP, motor::getPositionCached);
+      SnapshotLogger.addDouble(name, "velocity", Rate.EVERY_LOOP, motor::getVelocityCached);
+      SnapshotLogger.addDouble(name, "outputVoltage", Rate.TEN_HZ, motor::getOutputVoltageCached);
+      SnapshotLogger.addDouble(name, "outputCurrent", Rate.TEN_HZ, motor::getOutputCurrentCached);
+      SnapshotLogger.addDouble(
+          name, "batteryVoltage", Rate.ONE_HZ, motor::getBatteryVoltageCached);
     }
   }
 
@@ -38,8 +60,75 @@ public class MotorContainer implements Loggable {
     return instance;
   }
 
+  /**
+   * Gets every motor that's been registered, in the order they were registered.
+   *
+   * @return an unmodifiable view of the registered motors
+   */
+  @NotNull
+  public static List<SmartMotor> getMotors() {
+    return Collections.unmodifiableList(instance.motors);
+  }
+
+  /**
+   * Gets an updatable for each registered motor, each of which reads just that motor. Call this
+   * after every motor has been created, since motors registered later aren't included.
+   *
+   * @return a new list with an updatable for each registered motor, in the order they were
+   *     registered
+   */
+  @NotNull
+  public static List<Updatable> getUpdatables() {
+    final List<Updatable> updatables = new ArrayList<>(instance.motors.size());
+    for (final SmartMotor motor : instance.motors) {
+      updatables.add(new MotorUpdatable(motor));
+    }
+    return updatables;
+  }
+
+  /** Steps simulated motors up to now, so that they can be read. Does nothing on a real robot. */
+  private static void advanceSimulation() {
+    if (RobotBase.isSimulation()) {
+      SimulationEngine.advanceTo(Clock.currentTimeNanos());
+    }
+  }
+
+  /** Reads every registered motor's readings into its cache. */
+  @Override
+  public void update() {
+    advanceSimulation();
+    for (int i = 0; i < this.motors.size(); i++) {
+      this.motors.get(i).getReadings().update();
+    }
+  }
+
   @Override
   public String configureLogName() {
     return "Motors";
   }
+
+  /** Reads a single motor's readings into its cache, so motors can be read on different threads. */
+  private static final class MotorUpdatable implements Loggable, Updatable {
+    /** The motor that's read. */
+    @NotNull private final SmartMotor motor;
+    /** The motor's name, used to profile it. */
+    @NotNull private final String name;
+
+    /** @param motor The motor to read. */
+    private MotorUpdatable(@NotNull final SmartMotor motor) {
+      this.motor = motor;
+      this.name = motor.configureLogName();
+    }
+
+    @Override
+    public void update() {
+      advanceSimulation();
+      this.motor.getReadings().update();
+    }
+
+    @Override
+    public String configureLogName() {
+      return "Motors/" + this.name;
+    }
+  }
 }
@@ -5,12 +5,14 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.shuffleboard.BuiltInLayouts;
 import edu.wpi.first.wpilibj.shuffleboard.LayoutType;
+import frc.team449.components.MotorReadingsComponent;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
 import frc.team449.generalInterfaces.simpleMotor.SimpleMotor;
 import frc.team449.jacksonWrappers.MappedSparkMaxBase;
 import frc.team449.jacksonWrappers.simulated.MPSSmartMotorSimulated;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * A motor with built-in advanced capability featuring encoder, current limiting, and gear shifting
@@ -210,6 +212,38 @@ public interface SmartMotor extends SimpleMotor, Shiftable, Loggable {
    */
   int getPort();
 
+  /**
+   * @return The component that keeps this motor's readings as of the start of the loop. The cached
+   *     getters below read from it.
+   */
+  @NotNull
+  MotorReadingsComponent getReadings();
+
+  /** @return The position of the motor in meters, as of the start of the loop. */
+  default double getPositionCached() {
+    return this.getReadings().getPosition();
+  }
+
+  /** @return The velocity of the motor in MPS, as of the start of the loop. */
+  default double getVelocityCached() {
+    return this.getReadings().getVelocity();
+  }
+
+  /** @return The current the motor is drawing in amps, as of the start of the loop. */
+  default double getOutputCurrentCached() {
+    return this.getReadings().getOutputCurrent();
+  }
+
+  /** @return The motor's output voltage in volts, as of the start of the loop. */
+  default double getOutputVoltageCached() {
+    return this.getReadings().getOutputVoltage();
+  }
+
+  /** @return The voltage available to the motor in volts, as of the start of the loop. */
+  default double getBatteryVoltageCached() {
+    return this.getReadings().getBatteryVoltage();
+  }
+
   @Override
   default LayoutType configureLayoutType() {
     return BuiltInLayouts.kGrid;
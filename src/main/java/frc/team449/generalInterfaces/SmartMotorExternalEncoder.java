@@ -1,7 +1,7 @@
 package frc.team449.generalInterfaces;
 
 import edu.wpi.first.wpilibj.Encoder;
-import io.github.oblarg.oblog.annotations.Log;
+import frc.team449.other.RobotState;
 
 /** Represents a {@link SmartMotor} with an external encoder */
 public interface SmartMotorExternalEncoder extends SmartMotor {
@@ -16,7 +16,6 @@ public interface SmartMotorExternalEncoder extends SmartMotor {
 
   /** @return Current RPM for debug purposes */
   @Override
-  @Log
   default double encoderVelocity() {
     return getEncoder().getRate();
   }
@@ -27,13 +26,14 @@ public interface SmartMotorExternalEncoder extends SmartMotor {
    * @return The motor's velocity in MPS, or null if no encoder CPR was given.
    */
   @Override
-  @Log
   default double getVelocity() {
+    RobotState.checkLiveRead("SmartMotorExternalEncoder.getVelocity()");
     return this.encoderToUPS(getEncoder().getRate());
   }
 
   @Override
   default double getPositionUnits() {
+    RobotState.checkLiveRead("SmartMotorExternalEncoder.getPositionUnits()");
     return encoderToUnit(getEncoder().getDistance());
   }
 
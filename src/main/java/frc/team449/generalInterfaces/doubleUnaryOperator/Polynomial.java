@@ -3,18 +3,42 @@ package frc.team449.generalInterfaces.doubleUnaryOperator;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.DoubleUnaryOperator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-/** A polynomial of a single variable. */
+/**
+ * A polynomial of a single variable.
+ *
+ * <p>The terms are compiled into primitive arrays when the polynomial is created or rescaled.
+ * Non-negative integer powers are evaluated with Horner's method, and {@link Math#pow(double,
+ * double)} is only used for fractional or negative powers. For throttle curves, an optional lookup
+ * table can be used instead for inputs on [-1, 1].
+ */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class Polynomial implements DoubleUnaryOperator {
 
+  /** The highest integer power that is evaluated with Horner's method instead of Math.pow. */
+  private static final int MAX_HORNER_POWER = 32;
+
   /** A map of the powers and coefficients of each term. */
   @NotNull private final Map<Double, Double> powerToCoefficientMap;
+  /**
+   * The number of segments in the lookup table over [0, 1], or 0 if the lookup table isn't used.
+   */
+  private final int lookupTableSize;
+  /** Coefficients of the integer-power terms, indexed by power. */
+  private double @NotNull [] hornerCoefficients = new double[0];
+  /** The powers of the remaining terms, sorted ascending. */
+  private double @NotNull [] otherPowers = new double[0];
+  /** The coefficients of the remaining terms, in the same order as otherPowers. */
+  private double @NotNull [] otherCoefficients = new double[0];
+  /** The value of the polynomial at i / lookupTableSize, for i on [0, lookupTableSize]. */
+  private double @Nullable [] lookupTable;
 
   /**
    * Default constructor.
@@ -23,10 +47,18 @@ public class Polynomial implements DoubleUnaryOperator {
    *     [1:1] if null or 0-length.
    * @param scaleCoefficientSumTo Scales each coefficient so they all add up to this number. Can be
    *     null to avoid scaling.
+   * @param lookupTableSize If not null, the polynomial is sampled at this many evenly spaced
+   *     intervals on [0, 1] and inputs on [-1, 1] are linearly interpolated between the samples
+   *     instead of being evaluated exactly. Must be positive, and can't be used if any power is
+   *     negative, since the polynomial is infinite at 0.
+   * @throws IllegalArgumentException if lookupTableSize isn't positive, or is given when a power is
+   *     negative.
    */
   @JsonCreator
   public Polynomial(
-      @Nullable Map<Double, Double> powerToCoefficientMap, @Nullable Double scaleCoefficientSumTo) {
+      @Nullable Map<Double, Double> powerToCoefficientMap,
+      @Nullable Double scaleCoefficientSumTo,
+      @Nullable Integer lookupTableSize) {
     // Default powerToCoefficientMap to just be [1:1].
     if (powerToCoefficientMap == null || powerToCoefficientMap.size() == 0) {
       this.powerToCoefficientMap = new HashMap<>(1);
@@ -36,10 +68,104 @@ public class Polynomial implements DoubleUnaryOperator {
       this.powerToCoefficientMap = new HashMap<>(powerToCoefficientMap);
     }
 
+    if (lookupTableSize != null && lookupTableSize <= 0) {
+      throw new IllegalArgumentException("Lookup table size must be positive: " + lookupTableSize);
+    }
+    if (lookupTableSize != null) {
+      for (final double power : this.powerToCoefficientMap.keySet()) {
+        if (power < 0) {
+          throw new IllegalArgumentException(
+              "Can't use a lookup table with a negative power: " + power);
+        }
+      }
+    }
+    this.lookupTableSize = lookupTableSize != null ? lookupTableSize : 0;
+
     // Scale if scaleCoefficientSumTo isn't null.
     if (scaleCoefficientSumTo != null) {
       scaleCoefficientSum(scaleCoefficientSumTo);
+    } else {
+      compile();
+    }
+  }
+
+  /**
+   * Constructor for a polynomial without a lookup table.
+   *
+   * @param powerToCoefficientMap A map of the powers and coefficients of each term. Defaults to
+   *     [1:1] if null or 0-length.
+   * @param scaleCoefficientSumTo Scales each coefficient so they all add up to this number. Can be
+   *     null to avoid scaling.
+   */
+  public Polynomial(
+      @Nullable Map<Double, Double> powerToCoefficientMap, @Nullable Double scaleCoefficientSumTo) {
+    this(powerToCoefficientMap, scaleCoefficientSumTo, null);
+  }
+
+  /** Rebuilds the primitive arrays and lookup table from powerToCoefficientMap. */
+  private void compile() {
+    int maxIntPower = -1;
+    int numOther = 0;
+    for (final double power : powerToCoefficientMap.keySet()) {
+      if (isHornerPower(power)) {
+        maxIntPower = Math.max(maxIntPower, (int) power);
+      } else {
+        numOther++;
+      }
     }
+
+    final double[] horner = new double[maxIntPower + 1];
+    final double[] powers = new double[numOther];
+    int i = 0;
+    for (final double power : powerToCoefficientMap.keySet()) {
+      if (isHornerPower(power)) {
+        horner[(int) power] += powerToCoefficientMap.get(power);
+      } else {
+        powers[i++] = power;
+      }
+    }
+    Arrays.sort(powers);
+    final double[] coefficients = new double[numOther];
+    for (i = 0; i < numOther; i++) {
+      coefficients[i] = powerToCoefficientMap.get(powers[i]);
+    }
+
+    this.hornerCoefficients = horner;
+    this.otherPowers = powers;
+    this.otherCoefficients = coefficients;
+
+    if (lookupTableSize > 0) {
+      final double[] table = new double[lookupTableSize + 1];
+      for (i = 0; i <= lookupTableSize; i++) {
+        table[i] = evaluateAbs((double) i / lookupTableSize);
+      }
+      this.lookupTable = table;
+    }
+  }
+
+  /**
+   * @param power A power from the map
+   * @return Whether the term with this power can be evaluated with Horner's method.
+   */
+  private static boolean isHornerPower(final double power) {
+    return power >= 0 && power <= MAX_HORNER_POWER && power == Math.rint(power);
+  }
+
+  /**
+   * Evaluates the polynomial exactly using the compiled terms.
+   *
+   * @param abs A non-negative input.
+   * @return The value of the polynomial at abs.
+   */
+  private double evaluateAbs(final double abs) {
+    double toRet = 0;
+    for (int i = hornerCoefficients.length - 1; i >= 0; i--) {
+      toRet = toRet * abs + hornerCoefficients[i];
+    }
+    for (int i = 0; i < otherPowers.length; i++) {
+      toRet += Math.pow(abs, otherPowers[i]) * otherCoefficients[i];
+    }
+    return toRet;
   }
 
   /**
@@ -52,11 +178,14 @@ public class Polynomial implements DoubleUnaryOperator {
   public double applyAsDouble(double x) {
     double sign = Math.signum(x);
     double abs = Math.abs(x);
-    double toRet = 0;
-    for (Map.Entry<Double, Double> power : powerToCoefficientMap.entrySet()) {
-      toRet += Math.pow(abs, power.getKey()) * power.getValue();
+    final double[] table = lookupTable;
+    if (table != null && abs <= 1) {
+      final double scaled = abs * lookupTableSize;
+      final int index = Math.min((int) scaled, lookupTableSize - 1);
+      final double frac = scaled - index;
+      return (table[index] + (table[index + 1] - table[index]) * frac) * sign;
     }
-    return toRet * sign;
+    return evaluateAbs(abs) * sign;
   }
 
   /**
@@ -73,11 +202,15 @@ public class Polynomial implements DoubleUnaryOperator {
     for (Map.Entry<Double, Double> power : powerToCoefficientMap.entrySet()) {
       powerToCoefficientMap.replace(power.getKey(), power.getValue() * scaleFactor);
     }
+    compile();
   }
 
-  /** @return A map of the powers and coefficients of each term. */
+  /**
+   * @return An unmodifiable view of the powers and coefficients of each term. Use {@link
+   *     Polynomial#scaleCoefficientSum(double)} to change the coefficients.
+   */
   @NotNull
   public Map<Double, Double> getPowerToCoefficientMap() {
-    return powerToCoefficientMap;
+    return Collections.unmodifiableMap(powerToCoefficientMap);
   }
 }
@@ -4,13 +4,35 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.EntryNotification;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.team449.other.Clock;
+import frc.team449.other.LoopProfiler;
+import frc.team449.other.SampleHistory;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
 
+/**
+ * A Limelight camera, read over NetworkTables.
+ *
+ * <p>Targeting values are recorded by a NetworkTables listener as soon as they arrive, rather than
+ * polled each loop, and kept in a {@link SampleHistory} along with when their frame was captured.
+ * That time accounts for the pipeline latency the Limelight reports plus the time to capture the
+ * image, so the target can be matched up with where the robot was pointing when the frame was
+ * taken instead of where it's pointing now.
+ *
+ * <p>NetworkTables only sends values that changed, so the listener watches every recorded value
+ * rather than just one. The values a frame changed arrive together, so notifications that come
+ * within {@link #FRAME_BURST_NANOS} of the first one for a frame update that frame's sample instead
+ * of adding another. A frame that changed nothing isn't recorded, but the newest sample still has
+ * its values.
+ */
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.CLASS,
     include = JsonTypeInfo.As.WRAPPER_OBJECT,
@@ -18,6 +40,18 @@ import io.github.oblarg.oblog.annotations.Log;
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class Limelight extends SubsystemBase implements Loggable {
 
+  /** The time the Limelight takes to capture an image, which tl doesn't include, in ms. */
+  private static final double IMAGE_CAPTURE_LATENCY_MILLIS = 11;
+  /**
+   * How long after the first notification for a frame the rest of its values can arrive, in
+   * nanoseconds. Well under the time between frames at the Limelight's max frame rate.
+   */
+  private static final long FRAME_BURST_NANOS = 3_000_000;
+  /** The number of target samples to keep. About 2 seconds of frames at the max frame rate. */
+  private static final int SAMPLE_CAPACITY = 256;
+  /** The columns of each target sample. */
+  private static final int VALID = 0, X = 1, Y = 2, LATENCY = 3, COLUMNS = 4;
+
   /** whether the limelight can see a valid target */
   private final NetworkTableEntry validTargetTable;
   /** x offset. in degrees, of the target from the crosshair */
@@ -47,6 +81,19 @@ public class Limelight extends SubsystemBase implements Loggable {
 
   /** pipeline for driver camera */
   private final int driverPipeline;
+  /** The {@link LoopProfiler} stage ID for {@link Limelight#periodic()}. */
+  private final int periodicStage;
+
+  /** The targeting values from each frame, by when the frame was captured. */
+  @NotNull private final SampleHistory targetHistory = new SampleHistory(SAMPLE_CAPACITY, COLUMNS);
+  /** The sample being recorded. Listener thread only. */
+  @NotNull private final double[] received = new double[COLUMNS];
+  /** When the first notification for the newest frame arrived, in nanoseconds. Listener only. */
+  private long frameReceivedNanos = Long.MIN_VALUE / 2;
+  /** The newest sample, as of the last loop. Main thread only. */
+  @NotNull private final double[] latest = new double[COLUMNS];
+  /** When the frame the newest sample came from was captured, in {@link Clock} nanoseconds. */
+  private long captureTimeNanos;
 
   // Cached values for the most recent state of the limelight while it was on
   private double validTarget;
@@ -98,19 +145,53 @@ public class Limelight extends SubsystemBase implements Loggable {
     pipelineSet = table.getEntry("pipeline");
     camtran = table.getEntry("camtran");
     setPipeline(driverPipeline);
+    periodicStage = LoopProfiler.registerStage(getName() + ".periodic()");
+
+    // Any of these can be the only one a frame changes
+    for (final NetworkTableEntry entry : List.of(validTargetTable, xTable, yTable, latencyTable)) {
+      entry.addListener(this::recordSample, EntryListenerFlags.kNew | EntryListenerFlags.kUpdate);
+    }
+  }
+
+  /**
+   * Records the current targeting values, timestamped with when their frame was captured. Called on
+   * the NetworkTables listener thread whenever tv, tx, ty or tl changes. If the frame already has a
+   * sample, it's replaced, since more of the frame's values have arrived since.
+   *
+   * @param notification The update that triggered this. Unused, since all the values are re-read.
+   */
+  private void recordSample(@NotNull final EntryNotification notification) {
+    final long receivedNanos = Clock.readTimeNanos();
+    final boolean sameFrame = receivedNanos - this.frameReceivedNanos < FRAME_BURST_NANOS;
+    if (!sameFrame) {
+      this.frameReceivedNanos = receivedNanos;
+    }
+    this.received[VALID] = validTargetTable.getDouble(-1);
+    this.received[X] = xTable.getDouble(0);
+    this.received[Y] = yTable.getDouble(0);
+    this.received[LATENCY] = latencyTable.getDouble(0);
+    final double totalLatencyMillis = this.received[LATENCY] + IMAGE_CAPTURE_LATENCY_MILLIS;
+    final long captureNanos = this.frameReceivedNanos - (long) (totalLatencyMillis * 1e6);
+    if (sameFrame) {
+      targetHistory.replaceLatest(captureNanos, this.received);
+    } else {
+      targetHistory.add(captureNanos, this.received);
+    }
   }
 
   @Override
   public void periodic() {
+    final long start = LoopProfiler.start();
     pipeIndex = (int) pipeTable.getDouble(driverPipeline);
-    validTarget = validTargetTable.getDouble(-1);
-    if (true /*pipeIndex != driverPipeline*/) {
-      x = xTable.getDouble(0);
-      y = yTable.getDouble(0);
+    if (!targetHistory.isEmpty()) {
+      captureTimeNanos = targetHistory.copyLatest(latest);
+      validTarget = latest[VALID];
+      x = latest[X];
+      y = latest[Y];
+      latency = latest[LATENCY];
       // System.out.println("X = " + x + ", y = " + y);
       //            area = areaTable.getDouble(0);
       //            skew = skewTable.getDouble(0);
-      //            latency = latencyTable.getDouble(0);
       //            shortest = shortTable.getDouble(0);
       //            longest = longTable.getDouble(0);
       //            width = widthTable.getDouble(0);
@@ -123,6 +204,7 @@ public class Limelight extends SubsystemBase implements Loggable {
       //            yaw = camtranVals[4];
       //            roll = camtranVals[5];
     }
+    LoopProfiler.lap(periodicStage, start);
   }
 
   @Log
@@ -140,6 +222,23 @@ public class Limelight extends SubsystemBase implements Loggable {
     return y;
   }
 
+  /**
+   * @return When the frame the current values came from was captured, in {@link Clock}
+   *     nanoseconds.
+   */
+  public long getCaptureTimeNanos() {
+    return captureTimeNanos;
+  }
+
+  /**
+   * @return Every recent frame's targeting values, by when it was captured. Columns are tv, tx, ty
+   *     and tl, in that order.
+   */
+  @NotNull
+  public SampleHistory getTargetHistory() {
+    return targetHistory;
+  }
+
   @Log
   public double getArea() {
     return area;
@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 
 /** Shifts gears. Basically a "ToggleGear" command. */
@@ -30,8 +30,7 @@ public class ShiftGears extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
-        "ShiftGears init.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("ShiftGears init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("ShiftGears init.", this.getClass());
   }
 
@@ -48,10 +47,9 @@ public class ShiftGears extends InstantCommand {
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "ShiftGears Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
-        "ShiftGears end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("ShiftGears end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
@@ -5,9 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
+import frc.team449.telemetry.EventMarkers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -44,7 +44,7 @@ public class SwitchToGear extends InstantCommand {
   /** Log when this command is initialized */
   @Override
   public void initialize() {
-    Shuffleboard.addEventMarker(
+    EventMarkers.add(
         "SwitchToGear init.", this.getClass().getSimpleName(), EventImportance.kNormal);
     // Logger.addEvent("SwitchToGear init.", this.getClass());
   }
@@ -59,10 +59,9 @@ public class SwitchToGear extends InstantCommand {
   @Override
   public void end(boolean interrupted) {
     if (interrupted) {
-      Shuffleboard.addEventMarker(
+      EventMarkers.add(
           "SwitchToGear Interrupted!", this.getClass().getSimpleName(), EventImportance.kNormal);
     }
-    Shuffleboard.addEventMarker(
-        "SwitchToGear end.", this.getClass().getSimpleName(), EventImportance.kNormal);
+    EventMarkers.add("SwitchToGear end.", this.getClass().getSimpleName(), EventImportance.kNormal);
   }
 }
@@ -10,11 +10,20 @@ import com.kauailabs.navx.frc.AHRS;
 import edu.wpi.first.wpilibj.SPI;
 import edu.wpi.first.wpilibj.SerialPort;
 import frc.team449.generalInterfaces.updatable.Updatable;
+import frc.team449.jacksonWrappers.simulated.SimulationEngine;
+import frc.team449.other.Clock;
+import frc.team449.other.RobotState;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 
-/** A Jackson-compatible, invertible wrapper for the NavX. */
+/**
+ * A Jackson-compatible, invertible wrapper for the NavX.
+ *
+ * <p>If the NavX is on a simulated drivetrain, the yaw comes from the {@link SimulationEngine}
+ * instead.
+ */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class MappedAHRS implements Updatable, Loggable {
 
@@ -24,13 +33,23 @@ public class MappedAHRS implements Updatable, Loggable {
   /** A multiplier for the yaw angle. -1 to invert, 1 to not. */
   protected final int invertYaw;
 
-  /** Cached values. */
-  private double cachedHeading,
-      cachedAngularDisplacement,
-      cachedAngularVel,
-      cachedXAccel,
-      cachedYAccel,
-      cachedPitch;
+  /** The {@link RobotState} columns the cached values are kept in. */
+  @NotNull
+  private final RobotState.Column headingColumn,
+      angularDisplacementColumn,
+      angularVelColumn,
+      xAccelColumn,
+      yAccelColumn,
+      pitchColumn;
+
+  /** Whether the yaw is simulated instead of coming from the NavX. */
+  private boolean simulated;
+  /** The simulated angular displacement, in degrees, before the heading adjustment. */
+  private double simulatedAngle;
+  /** The simulated angular yaw velocity, in degrees/sec. */
+  private double simulatedRate;
+  /** The angle added to the simulated angular displacement by {@link #setHeading(double)}. */
+  private double simulatedAdjustment;
 
   /**
    * Default constructor.
@@ -48,6 +67,12 @@ public class MappedAHRS implements Updatable, Loggable {
       this.ahrs = new AHRS(port, kProcessedData, (byte) 100);
     }
     setHeading(0);
+    this.headingColumn = RobotState.addColumn("MappedAHRS/heading");
+    this.angularDisplacementColumn = RobotState.addColumn("MappedAHRS/angularDisplacement");
+    this.angularVelColumn = RobotState.addColumn("MappedAHRS/angularVel");
+    this.xAccelColumn = RobotState.addColumn("MappedAHRS/xAccel");
+    this.yAccelColumn = RobotState.addColumn("MappedAHRS/yAccel");
+    this.pitchColumn = RobotState.addColumn("MappedAHRS/pitch");
     if (invertYaw == null || invertYaw) {
       this.invertYaw = -1;
     } else {
@@ -72,6 +97,10 @@ public class MappedAHRS implements Updatable, Loggable {
    * @return The heading, in degrees from [-180, 180]
    */
   public double getHeading() {
+    RobotState.checkLiveRead("MappedAHRS.getHeading()");
+    if (simulated) {
+      return Math.IEEEremainder(simulatedAngle + simulatedAdjustment, 360);
+    }
     return invertYaw * ahrs.getYaw();
   }
 
@@ -82,6 +111,20 @@ public class MappedAHRS implements Updatable, Loggable {
    */
   public void setHeading(final double headingDegrees) {
     ahrs.setAngleAdjustment(headingDegrees);
+    simulatedAdjustment = headingDegrees - simulatedAngle;
+  }
+
+  /**
+   * Replaces the NavX's yaw with a simulated one. Called by the {@link SimulationEngine} whenever
+   * it steps the drivetrain this NavX is on.
+   *
+   * @param angleDegrees The angle the drivetrain has turned counterclockwise, in degrees.
+   * @param rateDegreesPerSec The drivetrain's counterclockwise angular velocity, in degrees/sec.
+   */
+  public void setSimulatedYaw(final double angleDegrees, final double rateDegreesPerSec) {
+    simulated = true;
+    simulatedAngle = angleDegrees;
+    simulatedRate = rateDegreesPerSec;
   }
 
   /**
@@ -91,6 +134,10 @@ public class MappedAHRS implements Updatable, Loggable {
    * @return The angular displacement, in degrees.
    */
   public double getAngularDisplacement() {
+    RobotState.checkLiveRead("MappedAHRS.getAngularDisplacement()");
+    if (simulated) {
+      return simulatedAngle + simulatedAdjustment;
+    }
     return ahrs.getAngle() * invertYaw;
   }
 
@@ -100,6 +147,10 @@ public class MappedAHRS implements Updatable, Loggable {
    * @return The angular yaw velocity, in degrees/sec.
    */
   public double getAngularVelocity() {
+    RobotState.checkLiveRead("MappedAHRS.getAngularVelocity()");
+    if (simulated) {
+      return simulatedRate;
+    }
     return ahrs.getRate() * invertYaw;
   }
 
@@ -109,6 +160,7 @@ public class MappedAHRS implements Updatable, Loggable {
    * @return Linear X acceleration, in meters/(sec^2)
    */
   public double getXAccel() {
+    RobotState.checkLiveRead("MappedAHRS.getXAccel()");
     return gsToMetersPerSecondSquared(ahrs.getWorldLinearAccelX());
   }
 
@@ -118,6 +170,7 @@ public class MappedAHRS implements Updatable, Loggable {
    * @return Linear Y acceleration, in meters/(sec^2)
    */
   public double getYAccel() {
+    RobotState.checkLiveRead("MappedAHRS.getYAccel()");
     return gsToMetersPerSecondSquared(ahrs.getWorldLinearAccelY());
   }
 
@@ -127,6 +180,7 @@ public class MappedAHRS implements Updatable, Loggable {
    * @return The pitch, in degrees from [-180, 180]
    */
   public double getPitch() {
+    RobotState.checkLiveRead("MappedAHRS.getPitch()");
     return ahrs.getPitch();
   }
 
@@ -137,7 +191,7 @@ public class MappedAHRS implements Updatable, Loggable {
    */
   @Log
   public double getCachedHeading() {
-    return cachedHeading;
+    return headingColumn.get();
   }
 
   /**
@@ -148,7 +202,7 @@ public class MappedAHRS implements Updatable, Loggable {
    */
   @Log
   public double getCachedAngularDisplacement() {
-    return cachedAngularDisplacement;
+    return angularDisplacementColumn.get();
   }
 
   /**
@@ -158,7 +212,7 @@ public class MappedAHRS implements Updatable, Loggable {
    */
   @Log
   public double getCachedAngularVelocity() {
-    return cachedAngularVel;
+    return angularVelColumn.get();
   }
 
   /**
@@ -168,7 +222,7 @@ public class MappedAHRS implements Updatable, Loggable {
    */
   @Log
   public double getCachedXAccel() {
-    return cachedXAccel;
+    return xAccelColumn.get();
   }
 
   /**
@@ -178,7 +232,7 @@ public class MappedAHRS implements Updatable, Loggable {
    */
   @Log
   public double getCachedYAccel() {
-    return cachedYAccel;
+    return yAccelColumn.get();
   }
 
   /**
@@ -188,17 +242,20 @@ public class MappedAHRS implements Updatable, Loggable {
    */
   @Log
   public double getCachedPitch() {
-    return cachedPitch;
+    return pitchColumn.get();
   }
 
   /** Updates all cached values with current ones. */
   @Override
   public void update() {
-    cachedHeading = getHeading();
-    cachedAngularDisplacement = getAngularDisplacement();
-    cachedAngularVel = getAngularVelocity();
-    cachedXAccel = getXAccel();
-    cachedYAccel = getYAccel();
-    cachedPitch = getPitch();
+    if (simulated) {
+      SimulationEngine.advanceTo(Clock.currentTimeNanos());
+    }
+    headingColumn.set(getHeading());
+    angularDisplacementColumn.set(getAngularDisplacement());
+    angularVelColumn.set(getAngularVelocity());
+    xAccelColumn.set(getXAccel());
+    yAccelColumn.set(getYAccel());
+    pitchColumn.set(getPitch());
   }
 }
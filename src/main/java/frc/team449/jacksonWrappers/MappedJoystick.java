@@ -1,7 +1,5 @@
 package frc.team449.jacksonWrappers;
 
-import static frc.team449.other.Util.getLogPrefix;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -10,15 +8,21 @@ import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.RobotBase;
 import frc.team449.generalInterfaces.rumbleable.Rumbleable;
 import frc.team449.jacksonWrappers.simulated.JoystickSimulated;
+import frc.team449.telemetry.EventLog;
 
 /** A Jackson-compatible wrapper on a {@link Joystick}. */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class MappedJoystick extends Joystick implements Rumbleable {
+  /** Logs when a simulated joystick is created. */
+  private static final EventLog.Site SIMULATED_LOG =
+      EventLog.site(MappedJoystick.class, EventLog.Level.INFO);
+
   /**
    * Whether to construct instances of {@link JoystickSimulated} instead of {@link MappedJoystick}
-   * when the robot is running in a simulation.
+   * when the robot is running in a simulation. Turned off by {@link
+   * frc.team449.other.HeadlessSimulation}, which has no screen to show them on.
    */
-  private static final boolean SIMULATE = true;
+  private static volatile boolean simulate = true;
 
   /**
    * Default constructor
@@ -36,15 +40,22 @@ public class MappedJoystick extends Joystick implements Rumbleable {
    */
   @JsonCreator
   public static MappedJoystick create(@JsonProperty(required = true) final int port) {
-    if (!SIMULATE || RobotBase.isReal()) {
+    if (!simulate || RobotBase.isReal()) {
       return new MappedJoystick(port);
     }
 
-    System.out.println(
-        getLogPrefix(MappedJoystick.class) + "Creating simulated joystick on port " + port);
+    SIMULATED_LOG.log("Creating simulated joystick on port {}", port);
     return new JoystickSimulated(port);
   }
 
+  /**
+   * Makes {@link #create(int)} construct plain joysticks in simulation too, which read from the
+   * simulated driver station instead of the keyboard. Should be called before the map is built.
+   */
+  public static void useDriverStationInSimulation() {
+    simulate = false;
+  }
+
   /**
    * Rumble at a given strength on each side of the device.
    *
@@ -4,11 +4,15 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import com.revrobotics.*;
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.team449.components.ShadowRegisterComponent.Param;
+import frc.team449.components.StatusFrameComponent.Signal;
 import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.jacksonWrappers.simulated.MPSSmartMotorSimulated;
 import frc.team449.javaMaps.builders.SmartMotorConfig;
-import io.github.oblarg.oblog.annotations.Log;
+import frc.team449.other.RobotState;
+import frc.team449.telemetry.EventLog;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,6 +21,13 @@ import java.util.Map;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
+  /** Logs when Sparks are created. */
+  private static final EventLog.Site CREATE_LOG =
+      EventLog.site(MappedSparkMax.class, EventLog.Level.INFO);
+  /** Logs velocity setpoints, at most once a second. */
+  private static final EventLog.Site SETPOINT_LOG =
+      EventLog.site(MappedSparkMax.class, EventLog.Level.DEBUG, 1);
+
   /** REV provided encoder object */
   private final CANEncoder canEncoder;
   /** REV provided PID Controller */
@@ -35,7 +46,7 @@ public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
       @Nullable final Map<CANSparkMaxLowLevel.PeriodicFrame, Integer> statusFrameRatesMillis,
       @NotNull final SmartMotorConfig cfg) {
     super(controlFrameRateMillis, statusFrameRatesMillis, cfg);
-    System.out.println("spark Port = " + cfg.getPort());
+    CREATE_LOG.log("spark Port = {}", cfg.getPort());
     this.canEncoder = this.spark.getEncoder();
     this.pidController = this.spark.getPIDController();
     this.resetPosition();
@@ -43,8 +54,11 @@ public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
   }
 
   /**
-   * Tries to create a MappedSparkMax, but if there's a HAL error, it creates a {@link
-   * frc.team449.jacksonWrappers.simulated.MPSSmartMotorSimulated} instead
+   * Creates a MappedSparkMax, or a {@link
+   * frc.team449.jacksonWrappers.simulated.MPSSmartMotorSimulated} instead in simulation, where
+   * there's no CAN bus for the Spark to be on. Nothing is sent to the Spark here; a Spark that's
+   * missing on the robot is found by its {@link frc.team449.components.BringUpComponent}, which
+   * skips configuring it, and after that reads from it return 0 and writes to it are dropped.
    *
    * @see MappedSparkMax#MappedSparkMax(Integer, Map, SmartMotorConfig)
    */
@@ -52,26 +66,24 @@ public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
       @Nullable final Integer controlFrameRateMillis,
       @Nullable final Map<CANSparkMax.PeriodicFrame, Integer> statusFrameRatesMillis,
       @NotNull final SmartMotorConfig cfg) {
-    try (final var spark =
-        new CANSparkMax(cfg.getPort(), CANSparkMaxLowLevel.MotorType.kBrushless)) {
-      spark.restoreFactoryDefaults();
-      if (spark.getLastError() == CANError.kHALError) {
-        System.out.println(
-            "HAL error for spark on port "
-                + cfg.getPort()
-                + "; assuming nonexistent and replacing with simulated controller");
-        return new MPSSmartMotorSimulated(cfg);
-      } else {
-        return new MappedSparkMax(controlFrameRateMillis, statusFrameRatesMillis, cfg);
-      }
+    if (RobotBase.isSimulation()) {
+      CREATE_LOG.log("Simulating spark on port {}", cfg.getPort());
+      return new MPSSmartMotorSimulated(cfg);
     }
+    return new MappedSparkMax(controlFrameRateMillis, statusFrameRatesMillis, cfg);
   }
 
   @Override
   public void setPID(double kP, double kI, double kD) {
-    this.pidController.setP(kP, 0);
-    this.pidController.setI(kI, 0);
-    this.pidController.setD(kD, 0);
+    if (this.shadow.shouldSend(Param.K_P, kP)) {
+      this.bringUp.run(() -> this.pidController.setP(kP, 0));
+    }
+    if (this.shadow.shouldSend(Param.K_I, kI)) {
+      this.bringUp.run(() -> this.pidController.setI(kI, 0));
+    }
+    if (this.shadow.shouldSend(Param.K_D, kD)) {
+      this.bringUp.run(() -> this.pidController.setD(kD, 0));
+    }
   }
 
   /**
@@ -103,6 +115,10 @@ public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
   /** @return Total revolutions for debug purposes */
   @Override
   public double encoderPosition() {
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.POSITION);
     return this.canEncoder.getPosition();
   }
 
@@ -115,19 +131,20 @@ public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
   public void setPositionSetpoint(final double meters) {
     this.setpoint = meters;
     double nativeSetpoint = this.unitToEncoder(meters);
-    this.pidController.setFF(this.currentGearSettings.feedForwardCalculator.ks / 12.);
-    this.pidController.setReference(
-        nativeSetpoint,
-        ControlType.kPosition,
-        0,
-        this.currentGearSettings.feedForwardCalculator.ks,
-        CANPIDController.ArbFFUnits.kVoltage);
+    final double ks = this.currentGearSettings.feedForwardCalculator.ks;
+    if (this.shadow.shouldSend(Param.K_F, ks / 12.)) {
+      this.bringUp.run(() -> this.pidController.setFF(ks / 12.));
+    }
+    this.output.request(ControlType.kPosition, nativeSetpoint, ks);
   }
 
   /** @return Current RPM for debug purposes */
   @Override
-  @Log
   public double encoderVelocity() {
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.VELOCITY);
     return this.canEncoder.getVelocity();
   }
 
@@ -137,8 +154,12 @@ public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
    * @return The CANTalon's velocity in MPS, or null if no encoder CPR was given.
    */
   @Override
-  @Log
   public double getVelocity() {
+    RobotState.checkLiveRead("MappedSparkMax.getVelocity()");
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.VELOCITY);
     return this.encoderToUPS(canEncoder.getVelocity());
   }
 
@@ -152,29 +173,52 @@ public class MappedSparkMax extends MappedSparkMaxBase implements SmartMotor {
     this.currentControlMode = ControlType.kVelocity;
     double nativeSetpoint = upsToEncoder(velocity);
     this.setpoint = velocity;
-    System.out.println("Native: " + nativeSetpoint + ", orig vel: " + velocity);
-    this.pidController.setFF(0);
-    this.pidController.setReference(
-        nativeSetpoint,
-        ControlType.kVelocity,
-        0,
-        this.currentGearSettings.feedForwardCalculator.calculate(velocity),
-        CANPIDController.ArbFFUnits.kVoltage);
+    SETPOINT_LOG.log("Native: {}, orig vel: {}", nativeSetpoint, velocity);
+    if (this.shadow.shouldSend(Param.K_F, 0)) {
+      this.bringUp.run(() -> this.pidController.setFF(0));
+    }
+    final double feedForward = this.currentGearSettings.feedForwardCalculator.calculate(velocity);
+    this.output.request(ControlType.kVelocity, nativeSetpoint, feedForward);
+  }
+
+  /**
+   * Sends a control request to the Spark, using its PID controller for closed-loop control.
+   *
+   * @param type The control type.
+   * @param setpoint The setpoint, in native units, or volts or duty cycle for open loop.
+   * @param feedForward The arbitrary feedforward, in volts.
+   */
+  @Override
+  protected void send(
+      @NotNull final ControlType type, final double setpoint, final double feedForward) {
+    if (type == ControlType.kPosition || type == ControlType.kVelocity) {
+      this.pidController.setReference(
+          setpoint, type, 0, feedForward, CANPIDController.ArbFFUnits.kVoltage);
+    } else {
+      super.send(type, setpoint, feedForward);
+    }
   }
 
-  @Log
   public double getPosition() {
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.POSITION);
     return canEncoder.getPosition();
   }
 
   @Override
-  @Log
   public double getPositionUnits() {
+    RobotState.checkLiveRead("MappedSparkMax.getPositionUnits()");
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.POSITION);
     return encoderToUnit(canEncoder.getPosition());
   }
 
   @Override
   public void resetPosition() {
-    this.canEncoder.setPosition(0);
+    this.bringUp.run(() -> this.canEncoder.setPosition(0));
   }
 }
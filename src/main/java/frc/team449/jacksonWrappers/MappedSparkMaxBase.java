@@ -1,22 +1,57 @@
 package frc.team449.jacksonWrappers;
 
 import com.revrobotics.CANDigitalInput;
+import com.revrobotics.CANError;
+import com.revrobotics.CANPIDController;
 import com.revrobotics.CANSparkMax;
 import com.revrobotics.CANSparkMaxLowLevel;
 import com.revrobotics.ControlType;
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
+import frc.team449.components.BringUpComponent;
+import frc.team449.components.ConfigManifest;
+import frc.team449.components.MotorReadingsComponent;
+import frc.team449.components.OutputBufferComponent;
+import frc.team449.components.ShadowRegisterComponent;
+import frc.team449.components.ShadowRegisterComponent.Param;
+import frc.team449.components.StatusFrameComponent;
+import frc.team449.components.StatusFrameComponent.Signal;
 import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.javaMaps.builders.SmartMotorConfig;
+import frc.team449.other.RobotState;
+import frc.team449.telemetry.EventLog;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Map;
+import java.util.TreeMap;
 
 public abstract class MappedSparkMaxBase implements SmartMotor {
+  /** Logs which limit switches are set up. */
+  private static final EventLog.Site LIMIT_SWITCH_LOG =
+      EventLog.site(MappedSparkMaxBase.class, EventLog.Level.DEBUG);
+
+  /** The Spark's status frames, in the order {@link #frames} numbers them. */
+  private static final CANSparkMax.PeriodicFrame[] STATUS_FRAMES = {
+    CANSparkMax.PeriodicFrame.kStatus0,
+    CANSparkMax.PeriodicFrame.kStatus1,
+    CANSparkMax.PeriodicFrame.kStatus2
+  };
+  /** The period of each status frame when the Spark powers on, in milliseconds. */
+  private static final int[] DEFAULT_STATUS_PERIODS = {10, 20, 20};
+  /** The longest status frame period the Spark allows, in milliseconds. */
+  private static final int MAX_STATUS_PERIOD = 65535;
+  /** The period control frames are sent at if it isn't given, in milliseconds. */
+  private static final int DEFAULT_CONTROL_PERIOD = 10;
+  /**
+   * The PID slot whose gains hold the {@link ConfigManifest} fingerprint of the configuration in
+   * flash. Only slot 0 is used for control.
+   */
+  private static final int FINGERPRINT_SLOT = 3;
 
   /** The PDP this Spark is connected to. */
   @Nullable @Log.Exclude protected final PDP PDP;
@@ -29,12 +64,14 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
    * is no encoder.
    */
   private final double unitPerRotation;
-  /** Forward limit switch object */
-  private final CANDigitalInput forwardLimitSwitch;
-  /** Reverse limit switch object */
-  private final CANDigitalInput reverseLimitSwitch;
+  /** Forward limit switch object. */
+  @NotNull private final CANDigitalInput forwardLimitSwitch;
+  /** Reverse limit switch object. */
+  @NotNull private final CANDigitalInput reverseLimitSwitch;
   /** The Spark's name, used for logging purposes. */
   @NotNull private final String name;
+  /** This Spark's readings as of the start of the loop. */
+  @NotNull private final MotorReadingsComponent readings;
   /** Whether the forwards or reverse limit switches are normally open or closed, respectively. */
   private final boolean fwdLimitSwitchNormallyOpen, revLimitSwitchNormallyOpen;
   /** The settings currently being used by this Spark. */
@@ -43,6 +80,24 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
   protected ControlType currentControlMode;
   /** The most recently set setpoint. */
   protected double setpoint;
+  /** The last values sent to the Spark, used to skip redundant CAN frames. */
+  @NotNull
+  protected final ShadowRegisterComponent shadow =
+      new ShadowRegisterComponent(this::pollReset, () -> this.setGear(this.getGear()));
+  /** Holds control requests so at most one is sent per loop. */
+  @NotNull
+  protected final OutputBufferComponent output =
+      new OutputBufferComponent(
+          this.shadow,
+          (mode, setpoint, feedForward) -> {
+            if (!this.isMissing()) {
+              this.send((ControlType) mode, setpoint, feedForward);
+            }
+          });
+  /** Sets how often each status frame is sent, based on which readings are used. */
+  @NotNull protected final StatusFrameComponent frames;
+  /** Configures the Spark during robotInit, and holds writes made before then. */
+  @NotNull protected final BringUpComponent bringUp;
   /**
    * The coefficient the output changes by after being measured by the encoder, e.g. this would be
    * 1/70 if there was a 70:1 gearing between the encoder and the final output.
@@ -50,40 +105,51 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
   @Log private double postEncoderGearing;
 
   /**
-   * Create a new SPARK MAX Controller
+   * Create a new SPARK MAX Controller. Only the object is created here; the Spark itself is
+   * configured by {@link #bringUp}, along with every other controller, once robotInit starts.
    *
    * @param controlFrameRateMillis The update rate, in milliseconds, for each control frame.
    * @param statusFrameRatesMillis The update rates, in millis, for each of the status frames.
    * @param cfg The configuration for this Spark
    */
   public MappedSparkMaxBase(
-      @Nullable Integer controlFrameRateMillis,
+      @Nullable final Integer controlFrameRateMillis,
       @Nullable final Map<CANSparkMax.PeriodicFrame, Integer> statusFrameRatesMillis,
-      @NotNull SmartMotorConfig cfg) {
+      @NotNull final SmartMotorConfig cfg) {
     this.spark = new CANSparkMax(cfg.getPort(), CANSparkMaxLowLevel.MotorType.kBrushless);
-    this.spark.restoreFactoryDefaults();
 
     // Set the name to the given one or to spark_<portnum>
     this.name = cfg.getName() != null ? cfg.getName() : ("spark_" + cfg.getPort());
-    // Set this to false because we only use reverseOutput for slaves.
-    this.spark.setInverted(cfg.isReverseOutput());
-    // Set brake mode
-    this.spark.setIdleMode(
-        cfg.isEnableBrakeMode() ? CANSparkMax.IdleMode.kBrake : CANSparkMax.IdleMode.kCoast);
     //    Reset the position
     //    this.resetPosition(); //causes null pointer exception
 
-    // Set frame rates
-    if (controlFrameRateMillis != null) {
-      // Must be between 1 and 100 ms.
-      this.spark.setControlFramePeriodMs(controlFrameRateMillis);
-    }
-
+    this.frames =
+        new StatusFrameComponent(
+                this.name,
+                DEFAULT_STATUS_PERIODS,
+                MAX_STATUS_PERIOD,
+                controlFrameRateMillis != null ? controlFrameRateMillis : DEFAULT_CONTROL_PERIOD,
+                (frame, period) -> this.spark.setPeriodicFramePeriod(STATUS_FRAMES[frame], period))
+            .map(Signal.OUTPUT, 0)
+            .map(Signal.LIMIT_SWITCH, 0)
+            .map(Signal.VELOCITY, 1)
+            .map(Signal.CURRENT, 1)
+            .map(Signal.BATTERY_VOLTAGE, 1)
+            .map(Signal.POSITION, 2);
+
+    // Frames given in the map are left alone
     if (statusFrameRatesMillis != null) {
       for (var frame : statusFrameRatesMillis.keySet()) {
-        this.spark.setPeriodicFramePeriod(frame, statusFrameRatesMillis.get(frame));
+        final int index = Arrays.asList(STATUS_FRAMES).indexOf(frame);
+        if (index >= 0) {
+          this.frames.pin(index, statusFrameRatesMillis.get(frame));
+        }
       }
     }
+    // Followers take their output from status 0
+    if (!cfg.getSlaveSparks().isEmpty()) {
+      this.frames.pin(0, this.frames.getPeriod(0));
+    }
 
     this.PDP = cfg.getPdp();
 
@@ -97,43 +163,117 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
 
     this.postEncoderGearing = cfg.getPostEncoderGearing();
 
-    // Only enable the limit switches if it was specified if they're normally open or closed.
-    if (cfg.getFwdLimitSwitchNormallyOpen() != null) {
-      if (cfg.getRemoteLimitSwitchID() != null) {
-        // set CANDigitalInput to other limit switch
-        System.out.println("Forwardlimitswitchnotnull");
-        //todo why is this creating a new sparkmax?
-        this.forwardLimitSwitch =
-            new CANSparkMax(cfg.getRemoteLimitSwitchID(), CANSparkMaxLowLevel.MotorType.kBrushless)
-                .getForwardLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyOpen);
-      } else {
-        this.forwardLimitSwitch =
-            this.spark.getForwardLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyOpen);
-      }
-      this.fwdLimitSwitchNormallyOpen = cfg.getFwdLimitSwitchNormallyOpen();
+    this.fwdLimitSwitchNormallyOpen =
+        cfg.getFwdLimitSwitchNormallyOpen() == null || cfg.getFwdLimitSwitchNormallyOpen();
+    this.revLimitSwitchNormallyOpen =
+        cfg.getRevLimitSwitchNormallyOpen() == null || cfg.getRevLimitSwitchNormallyOpen();
+
+    // Created here so reading them works even if the Spark turns out to be missing. They're only
+    // enabled if it was specified if they're normally open or closed.
+    if (cfg.getFwdLimitSwitchNormallyOpen() != null && cfg.getRemoteLimitSwitchID() != null) {
+      // set CANDigitalInput to other limit switch
+      LIMIT_SWITCH_LOG.log("Forwardlimitswitchnotnull");
+      //todo why is this creating a new sparkmax?
+      this.forwardLimitSwitch =
+          new CANSparkMax(cfg.getRemoteLimitSwitchID(), CANSparkMaxLowLevel.MotorType.kBrushless)
+              .getForwardLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyOpen);
     } else {
       this.forwardLimitSwitch =
           this.spark.getForwardLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyOpen);
-      this.forwardLimitSwitch.enableLimitSwitch(false);
-      this.fwdLimitSwitchNormallyOpen = true;
-    }
-    if (cfg.getRevLimitSwitchNormallyOpen() != null) {
-      if (cfg.getRemoteLimitSwitchID() != null) {
-        System.out.println("Reverselimitswitchnotnull");
-        //todo why is this creating a new sparkmax?
-        this.reverseLimitSwitch =
-            new CANSparkMax(cfg.getRemoteLimitSwitchID(), CANSparkMaxLowLevel.MotorType.kBrushless)
-                .getReverseLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyClosed);
-      } else {
-        this.reverseLimitSwitch =
-            this.spark.getReverseLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyClosed);
-      }
-      this.revLimitSwitchNormallyOpen = cfg.getRevLimitSwitchNormallyOpen();
+    }
+    if (cfg.getRevLimitSwitchNormallyOpen() != null && cfg.getRemoteLimitSwitchID() != null) {
+      LIMIT_SWITCH_LOG.log("Reverselimitswitchnotnull");
+      //todo why is this creating a new sparkmax?
+      this.reverseLimitSwitch =
+          new CANSparkMax(cfg.getRemoteLimitSwitchID(), CANSparkMaxLowLevel.MotorType.kBrushless)
+              .getReverseLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyClosed);
     } else {
       this.reverseLimitSwitch =
-          this.spark.getReverseLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyOpen);
+          this.spark.getReverseLimitSwitch(
+              cfg.getRevLimitSwitchNormallyOpen() != null
+                  ? CANDigitalInput.LimitSwitchPolarity.kNormallyClosed
+                  : CANDigitalInput.LimitSwitchPolarity.kNormallyOpen);
+    }
+
+    this.bringUp =
+        new BringUpComponent(
+            this.name,
+            this::isOnBus,
+            () -> this.configure(controlFrameRateMillis, statusFrameRatesMillis, cfg));
+
+    this.readings = new MotorReadingsComponent(this.name, this, this.frames);
+    MotorContainer.register(this);
+  }
+
+  /**
+   * Checks whether the Spark is on the bus by reading its firmware version, which doesn't change
+   * any of its settings.
+   *
+   * @return Whether it answered.
+   */
+  private boolean isOnBus() {
+    this.spark.getFirmwareVersion();
+    final CANError error = this.spark.getLastError();
+    return error != CANError.kHALError && error != CANError.kTimeout;
+  }
+
+  /**
+   * @return Whether the Spark didn't answer during bring-up. If so, reads from it return 0 or false
+   *     and writes to it are dropped, so nothing waits on a device that isn't there.
+   */
+  protected boolean isMissing() {
+    return this.bringUp.isMissing();
+  }
+
+  /**
+   * Sends the configuration to the Spark. It's only factory reset and burned to flash if the
+   * configuration has changed since it was last burned, according to the {@link ConfigManifest}
+   * fingerprint stored in {@link #FINGERPRINT_SLOT}. Run once, by {@link #bringUp}, possibly on
+   * another thread.
+   *
+   * @param controlFrameRateMillis The update rate, in milliseconds, for each control frame.
+   * @param statusFrameRatesMillis The update rates, in millis, for each of the status frames.
+   * @param cfg The configuration for this Spark
+   */
+  private void configure(
+      @Nullable final Integer controlFrameRateMillis,
+      @Nullable final Map<CANSparkMax.PeriodicFrame, Integer> statusFrameRatesMillis,
+      @NotNull final SmartMotorConfig cfg) {
+    final CANPIDController fingerprintSlot = this.spark.getPIDController();
+    long stored = 0;
+    for (int i = 0; i < ConfigManifest.CHUNKS; i++) {
+      stored = ConfigManifest.withChunk(stored, i, this.getFingerprintChunk(fingerprintSlot, i));
+    }
+    final long fingerprint = this.fingerprint(cfg);
+    // Settings already in flash only need sending again, not resetting and burning
+    final boolean burn = !ConfigManifest.isUpToDate(stored, fingerprint);
+    if (burn) {
+      this.spark.restoreFactoryDefaults();
+    }
+
+    // Set this to false because we only use reverseOutput for slaves.
+    this.spark.setInverted(cfg.isReverseOutput());
+    // Set brake mode
+    this.spark.setIdleMode(
+        cfg.isEnableBrakeMode() ? CANSparkMax.IdleMode.kBrake : CANSparkMax.IdleMode.kCoast);
+
+    // Set frame rates
+    if (controlFrameRateMillis != null) {
+      // Must be between 1 and 100 ms.
+      this.spark.setControlFramePeriodMs(controlFrameRateMillis);
+    }
+    if (statusFrameRatesMillis != null) {
+      for (var frame : statusFrameRatesMillis.keySet()) {
+        this.spark.setPeriodicFramePeriod(frame, statusFrameRatesMillis.get(frame));
+      }
+    }
+
+    // Only enable the limit switches if it was specified if they're normally open or closed.
+    if (cfg.getFwdLimitSwitchNormallyOpen() == null) {
+      this.forwardLimitSwitch.enableLimitSwitch(false);
+    }
+    if (cfg.getRevLimitSwitchNormallyOpen() == null) {
       this.reverseLimitSwitch.enableLimitSwitch(false);
-      this.revLimitSwitchNormallyOpen = true;
     }
 
     if (cfg.getFwdSoftLimit() != null) {
@@ -160,14 +300,145 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
       slave.setMasterSpark(this.spark, cfg.isEnableBrakeMode());
     }
 
-    this.spark.burnFlash();
+    if (burn) {
+      for (int i = 0; i < ConfigManifest.CHUNKS; i++) {
+        this.setFingerprintChunk(fingerprintSlot, i, ConfigManifest.chunk(fingerprint, i));
+      }
+      if (this.spark.burnFlash() == CANError.kOk) {
+        ConfigManifest.recordBurned();
+      }
+    }
+  }
 
-    MotorContainer.register(this);
+  /**
+   * @param pid The Spark's PID controller.
+   * @param index Which piece of the fingerprint to get.
+   * @return The piece of the fingerprint stored in the Spark's flash.
+   */
+  private double getFingerprintChunk(@NotNull final CANPIDController pid, final int index) {
+    switch (index) {
+      case 0:
+        return pid.getP(FINGERPRINT_SLOT);
+      case 1:
+        return pid.getI(FINGERPRINT_SLOT);
+      default:
+        return pid.getD(FINGERPRINT_SLOT);
+    }
+  }
+
+  /**
+   * @param pid The Spark's PID controller.
+   * @param index Which piece of the fingerprint to set.
+   * @param chunk The piece to store, which is burned to flash with everything else.
+   */
+  private void setFingerprintChunk(
+      @NotNull final CANPIDController pid, final int index, final double chunk) {
+    switch (index) {
+      case 0:
+        pid.setP(chunk, FINGERPRINT_SLOT);
+        break;
+      case 1:
+        pid.setI(chunk, FINGERPRINT_SLOT);
+        break;
+      default:
+        pid.setD(chunk, FINGERPRINT_SLOT);
+    }
+  }
+
+  /**
+   * Hashes everything {@link #configure} burns to the Spark's flash, along with the per-gear
+   * settings and the firmware version, so updating the firmware also counts as a change.
+   *
+   * @param cfg The configuration for this Spark
+   * @return The fingerprint.
+   */
+  private long fingerprint(@NotNull final SmartMotorConfig cfg) {
+    long hash = ConfigManifest.FINGERPRINT_SEED;
+    hash = ConfigManifest.mix(hash, this.spark.getFirmwareVersion());
+    hash = ConfigManifest.mix(hash, cfg.isReverseOutput() ? 1 : 0);
+    hash = ConfigManifest.mix(hash, cfg.isEnableBrakeMode() ? 1 : 0);
+    hash =
+        ConfigManifest.mix(
+            hash,
+            cfg.getFwdLimitSwitchNormallyOpen() == null
+                ? null
+                : cfg.getFwdLimitSwitchNormallyOpen() ? 1 : 0);
+    hash =
+        ConfigManifest.mix(
+            hash,
+            cfg.getRevLimitSwitchNormallyOpen() == null
+                ? null
+                : cfg.getRevLimitSwitchNormallyOpen() ? 1 : 0);
+    hash = ConfigManifest.mix(hash, cfg.getRemoteLimitSwitchID());
+    hash = ConfigManifest.mix(hash, cfg.getFwdSoftLimit());
+    hash = ConfigManifest.mix(hash, cfg.getRevSoftLimit());
+    hash = ConfigManifest.mix(hash, cfg.getCurrentLimit());
+    hash = ConfigManifest.mix(hash, cfg.isEnableVoltageComp() ? 1 : 0);
+    hash = ConfigManifest.mix(hash, cfg.getPostEncoderGearing());
+    hash = ConfigManifest.mix(hash, cfg.getUnitPerRotation());
+    hash = ConfigManifest.mix(hash, this.perGearSettings.size());
+    for (final PerGearSettings settings : new TreeMap<>(this.perGearSettings).values()) {
+      hash = ConfigManifest.mix(hash, settings.gear);
+      hash = ConfigManifest.mix(hash, settings.fwdPeakOutputVoltage);
+      hash = ConfigManifest.mix(hash, settings.revPeakOutputVoltage);
+      hash = ConfigManifest.mix(hash, settings.fwdNominalOutputVoltage);
+      hash = ConfigManifest.mix(hash, settings.revNominalOutputVoltage);
+      hash = ConfigManifest.mix(hash, settings.rampRate);
+      hash = ConfigManifest.mix(hash, settings.maxSpeed);
+      hash = ConfigManifest.mix(hash, settings.postEncoderGearing);
+      hash = ConfigManifest.mix(hash, settings.kP);
+      hash = ConfigManifest.mix(hash, settings.kI);
+      hash = ConfigManifest.mix(hash, settings.kD);
+      hash = ConfigManifest.mix(hash, settings.posKP);
+      hash = ConfigManifest.mix(hash, settings.posKI);
+      hash = ConfigManifest.mix(hash, settings.posKD);
+      hash = ConfigManifest.mix(hash, settings.feedForwardCalculator.ks);
+      hash = ConfigManifest.mix(hash, settings.feedForwardCalculator.kv);
+      hash = ConfigManifest.mix(hash, settings.feedForwardCalculator.ka);
+    }
+    return hash;
+  }
+
+  /**
+   * Checks the Spark's has-reset sticky fault, clearing it if it's set. A Spark that resets comes
+   * back without the settings that were sent after the config was burned.
+   *
+   * @return true if the Spark has reset since the last call, false otherwise or if it's missing.
+   */
+  private boolean pollReset() {
+    if (this.isMissing() || !this.spark.getStickyFault(CANSparkMax.FaultID.kHasReset)) {
+      return false;
+    }
+    this.spark.clearFaults();
+    return true;
   }
 
   @Override
   public void disable() {
-    this.spark.disable();
+    this.bringUp.run(this.spark::disable);
+    this.output.cancel();
+    this.shadow.invalidate();
+  }
+
+  /**
+   * Sends a control request to the Spark. Called by {@link #output}, which decides when and
+   * whether to send it.
+   *
+   * @param type The control type.
+   * @param setpoint The setpoint, in native units, or volts or duty cycle for open loop.
+   * @param feedForward The arbitrary feedforward, in volts.
+   * @throws IllegalArgumentException if this Spark can't do that type of control.
+   */
+  protected void send(
+      @NotNull final ControlType type, final double setpoint, final double feedForward) {
+    if (type == ControlType.kDutyCycle) {
+      this.spark.set(setpoint);
+    } else if (type == ControlType.kVoltage) {
+      this.spark.setVoltage(setpoint);
+    } else {
+      throw new IllegalArgumentException(
+          this.getClass().getSimpleName() + " can't do " + type + " control");
+    }
   }
 
   @Override
@@ -175,16 +446,17 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
     this.currentControlMode = ControlType.kVoltage;
     // Warn the user if they're setting Vbus to a number that's outside the range of values.
     if (Math.abs(percentVoltage) > 1.0) {
-      Shuffleboard.addEventMarker(
-          "WARNING: YOU ARE CLIPPING MAX PERCENT VBUS AT " + percentVoltage,
-          this.getClass().getSimpleName(),
+      EventMarkers.add(
+          "WARNING: YOU ARE CLIPPING MAX PERCENT VBUS AT ",
+          percentVoltage,
+          this.name,
           EventImportance.kNormal);
       percentVoltage = Math.signum(percentVoltage);
     }
 
     this.setpoint = percentVoltage;
 
-    this.spark.set(percentVoltage);
+    this.output.request(ControlType.kDutyCycle, percentVoltage, 0);
   }
 
   @Override
@@ -200,13 +472,16 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
 
     // note, no current limiting
 
-    if (this.currentGearSettings.rampRate != null) {
-      // Set ramp rate, converting from volts/sec to seconds until 12 volts.
-      this.spark.setClosedLoopRampRate(1 / (this.currentGearSettings.rampRate / 12.));
-      this.spark.setOpenLoopRampRate(1 / (this.currentGearSettings.rampRate / 12.));
-    } else {
-      this.spark.setClosedLoopRampRate(0);
-      this.spark.setOpenLoopRampRate(0);
+    // Set ramp rate, converting from volts/sec to seconds until 12 volts.
+    final double ramp =
+        this.currentGearSettings.rampRate != null
+            ? 1 / (this.currentGearSettings.rampRate / 12.)
+            : 0;
+    if (this.shadow.shouldSend(Param.CLOSED_LOOP_RAMP, ramp)) {
+      this.bringUp.run(() -> this.spark.setClosedLoopRampRate(ramp));
+    }
+    if (this.shadow.shouldSend(Param.OPEN_LOOP_RAMP, ramp)) {
+      this.bringUp.run(() -> this.spark.setOpenLoopRampRate(ramp));
     }
 
     if (this.currentGearSettings.postEncoderGearing != null) {
@@ -270,7 +545,9 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
 
   @Override
   public void setVoltage(final double volts) {
-    spark.setVoltage(volts);
+    // Depends on the battery voltage, so always send it
+    shadow.invalidateSetpoint();
+    output.request(ControlType.kVoltage, volts, 0);
   }
 
   /**
@@ -306,20 +583,31 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
   }
 
   @Override
-  @Log
   public double getOutputVoltage() {
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.OUTPUT);
+    this.frames.markRead(Signal.BATTERY_VOLTAGE);
     return this.spark.getAppliedOutput() * this.spark.getBusVoltage();
   }
 
   @Override
-  @Log
   public double getBatteryVoltage() {
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.BATTERY_VOLTAGE);
     return this.spark.getBusVoltage();
   }
 
   @Override
-  @Log
   public double getOutputCurrent() {
+    RobotState.checkLiveRead("MappedSparkMaxBase.getOutputCurrent()");
+    if (this.isMissing()) {
+      return 0;
+    }
+    this.frames.markRead(Signal.CURRENT);
     return this.spark.getOutputCurrent();
   }
 
@@ -349,21 +637,37 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
 
   @Override
   public boolean isFwdLimitSwitch() {
+    if (this.isMissing()) {
+      return false;
+    }
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     return this.forwardLimitSwitch.get();
   }
 
   @Override
   public boolean isRevLimitSwitch() {
+    if (this.isMissing()) {
+      return false;
+    }
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     return this.reverseLimitSwitch.get();
   }
 
   @Override
   public boolean isInhibitedForward() {
+    if (this.isMissing()) {
+      return false;
+    }
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     return this.spark.getFault(CANSparkMax.FaultID.kHardLimitFwd);
   }
 
   @Override
   public boolean isInhibitedReverse() {
+    if (this.isMissing()) {
+      return false;
+    }
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     return this.spark.getFault(CANSparkMax.FaultID.kHardLimitRev);
   }
 
@@ -372,6 +676,36 @@ public abstract class MappedSparkMaxBase implements SmartMotor {
     return this.spark.getDeviceId();
   }
 
+  @Override
+  @NotNull
+  public MotorReadingsComponent getReadings() {
+    return this.readings;
+  }
+
+  /** @return How long configuring the Spark took, in milliseconds, or -1 if it hasn't been. */
+  @Log
+  public long getConfigMillis() {
+    return this.bringUp.getConfigMillis();
+  }
+
+  /** @return The number of config and setpoint frames that have been sent to the Spark. */
+  @Log
+  public long getFramesSent() {
+    return this.shadow.getSentCount();
+  }
+
+  /** @return The number of redundant config and setpoint frames that weren't sent. */
+  @Log
+  public long getFramesSuppressed() {
+    return this.shadow.getSuppressedCount();
+  }
+
+  /** @return The number of times the Spark has been seen to reset and had its settings resent. */
+  @Log
+  public long getResets() {
+    return this.shadow.getResetCount();
+  }
+
   @Override
   public String configureLogName() {
     return this.name;
@@ -98,7 +98,9 @@ public class MappedSparkMaxExternalEncoder extends MappedSparkMaxBase
   public void setVoltage(final double volts) {
     timeDiff -= lastTimeUpdate;
     lastTimeUpdate = Clock.currentTimeSeconds();
-    spark.setVoltage(volts);
+    // Depends on the battery voltage, so always send it
+    shadow.invalidateSetpoint();
+    output.request(ControlType.kVoltage, volts, 0);
   }
 
   /**
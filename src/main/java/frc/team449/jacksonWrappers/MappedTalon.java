@@ -7,12 +7,20 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
-import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
+import frc.team449.components.MotorReadingsComponent;
+import frc.team449.components.OutputBufferComponent;
 import frc.team449.components.RunningLinRegComponent;
+import frc.team449.components.ShadowRegisterComponent;
+import frc.team449.components.ShadowRegisterComponent.Param;
+import frc.team449.components.StatusFrameComponent;
+import frc.team449.components.StatusFrameComponent.Signal;
 import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.javaMaps.builders.SmartMotorConfig;
+import frc.team449.other.RobotState;
+import frc.team449.telemetry.EventMarkers;
 import io.github.oblarg.oblog.annotations.Log;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.jetbrains.annotations.Contract;
@@ -26,6 +34,19 @@ import org.jetbrains.annotations.Nullable;
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class MappedTalon implements SmartMotor {
 
+  /** The Talon's status frames that are adapted, in the order {@link #frames} numbers them. */
+  private static final StatusFrameEnhanced[] STATUS_FRAMES = {
+    StatusFrameEnhanced.Status_1_General,
+    StatusFrameEnhanced.Status_2_Feedback0,
+    StatusFrameEnhanced.Status_4_AinTempVbat
+  };
+  /** The period of each status frame when the Talon powers on, in milliseconds. */
+  private static final int[] DEFAULT_STATUS_PERIODS = {10, 20, 160};
+  /** The longest status frame period the Talon allows, in milliseconds. */
+  private static final int MAX_STATUS_PERIOD = 255;
+  /** The period control frames are sent at if it isn't given, in milliseconds. */
+  private static final int DEFAULT_CONTROL_PERIOD = 10;
+
   /** The CTRE CAN Talon SRX that this class is a wrapper on */
   @NotNull protected final TalonSRX canTalon;
   /** The PDP this Talon is connected to. */
@@ -41,12 +62,27 @@ public class MappedTalon implements SmartMotor {
   @NotNull private final Map<Integer, PerGearSettings> perGearSettings;
   /** The talon's name, used for logging purposes. */
   @NotNull private final String name;
+  /** This Talon's readings as of the start of the loop. */
+  @NotNull private final MotorReadingsComponent readings;
   /** The component for doing linear regression to find the resistance. */
   @Nullable private final RunningLinRegComponent voltagePerCurrentLinReg;
   /** Whether the forwards or reverse limit switches are normally open or closed, respectively. */
   private final boolean fwdLimitSwitchNormallyOpen, revLimitSwitchNormallyOpen;
   /** The settings currently being used by this Talon. */
   @NotNull protected PerGearSettings currentGearSettings;
+  /** The last values sent to the Talon, used to skip redundant CAN frames. */
+  @NotNull
+  private final ShadowRegisterComponent shadow =
+      new ShadowRegisterComponent(
+          () -> this.canTalon.hasResetOccurred(), () -> this.setGear(this.getGear()));
+  /** Holds control requests so at most one is sent per loop. */
+  @NotNull
+  private final OutputBufferComponent output =
+      new OutputBufferComponent(
+          this.shadow,
+          (mode, setpoint, feedForward) -> this.send((ControlMode) mode, setpoint, feedForward));
+  /** Sets how often each status frame is sent, based on which readings are used. */
+  @NotNull private final StatusFrameComponent frames;
 
   Faults faults = new Faults();
   /**
@@ -109,11 +145,40 @@ public class MappedTalon implements SmartMotor {
             controlFrame, controlFrameRatesMillis.get(controlFrame));
       }
     }
+    final Integer controlPeriod =
+        controlFrameRatesMillis != null
+            ? controlFrameRatesMillis.get(ControlFrame.Control_3_General)
+            : null;
+    this.frames =
+        new StatusFrameComponent(
+                this.name,
+                DEFAULT_STATUS_PERIODS,
+                MAX_STATUS_PERIOD,
+                controlPeriod != null ? controlPeriod : DEFAULT_CONTROL_PERIOD,
+                (frame, period) ->
+                    this.canTalon.setStatusFramePeriod(STATUS_FRAMES[frame], period, 0))
+            .map(Signal.OUTPUT, 0)
+            .map(Signal.LIMIT_SWITCH, 0)
+            .map(Signal.VELOCITY, 1)
+            .map(Signal.POSITION, 1)
+            .map(Signal.CURRENT, 1)
+            .map(Signal.BATTERY_VOLTAGE, 2);
+    // Frames given in the map are left alone
     if (statusFrameRatesMillis != null) {
       for (final StatusFrameEnhanced statusFrame : statusFrameRatesMillis.keySet()) {
         this.canTalon.setStatusFramePeriod(statusFrame, statusFrameRatesMillis.get(statusFrame), 0);
+        final int index = Arrays.asList(STATUS_FRAMES).indexOf(statusFrame);
+        if (index >= 0) {
+          this.frames.pin(index, statusFrameRatesMillis.get(statusFrame));
+        }
       }
     }
+    // Followers take their output from the general status frame
+    if ((slaveTalons != null && !slaveTalons.isEmpty())
+        || (slaveVictors != null && !slaveVictors.isEmpty())
+        || !cfg.getSlaveSparks().isEmpty()) {
+      this.frames.pin(0, this.frames.getPeriod(0));
+    }
 
     // Set fields
     this.unitPerRotation = cfg.getUnitPerRotation();
@@ -264,6 +329,7 @@ public class MappedTalon implements SmartMotor {
     canTalon.configVelocityMeasurementPeriod(VelocityMeasPeriod.Period_10Ms);
     canTalon.configVelocityMeasurementWindow(10);
 
+    this.readings = new MotorReadingsComponent(this.name, this, this.frames);
     MotorContainer.register(this);
   }
 
@@ -271,6 +337,25 @@ public class MappedTalon implements SmartMotor {
   @Override
   public void disable() {
     this.canTalon.set(ControlMode.Disabled, 0);
+    this.output.cancel();
+    this.shadow.invalidate();
+  }
+
+  /**
+   * Sends a control request to the Talon. Called by {@link #output}, which decides when and
+   * whether to send it.
+   *
+   * @param mode The control mode.
+   * @param setpoint The setpoint, in native units, or percent output.
+   * @param feedForward The arbitrary feedforward, as a percent output, or 0 for none.
+   */
+  private void send(
+      @NotNull final ControlMode mode, final double setpoint, final double feedForward) {
+    if (feedForward == 0) {
+      this.canTalon.set(mode, setpoint);
+    } else {
+      this.canTalon.set(mode, setpoint, DemandType.ArbitraryFeedForward, feedForward);
+    }
   }
 
   /**
@@ -282,9 +367,10 @@ public class MappedTalon implements SmartMotor {
   public void setPercentVoltage(double percentVoltage) {
     // Warn the user if they're setting Vbus to a number that's outside the range of values.
     if (Math.abs(percentVoltage) > 1.0) {
-      Shuffleboard.addEventMarker(
-          "WARNING: YOU ARE CLIPPING MAX PERCENT VBUS AT " + percentVoltage,
-          this.getClass().getSimpleName(),
+      EventMarkers.add(
+          "WARNING: YOU ARE CLIPPING MAX PERCENT VBUS AT ",
+          percentVoltage,
+          this.name,
           EventImportance.kNormal);
       // Logger.addEvent("WARNING: YOU ARE CLIPPING MAX PERCENT VBUS AT " + percentVoltage,
       // this.getClass());
@@ -293,7 +379,7 @@ public class MappedTalon implements SmartMotor {
 
     this.setpoint = percentVoltage;
 
-    this.canTalon.set(ControlMode.PercentOutput, percentVoltage);
+    this.output.request(ControlMode.PercentOutput, percentVoltage, 0);
   }
 
   /** @return The gear this subsystem is currently in. */
@@ -318,29 +404,41 @@ public class MappedTalon implements SmartMotor {
     }
 
     // Set max voltage
-    this.canTalon.configPeakOutputForward(this.currentGearSettings.fwdPeakOutputVoltage / 12., 0);
-    this.canTalon.configPeakOutputReverse(this.currentGearSettings.revPeakOutputVoltage / 12., 0);
+    final double fwdPeak = this.currentGearSettings.fwdPeakOutputVoltage / 12.;
+    if (this.shadow.shouldSend(Param.PEAK_OUTPUT_FWD, fwdPeak)) {
+      this.canTalon.configPeakOutputForward(fwdPeak, 0);
+    }
+    final double revPeak = this.currentGearSettings.revPeakOutputVoltage / 12.;
+    if (this.shadow.shouldSend(Param.PEAK_OUTPUT_REV, revPeak)) {
+      this.canTalon.configPeakOutputReverse(revPeak, 0);
+    }
 
     // Set min voltage
-    this.canTalon.configNominalOutputForward(
-        this.currentGearSettings.fwdNominalOutputVoltage / 12., 0);
-    this.canTalon.configNominalOutputReverse(
-        this.currentGearSettings.revNominalOutputVoltage / 12., 0);
-
-    if (this.currentGearSettings.rampRate != null) {
-      // Set ramp rate, converting from volts/sec to seconds until 12 volts.
-      this.canTalon.configClosedloopRamp(1 / (this.currentGearSettings.rampRate / 12.), 0);
-      this.canTalon.configOpenloopRamp(1 / (this.currentGearSettings.rampRate / 12.), 0);
-    } else {
-      this.canTalon.configClosedloopRamp(0, 0);
-      this.canTalon.configOpenloopRamp(0, 0);
+    final double fwdNominal = this.currentGearSettings.fwdNominalOutputVoltage / 12.;
+    if (this.shadow.shouldSend(Param.NOMINAL_OUTPUT_FWD, fwdNominal)) {
+      this.canTalon.configNominalOutputForward(fwdNominal, 0);
+    }
+    final double revNominal = this.currentGearSettings.revNominalOutputVoltage / 12.;
+    if (this.shadow.shouldSend(Param.NOMINAL_OUTPUT_REV, revNominal)) {
+      this.canTalon.configNominalOutputReverse(revNominal, 0);
+    }
+
+    // Set ramp rate, converting from volts/sec to seconds until 12 volts.
+    final double ramp =
+        this.currentGearSettings.rampRate != null
+            ? 1 / (this.currentGearSettings.rampRate / 12.)
+            : 0;
+    if (this.shadow.shouldSend(Param.CLOSED_LOOP_RAMP, ramp)) {
+      this.canTalon.configClosedloopRamp(ramp, 0);
+    }
+    if (this.shadow.shouldSend(Param.OPEN_LOOP_RAMP, ramp)) {
+      this.canTalon.configOpenloopRamp(ramp, 0);
     }
 
     // Set PID stuff
     // Slot 0 velocity gains. We don't set F yet because that changes based on setpoint.
-    this.canTalon.config_kP(0, this.currentGearSettings.kP, 0);
-    this.canTalon.config_kI(0, this.currentGearSettings.kI, 0);
-    this.canTalon.config_kD(0, this.currentGearSettings.kD, 0);
+    this.setPID(
+        this.currentGearSettings.kP, this.currentGearSettings.kI, this.currentGearSettings.kD);
   }
 
   /**
@@ -440,6 +538,7 @@ public class MappedTalon implements SmartMotor {
   /** @return Total ticks travelled for debug purposes */
   @Override
   public double encoderPosition() {
+    this.frames.markRead(Signal.POSITION);
     return this.canTalon.getSelectedSensorPosition();
   }
 
@@ -454,9 +553,15 @@ public class MappedTalon implements SmartMotor {
 
   @Override
   public void setPID(double kP, double kI, double kD) {
-    this.canTalon.config_kP(0, kP, 0);
-    this.canTalon.config_kI(0, kI, 0);
-    this.canTalon.config_kD(0, kD, 0);
+    if (this.shadow.shouldSend(Param.K_P, kP)) {
+      this.canTalon.config_kP(0, kP, 0);
+    }
+    if (this.shadow.shouldSend(Param.K_I, kI)) {
+      this.canTalon.config_kI(0, kI, 0);
+    }
+    if (this.shadow.shouldSend(Param.K_D, kD)) {
+      this.canTalon.config_kD(0, kD, 0);
+    }
   }
 
   /**
@@ -468,17 +573,17 @@ public class MappedTalon implements SmartMotor {
   public void setPositionSetpoint(final double meters) {
     this.setpoint = meters;
     double nativeSetpoint = this.unitToEncoder(meters);
-    this.canTalon.config_kF(0, 0);
-    this.canTalon.set(
-        ControlMode.Position,
-        nativeSetpoint,
-        DemandType.ArbitraryFeedForward,
-        this.currentGearSettings.feedForwardCalculator.ks / 12.);
+    if (this.shadow.shouldSend(Param.K_F, 0)) {
+      this.canTalon.config_kF(0, 0);
+    }
+    final double feedForward = this.currentGearSettings.feedForwardCalculator.ks / 12.;
+    this.output.request(ControlMode.Position, nativeSetpoint, feedForward);
   }
 
   /** @return Ticks per 100ms for debug purposes */
   @Override
   public double encoderVelocity() {
+    this.frames.markRead(Signal.VELOCITY);
     return this.canTalon.getSelectedSensorVelocity();
   }
 
@@ -489,6 +594,8 @@ public class MappedTalon implements SmartMotor {
    */
   @Override
   public double getVelocity() {
+    RobotState.checkLiveRead("MappedTalon.getVelocity()");
+    this.frames.markRead(Signal.VELOCITY);
     return encoderToUPS(canTalon.getSelectedSensorVelocity(0));
   }
 
@@ -515,12 +622,11 @@ public class MappedTalon implements SmartMotor {
   public void setVelocityUPS(final double velocity) {
     double nativeSetpoint = upsToEncoder(velocity);
     setpoint = velocity;
-    canTalon.config_kF(0, 0, 0);
-    canTalon.set(
-        ControlMode.Velocity,
-        nativeSetpoint,
-        DemandType.ArbitraryFeedForward,
-        currentGearSettings.feedForwardCalculator.calculate(velocity) / 12.);
+    if (shadow.shouldSend(Param.K_F, 0)) {
+      canTalon.config_kF(0, 0, 0);
+    }
+    final double feedForward = currentGearSettings.feedForwardCalculator.calculate(velocity) / 12.;
+    output.request(ControlMode.Velocity, nativeSetpoint, feedForward);
   }
 
   /**
@@ -555,9 +661,10 @@ public class MappedTalon implements SmartMotor {
    *
    * @return Voltage in volts.
    */
-  @Log
   @Override
   public double getOutputVoltage() {
+    this.frames.markRead(Signal.OUTPUT);
+    this.frames.markRead(Signal.BATTERY_VOLTAGE);
     return canTalon.getMotorOutputVoltage();
   }
 
@@ -566,9 +673,9 @@ public class MappedTalon implements SmartMotor {
    *
    * @return Voltage in volts.
    */
-  @Log
   @Override
   public double getBatteryVoltage() {
+    this.frames.markRead(Signal.BATTERY_VOLTAGE);
     return canTalon.getBusVoltage();
   }
 
@@ -577,9 +684,10 @@ public class MappedTalon implements SmartMotor {
    *
    * @return Current in amps.
    */
-  @Log
   @Override
   public double getOutputCurrent() {
+    RobotState.checkLiveRead("MappedTalon.getOutputCurrent()");
+    this.frames.markRead(Signal.CURRENT);
     return canTalon.getSupplyCurrent();
   }
 
@@ -630,8 +738,9 @@ public class MappedTalon implements SmartMotor {
 
   /** @return the position of the talon in meters, or null of inches per rotation wasn't given. */
   @Override
-  @Log
   public double getPositionUnits() {
+    RobotState.checkLiveRead("MappedTalon.getPositionUnits()");
+    this.frames.markRead(Signal.POSITION);
     return encoderToUnit(canTalon.getSelectedSensorPosition(0));
   }
 
@@ -648,6 +757,7 @@ public class MappedTalon implements SmartMotor {
    */
   @Override
   public boolean isFwdLimitSwitch() {
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     return fwdLimitSwitchNormallyOpen == canTalon.getSensorCollection().isFwdLimitSwitchClosed();
   }
 
@@ -658,18 +768,21 @@ public class MappedTalon implements SmartMotor {
    */
   @Override
   public boolean isRevLimitSwitch() {
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     return this.revLimitSwitchNormallyOpen
         == this.canTalon.getSensorCollection().isRevLimitSwitchClosed();
   }
 
   @Override
   public boolean isInhibitedForward() {
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     this.canTalon.getFaults(this.faults);
     return this.faults.ForwardLimitSwitch;
   }
 
   @Override
   public boolean isInhibitedReverse() {
+    this.frames.markRead(Signal.LIMIT_SWITCH);
     this.canTalon.getFaults(this.faults);
     return this.faults.ReverseLimitSwitch;
   }
@@ -679,6 +792,30 @@ public class MappedTalon implements SmartMotor {
     return this.canTalon.getDeviceID();
   }
 
+  @Override
+  @NotNull
+  public MotorReadingsComponent getReadings() {
+    return this.readings;
+  }
+
+  /** @return The number of config and setpoint frames that have been sent to the Talon. */
+  @Log
+  public long getFramesSent() {
+    return this.shadow.getSentCount();
+  }
+
+  /** @return The number of redundant config and setpoint frames that weren't sent. */
+  @Log
+  public long getFramesSuppressed() {
+    return this.shadow.getSuppressedCount();
+  }
+
+  /** @return The number of times the Talon has been seen to reset and had its settings resent. */
+  @Log
+  public long getResets() {
+    return this.shadow.getResetCount();
+  }
+
   @Override
   public String configureLogName() {
     return this.name;
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.PowerDistributionPanel;
 import frc.team449.components.RunningLinRegComponent;
 import frc.team449.generalInterfaces.updatable.Updatable;
+import frc.team449.other.RobotState;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
@@ -24,8 +25,13 @@ public class PDP implements Loggable, Updatable {
   /** The component for doing linear regression to find the resistance. */
   @Nullable private final RunningLinRegComponent voltagePerCurrentLinReg;
 
-  /** The cached values from the PDP object this wraps. */
-  private double voltage, totalCurrent, temperature, resistance, unloadedVoltage;
+  /** The {@link RobotState} columns the cached values from the wrapped PDP are kept in. */
+  @NotNull
+  private final RobotState.Column voltageColumn,
+      totalCurrentColumn,
+      temperatureColumn,
+      resistanceColumn,
+      unloadedVoltageColumn;
 
   /**
    * Default constructor.
@@ -36,11 +42,11 @@ public class PDP implements Loggable, Updatable {
   public PDP(final int canID, @Nullable final RunningLinRegComponent voltagePerCurrentLinReg) {
     this.PDP = new PowerDistributionPanel(canID);
     this.voltagePerCurrentLinReg = voltagePerCurrentLinReg;
-    this.voltage = 0;
-    this.totalCurrent = 0;
-    this.temperature = 0;
-    this.resistance = 0;
-    this.unloadedVoltage = 0;
+    this.voltageColumn = RobotState.addColumn("PDP/voltage");
+    this.totalCurrentColumn = RobotState.addColumn("PDP/totalCurrent");
+    this.temperatureColumn = RobotState.addColumn("PDP/temperature");
+    this.resistanceColumn = RobotState.addColumn("PDP/resistance");
+    this.unloadedVoltageColumn = RobotState.addColumn("PDP/unloadedVoltage");
   }
 
   /**
@@ -50,7 +56,7 @@ public class PDP implements Loggable, Updatable {
    */
   @Log
   public double getVoltage() {
-    return voltage;
+    return voltageColumn.get();
   }
 
   /**
@@ -60,7 +66,7 @@ public class PDP implements Loggable, Updatable {
    */
   @Log
   public double getTotalCurrent() {
-    return totalCurrent;
+    return totalCurrentColumn.get();
   }
 
   /**
@@ -70,7 +76,7 @@ public class PDP implements Loggable, Updatable {
    */
   @Log
   public double getTemperature() {
-    return temperature;
+    return temperatureColumn.get();
   }
 
   /**
@@ -81,7 +87,7 @@ public class PDP implements Loggable, Updatable {
   @Nullable
   @Log
   public Double getResistance() {
-    return voltagePerCurrentLinReg == null ? null : resistance;
+    return voltagePerCurrentLinReg == null ? null : resistanceColumn.get();
   }
 
   /**
@@ -93,19 +99,21 @@ public class PDP implements Loggable, Updatable {
   @Nullable
   @Log
   public Double getUnloadedVoltage() {
-    return voltagePerCurrentLinReg == null ? null : unloadedVoltage;
+    return voltagePerCurrentLinReg == null ? null : unloadedVoltageColumn.get();
   }
 
   /** Updates all cached values with current ones. */
   @Override
   public void update() {
-    this.totalCurrent = PDP.getTotalCurrent();
-    this.voltage = PDP.getVoltage();
-    this.temperature = PDP.getTemperature();
+    final double totalCurrent = PDP.getTotalCurrent();
+    final double voltage = PDP.getVoltage();
+    totalCurrentColumn.set(totalCurrent);
+    voltageColumn.set(voltage);
+    temperatureColumn.set(PDP.getTemperature());
     if (voltagePerCurrentLinReg != null) {
       voltagePerCurrentLinReg.addPoint(totalCurrent, voltage);
-      this.unloadedVoltage = voltagePerCurrentLinReg.getIntercept();
-      this.resistance = -voltagePerCurrentLinReg.getSlope();
+      unloadedVoltageColumn.set(voltagePerCurrentLinReg.getIntercept());
+      resistanceColumn.set(-voltagePerCurrentLinReg.getSlope());
     }
   }
 }
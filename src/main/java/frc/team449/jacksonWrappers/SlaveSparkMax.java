@@ -5,12 +5,15 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.revrobotics.CANDigitalInput;
 import com.revrobotics.CANSparkMax;
 import com.revrobotics.CANSparkMaxLowLevel;
+import frc.team449.components.StatusFrameComponent;
 import frc.team449.generalInterfaces.SlaveMotor;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.Nullable;
 
 public class SlaveSparkMax implements SlaveMotor, Loggable {
+  /** The period of every status frame, in milliseconds. Nothing reads a follower closely. */
+  private static final int STATUS_PERIOD = 100;
   /** The port/canID of the spark. */
   int port;
   /** The SparkMAX this object wraps. */
@@ -20,6 +23,9 @@ public class SlaveSparkMax implements SlaveMotor, Loggable {
 
   boolean inverted;
 
+  /** Counts this Spark's frames towards the bus utilization estimate. Every frame is pinned. */
+  final StatusFrameComponent frames;
+
   @JsonCreator
   public SlaveSparkMax(
       @JsonProperty(required = true) final int port,
@@ -39,9 +45,23 @@ public class SlaveSparkMax implements SlaveMotor, Loggable {
         .getReverseLimitSwitch(CANDigitalInput.LimitSwitchPolarity.kNormallyOpen)
         .enableLimitSwitch(false);
 
-    this.slaveSpark.setPeriodicFramePeriod(CANSparkMaxLowLevel.PeriodicFrame.kStatus0, 100);
-    this.slaveSpark.setPeriodicFramePeriod(CANSparkMaxLowLevel.PeriodicFrame.kStatus1, 100);
-    this.slaveSpark.setPeriodicFramePeriod(CANSparkMaxLowLevel.PeriodicFrame.kStatus2, 100);
+    this.slaveSpark.setPeriodicFramePeriod(
+        CANSparkMaxLowLevel.PeriodicFrame.kStatus0, STATUS_PERIOD);
+    this.slaveSpark.setPeriodicFramePeriod(
+        CANSparkMaxLowLevel.PeriodicFrame.kStatus1, STATUS_PERIOD);
+    this.slaveSpark.setPeriodicFramePeriod(
+        CANSparkMaxLowLevel.PeriodicFrame.kStatus2, STATUS_PERIOD);
+    // Followers don't get control frames of their own
+    this.frames =
+        new StatusFrameComponent(
+            "slavespark_" + port,
+            new int[] {STATUS_PERIOD, STATUS_PERIOD, STATUS_PERIOD},
+            STATUS_PERIOD,
+            0,
+            (frame, period) -> {});
+    for (int frame = 0; frame < 3; frame++) {
+      this.frames.pin(frame, STATUS_PERIOD);
+    }
 
     this.PDP = PDP;
   }
@@ -2,6 +2,7 @@ package frc.team449.jacksonWrappers.simulated;
 
 import frc.team449.Robot;
 import frc.team449.jacksonWrappers.MappedJoystick;
+import frc.team449.telemetry.EventLog;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.util.HashMap;
@@ -16,6 +17,10 @@ import org.jetbrains.annotations.NotNull;
  * running in a simulation and should not be otherwise referenced in code.
  */
 public class JoystickSimulated extends MappedJoystick {
+  /** Logs simulated button presses. */
+  private static final EventLog.Site KEY_LOG =
+      EventLog.site(JoystickSimulated.class, EventLog.Level.INFO);
+
   @NotNull private final Map<String, Boolean> keyStates = new ConcurrentHashMap<>();
   @NotNull private final String logName;
   @NotNull private final String logPrefix;
@@ -459,8 +464,8 @@ public class JoystickSimulated extends MappedJoystick {
 
       if (Boolean.TRUE.equals(JoystickSimulated.this.keyStates.getOrDefault(keyName, false))
           != newState) {
-        System.out.println(
-            JoystickSimulated.this.logPrefix + keyName + (newState ? " [#]" : " [ ]"));
+        KEY_LOG.log(
+            "{}{}", JoystickSimulated.this.logPrefix, keyName + (newState ? " [#]" : " [ ]"));
         if (this.buttonStateLabels.containsKey(keyName))
           this.buttonStateLabels
               .get(keyName)
@@ -1,7 +1,6 @@
 package frc.team449.jacksonWrappers.simulated;
 
 import static frc.team449.other.Util.clamp;
-import static frc.team449.other.Util.getLogPrefix;
 
 import com.ctre.phoenix.motorcontrol.ControlFrame;
 import com.ctre.phoenix.motorcontrol.ControlMode;
@@ -9,6 +8,7 @@ import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.revrobotics.CANSparkMaxLowLevel;
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import frc.team449.components.MotorReadingsComponent;
 import frc.team449.components.RunningLinRegComponent;
 import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
@@ -18,6 +18,8 @@ import frc.team449.jacksonWrappers.SlaveTalon;
 import frc.team449.jacksonWrappers.SlaveVictor;
 import frc.team449.javaMaps.builders.SmartMotorConfig;
 import frc.team449.other.Clock;
+import frc.team449.other.RobotState;
+import frc.team449.telemetry.EventLog;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import java.util.EnumMap;
@@ -30,22 +32,31 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Class that implements {@link SmartMotor} without relying on the existence of actual hardware.
  * This class simulates a smart motor controller. Motor physics are simulated by {@link
- * SimulatedMotor}.
+ * SimulatedMotor}, using the constants of the motor the controller type usually drives, with the
+ * master and its slaves ganged together.
  *
  * <p>This class is automatically instantiated by the MPSSmartMotor factory method when the robot is
  * running in a simulation and should not be otherwise referenced in code.
  *
- * <p>The current implementation relies on fictional physics and does not involve
+ * <p>Like a Spark MAX, a reversed controller reverses its encoder along with its output, so the
+ * physics are simulated in the controller's own direction.
  */
 public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
+  /** Warns about control modes that aren't simulated, at most once a second. */
+  private static final EventLog.Site MODE_LOG =
+      EventLog.site(MPSSmartMotorSimulated.class, EventLog.Level.WARN, 1);
+
   /** Maximum PID integral for anti-windup. */
   private static final double MAX_INTEGRAL = Double.POSITIVE_INFINITY;
 
   @NotNull private final String name;
+  /** This controller's readings as of the start of the loop. */
+  @NotNull private final MotorReadingsComponent readings;
   private final Type controllerType;
   private final int port;
-  private final boolean reverseOutput;
   private final double unitPerRotation;
+  /** The gearing between the encoder and the output, which can change with the gear. */
+  @Log private double postEncoderGearing;
   private final boolean enableVoltageComp;
   @NotNull private final Map<Integer, Shiftable.PerGearSettings> perGearSettings;
   /** (V) */
@@ -59,12 +70,10 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
 
   @Log.ToString @NotNull private ControlMode controlMode = ControlMode.Disabled;
   @NotNull private Shiftable.PerGearSettings currentGearSettings;
-  // Log the getters instead because logging the fields doesn't cause physics updates.
+  // MotorContainer publishes the cached readings, so neither this nor the getters are logged
   private double percentOutput;
 
-  @NotNull
-  private final SimulatedMotor motor =
-      new SimulatedMotor(() -> this.busVoltage * this.percentOutput);
+  @NotNull private final SimulatedMotor motor;
 
   @Log private double lastStateUpdateTime = Clock.currentTimeMillis();
 
@@ -87,8 +96,8 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
       @NotNull final SmartMotorConfig cfg) {
     this.controllerType = cfg.getType();
     this.port = cfg.getPort();
-    this.reverseOutput = cfg.isReverseOutput();
     this.unitPerRotation = cfg.getUnitPerRotation();
+    this.postEncoderGearing = cfg.getPostEncoderGearing();
     this.enableVoltageComp = cfg.isEnableVoltageComp();
     this.name =
         cfg.getName() != null
@@ -100,11 +109,18 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
                     : cfg.getType() == Type.TALON ? "talon" : "MotorControllerUnknownType",
                 port);
 
+    final int slaves =
+        cfg.getSlaveSparks().size()
+            + (slaveTalons == null ? 0 : slaveTalons.size())
+            + (slaveVictors == null ? 0 : slaveVictors.size());
+    this.motor = new SimulatedMotor(MotorModel.forType(this.controllerType), 1 + slaves);
+
     this.perGearSettings = cfg.getPerGearSettingsMap();
     this.currentGearSettings = cfg.getInitialGearSettings();
     // Set up gear-based settings.
     this.setGear(currentGearSettings.gear);
 
+    this.readings = new MotorReadingsComponent(this.name, this);
     MotorContainer.register(this);
   }
 
@@ -135,13 +151,13 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
 
       case Current:
       case Follower:
-        System.out.println("WARNING: Not yet implemented.");
+        MODE_LOG.log("WARNING: {} not yet implemented.", this.controlMode);
         break;
 
       case MotionProfile:
       case MotionMagic:
       case MotionProfileArc:
-        System.out.println("WARNING: Unlikely to be implemented.");
+        MODE_LOG.log("WARNING: {} unlikely to be implemented.", this.controlMode);
         break;
 
       case Disabled:
@@ -151,15 +167,19 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
     }
   }
 
-  /** Performs simulated PID logic and simulates physical state changes since last call. */
+  /**
+   * Simulates physical state changes since last call, along with every other simulated motor, then
+   * performs simulated PID logic.
+   */
   private void updateSimulation() {
+    SimulationEngine.advanceTo(Clock.currentTimeNanos());
     final double now = Clock.currentTimeMillis();
 
     final double deltaMillis = (now - this.lastStateUpdateTime);
     final double deltaSecs = deltaMillis * 0.001;
 
     this.updateControllerLogic(deltaSecs);
-    this.motor.updatePhysics(deltaSecs);
+    this.motor.setVoltage(this.busVoltage * this.percentOutput);
 
     this.lastStateUpdateTime = now;
   }
@@ -177,23 +197,25 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
             (this.controlMode == ControlMode.Velocity
                 ? this.motor.getVelocity()
                 : this.motor.getPosition());
-        final double newError = this.setpoint - newActualValue;
-        this.pid.update(this.reverseOutput ? -newError : newError, deltaSecs);
-        targetPercentOutput = this.pid.getOutput();
+        this.pid.update(this.setpoint - newActualValue, deltaSecs);
+        // Like the real controllers, add the gear's feedforward on top of the PID in velocity mode
+        final double feedForwardVolts =
+            this.controlMode == ControlMode.Velocity
+                ? this.currentGearSettings.feedForwardCalculator.calculate(
+                    this.encoderToUPS(this.setpoint))
+                : 0;
+        targetPercentOutput = this.pid.getOutput() + feedForwardVolts / this.busVoltage;
         break;
 
       case Disabled:
         return;
 
       default:
-        System.out.println(getLogPrefix(this) + "UNSUPPORTED CONTROL MODE " + this.controlMode);
+        MODE_LOG.log("UNSUPPORTED CONTROL MODE {}", this.controlMode);
         return;
     }
 
-    final double actualTargetPercentOutput =
-        this.reverseOutput ? -targetPercentOutput : targetPercentOutput;
-
-    final double targetPercentOutputDelta = clamp(actualTargetPercentOutput - this.percentOutput);
+    final double targetPercentOutputDelta = clamp(targetPercentOutput - this.percentOutput);
     final double targetVoltageDelta = targetPercentOutputDelta * this.busVoltage;
 
     final double voltageDelta =
@@ -224,7 +246,7 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    */
   @Override
   public double encoderToUnit(final double nativeUnits) {
-    return nativeUnits * this.unitPerRotation;
+    return nativeUnits * this.unitPerRotation * this.postEncoderGearing;
   }
 
   /**
@@ -237,7 +259,7 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    */
   @Override
   public double unitToEncoder(final double meters) {
-    return meters / this.unitPerRotation;
+    return meters / this.unitPerRotation / this.postEncoderGearing;
   }
 
   /**
@@ -250,7 +272,7 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    */
   @Override
   public double encoderToUPS(final double encoderReading) {
-    return encoderReading * this.unitPerRotation;
+    return encoderReading * this.unitPerRotation * this.postEncoderGearing;
   }
 
   /**
@@ -263,7 +285,7 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    */
   @Override
   public double upsToEncoder(final double MPS) {
-    return MPS / this.unitPerRotation;
+    return MPS / this.unitPerRotation / this.postEncoderGearing;
   }
 
   /**
@@ -292,7 +314,6 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
 
   /** @return Raw position units for debugging purposes */
   @Override
-  @Log
   public double encoderPosition() {
     return this.motor.getPosition();
   }
@@ -309,7 +330,6 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
   }
 
   /** @return Raw velocity units for debugging purposes */
-  @Log
   @Override
   public double encoderVelocity() {
     return this.motor.getVelocity();
@@ -329,9 +349,9 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    *
    * @return The controller's velocity in MPS, or null if no encoder CPR was given.
    */
-  @Log
   @Override
   public double getVelocity() {
+    RobotState.checkLiveRead("MPSSmartMotorSimulated.getVelocity()");
     return this.encoderToUPS(this.encoderVelocity());
   }
 
@@ -359,6 +379,7 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
   @Override
   public void disable() {
     this.percentOutput = 0;
+    this.motor.setVoltage(0);
     this.setControlModeAndSetpoint(ControlMode.Disabled, 0);
   }
 
@@ -406,7 +427,6 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    * @return Voltage in volts.
    */
   @Override
-  @Log
   public double getOutputVoltage() {
     return this.getBatteryVoltage() * this.percentOutput;
   }
@@ -417,7 +437,6 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    * @return Voltage in volts.
    */
   @Override
-  @Log
   public double getBatteryVoltage() {
     return this.busVoltage;
   }
@@ -428,8 +447,8 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
    * @return Current in amps.
    */
   @Override
-  @Log
   public double getOutputCurrent() {
+    RobotState.checkLiveRead("MPSSmartMotorSimulated.getOutputCurrent()");
     return this.motor.getCurrent();
   }
 
@@ -481,6 +500,7 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
   /** @return the position of the talon in meters, or null of inches per rotation wasn't given. */
   @Override
   public double getPositionUnits() {
+    RobotState.checkLiveRead("MPSSmartMotorSimulated.getPositionUnits()");
     return this.encoderToUnit(this.encoderPosition());
   }
 
@@ -526,6 +546,12 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
     return this.port;
   }
 
+  @Override
+  @NotNull
+  public MotorReadingsComponent getReadings() {
+    return this.readings;
+  }
+
   /** @return The gear this subsystem is currently in. */
   @Override
   public int getGear() {
@@ -541,6 +567,10 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
   public void setGear(final int gear) {
     // Set the current gear
     this.currentGearSettings = this.perGearSettings.get(gear);
+    if (this.currentGearSettings.postEncoderGearing != null) {
+      this.postEncoderGearing = this.currentGearSettings.postEncoderGearing;
+    }
+    this.motor.setUnitsPerRotation(this.unitPerRotation * this.postEncoderGearing);
   }
 
   @Override
@@ -553,6 +583,12 @@ public class MPSSmartMotorSimulated implements SmartMotor, Updatable {
     return true;
   }
 
+  /** @return The simulated motor this controller drives. */
+  @NotNull
+  public SimulatedMotor getSimulatedMotor() {
+    return this.motor;
+  }
+
   /** Updates all cached values with current ones. */
   @Override
   public void update() {
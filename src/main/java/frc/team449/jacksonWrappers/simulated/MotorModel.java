@@ -0,0 +1,65 @@
+package frc.team449.jacksonWrappers.simulated;
+
+import frc.team449.generalInterfaces.SmartMotor;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The electrical and mechanical constants of a brushed or brushless DC motor, as given on its
+ * datasheet at {@link SimulatedMotor#NOMINAL_VOLTAGE}. Units are in rotations.
+ */
+public enum MotorModel {
+  /** REV NEO, which is what's on the other end of a Spark MAX. */
+  NEO(2.6, 105, 1.8, 5676),
+  /** CIM, which is what's usually on the other end of a Talon SRX. */
+  CIM(2.42, 133, 2.7, 5310);
+
+  /** (N*m) Torque with the shaft held still. */
+  public final double stallTorque;
+  /** (A) Current with the shaft held still. */
+  public final double stallCurrent;
+  /** (A) Current with nothing on the shaft. */
+  public final double freeCurrent;
+  /** (R/s) Speed with nothing on the shaft. */
+  public final double freeSpeed;
+  /** (Ohms) Resistance of the windings. */
+  public final double resistance;
+  /** (N*m / A) Torque per amp of current through the windings. */
+  public final double torquePerAmp;
+  /** (V / (R/s)) Back-EMF per RPS. */
+  public final double voltsPerRps;
+  /** (N*m / (R/s)) Torque lost to friction per RPS, which is what the free current overcomes. */
+  public final double frictionPerRps;
+
+  /**
+   * @param stallTorque (N*m) Torque with the shaft held still.
+   * @param stallCurrent (A) Current with the shaft held still.
+   * @param freeCurrent (A) Current with nothing on the shaft.
+   * @param freeSpeedRpm (RPM) Speed with nothing on the shaft.
+   */
+  MotorModel(
+      final double stallTorque,
+      final double stallCurrent,
+      final double freeCurrent,
+      final double freeSpeedRpm) {
+    this.stallTorque = stallTorque;
+    this.stallCurrent = stallCurrent;
+    this.freeCurrent = freeCurrent;
+    this.freeSpeed = freeSpeedRpm / 60;
+    this.resistance = SimulatedMotor.NOMINAL_VOLTAGE / stallCurrent;
+    this.torquePerAmp = stallTorque / stallCurrent;
+    this.voltsPerRps =
+        (SimulatedMotor.NOMINAL_VOLTAGE - freeCurrent * this.resistance) / this.freeSpeed;
+    this.frictionPerRps = this.torquePerAmp * freeCurrent / this.freeSpeed;
+  }
+
+  /**
+   * @param type The type of controller.
+   * @return The motor that type of controller usually drives.
+   */
+  @Contract(pure = true)
+  @NotNull
+  public static MotorModel forType(@NotNull final SmartMotor.Type type) {
+    return type == SmartMotor.Type.TALON ? CIM : NEO;
+  }
+}
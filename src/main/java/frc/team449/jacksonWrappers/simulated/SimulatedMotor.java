@@ -2,93 +2,92 @@ package frc.team449.jacksonWrappers.simulated;
 
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
-import java.util.Objects;
-import java.util.function.DoubleSupplier;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-/** Units are in rotations. */
+/**
+ * A motor, or several ganged together, in the {@link SimulationEngine}, which simulates its physics
+ * along with every other simulated motor. Units are in rotations.
+ */
 public class SimulatedMotor implements Loggable {
   /** (V) Nominal bus voltage; used to calculate maximum speed. */
   public static final double NOMINAL_VOLTAGE = 12;
-  /** (Kg * m^2) Moment of moving parts. */
-  private static final double MOMENT = 20;
-  /** (Ohms) Used to calculate output current. */
-  private static final double RESISTANCE = 1;
-  /** (N*m / V) Torque per volt due to force of motor. */
-  private static final double TORQUE_COEFF = 450000;
-  /** (N*m / (R/s)) Torque per RPS due to motor internal friction. */
-  private static final double FRICTION_COEFF = -10;
   /**
-   * The maximum speed that the simulation will by nature allow the motor to sustain. Not really
-   * used for anything.
+   * (Kg * m^2) Default moment of the moving parts, as seen from the motor shaft. Roughly a small
+   * flywheel or a mechanism geared down from the motor.
    */
-  @Log(name = "maxSpeed")
-  private static final double TRUE_MAX_SPEED = TORQUE_COEFF * NOMINAL_VOLTAGE / -FRICTION_COEFF;
+  public static final double DEFAULT_MOMENT = 0.001;
 
-  private static final double EPSILON = 0.0001;
+  /** The motor's ID in the {@link SimulationEngine}. */
+  private final int id;
 
-  private final double moment;
-  private final double torqueCoeff;
-  private final double frictionCoeff;
-
-  @NotNull
-  @Log(methodName = "getAsDouble")
-  private final DoubleSupplier voltageSource;
-
-  /** (R/s) Signed rotations per second */
-  private double velocity;
-  /** Absolute rotation value */
-  private double position;
+  /** (V) The voltage applied to the motor. */
+  @Log private double voltage;
 
+  /**
+   * Default constructor.
+   *
+   * @param model The constants of each motor.
+   * @param motorCount The number of motors ganged together, e.g. a master and its slaves.
+   * @param moment (Kg * m^2) The moment of the moving parts, as seen from the motor shaft.
+   */
   public SimulatedMotor(
-      @Nullable final DoubleSupplier voltageSource,
-      @Nullable final Double moment,
-      @Nullable final Double torqueCoeff,
-      @Nullable final Double frictionCoeff) {
-    this.moment = Objects.requireNonNullElse(moment, MOMENT);
-    this.voltageSource = Objects.requireNonNullElse(voltageSource, () -> NOMINAL_VOLTAGE);
-    this.torqueCoeff = Objects.requireNonNullElse(torqueCoeff, TORQUE_COEFF);
-    this.frictionCoeff = Objects.requireNonNullElse(frictionCoeff, FRICTION_COEFF);
+      @NotNull final MotorModel model, final int motorCount, final double moment) {
+    this.id = SimulationEngine.addMotor(model, motorCount, moment);
   }
 
-  public SimulatedMotor(@NotNull final DoubleSupplier voltageSource) {
-    this(voltageSource, null, null, null);
+  public SimulatedMotor(@NotNull final MotorModel model, final int motorCount) {
+    this(model, motorCount, DEFAULT_MOMENT);
   }
 
   public SimulatedMotor() {
-    this(null, null, null, null);
+    this(MotorModel.NEO, 1);
   }
 
-  public void updatePhysics(final double deltaSecs) {
-    final double motorTorque = this.torqueCoeff * this.voltageSource.getAsDouble();
-    final double frictionTorque = this.frictionCoeff * this.velocity;
-    final double netTorque = motorTorque + frictionTorque;
-    final double angularAcceleration = netTorque / this.moment;
+  /** @return The motor's ID in the {@link SimulationEngine}. */
+  int getId() {
+    return this.id;
+  }
 
-    this.velocity += angularAcceleration * deltaSecs;
-    this.position += this.velocity * deltaSecs;
+  /**
+   * Sets the voltage applied to the motor until it's next set.
+   *
+   * @param volts The voltage.
+   */
+  public void setVoltage(final double volts) {
+    this.voltage = volts;
+    SimulationEngine.setVoltage(this.id, volts);
+  }
 
-    if (Math.abs(this.velocity) < EPSILON) this.velocity = 0;
-    if (Math.abs(this.position) < EPSILON) this.position = 0;
+  /**
+   * Sets how far whatever the motor drives moves per rotation of the motor. Only used if the motor
+   * is a side of a drivetrain, in which case it should be in meters.
+   *
+   * @param units The distance per rotation.
+   */
+  public void setUnitsPerRotation(final double units) {
+    SimulationEngine.setUnitsPerRotation(this.id, units);
   }
 
+  /** @return (R/s) Signed rotations per second */
   @Log
   public double getVelocity() {
-    return this.velocity;
+    return SimulationEngine.getVelocity(this.id);
   }
 
+  /** @return Absolute rotation value */
   @Log
   public double getPosition() {
-    return this.position;
+    return SimulationEngine.getPosition(this.id);
   }
 
+  /** Sets the position to 0. */
   public void resetPosition() {
-    this.position = 0;
+    SimulationEngine.setPosition(this.id, 0);
   }
 
+  /** @return (A) Current drawn by all of the ganged motors, whichever way it flows. */
   @Log
   public double getCurrent() {
-    return this.voltageSource.getAsDouble() / RESISTANCE;
+    return Math.abs(SimulationEngine.getCurrent(this.id));
   }
 }
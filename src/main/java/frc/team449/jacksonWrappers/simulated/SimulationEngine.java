@@ -0,0 +1,353 @@
+package frc.team449.jacksonWrappers.simulated;
+
+import frc.team449.generalInterfaces.SmartMotor;
+import frc.team449.jacksonWrappers.MappedAHRS;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Simulates the physics of every {@link SimulatedMotor} at once. Units are in rotations.
+ *
+ * <p>Each motor is a DC motor with the constants of its {@link MotorModel}, times the number of
+ * motors ganged together on it (i.e. the master and its slaves). Its state is kept in primitive
+ * columns, like {@link frc.team449.other.RobotState}, and every motor is stepped in the same loop.
+ * Motors that aren't part of a drivetrain turn a fixed moment of inertia. The two sides of a
+ * drivetrain added with {@link #addDrivetrain(SmartMotor, SmartMotor, double, MappedAHRS)} instead
+ * push a robot with mass and a moment of inertia about its center, so turning one side affects the
+ * other, and the robot's heading is fed to the drivetrain's gyro.
+ *
+ * <p>The first simulated controller or gyro to update each loop calls {@link #advanceTo(long)},
+ * which steps the physics up to the current time in substeps of {@link #getSubstepSeconds()},
+ * holding each motor's voltage constant in between, the same as a real controller would between
+ * loops.
+ *
+ * <p>Simulated controllers and gyros are updated on the updater's worker threads, so stepping and
+ * every per-motor getter and setter are synchronized on the class, and a read never sees a step
+ * half done. Motors and drivetrains should be added, and the substep length set, while the map is
+ * built, before anything is stepped.
+ */
+public class SimulationEngine {
+
+  /** The default length of a substep, in seconds. */
+  public static final double DEFAULT_SUBSTEP_SECONDS = 0.001;
+  /** (Kg) Default mass of a robot, including the battery and bumpers. */
+  public static final double DEFAULT_ROBOT_MASS = 55;
+  /** (Kg * m^2) Default moment of a robot about its center. */
+  public static final double DEFAULT_ROBOT_MOMENT = 5;
+
+  /** The most time stepped at once, in seconds, so pausing in a debugger doesn't stall the loop. */
+  private static final double MAX_ELAPSED_SECONDS = 0.1;
+  /** The time before the first step. */
+  private static final long NOT_STARTED = Long.MIN_VALUE;
+  private static final double TAU = 2 * Math.PI;
+
+  /** The length of a substep, in seconds. */
+  private static double substepSeconds = DEFAULT_SUBSTEP_SECONDS;
+  /** The {@link frc.team449.other.Clock} time physics have been stepped up to, in nanoseconds. */
+  private static long timeNanos = NOT_STARTED;
+
+  /** The number of motors. */
+  private static int motors;
+  /** (V) The voltage applied to each motor. */
+  @NotNull private static double[] voltage = new double[0];
+  /** (R/s) The velocity of each motor. */
+  @NotNull private static double[] velocity = new double[0];
+  /** The position of each motor. */
+  @NotNull private static double[] position = new double[0];
+  /** (A) The current drawn by all of the motors ganged together on each motor. */
+  @NotNull private static double[] current = new double[0];
+  /** (N*m) The net torque of all of the motors ganged together on each motor, during a substep. */
+  @NotNull private static double[] torque = new double[0];
+  /** (Ohms) The resistance of each motor. */
+  @NotNull private static double[] resistance = new double[0];
+  /** (N*m / A) The torque per amp of each motor. */
+  @NotNull private static double[] torquePerAmp = new double[0];
+  /** (V / (R/s)) The back-EMF per RPS of each motor. */
+  @NotNull private static double[] voltsPerRps = new double[0];
+  /** (N*m / (R/s)) The torque lost to friction per RPS by each motor. */
+  @NotNull private static double[] frictionPerRps = new double[0];
+  /** The number of motors ganged together on each motor. */
+  @NotNull private static double[] count = new double[0];
+  /** (Kg * m^2) The moment each motor turns, as seen from its shaft. */
+  @NotNull private static double[] moment = new double[0];
+  /** (Units) How far the output moves per rotation of each motor. */
+  @NotNull private static double[] unitsPerRotation = new double[0];
+  /** The drivetrain each motor is a side of, or -1 if it isn't. */
+  @NotNull private static int[] drivetrainOf = new int[0];
+
+  /** The number of drivetrains. */
+  private static int drivetrains;
+  /** The motor on the left side of each drivetrain. */
+  @NotNull private static int[] leftMotor = new int[0];
+  /** The motor on the right side of each drivetrain. */
+  @NotNull private static int[] rightMotor = new int[0];
+  /** (M) The distance between the wheels on either side of each drivetrain. */
+  @NotNull private static double[] trackWidth = new double[0];
+  /** (Kg) The mass of each drivetrain. */
+  @NotNull private static double[] mass = new double[0];
+  /** (Kg * m^2) The moment of each drivetrain about its center. */
+  @NotNull private static double[] yawMoment = new double[0];
+  /** (Rad) The angle each drivetrain has turned counterclockwise. */
+  @NotNull private static double[] yaw = new double[0];
+  /** (Rad/s) The counterclockwise angular velocity of each drivetrain. */
+  @NotNull private static double[] yawRate = new double[0];
+  /** The gyro on each drivetrain. */
+  @NotNull private static MappedAHRS[] gyro = new MappedAHRS[0];
+
+  /** Make constructor private so it can't be called */
+  private SimulationEngine() {}
+
+  /**
+   * Adds a motor to the simulation.
+   *
+   * @param model The motor's constants.
+   * @param motorCount The number of motors ganged together on it.
+   * @param momentKgM2 The moment of what it turns, as seen from its shaft, in kg * m^2.
+   * @return The motor's ID.
+   * @throws IllegalArgumentException if motorCount or the moment isn't positive.
+   */
+  static int addMotor(
+      @NotNull final MotorModel model, final int motorCount, final double momentKgM2) {
+    if (motorCount <= 0) {
+      throw new IllegalArgumentException("Motor count must be positive, got " + motorCount);
+    }
+    if (momentKgM2 <= 0) {
+      throw new IllegalArgumentException("Moment must be positive, got " + momentKgM2);
+    }
+    if (motors == voltage.length) {
+      final int capacity = Math.max(8, 2 * motors);
+      voltage = Arrays.copyOf(voltage, capacity);
+      velocity = Arrays.copyOf(velocity, capacity);
+      position = Arrays.copyOf(position, capacity);
+      current = Arrays.copyOf(current, capacity);
+      torque = Arrays.copyOf(torque, capacity);
+      resistance = Arrays.copyOf(resistance, capacity);
+      torquePerAmp = Arrays.copyOf(torquePerAmp, capacity);
+      voltsPerRps = Arrays.copyOf(voltsPerRps, capacity);
+      frictionPerRps = Arrays.copyOf(frictionPerRps, capacity);
+      count = Arrays.copyOf(count, capacity);
+      moment = Arrays.copyOf(moment, capacity);
+      unitsPerRotation = Arrays.copyOf(unitsPerRotation, capacity);
+      drivetrainOf = Arrays.copyOf(drivetrainOf, capacity);
+    }
+    final int id = motors++;
+    resistance[id] = model.resistance;
+    torquePerAmp[id] = model.torquePerAmp;
+    voltsPerRps[id] = model.voltsPerRps;
+    frictionPerRps[id] = model.frictionPerRps;
+    count[id] = motorCount;
+    moment[id] = momentKgM2;
+    unitsPerRotation[id] = 1;
+    drivetrainOf[id] = -1;
+    return id;
+  }
+
+  /**
+   * Couples two simulated controllers as the sides of a differential drivetrain with the default
+   * mass and moment, if they're both simulated.
+   *
+   * @param left The master on the left side.
+   * @param right The master on the right side.
+   * @param trackWidthMeters The distance between the wheels on either side, in meters.
+   * @param ahrs The gyro to feed the simulated heading to.
+   * @return Whether both controllers were simulated and have been coupled.
+   * @see #addDrivetrain(SmartMotor, SmartMotor, double, double, double, MappedAHRS)
+   */
+  public static boolean addDrivetrain(
+      @NotNull final SmartMotor left,
+      @NotNull final SmartMotor right,
+      final double trackWidthMeters,
+      @NotNull final MappedAHRS ahrs) {
+    return addDrivetrain(
+        left, right, trackWidthMeters, DEFAULT_ROBOT_MASS, DEFAULT_ROBOT_MOMENT, ahrs);
+  }
+
+  /**
+   * Couples two simulated controllers as the sides of a differential drivetrain, if they're both
+   * simulated. Their units should be meters.
+   *
+   * @param left The master on the left side.
+   * @param right The master on the right side.
+   * @param trackWidthMeters The distance between the wheels on either side, in meters.
+   * @param massKg The mass of the robot, in kg.
+   * @param momentKgM2 The moment of the robot about its center, in kg * m^2.
+   * @param ahrs The gyro to feed the simulated heading to.
+   * @return Whether both controllers were simulated and have been coupled.
+   * @throws IllegalArgumentException if either controller is already part of a drivetrain, or
+   *     they're the same controller.
+   */
+  public static boolean addDrivetrain(
+      @NotNull final SmartMotor left,
+      @NotNull final SmartMotor right,
+      final double trackWidthMeters,
+      final double massKg,
+      final double momentKgM2,
+      @NotNull final MappedAHRS ahrs) {
+    if (!(left instanceof MPSSmartMotorSimulated) || !(right instanceof MPSSmartMotorSimulated)) {
+      return false;
+    }
+    final int leftId = ((MPSSmartMotorSimulated) left).getSimulatedMotor().getId();
+    final int rightId = ((MPSSmartMotorSimulated) right).getSimulatedMotor().getId();
+    if (leftId == rightId || drivetrainOf[leftId] >= 0 || drivetrainOf[rightId] >= 0) {
+      throw new IllegalArgumentException(
+          "Can't make a drivetrain out of "
+              + left.configureLogName()
+              + " and "
+              + right.configureLogName());
+    }
+    if (drivetrains == leftMotor.length) {
+      final int capacity = Math.max(2, 2 * drivetrains);
+      leftMotor = Arrays.copyOf(leftMotor, capacity);
+      rightMotor = Arrays.copyOf(rightMotor, capacity);
+      trackWidth = Arrays.copyOf(trackWidth, capacity);
+      mass = Arrays.copyOf(mass, capacity);
+      yawMoment = Arrays.copyOf(yawMoment, capacity);
+      yaw = Arrays.copyOf(yaw, capacity);
+      yawRate = Arrays.copyOf(yawRate, capacity);
+      gyro = Arrays.copyOf(gyro, capacity);
+    }
+    final int id = drivetrains++;
+    leftMotor[id] = leftId;
+    rightMotor[id] = rightId;
+    trackWidth[id] = trackWidthMeters;
+    mass[id] = massKg;
+    yawMoment[id] = momentKgM2;
+    gyro[id] = ahrs;
+    drivetrainOf[leftId] = id;
+    drivetrainOf[rightId] = id;
+    ahrs.setSimulatedYaw(0, 0);
+    return true;
+  }
+
+  /**
+   * Steps the physics of every motor up to the given time, then feeds the heading of every
+   * drivetrain to its gyro. Does nothing if they're already up to date. Several updatables call
+   * it, each on whichever thread updates them.
+   *
+   * @param nowNanos The {@link frc.team449.other.Clock} time to step to, in nanoseconds.
+   */
+  public static synchronized void advanceTo(final long nowNanos) {
+    if (timeNanos == NOT_STARTED) {
+      timeNanos = nowNanos;
+      return;
+    }
+    if (nowNanos <= timeNanos) {
+      return;
+    }
+    final double elapsed = Math.min((nowNanos - timeNanos) * 1e-9, MAX_ELAPSED_SECONDS);
+    timeNanos = nowNanos;
+    // Round down a little so that e.g. 20 ms in 1 ms substeps isn't 21 substeps
+    final int substeps = Math.max(1, (int) Math.ceil(elapsed / substepSeconds - 1e-6));
+    final double dt = elapsed / substeps;
+    for (int i = 0; i < substeps; i++) {
+      step(dt);
+    }
+    for (int d = 0; d < drivetrains; d++) {
+      gyro[d].setSimulatedYaw(Math.toDegrees(yaw[d]), Math.toDegrees(yawRate[d]));
+    }
+  }
+
+  /**
+   * Steps the physics of every motor forwards.
+   *
+   * @param dt The length of the step, in seconds.
+   */
+  private static void step(final double dt) {
+    for (int i = 0; i < motors; i++) {
+      final double amps = (voltage[i] - voltsPerRps[i] * velocity[i]) / resistance[i];
+      current[i] = count[i] * amps;
+      torque[i] = torquePerAmp[i] * current[i] - count[i] * frictionPerRps[i] * velocity[i];
+    }
+    for (int i = 0; i < motors; i++) {
+      if (drivetrainOf[i] < 0) {
+        velocity[i] += torque[i] / (TAU * moment[i]) * dt;
+      }
+    }
+    for (int d = 0; d < drivetrains; d++) {
+      final int l = leftMotor[d], r = rightMotor[d];
+      // Power = torque * 2pi * RPS = force * m/s, so that's the force each side puts on the ground
+      final double leftForce = torque[l] * TAU / unitsPerRotation[l];
+      final double rightForce = torque[r] * TAU / unitsPerRotation[r];
+      final double accel = (leftForce + rightForce) / mass[d];
+      final double yawAccel = (rightForce - leftForce) * 0.5 * trackWidth[d] / yawMoment[d];
+      final double leftSpeed =
+          velocity[l] * unitsPerRotation[l] + (accel - yawAccel * 0.5 * trackWidth[d]) * dt;
+      final double rightSpeed =
+          velocity[r] * unitsPerRotation[r] + (accel + yawAccel * 0.5 * trackWidth[d]) * dt;
+      velocity[l] = leftSpeed / unitsPerRotation[l];
+      velocity[r] = rightSpeed / unitsPerRotation[r];
+      yawRate[d] = (rightSpeed - leftSpeed) / trackWidth[d];
+      yaw[d] += yawRate[d] * dt;
+    }
+    for (int i = 0; i < motors; i++) {
+      position[i] += velocity[i] * dt;
+    }
+  }
+
+  /** @return The length of a substep, in seconds. */
+  public static double getSubstepSeconds() {
+    return substepSeconds;
+  }
+
+  /**
+   * Sets how finely physics are stepped, independently of how often the robot loop runs.
+   *
+   * @param seconds The length of a substep, in seconds.
+   * @throws IllegalArgumentException if seconds isn't positive.
+   */
+  public static void setSubstepSeconds(final double seconds) {
+    if (!(seconds > 0)) {
+      throw new IllegalArgumentException("Substep length must be positive, got " + seconds);
+    }
+    substepSeconds = seconds;
+  }
+
+  /**
+   * @param motor The motor's ID.
+   * @param volts The voltage to hold it at until it's next set.
+   */
+  static synchronized void setVoltage(final int motor, final double volts) {
+    voltage[motor] = volts;
+  }
+
+  /**
+   * @param motor The motor's ID.
+   * @param units How far the output moves per rotation of the motor.
+   */
+  static synchronized void setUnitsPerRotation(final int motor, final double units) {
+    unitsPerRotation[motor] = units;
+  }
+
+  /**
+   * @param motor The motor's ID.
+   * @return The motor's velocity, in RPS.
+   */
+  static synchronized double getVelocity(final int motor) {
+    return velocity[motor];
+  }
+
+  /**
+   * @param motor The motor's ID.
+   * @return The motor's position, in rotations.
+   */
+  static synchronized double getPosition(final int motor) {
+    return position[motor];
+  }
+
+  /**
+   * @param motor The motor's ID.
+   * @param rotations The position to say the motor is at.
+   */
+  static synchronized void setPosition(final int motor, final double rotations) {
+    position[motor] = rotations;
+  }
+
+  /**
+   * @param motor The motor's ID.
+   * @return The current drawn by all of the motors ganged together on it, in amps. Negative when
+   *     they're braking.
+   */
+  static synchronized double getCurrent(final int motor) {
+    return current[motor];
+  }
+}
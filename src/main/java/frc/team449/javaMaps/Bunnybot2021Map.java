@@ -19,6 +19,7 @@ import frc.team449.components.ShiftComponent;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyroShiftable;
 import frc.team449.drive.unidirectional.commands.UnidirectionalNavXDefaultDrive;
+import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.generalInterfaces.doubleUnaryOperator.Polynomial;
 import frc.team449.generalInterfaces.doubleUnaryOperator.RampComponent;
@@ -266,7 +267,7 @@ public class Bunnybot2021Map {
 
     var subsystems = List.<Subsystem>of(drive, elevator, intake);
 
-    var updater = new Updater(List.of(pdp, oi, navx, drive));
+    var updater = new Updater(List.of(MotorContainer.getInstance(), pdp, oi, navx, drive));
 
     var defaultCommands = List.of(defaultDriveCommand);
 
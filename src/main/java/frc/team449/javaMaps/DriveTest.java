@@ -12,6 +12,7 @@ import frc.team449.components.ShiftComponent;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyroShiftable;
 import frc.team449.drive.unidirectional.commands.UnidirectionalNavXDefaultDrive;
+import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.generalInterfaces.doubleUnaryOperator.Polynomial;
 import frc.team449.generalInterfaces.doubleUnaryOperator.RampComponent;
@@ -197,7 +198,7 @@ public class DriveTest {
                 oi,
                 new RampComponent(3.0, 3.0)));
 
-    var updater = new Updater(List.of(pdp, oi, navx, drive));
+    var updater = new Updater(List.of(MotorContainer.getInstance(), pdp, oi, navx, drive));
 
     var defaultCommands = List.<DefaultCommand>of(defaultDriveCommand);
 
@@ -17,10 +17,12 @@ import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyroShiftable;
 import frc.team449.drive.unidirectional.commands.DriveAtSpeed;
 import frc.team449.drive.unidirectional.commands.UnidirectionalNavXDefaultDrive;
+import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.generalInterfaces.doubleUnaryOperator.Polynomial;
 import frc.team449.generalInterfaces.doubleUnaryOperator.RampComponent;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
+import frc.team449.generalInterfaces.updatable.Updatable;
 import frc.team449.jacksonWrappers.FeedForwardCalculators.MappedFeedForwardCalculator;
 import frc.team449.jacksonWrappers.*;
 import frc.team449.javaMaps.builders.PerGearSettingsBuilder;
@@ -33,9 +35,11 @@ import frc.team449.oi.throttles.ThrottleSum;
 import frc.team449.oi.unidirectional.arcade.OIArcadeWithDPad;
 import frc.team449.other.Debouncer;
 import frc.team449.other.DefaultCommand;
-import frc.team449.other.Updater;
+import frc.team449.other.ParallelUpdater;
+import frc.team449.telemetry.TelemetryRecorder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -116,7 +120,7 @@ public class FullMap {
             .postEncoderGearing(1 / 7.73)
             .maxSpeed(5.2); // free speed max in m/s is 44.537592495 m/s
     var rightMaster =
-        new MappedSparkMax(
+        MappedSparkMax.create(
             null,
             null,
             driveMasterPrototype
@@ -139,7 +143,7 @@ public class FullMap {
                             .build()))
                 .ensureBuilt());
     var leftMaster =
-        new MappedSparkMax(
+        MappedSparkMax.create(
             null,
             null,
             driveMasterPrototype
@@ -273,7 +277,16 @@ public class FullMap {
     var elevatorspark =
         new CANSparkMax(ELEVATOR_MOTOR_PORT, CANSparkMaxLowLevel.MotorType.kBrushless);
 
-    var updater = new Updater(List.of(pdp, oi, navx, drive));
+    // Records every loop's cached values for after the match. 30000 records is 10 minutes at 50 Hz.
+    // The file isn't opened until robotInit
+    var telemetry = new TelemetryRecorder(TelemetryRecorder.defaultFile(), 30000, pdp, navx);
+
+    // None of the first group read each other's cached values, so they can all be updated at once.
+    // Each motor is read separately, so the workers share the CAN reads. The telemetry recorder
+    // reads their caches, so it goes after them
+    var firstGroup = new ArrayList<Updatable>(MotorContainer.getUpdatables());
+    firstGroup.addAll(List.of(pdp, oi, navx));
+    var updater = new ParallelUpdater(List.of(firstGroup, List.of(telemetry)), 3);
 
     var defaultCommands = List.of(defaultDriveCommand);
 
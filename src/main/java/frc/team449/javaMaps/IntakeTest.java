@@ -8,6 +8,7 @@ import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.team449.CommandContainer;
 import frc.team449.RobotMap;
 import frc.team449.components.RunningLinRegComponent;
+import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.jacksonWrappers.MappedJoystick;
 import frc.team449.jacksonWrappers.PDP;
 import frc.team449.oi.buttons.CommandButton;
@@ -48,7 +49,7 @@ public class IntakeTest {
     compressor.start();
 
     var subsystems = List.<Subsystem>of();
-    var updater = new Updater(List.of(pdp));
+    var updater = new Updater(List.of(MotorContainer.getInstance(), pdp));
 
     var buttons =
         List.of(
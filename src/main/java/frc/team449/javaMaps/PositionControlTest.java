@@ -12,6 +12,7 @@ import frc.team449._2021BunnyBot.elevator.OneMotorPulleyElevator.ElevatorPositio
 import frc.team449._2021BunnyBot.elevator.commands.MoveToPosition;
 import frc.team449._2021BunnyBot.elevator.commands.SetVelocity;
 import frc.team449.components.RunningLinRegComponent;
+import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
 import frc.team449.jacksonWrappers.MappedJoystick;
 import frc.team449.jacksonWrappers.MappedSparkMax;
@@ -125,7 +126,7 @@ public class PositionControlTest {
     */
     var subsystems = List.<Subsystem>of(elevator);
 
-    var updater = new Updater(List.of(pdp /*, oi, navx*/));
+    var updater = new Updater(List.of(MotorContainer.getInstance(), pdp /*, oi, navx*/));
 
     var defaultCommands = List.<DefaultCommand>of();
 
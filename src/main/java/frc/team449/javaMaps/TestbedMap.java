@@ -10,6 +10,7 @@ import frc.team449.RobotMap;
 import frc.team449.components.RunningLinRegComponent;
 import frc.team449.components.ShiftComponent;
 import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyroShiftable;
+import frc.team449.generalInterfaces.MotorContainer;
 import frc.team449.generalInterfaces.SmartMotor;
 import frc.team449.generalInterfaces.shiftable.Shiftable;
 import frc.team449.jacksonWrappers.FeedForwardCalculators.MappedFeedForwardCalculator;
@@ -140,7 +141,7 @@ public class TestbedMap {
 
         var subsystems = List.<Subsystem>of(drive);
 
-        var updater = new Updater(List.of(pdp, navx, drive));
+        var updater = new Updater(List.of(MotorContainer.getInstance(), pdp, navx, drive));
 
         var defaultCommands = List.<DefaultCommand>of();
 
@@ -6,7 +6,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj2.command.button.Button;
 import io.github.oblarg.oblog.annotations.Log;
-import java.util.Arrays;
 import org.jetbrains.annotations.NotNull;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
@@ -52,8 +51,7 @@ public class OIOutreach implements OIUnidirectional {
    */
   @Override
   public double[] getLeftRightOutput() {
-    if (!Arrays.equals(this.overridingOI.getLeftRightOutput(), new double[] {0, 0})
-        || this.button.get()) {
+    if (this.overriding(this.overridingOI.getLeftRightOutput())) {
       return this.overridingOI.getLeftRightOutput();
     } else {
       return this.overridenOI.getLeftRightOutput();
@@ -80,8 +78,7 @@ public class OIOutreach implements OIUnidirectional {
    */
   @Override
   public double[] getFwdRotOutput() {
-    if (!Arrays.equals(this.overridingOI.getLeftRightOutput(), new double[] {0, 0})
-        || this.button.get()) {
+    if (this.overriding(this.overridingOI.getLeftRightOutput())) {
       return this.overridingOI.getFwdRotOutput();
     } else {
       return this.overridenOI.getFwdRotOutput();
@@ -111,12 +108,29 @@ public class OIOutreach implements OIUnidirectional {
     return this.getLeftRightOutputCached()[0] == this.getLeftRightOutputCached()[1];
   }
 
-  /** Updates all cached values with current ones. */
+  /**
+   * Whether the overriding OI should be used.
+   *
+   * @param overridingLeftRight The left and right output of the overriding OI.
+   * @return true if the overriding OI has any input or the button is pressed, false otherwise.
+   */
+  private boolean overriding(final double @NotNull [] overridingLeftRight) {
+    return overridingLeftRight[0] != 0 || overridingLeftRight[1] != 0 || this.button.get();
+  }
+
+  /**
+   * Updates all cached values with current ones. The cached outputs are the cached arrays of
+   * whichever OI is in control, so nothing is allocated.
+   */
   @Override
   public void update() {
     this.overridenOI.update();
     this.overridingOI.update();
-    this.cachedLeftRightOutput = this.getLeftRightOutput();
-    this.cachedFwdRotOutput = this.getFwdRotOutput();
+    final OIUnidirectional active =
+        this.overriding(this.overridingOI.getLeftRightOutputCached())
+            ? this.overridingOI
+            : this.overridenOI;
+    this.cachedLeftRightOutput = active.getLeftRightOutputCached();
+    this.cachedFwdRotOutput = active.getFwdRotOutputCached();
   }
 }
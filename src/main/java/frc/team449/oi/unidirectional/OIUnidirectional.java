@@ -25,7 +25,8 @@ public interface OIUnidirectional extends OI {
    * The cached output to be given to the left and right sides of the drive.
    *
    * @return An array of length 2, where the 1st element is the output for the left and the second
-   *     for the right, both from [-1, 1].
+   *     for the right, both from [-1, 1]. Implementations may reuse the array, so it shouldn't be
+   *     held onto across updates.
    */
   double[] getLeftRightOutputCached();
 
@@ -41,7 +42,8 @@ public interface OIUnidirectional extends OI {
    * The cached forwards and rotational movement given to the drive.
    *
    * @return An array of length 2, where the first element is the forwards output and the second is
-   *     the rotational, both from [-1, 1]
+   *     the rotational, both from [-1, 1]. Implementations may reuse the array, so it shouldn't be
+   *     held onto across updates.
    */
   double[] getFwdRotOutputCached();
 
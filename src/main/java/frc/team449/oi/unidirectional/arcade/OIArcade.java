@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import frc.team449.oi.unidirectional.OIUnidirectional;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 /** An arcade-style dual joystick OI. */
 @JsonTypeInfo(
@@ -16,10 +15,10 @@ public abstract class OIArcade implements OIUnidirectional {
 
   /** Whether or not to scale the left and right outputs so the max output is 1. */
   private final boolean rescaleOutputs;
-  /** Cached forwards and rotational output. */
-  private double @Nullable [] fwdRotOutputCached;
-  /** Cached left-right output values */
-  private double @Nullable [] leftRightOutputCached;
+  /** Cached forwards and rotational output, overwritten in place on every update. */
+  private final double @NotNull [] fwdRotOutputCached = new double[2];
+  /** Cached left-right output values, overwritten in place on every update. */
+  private final double @NotNull [] leftRightOutputCached = new double[2];
 
   /**
    * Default constructor.
@@ -44,72 +43,96 @@ public abstract class OIArcade implements OIUnidirectional {
   }
 
   /**
-   * The output to be given to the left and right sides of the drive.
+   * Samples the throttles and writes the forwards and rotational movement into the given array.
+   * Each throttle should be sampled at most once per call.
    *
-   * @return An array of length 2, where the 1st element is the output for the left and the second
-   *     for the right, both from [-1, 1].
+   * @param out An array of length 2, to be filled with the forwards output and then the
+   *     rotational, both from [-1, 1]
    */
-  @Override
-  public double @NotNull [] getLeftRightOutput() {
-    fwdRotOutputCached = getFwdRotOutput();
+  protected abstract void computeFwdRotOutput(double @NotNull [] out);
 
+  /**
+   * Converts forwards and rotational output to left and right output, clipping or rescaling if
+   * either side is too large.
+   *
+   * @param fwdRot An array of length 2 holding the forwards and rotational output.
+   * @param out An array of length 2, to be filled with the left and then the right output.
+   */
+  private void fwdRotToLeftRight(final double @NotNull [] fwdRot, final double @NotNull [] out) {
     // Unscaled, unclipped values for left and right output.
-    final double tmpLeft = fwdRotOutputCached[0] + fwdRotOutputCached[1];
-    final double tmpRight = fwdRotOutputCached[0] - fwdRotOutputCached[1];
+    final double tmpLeft = fwdRot[0] + fwdRot[1];
+    final double tmpRight = fwdRot[0] - fwdRot[1];
 
     // If left is too large
     if (Math.abs(tmpLeft) > 1) {
-      if (rescaleOutputs) {
-        // Rescale right, return left clipped to [-1, 1]
-        return new double[] {Math.signum(tmpLeft), tmpRight / Math.abs(tmpLeft)};
-      } else {
-        // Return left clipped to [-1, 1], don't change right
-        return new double[] {Math.signum(tmpLeft), tmpRight};
-      }
+      // Clip left to [-1, 1], and rescale right if we're rescaling
+      out[0] = Math.signum(tmpLeft);
+      out[1] = rescaleOutputs ? tmpRight / Math.abs(tmpLeft) : tmpRight;
     } else if (Math.abs(tmpRight) > 1) { // If right is too large
-      if (rescaleOutputs) {
-        // Rescale left, return right clipped to [-1, 1]
-        return new double[] {tmpLeft / Math.abs(tmpRight), Math.signum(tmpRight)};
-      } else {
-        // Return right clipped to [-1, 1], don't change left
-        return new double[] {tmpLeft, Math.signum(tmpRight)};
-      }
+      // Clip right to [-1, 1], and rescale left if we're rescaling
+      out[0] = rescaleOutputs ? tmpLeft / Math.abs(tmpRight) : tmpLeft;
+      out[1] = Math.signum(tmpRight);
     } else {
-      // Return unaltered if nothing is too large
-      return new double[] {tmpLeft, tmpRight};
+      // Unaltered if nothing is too large
+      out[0] = tmpLeft;
+      out[1] = tmpRight;
     }
   }
 
+  /**
+   * The forwards and rotational movement given to the drive. This samples the throttles, so prefer
+   * {@link OIArcade#getFwdRotOutputCached()} in anything that runs every loop.
+   *
+   * @return A new array of length 2, where the first element is the forwards output and the second
+   *     is the rotational, both from [-1, 1]
+   */
+  @Override
+  public double @NotNull [] getFwdRotOutput() {
+    final double[] fwdRot = new double[2];
+    computeFwdRotOutput(fwdRot);
+    return fwdRot;
+  }
+
+  /**
+   * The output to be given to the left and right sides of the drive. This samples the throttles,
+   * so prefer {@link OIArcade#getLeftRightOutputCached()} in anything that runs every loop.
+   *
+   * @return A new array of length 2, where the 1st element is the output for the left and the
+   *     second for the right, both from [-1, 1].
+   */
+  @Override
+  public double @NotNull [] getLeftRightOutput() {
+    final double[] leftRight = getFwdRotOutput();
+    fwdRotToLeftRight(leftRight, leftRight);
+    return leftRight;
+  }
+
   /**
    * The cached output to be given to the left and right sides of the drive.
    *
    * @return An array of length 2, where the 1st element is the output for the left and the second
-   *     for the right, both from [-1, 1].
+   *     for the right, both from [-1, 1]. The same array is overwritten on every update.
    */
   @Override
   public double @NotNull [] getLeftRightOutputCached() {
-    return leftRightOutputCached != null
-        ? leftRightOutputCached
-        : (leftRightOutputCached = getLeftRightOutput()); // TODO assignment inside expression?
+    return leftRightOutputCached;
   }
 
   /**
    * The cached forwards and rotational movement given to the drive.
    *
    * @return An array of length 2, where the first element is the forwards output and the second is
-   *     the rotational, both from [-1, 1]
+   *     the rotational, both from [-1, 1]. The same array is overwritten on every update.
    */
   @Override
   public double @NotNull [] getFwdRotOutputCached() {
-    return fwdRotOutputCached != null
-        ? fwdRotOutputCached
-        : (fwdRotOutputCached = getFwdRotOutput()); // TODO assignment inside expression?
+    return fwdRotOutputCached;
   }
 
-  /** Updates all cached values with current ones. */
+  /** Updates all cached values with current ones, sampling each throttle once. */
   @Override
   public void update() {
-    fwdRotOutputCached = getFwdRotOutput();
-    leftRightOutputCached = getLeftRightOutput();
+    computeFwdRotOutput(fwdRotOutputCached);
+    fwdRotToLeftRight(fwdRotOutputCached, leftRightOutputCached);
   }
 }
@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import frc.team449.oi.throttles.Throttle;
-import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
 /** A simple, two-stick arcade drive OI. */
@@ -37,14 +36,14 @@ public class OIArcadeSimple extends OIArcade {
   }
 
   /**
-   * The forwards and rotational movement given to the drive.
+   * Samples the throttles and writes the forwards and rotational movement into the given array.
    *
-   * @return An array of length 2, where the first element is the forwards output and the second is
-   *     the rotational, both from [-1, 1]
+   * @param out An array of length 2, to be filled with the forwards output and then the
+   *     rotational, both from [-1, 1]
    */
   @Override
-  @Log
-  public double[] getFwdRotOutput() {
-    return new double[] {velThrottle.getValue(), rotThrottle.getValue()};
+  protected void computeFwdRotOutput(final double @NotNull [] out) {
+    out[0] = velThrottle.getValue();
+    out[1] = rotThrottle.getValue();
   }
 }
@@ -76,27 +76,27 @@ public class OIArcadeWithDPad extends OIArcade {
   }
 
   /**
-   * The forwards and rotational movement given to the drive.
+   * Samples the throttles and writes the forwards and rotational movement into the given array.
    *
-   * @return An array of length 2, where the first element is the forwards output and the second is
-   *     the rotational, both from [-1, 1]
+   * @param out An array of length 2, to be filled with the forwards output and then the
+   *     rotational, both from [-1, 1]
    */
   @Override
-  public double[] getFwdRotOutput() {
-    double fwd = fwdThrottle.getValue();
+  protected void computeFwdRotOutput(final double @NotNull [] out) {
+    final double fwd = fwdThrottle.getValue();
+    final int pov = gamepad != null ? gamepad.getPOV() : -1;
+    out[0] = fwd;
 
     // If the gamepad is being pushed to the left or right
-    if (gamepad != null && !(gamepad.getPOV() == -1 || gamepad.getPOV() % 180 == 0)) {
+    if (!(pov == -1 || pov % 180 == 0)) {
       // Output the shift value
-      return new double[] {fwd, gamepad.getPOV() < 180 ? dPadShift : -dPadShift};
+      out[1] = pov < 180 ? dPadShift : -dPadShift;
     } else if (fwd == 0) { // Turning in place
-      return new double[] {fwd, rotThrottle.getValue() * turnInPlaceRotScale};
+      out[1] = rotThrottle.getValue() * turnInPlaceRotScale;
     } else if (scaleRotByFwdPoly != null) { // If we're using Cheezy Drive
-      return new double[] {
-        fwd, rotThrottle.getValue() * scaleRotByFwdPoly.applyAsDouble(Math.abs(fwd))
-      };
+      out[1] = rotThrottle.getValue() * scaleRotByFwdPoly.applyAsDouble(Math.abs(fwd));
     } else { // Plain and simple
-      return new double[] {fwd, rotThrottle.getValue()};
+      out[1] = rotThrottle.getValue();
     }
   }
 }
@@ -3,6 +3,7 @@ package frc.team449.oi.unidirectional.tank;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import frc.team449.oi.unidirectional.OIUnidirectional;
 import io.github.oblarg.oblog.annotations.Log;
+import org.jetbrains.annotations.NotNull;
 
 /** A tank-style dual joystick OI. */
 @JsonTypeInfo(
@@ -11,11 +12,11 @@ import io.github.oblarg.oblog.annotations.Log;
     property = "@class")
 public abstract class OITank implements OIUnidirectional {
 
-  /** Cached left and right output. */
-  private double[] leftRightOutputCached;
+  /** Cached left and right output, overwritten in place on every update. */
+  private final double @NotNull [] leftRightOutputCached = new double[2];
 
-  /** Cached forwards and rotational output. */
-  private double[] fwdRotOutputCached;
+  /** Cached forwards and rotational output, overwritten in place on every update. */
+  private final double @NotNull [] fwdRotOutputCached = new double[2];
 
   /**
    * Get the throttle for the left side of the drive.
@@ -34,13 +35,13 @@ public abstract class OITank implements OIUnidirectional {
   public abstract double getRightThrottle();
 
   /**
-   * The output to be given to the left and right sides of the drive.
+   * The output to be given to the left and right sides of the drive. This samples the throttles,
+   * so prefer {@link OITank#getLeftRightOutputCached()} in anything that runs every loop.
    *
-   * @return An array of length 2, where the 1st element is the output for the left and the second
-   *     for the right, both from [-1, 1].
+   * @return A new array of length 2, where the 1st element is the output for the left and the
+   *     second for the right, both from [-1, 1].
    */
   @Override
-  @Log
   public double[] getLeftRightOutput() {
     return new double[] {getLeftThrottle(), getRightThrottle()};
   }
@@ -49,7 +50,7 @@ public abstract class OITank implements OIUnidirectional {
    * The cached output to be given to the left and right sides of the drive.
    *
    * @return An array of length 2, where the 1st element is the output for the left and the second
-   *     for the right, both from [-1, 1].
+   *     for the right, both from [-1, 1]. The same array is overwritten on every update.
    */
   @Override
   @Log
@@ -58,24 +59,24 @@ public abstract class OITank implements OIUnidirectional {
   }
 
   /**
-   * The forwards and rotational movement given to the drive.
+   * The forwards and rotational movement given to the drive. This samples the throttles, so prefer
+   * {@link OITank#getFwdRotOutputCached()} in anything that runs every loop.
    *
-   * @return An array of length 2, where the first element is the forwards output and the second is
-   *     the rotational, both from [-1, 1]
+   * @return A new array of length 2, where the first element is the forwards output and the second
+   *     is the rotational, both from [-1, 1]
    */
   @Override
-  @Log
   public double[] getFwdRotOutput() {
-    return new double[] {
-      (getLeftThrottle() + getRightThrottle()) / 2., (getLeftThrottle() - getRightThrottle()) / 2.
-    };
+    final double left = getLeftThrottle();
+    final double right = getRightThrottle();
+    return new double[] {(left + right) / 2., (left - right) / 2.};
   }
 
   /**
    * The cached forwards and rotational movement given to the drive.
    *
    * @return An array of length 2, where the first element is the forwards output and the second is
-   *     the rotational, both from [-1, 1]
+   *     the rotational, both from [-1, 1]. The same array is overwritten on every update.
    */
   @Override
   @Log
@@ -86,7 +87,12 @@ public abstract class OITank implements OIUnidirectional {
   /** Updates all cached values with current ones. */
   @Override
   public void update() {
-    leftRightOutputCached = getLeftRightOutput();
-    fwdRotOutputCached = getFwdRotOutput();
+    // Sample both sides before writing, since the throttles may read the cached output
+    final double left = getLeftThrottle();
+    final double right = getRightThrottle();
+    leftRightOutputCached[0] = left;
+    leftRightOutputCached[1] = right;
+    fwdRotOutputCached[0] = (left + right) / 2.;
+    fwdRotOutputCached[1] = (left - right) / 2.;
   }
 }
@@ -1,41 +1,99 @@
 package frc.team449.other;
 
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.RobotController;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 
 /**
- * A wrapper on {@link System}.currentTimeMillis that caches the time, to avoid calling the
- * currentTimeMillis method.
+ * A monotonic clock that caches the time once per loop, so everything that asks for the time during
+ * a loop gets the same answer without calling into the time source.
+ *
+ * <p>On the robot the time comes from the FPGA timestamp, and in simulation from {@link
+ * System#nanoTime()}. Neither jumps when the wall clock is changed. A different source can be
+ * plugged in with {@link #setTimeSource(TimeSource)} so that simulations and unit tests can run
+ * faster than real time and get the same times on every run.
+ *
+ * <p>The cached time is only written by the main robot thread, in {@link #updateTime()}, but can be
+ * read from any thread without locking. Other threads that need the time right now can use {@link
+ * #readTimeNanos()}.
  */
 public class Clock {
 
-  /** The starting time for this clock. */
-  private static long startTime;
+  /** Something that can tell the time. */
+  @FunctionalInterface
+  public interface TimeSource {
+    /**
+     * @return The current time in nanoseconds, relative to some arbitrary fixed point. Must never
+     *     decrease.
+     */
+    long nanoTime();
+  }
+
+  /** The source that's used on the robot. The FPGA timestamp is in microseconds. */
+  @NotNull private static final TimeSource FPGA = () -> RobotController.getFPGATime() * 1000;
+
+  /** Where the time comes from. */
+  @NotNull private static volatile TimeSource timeSource =
+      RobotBase.isReal() ? FPGA : System::nanoTime;
 
-  /** The time since startTime, in milliseconds. */
-  private static long currentTime;
+  /** The starting time for this clock, in the time source's nanoseconds. */
+  private static volatile long startTime = timeSource.nanoTime();
+
+  /** The time since startTime as of the last update, in nanoseconds. */
+  private static volatile long currentTime;
 
   /** Make constructor private so it can't be called */
   private Clock() {}
 
+  /**
+   * Replaces the time source and resets the start time to now, so the clock reads 0 until the next
+   * update.
+   *
+   * @param source The new time source.
+   */
+  public static void setTimeSource(@NotNull final TimeSource source) {
+    timeSource = source;
+    setStartTime();
+  }
+
   /** Updates the current time. */
-  public static synchronized void updateTime() {
-    currentTime = System.currentTimeMillis() - startTime;
+  public static void updateTime() {
+    currentTime = timeSource.nanoTime() - startTime;
   }
 
   /** Sets the start time to the current time. */
-  public static synchronized void setStartTime() {
-    startTime = System.currentTimeMillis();
+  public static void setStartTime() {
+    startTime = timeSource.nanoTime();
+    currentTime = 0;
   }
 
-  /** @return The time since the start time, in milliseconds. */
+  /**
+   * Reads the time straight from the time source instead of using the cached time. For threads
+   * other than the main one, such as NetworkTables listeners, that need to timestamp something
+   * against the same clock.
+   *
+   * @return The time since the start time right now, in nanoseconds.
+   */
+  public static long readTimeNanos() {
+    return timeSource.nanoTime() - startTime;
+  }
+
+  /** @return The time since the start time as of the last update, in nanoseconds. */
   @Contract(pure = true)
-  public static synchronized long currentTimeMillis() {
+  public static long currentTimeNanos() {
     return currentTime;
   }
 
-  /** @return The time since the start time, in esconds. */
+  /** @return The time since the start time as of the last update, in milliseconds. */
+  @Contract(pure = true)
+  public static long currentTimeMillis() {
+    return currentTime / 1_000_000;
+  }
+
+  /** @return The time since the start time as of the last update, in seconds. */
   @Contract(pure = true)
-  public static synchronized double currentTimeSeconds() {
-    return currentTime * 0.001;
+  public static double currentTimeSeconds() {
+    return currentTime * 1e-9;
   }
 }
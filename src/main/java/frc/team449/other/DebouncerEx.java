@@ -2,13 +2,28 @@ package frc.team449.other;
 
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
-import java.util.LinkedList;
 
-/** Debouncer that takes the average of the samples in a limited-length buffer. */
+/**
+ * Debouncer that takes the average of the samples in a limited-length buffer.
+ *
+ * <p>The samples are kept one bit each in a ring of longs, along with a running sum, so updating
+ * and reading take constant time and don't allocate, however long the buffer is.
+ */
 public class DebouncerEx implements Loggable {
-  private final double bufferSize;
+  /** The most samples shown in the log, so long buffers don't make huge strings. */
+  private static final int MAX_LOGGED_SAMPLES = 64;
+
+  /** The most samples the buffer can hold. */
+  private final int bufferSize;
+
   private final boolean stateWhenTied;
-  @Log.ToString private final LinkedList<Boolean> buffer;
+  /** The samples, one bit per sample, in a ring. A set bit is a true sample. */
+  private final long[] words;
+  /** The slot the oldest sample is in. */
+  private int oldest;
+  /** The number of samples in the buffer. */
+  private int size;
+  /** The number of true samples minus the number of false ones. */
   @Log private int bufferSum;
 
   /**
@@ -17,11 +32,15 @@ public class DebouncerEx implements Loggable {
    * @param bufferSize the number of samples to keep in the buffer
    * @param stateWhenTied the state to return when there are an equal number of true and false
    *     samples in the buffer
+   * @throws IllegalArgumentException if bufferSize isn't positive
    */
   public DebouncerEx(final int bufferSize, final boolean stateWhenTied) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive, got " + bufferSize);
+    }
     this.bufferSize = bufferSize;
     this.stateWhenTied = stateWhenTied;
-    this.buffer = new LinkedList<>();
+    this.words = new long[(bufferSize + 63) / 64];
   }
 
   public DebouncerEx(final int bufferSize) {
@@ -29,12 +48,56 @@ public class DebouncerEx implements Loggable {
   }
 
   public void update(final boolean currentState) {
-    this.buffer.addFirst(currentState);
-    this.bufferSum += currentState ? 1 : -1;
+    this.push(currentState);
+  }
 
-    if (this.buffer.size() > this.bufferSize) {
-      this.bufferSum -= Boolean.TRUE.equals(buffer.removeLast()) ? 1 : -1;
+  /**
+   * Adds a sample, dropping the oldest one if the buffer is full.
+   *
+   * @param state The sample.
+   * @return The slot the sample was put in.
+   */
+  protected int push(final boolean state) {
+    if (this.size == this.bufferSize) {
+      this.removeOldest();
     }
+    final int slot = (this.oldest + this.size) % this.bufferSize;
+    if (state) {
+      this.words[slot >>> 6] |= 1L << slot;
+    } else {
+      this.words[slot >>> 6] &= ~(1L << slot);
+    }
+    this.size++;
+    this.bufferSum += state ? 1 : -1;
+    return slot;
+  }
+
+  /** Drops the oldest sample. Does nothing if the buffer is empty. */
+  protected void removeOldest() {
+    if (this.size == 0) {
+      return;
+    }
+    this.bufferSum -= this.sampleAt(this.oldest) ? 1 : -1;
+    this.oldest = (this.oldest + 1) % this.bufferSize;
+    this.size--;
+  }
+
+  /**
+   * @param slot A slot in the ring.
+   * @return The sample in it.
+   */
+  private boolean sampleAt(final int slot) {
+    return (this.words[slot >>> 6] & (1L << slot)) != 0;
+  }
+
+  /** @return The slot the oldest sample is in. Only meaningful if the buffer isn't empty. */
+  protected int getOldestSlot() {
+    return this.oldest;
+  }
+
+  /** @return The number of samples in the buffer. */
+  public int size() {
+    return this.size;
   }
 
   @Log
@@ -42,4 +105,24 @@ public class DebouncerEx implements Loggable {
     if (this.bufferSum == 0) return this.stateWhenTied;
     return this.bufferSum > 0;
   }
+
+  /**
+   * @return The samples in the buffer, newest first, e.g. "[true, false]". Only the newest {@link
+   *     #MAX_LOGGED_SAMPLES} are shown, followed by "..." if there are more.
+   */
+  @Log.ToString
+  public String getBuffer() {
+    final StringBuilder builder = new StringBuilder("[");
+    final int shown = Math.min(this.size, MAX_LOGGED_SAMPLES);
+    for (int i = 0; i < shown; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(this.sampleAt((this.oldest + this.size - 1 - i) % this.bufferSize));
+    }
+    if (shown < this.size) {
+      builder.append(", ...");
+    }
+    return builder.append(']').toString();
+  }
 }
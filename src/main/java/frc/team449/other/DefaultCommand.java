@@ -5,12 +5,16 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.Subsystem;
+import frc.team449.telemetry.EventLog;
 import io.github.oblarg.oblog.Loggable;
 import io.github.oblarg.oblog.annotations.Log;
 import org.jetbrains.annotations.NotNull;
 
 /** A class that sets the default command for a subsystem when constructed. */
 public class DefaultCommand implements Loggable {
+  /** Warns about default commands that are instant commands. */
+  private static final EventLog.Site INSTANT_LOG =
+      EventLog.site(DefaultCommand.class, EventLog.Level.WARN);
 
   /** The command of this defaultCommand; field to allow logging */
   @Log.Include private final Command command;
@@ -27,11 +31,11 @@ public class DefaultCommand implements Loggable {
       @NotNull @JsonProperty(required = true) final Command command) {
     // Check if it's an instant command and warn the user if it is
     if (InstantCommand.class.isAssignableFrom(command.getClass())) {
-      System.out.println(
+      INSTANT_LOG.log(
           "You're trying to set an InstantCommand as a default command! This is a really bad "
-              + "idea!");
-      System.out.println("Subsystem: " + subsystem.getClass().toString());
-      System.out.println("Command: " + command.getClass().toString());
+              + "idea! Subsystem: {}, command: {}",
+          subsystem.getClass(),
+          command.getClass());
     }
     subsystem.setDefaultCommand(command);
     this.command = command;
@@ -0,0 +1,264 @@
+package frc.team449.other;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.team449.Robot;
+import frc.team449.RobotMap;
+import frc.team449.jacksonWrappers.MappedJoystick;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs a robot map in simulation without a driver station, GUI, or real-time loop, so that whole
+ * autonomous routines and scripted teleop can run in CI as fast as the CPU allows.
+ *
+ * <p>Time is virtual: the HAL's timing is paused and stepped forward by one period after every call
+ * to {@link Robot#robotPeriodic()}, and {@link Clock} reads the same FPGA timestamp, so everything
+ * from {@link Clock} to WPILib's {@link edu.wpi.first.wpilibj.Timer} agrees on the time and every
+ * run gives the same times. Joystick input comes from {@link DriverStationSim}, either set directly
+ * or scripted ahead of time with {@link #at(double, Runnable)}. Every joystick in the map reads
+ * from it, including ones made with {@link MappedJoystick#create(int)}, which would otherwise open
+ * a window.
+ *
+ * <p>The wall-clock time each loop takes is still measured, so loop cost can be checked with {@link
+ * #getLoopCost()}.
+ *
+ * <p>Only one of these should be created per JVM, since a map can only allocate its HAL resources
+ * (solenoids, etc.) once.
+ */
+public class HeadlessSimulation {
+
+  /** The number of axes, buttons, and POVs every simulated joystick reports. */
+  private static final int AXES = 6, BUTTONS = 12, POVS = 1;
+
+  /** The robot being simulated. */
+  @NotNull private final Robot robot;
+  /** The length of a loop, in seconds. */
+  private final double periodSeconds;
+  /** The wall-clock time each call to robotPeriodic() took. */
+  @NotNull private final LatencyHistogram loopCost = new LatencyHistogram();
+  /** Scripted input that hasn't happened yet, in order of time. */
+  @NotNull private final List<ScriptedInput> script = new ArrayList<>();
+  /** The FPGA time when the simulation started, in microseconds. */
+  private final long startMicros;
+  /** The number of loops run so far. */
+  private long loops;
+
+  /**
+   * Default constructor. Initializes the HAL, pauses its timing, builds the map, and runs
+   * robotInit(). The map is built here rather than passed in so that the HAL and simulated driver
+   * station are set up before anything in it is created.
+   *
+   * @param mapFactory Builds the map to run, e.g. {@code Bunnybot2021Map::createRobotMap}.
+   * @param periodSeconds The length of a loop, in seconds. Usually 0.02.
+   * @throws IllegalStateException if running on a real robot or the HAL can't be initialized.
+   */
+  public HeadlessSimulation(
+      @NotNull final Supplier<RobotMap> mapFactory, final double periodSeconds) {
+    if (RobotBase.isReal()) {
+      throw new IllegalStateException("Headless simulation can't run on a real robot");
+    }
+    if (!HAL.initialize(500, 0)) {
+      throw new IllegalStateException("Failed to initialize the HAL");
+    }
+    MappedJoystick.useDriverStationInSimulation();
+    this.periodSeconds = periodSeconds;
+
+    SimHooks.pauseTiming();
+    Clock.setTimeSource(() -> RobotController.getFPGATime() * 1000);
+    this.startMicros = RobotController.getFPGATime();
+
+    for (int port = 0; port < DriverStation.kJoystickPorts; port++) {
+      DriverStationSim.setJoystickAxisCount(port, AXES);
+      DriverStationSim.setJoystickButtonCount(port, BUTTONS);
+      DriverStationSim.setJoystickPOVCount(port, POVS);
+      DriverStationSim.setJoystickPOV(port, 0, -1);
+    }
+    DriverStationSim.setDsAttached(true);
+    DriverStationSim.setEnabled(false);
+    DriverStationSim.notifyNewData();
+
+    this.robot = new Robot(mapFactory.get());
+    this.robot.robotInit();
+  }
+
+  /** @return The robot being simulated. */
+  @NotNull
+  public Robot getRobot() {
+    return this.robot;
+  }
+
+  /** @return The simulated time since the simulation started, in seconds. */
+  public double getTimeSeconds() {
+    return (RobotController.getFPGATime() - this.startMicros) * 1e-6;
+  }
+
+  /** @return The number of loops run so far. */
+  public long getLoopCount() {
+    return this.loops;
+  }
+
+  /** @return The wall-clock time each loop took to run. */
+  @NotNull
+  public LatencyHistogram getLoopCost() {
+    return this.loopCost;
+  }
+
+  /** Enables the robot in autonomous and runs autonomousInit(). */
+  public void startAutonomous() {
+    this.setMode(true, true);
+    this.robot.autonomousInit();
+  }
+
+  /** Enables the robot in teleop and runs teleopInit(). */
+  public void startTeleop() {
+    this.setMode(true, false);
+    this.robot.teleopInit();
+  }
+
+  /** Disables the robot and runs disabledInit(). */
+  public void disable() {
+    this.setMode(false, false);
+    this.robot.disabledInit();
+  }
+
+  /**
+   * Changes what mode the driver station reports.
+   *
+   * @param enabled Whether the robot is enabled.
+   * @param autonomous Whether the robot is in autonomous.
+   */
+  private void setMode(final boolean enabled, final boolean autonomous) {
+    DriverStationSim.setAutonomous(autonomous);
+    DriverStationSim.setEnabled(enabled);
+    DriverStationSim.notifyNewData();
+  }
+
+  /**
+   * Sets a joystick axis. Takes effect at the start of the next loop.
+   *
+   * @param port The joystick's port.
+   * @param axis The axis, starting at 0.
+   * @param value The value, on [-1, 1].
+   */
+  public void setAxis(final int port, final int axis, final double value) {
+    DriverStationSim.setJoystickAxis(port, axis, value);
+  }
+
+  /**
+   * Presses or releases a joystick button. Takes effect at the start of the next loop.
+   *
+   * @param port The joystick's port.
+   * @param button The button, starting at 1.
+   * @param pressed Whether the button is held down.
+   */
+  public void setButton(final int port, final int button, final boolean pressed) {
+    DriverStationSim.setJoystickButton(port, button, pressed);
+  }
+
+  /**
+   * Sets a joystick POV. Takes effect at the start of the next loop.
+   *
+   * @param port The joystick's port.
+   * @param angle The angle in degrees, clockwise from up, or -1 if it's not pressed.
+   */
+  public void setPOV(final int port, final int angle) {
+    DriverStationSim.setJoystickPOV(port, 0, angle);
+  }
+
+  /**
+   * Schedules something to happen at a given simulated time, e.g. setting a joystick axis. It runs
+   * at the start of the first loop at or after that time.
+   *
+   * @param timeSeconds The simulated time, in seconds since the simulation started.
+   * @param action What to do.
+   */
+  public void at(final double timeSeconds, @NotNull final Runnable action) {
+    this.script.add(new ScriptedInput(timeSeconds, action));
+    // Stable, so inputs at the same time run in the order they were added
+    this.script.sort(Comparator.comparingDouble(input -> input.timeSeconds));
+  }
+
+  /** Runs one loop, then advances the simulated time by one period. */
+  public void step() {
+    while (!this.script.isEmpty() && this.script.get(0).timeSeconds <= this.getTimeSeconds()) {
+      this.script.remove(0).action.run();
+    }
+    DriverStationSim.notifyNewData();
+
+    final long start = System.nanoTime();
+    this.robot.robotPeriodic();
+    this.loopCost.record(System.nanoTime() - start);
+    this.loops++;
+
+    SimHooks.stepTiming(this.periodSeconds);
+  }
+
+  /**
+   * Runs for a given amount of simulated time.
+   *
+   * @param seconds How long to run for, in seconds.
+   */
+  public void runFor(final double seconds) {
+    final long steps = Math.round(seconds / this.periodSeconds);
+    for (long i = 0; i < steps; i++) {
+      this.step();
+    }
+  }
+
+  /**
+   * Runs until a condition becomes true, checking it before each loop.
+   *
+   * @param condition The condition to wait for.
+   * @param timeoutSeconds The most simulated time to run for, in seconds.
+   * @return true if the condition became true, false if it timed out.
+   */
+  public boolean runUntil(@NotNull final BooleanSupplier condition, final double timeoutSeconds) {
+    final double end = this.getTimeSeconds() + timeoutSeconds;
+    while (!condition.getAsBoolean()) {
+      if (this.getTimeSeconds() >= end) {
+        return false;
+      }
+      this.step();
+    }
+    return true;
+  }
+
+  /**
+   * Schedules a command, such as an autonomous routine, and runs until it finishes.
+   *
+   * @param command The command to run.
+   * @param timeoutSeconds The most simulated time to run for, in seconds.
+   * @return true if the command finished, false if it timed out. It's cancelled if it timed out.
+   */
+  public boolean runCommand(@NotNull final Command command, final double timeoutSeconds) {
+    command.schedule();
+    final boolean finished = this.runUntil(() -> !command.isScheduled(), timeoutSeconds);
+    if (!finished) {
+      command.cancel();
+    }
+    return finished;
+  }
+
+  /** An action to take at a given simulated time. */
+  private static class ScriptedInput {
+    /** When to take the action, in seconds since the simulation started. */
+    final double timeSeconds;
+    /** The action to take. */
+    @NotNull final Runnable action;
+
+    ScriptedInput(final double timeSeconds, @NotNull final Runnable action) {
+      this.timeSeconds = timeSeconds;
+      this.action = action;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package frc.team449.other;
+
+import java.util.Arrays;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * A fixed-size, allocation-free log-linear histogram of durations in nanoseconds, in the style of
+ * HdrHistogram.
+ *
+ * <p>Values are bucketed by their highest set bit, and each power of two is further split into
+ * {@link #SUB_BUCKET_COUNT} linear sub-buckets, so every recorded value is reported to within
+ * {@code 1 / SUB_BUCKET_COUNT} of its true value. No objects are created after construction.
+ */
+public class LatencyHistogram {
+  /** The number of bits of precision kept below the highest set bit of each value. */
+  private static final int SUB_BUCKET_BITS = 4;
+  /** The number of linear sub-buckets each power of two is split into. */
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  /** The largest value that can be recorded without being clamped, in nanoseconds (~34 s). */
+  private static final long MAX_TRACKABLE_NANOS = (1L << 35) - 1;
+  /** The number of buckets needed to cover [0, MAX_TRACKABLE_NANOS]. */
+  private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_NANOS) + 1;
+
+  /** The number of samples in each bucket. */
+  private final long[] counts = new long[BUCKET_COUNT];
+  /** The total number of samples recorded since the last reset. */
+  private long totalCount;
+  /** The largest sample recorded since the last reset, in nanoseconds. */
+  private long maxNanos;
+  /** The sum of all samples recorded since the last reset, in nanoseconds. */
+  private long sumNanos;
+
+  /**
+   * Gets the index of the bucket that holds the given value.
+   *
+   * @param nanos a non-negative value no larger than {@link #MAX_TRACKABLE_NANOS}
+   * @return the bucket index
+   */
+  @Contract(pure = true)
+  private static int bucketIndex(final long nanos) {
+    if (nanos < SUB_BUCKET_COUNT) return (int) nanos;
+    final int highestBit = 63 - Long.numberOfLeadingZeros(nanos);
+    final int shift = highestBit - SUB_BUCKET_BITS;
+    final int subBucket = (int) (nanos >>> shift) & (SUB_BUCKET_COUNT - 1);
+    return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * Gets the largest value that would be placed in the bucket with the given index.
+   *
+   * @param index the bucket index
+   * @return the inclusive upper bound of the bucket, in nanoseconds
+   */
+  @Contract(pure = true)
+  private static long bucketUpperBound(final int index) {
+    final int group = index / SUB_BUCKET_COUNT;
+    if (group == 0) return index;
+    final int shift = group - 1;
+    final long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+  /**
+   * Records a single duration.
+   *
+   * @param nanos the duration, in nanoseconds. Negative values are recorded as 0 and values that
+   *     are too large are clamped.
+   */
+  public void record(final long nanos) {
+    final long clamped = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS);
+    this.counts[bucketIndex(clamped)]++;
+    this.totalCount++;
+    this.sumNanos += clamped;
+    if (clamped > this.maxNanos) this.maxNanos = clamped;
+  }
+
+  /**
+   * Gets the value below which the given percentage of recorded samples fall.
+   *
+   * @param percentile the percentile to get, on [0, 100]
+   * @return the upper bound of the bucket containing that percentile, in nanoseconds, or 0 if
+   *     nothing has been recorded
+   */
+  public long getValueAtPercentile(final double percentile) {
+    if (this.totalCount == 0) return 0;
+    final long target =
+        Math.max(1, (long) Math.ceil(Util.clamp(percentile, 0, 100) / 100. * this.totalCount));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += this.counts[i];
+      if (seen >= target) return Math.min(bucketUpperBound(i), this.maxNanos);
+    }
+    return this.maxNanos;
+  }
+
+  /** @return The largest recorded value, in nanoseconds. */
+  public long getMaxNanos() {
+    return this.maxNanos;
+  }
+
+  /** @return The mean of all recorded values, in nanoseconds, or 0 if nothing has been recorded. */
+  public double getMeanNanos() {
+    return this.totalCount == 0 ? 0 : (double) this.sumNanos / this.totalCount;
+  }
+
+  /** @return The number of values recorded since the last reset. */
+  public long getCount() {
+    return this.totalCount;
+  }
+
+  /** Clears all recorded values. */
+  public void reset() {
+    Arrays.fill(this.counts, 0);
+    this.totalCount = 0;
+    this.maxNanos = 0;
+    this.sumNanos = 0;
+  }
+}
@@ -0,0 +1,247 @@
+package frc.team449.other;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Measures how long each stage of the main robot loop takes so that loop overruns can be traced
+ * back to whatever caused them.
+ *
+ * <p>Stages are registered once, up front, and get back an integer ID. Timing a stage is then just
+ * a pair of {@link System#nanoTime()} calls and an array write, so nothing is allocated in the
+ * loop. Each stage has a {@link LatencyHistogram}, and a summary of those is published to
+ * NetworkTables every {@link #PUBLISH_PERIOD_LOOPS} loops, after which the histograms are cleared.
+ *
+ * <p>There are two kinds of stages: phases, which are the top-level steps of {@code
+ * robotPeriodic()}, and ordinary stages, which are individual {@link
+ * frc.team449.generalInterfaces.updatable.Updatable}s, subsystems, etc. that run inside a phase.
+ * When a loop goes over budget, the slowest phase and the slowest ordinary stage of that loop are
+ * both blamed for it.
+ *
+ * <p>Like {@link Clock}, this is only meant to be used from the main robot thread.
+ */
+public class LoopProfiler {
+
+  /** How many loops to wait between publishing summaries (1 second at the default period). */
+  public static final int PUBLISH_PERIOD_LOOPS = 50;
+
+  /** The value returned by {@link #registerStage(String)} to mean "don't time this". */
+  public static final int NO_STAGE = -1;
+
+  /** The table summaries are published to. */
+  private static final NetworkTable table =
+      NetworkTableInstance.getDefault().getTable("LoopProfiler");
+  /** The names of each stage, indexed by stage ID. */
+  @NotNull private static String[] names = new String[0];
+  /** Whether each stage is a phase, indexed by stage ID. */
+  private static boolean[] isPhase = new boolean[0];
+  /** The histogram for each stage, indexed by stage ID. */
+  @NotNull private static LatencyHistogram[] histograms = new LatencyHistogram[0];
+  /** How long each stage took during the current loop, in nanoseconds, indexed by stage ID. */
+  private static long[] currentLoopNanos = new long[0];
+  /** How many overruns each stage has been blamed for since boot, indexed by stage ID. */
+  private static long[] overrunCounts = new long[0];
+  /** The entry each stage's summary is published to, indexed by stage ID. */
+  @NotNull private static NetworkTableEntry[] entries = new NetworkTableEntry[0];
+  /** Reused buffer for publishing a stage's summary. */
+  private static final double[] summaryBuffer = new double[4];
+  /** The histogram for the whole loop. */
+  @NotNull private static final LatencyHistogram loopHistogram = new LatencyHistogram();
+
+  /** Whether profiling is turned on. */
+  private static boolean enabled = true;
+  /** How long a loop is allowed to take, in nanoseconds. */
+  private static long loopBudgetNanos = 20_000_000L;
+  /** The number of loops since the last summary was published. */
+  private static int loopsSincePublish;
+  /** The total number of loops that went over budget since boot. */
+  private static long totalOverruns;
+  /** The phase and stage that were blamed for the most recent overrun, or NO_STAGE. */
+  private static int lastOverrunPhase = NO_STAGE, lastOverrunStage = NO_STAGE;
+  /** How long the most recent overrun loop took, in nanoseconds. */
+  private static long lastOverrunNanos;
+
+  /** Make constructor private so it can't be called */
+  private LoopProfiler() {}
+
+  /**
+   * Registers a top-level step of the robot loop.
+   *
+   * @param name the name to publish the phase's timings under
+   * @return the ID to pass to {@link #lap(int, long)}
+   */
+  public static int registerPhase(@NotNull final String name) {
+    return register(name, true);
+  }
+
+  /**
+   * Registers something that runs inside one of the phases of the robot loop.
+   *
+   * @param name the name to publish the stage's timings under. If the name is taken, a number is
+   *     appended to it.
+   * @return the ID to pass to {@link #lap(int, long)}
+   */
+  public static int registerStage(@NotNull final String name) {
+    return register(name, false);
+  }
+
+  private static int register(@NotNull final String name, final boolean phase) {
+    String uniqueName = name;
+    for (int suffix = 2; Arrays.asList(names).contains(uniqueName); suffix++) {
+      uniqueName = name + "_" + suffix;
+    }
+
+    final int id = names.length;
+    names = Arrays.copyOf(names, id + 1);
+    isPhase = Arrays.copyOf(isPhase, id + 1);
+    histograms = Arrays.copyOf(histograms, id + 1);
+    currentLoopNanos = Arrays.copyOf(currentLoopNanos, id + 1);
+    overrunCounts = Arrays.copyOf(overrunCounts, id + 1);
+    entries = Arrays.copyOf(entries, id + 1);
+
+    names[id] = uniqueName;
+    isPhase[id] = phase;
+    histograms[id] = new LatencyHistogram();
+    entries[id] = table.getSubTable(phase ? "phases" : "stages").getEntry(uniqueName);
+    return id;
+  }
+
+  /**
+   * Turns profiling on or off. While off, {@link #start()} and {@link #lap(int, long)} do nothing
+   * but check this flag.
+   *
+   * @param enabled whether to record timings
+   */
+  public static void setEnabled(final boolean enabled) {
+    LoopProfiler.enabled = enabled;
+  }
+
+  /**
+   * Sets how long a loop may take before it counts as an overrun.
+   *
+   * @param periodSeconds the loop period, in seconds
+   */
+  public static void setLoopBudget(final double periodSeconds) {
+    loopBudgetNanos = (long) (periodSeconds * 1e9);
+  }
+
+  /**
+   * Marks the start of something to be timed.
+   *
+   * @return the current time in nanoseconds, to be passed to {@link #lap(int, long)}
+   */
+  public static long start() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Records the time since {@code startNanos} against a stage.
+   *
+   * @param stage the ID of the stage, or {@link #NO_STAGE} to skip recording
+   * @param startNanos the value returned by {@link #start()} or a previous call to this method
+   * @return the current time in nanoseconds, so consecutive stages can be chained
+   */
+  public static long lap(final int stage, final long startNanos) {
+    if (!enabled) return 0;
+    final long now = System.nanoTime();
+    record(stage, now - startNanos);
+    return now;
+  }
+
+  /**
+   * Records a time measured some other way against a stage, such as one measured on a thread that
+   * isn't allowed to call {@link #lap(int, long)}.
+   *
+   * @param stage the ID of the stage, or {@link #NO_STAGE} to skip recording
+   * @param elapsedNanos how long the stage took, in nanoseconds
+   */
+  public static void record(final int stage, final long elapsedNanos) {
+    if (!enabled || stage == NO_STAGE) return;
+    histograms[stage].record(elapsedNanos);
+    currentLoopNanos[stage] += elapsedNanos;
+  }
+
+  /**
+   * Finishes timing a loop, blames the slowest phase and stage if it went over budget, and
+   * publishes a summary if enough loops have passed since the last one.
+   *
+   * @param loopStartNanos the value returned by {@link #start()} at the start of the loop
+   */
+  public static void endLoop(final long loopStartNanos) {
+    if (!enabled) return;
+    final long loopNanos = System.nanoTime() - loopStartNanos;
+    loopHistogram.record(loopNanos);
+
+    if (loopNanos > loopBudgetNanos) {
+      totalOverruns++;
+      lastOverrunNanos = loopNanos;
+      lastOverrunPhase = slowest(true);
+      lastOverrunStage = slowest(false);
+      if (lastOverrunPhase != NO_STAGE) overrunCounts[lastOverrunPhase]++;
+      if (lastOverrunStage != NO_STAGE) overrunCounts[lastOverrunStage]++;
+    }
+    Arrays.fill(currentLoopNanos, 0);
+
+    if (++loopsSincePublish >= PUBLISH_PERIOD_LOOPS) {
+      publish();
+      loopsSincePublish = 0;
+    }
+  }
+
+  /**
+   * Finds the phase or ordinary stage that took the longest in the current loop.
+   *
+   * @param phase whether to look at phases or at ordinary stages
+   * @return the ID of the slowest stage of that kind, or NO_STAGE if none ran
+   */
+  private static int slowest(final boolean phase) {
+    int slowest = NO_STAGE;
+    for (int i = 0; i < names.length; i++) {
+      if (isPhase[i] == phase
+          && currentLoopNanos[i] > 0
+          && (slowest == NO_STAGE || currentLoopNanos[i] > currentLoopNanos[slowest])) {
+        slowest = i;
+      }
+    }
+    return slowest;
+  }
+
+  /**
+   * Publishes {p50, p99, max, overruns} for the loop and every stage, with times in milliseconds,
+   * then clears the histograms.
+   */
+  private static void publish() {
+    summarize(loopHistogram, totalOverruns);
+    table.getEntry("loop").setDoubleArray(summaryBuffer);
+    loopHistogram.reset();
+
+    for (int i = 0; i < names.length; i++) {
+      summarize(histograms[i], overrunCounts[i]);
+      entries[i].setDoubleArray(summaryBuffer);
+      histograms[i].reset();
+    }
+
+    if (lastOverrunPhase != NO_STAGE) {
+      table
+          .getEntry("lastOverrun")
+          .setString(
+              String.format(
+                  "%.2f ms; phase %s, stage %s",
+                  lastOverrunNanos * 1e-6,
+                  names[lastOverrunPhase],
+                  lastOverrunStage == NO_STAGE ? "none" : names[lastOverrunStage]));
+      lastOverrunPhase = NO_STAGE;
+    }
+  }
+
+  private static void summarize(
+      @NotNull final LatencyHistogram histogram, final long overrunCount) {
+    summaryBuffer[0] = histogram.getValueAtPercentile(50) * 1e-6;
+    summaryBuffer[1] = histogram.getValueAtPercentile(99) * 1e-6;
+    summaryBuffer[2] = histogram.getMaxNanos() * 1e-6;
+    summaryBuffer[3] = overrunCount;
+  }
+}
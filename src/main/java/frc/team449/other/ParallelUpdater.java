@@ -0,0 +1,190 @@
+package frc.team449.other;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import frc.team449.Robot;
+import frc.team449.generalInterfaces.updatable.Updatable;
+import io.github.oblarg.oblog.Loggable;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A replacement for {@link Updater} that updates independent updatables at the same time on a
+ * small pool of worker threads, so the blocking CAN reads most of them make overlap instead of
+ * adding up.
+ *
+ * <p>Updatables are given as an ordered list of groups. Everything in a group may be updated
+ * concurrently, but a group doesn't start until every updatable in the previous group has finished,
+ * so anything that reads another updatable's cache should be put in a later group than it. When
+ * {@link ParallelUpdater#run()} returns, every updatable has been updated. Updatables are handed
+ * out one at a time, so it's the slow ones, like individual motors (see {@link
+ * frc.team449.generalInterfaces.MotorContainer#getUpdatables()}), that should be given separately.
+ *
+ * <p>Each updatable is its own {@link LoopProfiler} stage, named after its log name if it's {@link
+ * Loggable}. Workers time the updatables they claim, and the calling thread records the times once
+ * the group is done.
+ *
+ * <p>While unit testing, or if there are no worker threads, the updatables are updated one at a
+ * time on the calling thread, in the order given.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class ParallelUpdater implements Runnable {
+
+  /** The groups of updatables, in the order they're run. */
+  @NotNull private final Updatable[][] groups;
+  /** The {@link LoopProfiler} stage ID of each updatable, indexed like {@link #groups}. */
+  @NotNull private final int[][] stages;
+  /** How long each updatable last took, in nanoseconds, indexed like {@link #groups}. */
+  @NotNull private final long[][] elapsedNanos;
+  /** Barrier shared by the calling thread and the workers. */
+  @Nullable private final Phaser phaser;
+  /** The index of the next updatable in the current group to be claimed by a thread. */
+  @NotNull private final AtomicInteger nextIndex = new AtomicInteger();
+  /** The group currently being updated. */
+  @NotNull private volatile Updatable[] currentGroup = new Updatable[0];
+  /** Where the times of the group currently being updated are written. */
+  @NotNull private volatile long[] currentElapsedNanos = new long[0];
+  /** The first exception thrown by an updatable during the current group, if any. */
+  @Nullable private volatile RuntimeException failure;
+
+  /**
+   * Default constructor
+   *
+   * @param groups The updatables to update, split into groups that are run in order. Updatables in
+   *     the same group must not depend on each other's cached values.
+   * @param workerThreads The number of threads to start in addition to the calling thread. Zero
+   *     means everything is updated serially on the calling thread.
+   */
+  @JsonCreator
+  public ParallelUpdater(
+      @NotNull @JsonProperty(required = true) final List<List<Updatable>> groups,
+      @JsonProperty(required = true) final int workerThreads) {
+    if (workerThreads < 0) {
+      throw new IllegalArgumentException("workerThreads must be non-negative: " + workerThreads);
+    }
+    this.groups = new Updatable[groups.size()][];
+    this.stages = new int[groups.size()][];
+    this.elapsedNanos = new long[groups.size()][];
+    for (int i = 0; i < groups.size(); i++) {
+      this.groups[i] = groups.get(i).toArray(new Updatable[0]);
+      this.stages[i] = new int[this.groups[i].length];
+      this.elapsedNanos[i] = new long[this.groups[i].length];
+      for (int j = 0; j < this.groups[i].length; j++) {
+        this.stages[i][j] =
+            LoopProfiler.registerStage("ParallelUpdater/" + name(this.groups[i][j]));
+      }
+    }
+
+    if (workerThreads == 0 || Robot.isUnitTesting()) {
+      this.phaser = null;
+    } else {
+      this.phaser = new Phaser(workerThreads + 1);
+      for (int i = 0; i < workerThreads; i++) {
+        final Thread worker = new Thread(this::workerLoop, "ParallelUpdater-" + i);
+        worker.setDaemon(true);
+        worker.start();
+      }
+    }
+  }
+
+  /**
+   * @param updatable An updatable.
+   * @return The name to profile it under.
+   */
+  @NotNull
+  private static String name(@NotNull final Updatable updatable) {
+    return updatable instanceof Loggable
+        ? ((Loggable) updatable).configureLogName()
+        : updatable.getClass().getSimpleName();
+  }
+
+  /** Update all the updatables, one group at a time, filling in this loop's {@link RobotState}. */
+  @Override
+  public void run() {
+    RobotState.beginUpdate();
+    try {
+      for (int i = 0; i < this.groups.length; i++) {
+        if (this.phaser == null) {
+          long lap = LoopProfiler.start();
+          for (int j = 0; j < this.groups[i].length; j++) {
+            this.groups[i][j].update();
+            lap = LoopProfiler.lap(this.stages[i][j], lap);
+          }
+        } else {
+          this.runGroupInParallel(this.groups[i], this.elapsedNanos[i]);
+          // The barrier makes the workers' times visible here
+          for (int j = 0; j < this.groups[i].length; j++) {
+            LoopProfiler.record(this.stages[i][j], this.elapsedNanos[i][j]);
+          }
+        }
+      }
+    } finally {
+      RobotState.endUpdate();
+    }
+  }
+
+  /**
+   * Updates every updatable in a group using the calling thread and all the workers, and waits for
+   * them to finish.
+   *
+   * @param group The updatables to update.
+   * @param elapsedNanos Where to write how long each updatable took, in nanoseconds.
+   */
+  private void runGroupInParallel(
+      @NotNull final Updatable[] group, @NotNull final long[] elapsedNanos) {
+    assert this.phaser != null;
+    this.currentGroup = group;
+    this.currentElapsedNanos = elapsedNanos;
+    this.nextIndex.set(0);
+    this.failure = null;
+    // Release the workers
+    this.phaser.arriveAndAwaitAdvance();
+    this.updateClaimed();
+    // Wait for everyone to finish
+    this.phaser.arriveAndAwaitAdvance();
+
+    final RuntimeException failure = this.failure;
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /** Runs forever on each worker thread, helping with one group each time the barrier opens. */
+  private void workerLoop() {
+    assert this.phaser != null;
+    while (true) {
+      this.phaser.arriveAndAwaitAdvance();
+      this.updateClaimed();
+      this.phaser.arriveAndAwaitAdvance();
+    }
+  }
+
+  /** Claims and updates updatables from the current group until there are none left. */
+  private void updateClaimed() {
+    final Updatable[] group = this.currentGroup;
+    final long[] elapsedNanos = this.currentElapsedNanos;
+    for (int i = this.nextIndex.getAndIncrement();
+        i < group.length;
+        i = this.nextIndex.getAndIncrement()) {
+      final long start = System.nanoTime();
+      try {
+        group[i].update();
+      } catch (final RuntimeException e) {
+        if (this.failure == null) {
+          this.failure = e;
+        }
+      } catch (final Throwable t) {
+        // Don't let a worker die, or the barrier will never open again
+        if (this.failure == null) {
+          this.failure = new RuntimeException(t);
+        }
+      }
+      elapsedNanos[i] = System.nanoTime() - start;
+    }
+  }
+}
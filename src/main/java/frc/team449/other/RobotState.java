@@ -0,0 +1,184 @@
+package frc.team449.other;
+
+import frc.team449.telemetry.EventLog;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A snapshot of every sensor reading, taken once per loop by the updater, so that everything that
+ * runs during a loop sees the same slice of time and no sensor is read twice.
+ *
+ * <p>Readings are kept in one array of primitive columns. Each {@link
+ * frc.team449.generalInterfaces.updatable.Updatable} adds its columns when it's constructed, writes
+ * them in {@link frc.team449.generalInterfaces.updatable.Updatable#update()}, and reads them back in
+ * its cached getters, which is all that commands should use. A column can only be written through
+ * the {@link Column} handle {@link #addColumn(String)} returns, which its owner keeps private, so
+ * commands can read readings but never change them.
+ *
+ * <p>In debug mode, hardware wrappers report every live read with {@link #checkLiveRead(String)},
+ * and reads made on the main thread outside of an update, e.g. by a command calling an uncached
+ * getter, are printed the first time each one happens.
+ *
+ * <p>Like {@link LoopProfiler}, columns should all be added before the robot starts running.
+ */
+public class RobotState {
+  /** Warns about sensors read outside of the updater. */
+  private static final EventLog.Site LIVE_READ_LOG =
+      EventLog.site(RobotState.class, EventLog.Level.WARN);
+
+  /** The value of each column, indexed by column ID. */
+  @NotNull private static double[] values = new double[0];
+  /** The name of each column, indexed by column ID. */
+  @NotNull private static String[] names = new String[0];
+  /** The {@link Clock} time the last update started, in nanoseconds. */
+  private static volatile long timeNanos;
+  /** Whether the updater is currently running. */
+  private static volatile boolean updating;
+  /** The thread that runs the updater, or null if it hasn't run yet. */
+  @Nullable private static volatile Thread mainThread;
+  /** Whether to check for live reads. */
+  private static volatile boolean debug;
+  /** The live reads that have already been reported. Main thread only. */
+  @NotNull private static final Set<String> reportedLiveReads = new HashSet<>();
+  /** The number of live reads made outside of an update. Main thread only. */
+  private static long liveReadCount;
+
+  /** Make constructor private so it can't be called */
+  private RobotState() {}
+
+  /** A column of the snapshot. Whoever added it is the only one that should hold it. */
+  public static final class Column {
+    /** The column's index in the snapshot. */
+    private final int id;
+
+    /** @param id The column's index in the snapshot. */
+    private Column(final int id) {
+      this.id = id;
+    }
+
+    /**
+     * Writes the column. Should only be called while updating.
+     *
+     * @param value The new reading.
+     */
+    public void set(final double value) {
+      values[this.id] = value;
+    }
+
+    /**
+     * Writes a boolean column. Should only be called while updating.
+     *
+     * @param value The new reading.
+     */
+    public void set(final boolean value) {
+      values[this.id] = value ? 1 : 0;
+    }
+
+    /** @return The reading as of the last update. */
+    public double get() {
+      return values[this.id];
+    }
+
+    /**
+     * @return The reading as of the last update. The column must have been written as a boolean.
+     */
+    public boolean getBoolean() {
+      return values[this.id] != 0;
+    }
+
+    /** @return What the column holds. */
+    @NotNull
+    public String getName() {
+      return names[this.id];
+    }
+  }
+
+  /**
+   * Adds a column to the snapshot.
+   *
+   * @param name What the column holds, e.g. "MappedAHRS/heading". Only used for debugging.
+   * @return The column, which is the only way to write it.
+   * @throws IllegalStateException if the updater has already started running.
+   */
+  @NotNull
+  public static synchronized Column addColumn(@NotNull final String name) {
+    if (mainThread != null) {
+      throw new IllegalStateException("Can't add column " + name + " after updating");
+    }
+    final int id = values.length;
+    values = Arrays.copyOf(values, id + 1);
+    names = Arrays.copyOf(names, id + 1);
+    names[id] = name;
+    return new Column(id);
+  }
+
+  /**
+   * Marks the start of an update. Called by the updater before it updates anything, on the main
+   * thread.
+   */
+  public static void beginUpdate() {
+    mainThread = Thread.currentThread();
+    timeNanos = Clock.currentTimeNanos();
+    updating = true;
+  }
+
+  /** Marks the end of an update. Called by the updater once everything has been updated. */
+  public static void endUpdate() {
+    updating = false;
+  }
+
+  /** @return Whether the updater is running, on any thread. */
+  public static boolean isUpdating() {
+    return updating;
+  }
+
+  /** @return The {@link Clock} time the last update started, in nanoseconds. */
+  public static long getTimeNanos() {
+    return timeNanos;
+  }
+
+  /** @return The number of columns. */
+  public static int getColumnCount() {
+    return values.length;
+  }
+
+  /**
+   * @param column The column's ID.
+   * @return What the column holds.
+   */
+  @NotNull
+  public static String getColumnName(final int column) {
+    return names[column];
+  }
+
+  /** @param enabled Whether to check for live reads outside of updates. */
+  public static void setDebug(final boolean enabled) {
+    debug = enabled;
+  }
+
+  /** @return The number of live reads made on the main thread outside of updates, in debug mode. */
+  public static long getLiveReadCount() {
+    return liveReadCount;
+  }
+
+  /**
+   * Reports a live hardware read. Does nothing unless in debug mode. If it was made on the main
+   * thread outside of an update, it's counted, and printed the first time it happens.
+   *
+   * @param source What was read, e.g. "MappedAHRS.getHeading()". Should be a constant so that
+   *     reporting doesn't allocate.
+   */
+  public static void checkLiveRead(@NotNull final String source) {
+    if (!debug || updating || Thread.currentThread() != mainThread) {
+      return;
+    }
+    liveReadCount++;
+    if (reportedLiveReads.add(source)) {
+      LIVE_READ_LOG.log(
+          "Live read outside of the updater: {}. Use the cached value instead.", source);
+    }
+  }
+}
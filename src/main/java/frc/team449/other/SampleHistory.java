@@ -0,0 +1,266 @@
+package frc.team449.other;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A fixed-capacity, allocation-free history of timestamped samples, each made of one or more
+ * doubles, that can be looked up by time.
+ *
+ * <p>Samples are kept in a ring of parallel primitive arrays, one for the timestamps and one per
+ * column, so the oldest sample is overwritten once the history is full. Lookups binary search the
+ * timestamps and linearly interpolate between the samples on either side, so they take O(log n).
+ *
+ * <p>Samples must be added in order of time. Every method is synchronized, so one thread can add
+ * samples while another looks them up.
+ */
+public class SampleHistory {
+
+  /** The time of each sample, in nanoseconds, indexed by slot. */
+  @NotNull private final long[] times;
+  /** The values of each sample, indexed by column and then slot. */
+  @NotNull private final double[][] columns;
+  /** The slot the next sample will go in. */
+  private int next;
+  /** The number of samples held. */
+  private int size;
+
+  /**
+   * Default constructor.
+   *
+   * @param capacity The most samples to keep.
+   * @param columnCount The number of values in each sample.
+   * @throws IllegalArgumentException if capacity or columnCount isn't positive.
+   */
+  public SampleHistory(final int capacity, final int columnCount) {
+    if (capacity <= 0 || columnCount <= 0) {
+      throw new IllegalArgumentException(
+          "Capacity and column count must be positive, got " + capacity + ", " + columnCount);
+    }
+    this.times = new long[capacity];
+    this.columns = new double[columnCount][capacity];
+  }
+
+  /**
+   * Adds a sample with a single value.
+   *
+   * @param timeNanos The time of the sample, in nanoseconds. Samples older than the newest one are
+   *     dropped.
+   * @param value The value.
+   */
+  public synchronized void add(final long timeNanos, final double value) {
+    final int slot = this.claim(timeNanos);
+    if (slot >= 0) {
+      this.columns[0][slot] = value;
+    }
+  }
+
+  /**
+   * Adds a sample.
+   *
+   * @param timeNanos The time of the sample, in nanoseconds. Samples older than the newest one are
+   *     dropped.
+   * @param values The value of each column. Not kept, so it can be reused by the caller.
+   * @throws IllegalArgumentException if there isn't a value for every column.
+   */
+  public synchronized void add(final long timeNanos, @NotNull final double[] values) {
+    if (values.length != this.columns.length) {
+      throw new IllegalArgumentException(
+          "Expected " + this.columns.length + " values, got " + values.length);
+    }
+    final int slot = this.claim(timeNanos);
+    if (slot >= 0) {
+      for (int column = 0; column < this.columns.length; column++) {
+        this.columns[column][slot] = values[column];
+      }
+    }
+  }
+
+  /**
+   * Replaces the newest sample, e.g. with a more complete reading of the same thing. Adds it
+   * instead if there aren't any samples.
+   *
+   * @param timeNanos The time of the sample, in nanoseconds. Dropped if it's older than the sample
+   *     before the newest one.
+   * @param values The value of each column. Not kept, so it can be reused by the caller.
+   * @throws IllegalArgumentException if there isn't a value for every column.
+   */
+  public synchronized void replaceLatest(final long timeNanos, @NotNull final double[] values) {
+    if (values.length != this.columns.length) {
+      throw new IllegalArgumentException(
+          "Expected " + this.columns.length + " values, got " + values.length);
+    }
+    if (this.size == 0) {
+      this.add(timeNanos, values);
+      return;
+    }
+    if (this.size > 1 && timeNanos < this.times[this.slot(this.size - 2)]) {
+      return;
+    }
+    final int slot = this.slot(this.size - 1);
+    this.times[slot] = timeNanos;
+    for (int column = 0; column < this.columns.length; column++) {
+      this.columns[column][slot] = values[column];
+    }
+  }
+
+  /**
+   * Takes the slot for a new sample, overwriting the oldest one if the history is full.
+   *
+   * @return The slot, or -1 if the sample is older than the newest one.
+   */
+  private int claim(final long timeNanos) {
+    if (this.size > 0 && timeNanos < this.times[this.slot(this.size - 1)]) {
+      return -1;
+    }
+    final int slot = this.next;
+    this.times[slot] = timeNanos;
+    this.next = (slot + 1) % this.times.length;
+    this.size = Math.min(this.size + 1, this.times.length);
+    return slot;
+  }
+
+  /**
+   * @param index The index of a sample, where 0 is the oldest.
+   * @return The slot the sample is in.
+   */
+  @Contract(pure = true)
+  private int slot(final int index) {
+    return (this.next - this.size + index + this.times.length) % this.times.length;
+  }
+
+  /** Removes every sample. */
+  public synchronized void clear() {
+    this.size = 0;
+  }
+
+  /** @return The number of samples held. */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /** @return Whether there are no samples. */
+  public synchronized boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * @return The time of the newest sample, in nanoseconds.
+   * @throws IllegalStateException if there are no samples.
+   */
+  public synchronized long getLatestTime() {
+    this.checkNotEmpty();
+    return this.times[this.slot(this.size - 1)];
+  }
+
+  /**
+   * @param column The column to get.
+   * @return The newest value in the column.
+   * @throws IllegalStateException if there are no samples.
+   */
+  public synchronized double getLatest(final int column) {
+    this.checkNotEmpty();
+    return this.columns[column][this.slot(this.size - 1)];
+  }
+
+  /**
+   * Copies every column of the newest sample at once, so that none of them can be from a sample
+   * added in between.
+   *
+   * @param values The array to copy the values into, with room for every column.
+   * @return The time of the newest sample, in nanoseconds.
+   * @throws IllegalStateException if there are no samples.
+   */
+  public synchronized long copyLatest(@NotNull final double[] values) {
+    this.checkNotEmpty();
+    final int slot = this.slot(this.size - 1);
+    for (int column = 0; column < this.columns.length; column++) {
+      values[column] = this.columns[column][slot];
+    }
+    return this.times[slot];
+  }
+
+  /**
+   * Gets the value of a column at a given time, interpolated between the samples on either side.
+   * Times before the oldest sample or after the newest one get the oldest or newest value.
+   *
+   * @param timeNanos The time to look up, in nanoseconds.
+   * @param column The column to get.
+   * @return The value at that time.
+   * @throws IllegalStateException if there are no samples.
+   */
+  public synchronized double get(final long timeNanos, final int column) {
+    this.checkNotEmpty();
+    return this.interpolate(this.columns[column], this.search(timeNanos), timeNanos);
+  }
+
+  /**
+   * Gets every column at a given time, interpolated between the samples on either side, with a
+   * single search. Times before the oldest sample or after the newest one get the oldest or newest
+   * values.
+   *
+   * @param timeNanos The time to look up, in nanoseconds.
+   * @param values The array to copy the values into, with room for every column.
+   * @throws IllegalStateException if there are no samples.
+   */
+  public synchronized void get(final long timeNanos, @NotNull final double[] values) {
+    this.checkNotEmpty();
+    final int index = this.search(timeNanos);
+    for (int column = 0; column < this.columns.length; column++) {
+      values[column] = this.interpolate(this.columns[column], index, timeNanos);
+    }
+  }
+
+  /**
+   * Binary searches for a time.
+   *
+   * @return The index of the first sample at or after the time, or the size if there isn't one.
+   */
+  private int search(final long timeNanos) {
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (this.times[this.slot(mid)] < timeNanos) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Interpolates a column between the sample at an index and the one before it.
+   *
+   * @param values The column.
+   * @param index The index returned by {@link #search(long)}.
+   * @param timeNanos The time being looked up, in nanoseconds.
+   * @return The value at that time.
+   */
+  private double interpolate(
+      @NotNull final double[] values, final int index, final long timeNanos) {
+    if (index == 0) {
+      return values[this.slot(0)];
+    }
+    if (index == this.size) {
+      return values[this.slot(this.size - 1)];
+    }
+
+    final int before = this.slot(index - 1);
+    final int after = this.slot(index);
+    final long span = this.times[after] - this.times[before];
+    if (span == 0) {
+      return values[after];
+    }
+    final double fraction = (double) (timeNanos - this.times[before]) / span;
+    return values[before] + (values[after] - values[before]) * fraction;
+  }
+
+  /** @throws IllegalStateException if there are no samples. */
+  private void checkNotEmpty() {
+    if (this.size == 0) {
+      throw new IllegalStateException("No samples in history");
+    }
+  }
+}
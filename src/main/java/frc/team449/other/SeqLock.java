@@ -0,0 +1,88 @@
+package frc.team449.other;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A fixed number of doubles that one thread writes and any number of threads read, without locking
+ * and without either side ever waiting on the other for long.
+ *
+ * <p>This is a sequence lock: the writer makes the sequence number odd while it's writing and even
+ * again when it's done, and readers retry if the sequence number was odd or changed while they were
+ * copying the values. Readers never block the writer, so a slow reader can't hold up something
+ * running on a fixed period, and every read gets all of the values from the same write.
+ *
+ * <p>Only one thread may write. Writes from more than one thread need to be synchronized with each
+ * other.
+ */
+public class SeqLock {
+
+  /** Handle for the sequence number, so it can be read and written with explicit ordering. */
+  private static final VarHandle SEQUENCE;
+
+  static {
+    try {
+      SEQUENCE = MethodHandles.lookup().findVarHandle(SeqLock.class, "sequence", long.class);
+    } catch (final ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /** The values. Written only between the two increments of the sequence number. */
+  @NotNull private final double[] values;
+  /** Odd while a write is in progress, and incremented twice for every write. */
+  @SuppressWarnings("unused")
+  private volatile long sequence;
+
+  /**
+   * Default constructor. Every value starts at 0.
+   *
+   * @param size The number of values.
+   */
+  public SeqLock(final int size) {
+    this.values = new double[size];
+  }
+
+  /** @return The number of values. */
+  public int size() {
+    return this.values.length;
+  }
+
+  /**
+   * Replaces every value at once. Only one thread may call this at a time.
+   *
+   * @param newValues The new values, one for each value held. Copied, so it can be reused.
+   */
+  public void write(@NotNull final double[] newValues) {
+    final long start = (long) SEQUENCE.getOpaque(this);
+    SEQUENCE.setOpaque(this, start + 1);
+    // Don't let the values be written before readers can see the odd sequence number
+    VarHandle.releaseFence();
+    System.arraycopy(newValues, 0, this.values, 0, this.values.length);
+    SEQUENCE.setRelease(this, start + 2);
+  }
+
+  /**
+   * Copies every value from the last complete write. Retries until it gets a copy that no write
+   * happened during, which is almost always the first try.
+   *
+   * @param into The array to copy into, with room for every value.
+   * @return The number of writes so far, which can be used to tell whether anything changed since
+   *     the last read.
+   */
+  public long read(@NotNull final double[] into) {
+    while (true) {
+      final long before = (long) SEQUENCE.getAcquire(this);
+      if ((before & 1) == 0) {
+        System.arraycopy(this.values, 0, into, 0, this.values.length);
+        // Don't let the copy be read after the sequence number is checked again
+        VarHandle.acquireFence();
+        if ((long) SEQUENCE.getOpaque(this) == before) {
+          return before / 2;
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package frc.team449.other;
+
+/**
+ * A {@link DebouncerEx} that takes the average of the samples from a fixed length of time instead
+ * of a fixed number of samples, so it debounces over the same time even when loops run late or a
+ * mechanism is updated at an irregular rate.
+ *
+ * <p>Samples are timestamped with the {@link Clock} time when they're added, and dropped once
+ * they're older than the window. The buffer still has a fixed size so it never allocates; if it
+ * fills up, the oldest samples are dropped early.
+ */
+public class TimedDebouncerEx extends DebouncerEx {
+
+  /** The shortest gap between samples that the default buffer size has room for, in seconds. */
+  private static final double MIN_SAMPLE_PERIOD_SECONDS = 0.005;
+
+  /** How long samples are kept for, in nanoseconds. */
+  private final long windowNanos;
+  /** The time each sample was added, in nanoseconds, indexed by slot. */
+  private final long[] times;
+
+  /**
+   * Default constructor.
+   *
+   * @param windowSeconds How long to keep samples for, in seconds.
+   * @param bufferSize The most samples to keep. Should be enough for a whole window at the fastest
+   *     rate it'll be updated at.
+   * @param stateWhenTied The state to return when there are an equal number of true and false
+   *     samples in the window.
+   * @throws IllegalArgumentException if windowSeconds or bufferSize isn't positive
+   */
+  public TimedDebouncerEx(
+      final double windowSeconds, final int bufferSize, final boolean stateWhenTied) {
+    super(bufferSize, stateWhenTied);
+    if (windowSeconds <= 0) {
+      throw new IllegalArgumentException("Window must be positive, got " + windowSeconds);
+    }
+    this.windowNanos = (long) (windowSeconds * 1e9);
+    this.times = new long[bufferSize];
+  }
+
+  /**
+   * Constructor with enough room for a whole window of samples added every {@link
+   * #MIN_SAMPLE_PERIOD_SECONDS}.
+   *
+   * @param windowSeconds How long to keep samples for, in seconds.
+   * @param stateWhenTied The state to return when there are an equal number of true and false
+   *     samples in the window.
+   */
+  public TimedDebouncerEx(final double windowSeconds, final boolean stateWhenTied) {
+    this(
+        windowSeconds,
+        (int) Math.ceil(windowSeconds / MIN_SAMPLE_PERIOD_SECONDS) + 1,
+        stateWhenTied);
+  }
+
+  public TimedDebouncerEx(final double windowSeconds) {
+    this(windowSeconds, false);
+  }
+
+  /**
+   * Adds a sample at the current {@link Clock} time.
+   *
+   * @param currentState The sample.
+   */
+  @Override
+  public void update(final boolean currentState) {
+    this.update(currentState, Clock.currentTimeNanos());
+  }
+
+  /**
+   * Adds a sample and drops any that have fallen out of the window.
+   *
+   * @param currentState The sample.
+   * @param timeNanos The time of the sample, in nanoseconds. Should never go backwards.
+   */
+  public void update(final boolean currentState, final long timeNanos) {
+    this.times[this.push(currentState)] = timeNanos;
+    while (this.size() > 0 && this.times[this.getOldestSlot()] <= timeNanos - this.windowNanos) {
+      this.removeOldest();
+    }
+  }
+}
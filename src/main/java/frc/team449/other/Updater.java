@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import frc.team449.generalInterfaces.updatable.Updatable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.jetbrains.annotations.NotNull;
 
@@ -17,6 +18,8 @@ public class Updater implements Runnable {
   private static final Updater defaultInstance = new Updater(new ArrayList<>());
   /** The objects to update. */
   @NotNull private final List<Updatable> updatables;
+  /** The profiler stage ID of each updatable, rebuilt whenever the list of updatables changes. */
+  @NotNull private int[] stageIds = new int[0];
 
   /**
    * Default constructor
@@ -45,11 +48,32 @@ public class Updater implements Runnable {
     return defaultInstance;
   }
 
-  /** Update all the updatables. */
+  /** Update all the updatables, filling in this loop's {@link RobotState}. */
   @Override
   public void run() {
-    for (final Updatable updatable : this.updatables) {
-      updatable.update();
+    if (this.stageIds.length != this.updatables.size()) {
+      this.registerStages();
+    }
+    RobotState.beginUpdate();
+    try {
+      long lap = LoopProfiler.start();
+      for (int i = 0; i < this.updatables.size(); i++) {
+        this.updatables.get(i).update();
+        lap = LoopProfiler.lap(this.stageIds[i], lap);
+      }
+    } finally {
+      RobotState.endUpdate();
+    }
+  }
+
+  /** Registers a profiler stage for each updatable that doesn't have one yet. */
+  private void registerStages() {
+    final int oldLength = this.stageIds.length;
+    this.stageIds = Arrays.copyOf(this.stageIds, this.updatables.size());
+    for (int i = oldLength; i < this.stageIds.length; i++) {
+      this.stageIds[i] =
+          LoopProfiler.registerStage(
+              "Updater/" + this.updatables.get(i).getClass().getSimpleName());
     }
   }
 }
@@ -0,0 +1,398 @@
+package frc.team449.telemetry;
+
+import frc.team449.other.Clock;
+import frc.team449.other.Util;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Prints diagnostic messages to the console from a background thread, so code running on the main
+ * thread never waits on the console. On the roboRIO stdout goes through the netconsole pipe, and a
+ * {@code System.out.println} every loop can stall the loop whenever the pipe backs up.
+ *
+ * <p>Messages are logged through a {@link Site}, usually a {@code private static final} constant in
+ * the class that logs, which has a {@link Level} and an optional minimum time between messages.
+ * Logging from a site whose level is below {@link #setLevel(Level)} costs one branch and doesn't
+ * allocate, as long as its arguments are primitives or values that already exist. Messages that get
+ * through are put on a fixed-size queue with their arguments and formatted by the writer thread,
+ * which replaces each "{}" in the template with the next argument. If the queue is full, the
+ * message is dropped and counted rather than making the caller wait.
+ *
+ * <p>Sites can be used from any thread. The rate limit isn't synchronized, so an extra message can
+ * occasionally get through when two threads log from the same site at once.
+ */
+public class EventLog {
+
+  /** How important a message is. */
+  public enum Level {
+    /** Details only needed while debugging something, e.g. values every loop. */
+    DEBUG,
+    /** Things worth knowing that happen now and then, e.g. a command starting. */
+    INFO,
+    /** Something that's probably a mistake, but doesn't stop the robot. */
+    WARN,
+    /** Something that's broken. */
+    ERROR
+  }
+
+  /** A place in the code that logs messages, with its own level and rate limit. */
+  public static final class Site {
+    /** Put before every message, e.g. "[MappedSparkMax] ". */
+    @NotNull private final String prefix;
+    /** The level of every message from this site. */
+    @NotNull private final Level level;
+    /** The ordinal of {@link #level}, so checking it doesn't have to dereference the enum. */
+    private final int levelOrdinal;
+    /** The shortest time between two messages from this site, in nanoseconds. */
+    private final long minPeriodNanos;
+    /**
+     * The {@link Clock} time of the last message that got through, in nanoseconds. Starts far
+     * enough in the past that the first message always gets through, but not so far that
+     * subtracting it overflows.
+     */
+    private long lastNanos = Long.MIN_VALUE / 2;
+    /** The number of messages skipped by the rate limit since the last one that got through. */
+    private int suppressed;
+
+    /**
+     * @param source The class that logs, used as the prefix.
+     * @param level The level of every message from this site.
+     * @param minPeriodSeconds The shortest time between two messages from this site, in seconds,
+     *     or 0 for no limit.
+     */
+    private Site(
+        @NotNull final Class<?> source, @NotNull final Level level, final double minPeriodSeconds) {
+      this.prefix = Util.getLogPrefix(source);
+      this.level = level;
+      this.levelOrdinal = level.ordinal();
+      this.minPeriodNanos = (long) (minPeriodSeconds * 1e9);
+    }
+
+    /** @return Whether messages from this site are being printed at the current level. */
+    public boolean isEnabled() {
+      return this.levelOrdinal >= minLevel;
+    }
+
+    /** @param message The message. */
+    public void log(@NotNull final String message) {
+      if (this.levelOrdinal >= minLevel) {
+        this.publish(message, NONE, null, 0, NONE, null, 0);
+      }
+    }
+
+    /**
+     * @param template The message, with "{}" where the argument goes.
+     * @param arg The argument.
+     */
+    public void log(@NotNull final String template, final double arg) {
+      if (this.levelOrdinal >= minLevel) {
+        this.publish(template, NUMBER, null, arg, NONE, null, 0);
+      }
+    }
+
+    /**
+     * @param template The message, with "{}" where each argument goes.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    public void log(@NotNull final String template, final double arg1, final double arg2) {
+      if (this.levelOrdinal >= minLevel) {
+        this.publish(template, NUMBER, null, arg1, NUMBER, null, arg2);
+      }
+    }
+
+    /**
+     * @param template The message, with "{}" where the argument goes.
+     * @param arg The argument. Formatted with {@link String#valueOf(Object)} on the writer thread,
+     *     so it shouldn't be changed afterwards.
+     */
+    public void log(@NotNull final String template, @Nullable final Object arg) {
+      if (this.levelOrdinal >= minLevel) {
+        this.publish(template, OBJECT, arg, 0, NONE, null, 0);
+      }
+    }
+
+    /**
+     * @param template The message, with "{}" where each argument goes.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    public void log(
+        @NotNull final String template, @Nullable final Object arg1, @Nullable final Object arg2) {
+      if (this.levelOrdinal >= minLevel) {
+        this.publish(template, OBJECT, arg1, 0, OBJECT, arg2, 0);
+      }
+    }
+
+    /**
+     * @param template The message, with "{}" where each argument goes.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    public void log(
+        @NotNull final String template, @Nullable final Object arg1, final double arg2) {
+      if (this.levelOrdinal >= minLevel) {
+        this.publish(template, OBJECT, arg1, 0, NUMBER, null, arg2);
+      }
+    }
+
+    /** Applies the rate limit, then puts the message on the queue. */
+    private void publish(
+        @NotNull final String template,
+        final byte kind1,
+        @Nullable final Object object1,
+        final double number1,
+        final byte kind2,
+        @Nullable final Object object2,
+        final double number2) {
+      final long now = Clock.readTimeNanos();
+      if (this.minPeriodNanos > 0 && now - this.lastNanos < this.minPeriodNanos) {
+        this.suppressed++;
+        return;
+      }
+      this.lastNanos = now;
+      final int suppressed = this.suppressed;
+      this.suppressed = 0;
+      enqueue(this, now, template, suppressed, kind1, object1, number1, kind2, object2, number2);
+    }
+  }
+
+  /** The number of messages the queue holds. Must be a power of 2. */
+  public static final int CAPACITY = 1024;
+  /** How long the writer thread waits when the queue is empty, in milliseconds. */
+  private static final long WRITER_PERIOD_MILLIS = 10;
+
+  /** The kinds of argument a slot can hold. */
+  private static final byte NONE = 0, NUMBER = 1, OBJECT = 2;
+
+  /** The ordinal of the lowest level that's printed. */
+  private static volatile int minLevel = Level.INFO.ordinal();
+
+  /**
+   * The sequence number of each slot. A slot can be written when its sequence is the position
+   * being claimed, and read when it's one more than the position being read.
+   */
+  @NotNull private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+  /** The next position a message will be written at. */
+  @NotNull private static final AtomicLong tail = new AtomicLong();
+  /** The next position the writer will read. Only used while holding {@link #writerLock}. */
+  private static long head;
+  /** The number of messages dropped because the queue was full. */
+  @NotNull private static final AtomicLong dropped = new AtomicLong();
+  /** The number of dropped messages the writer has already reported. */
+  private static long droppedReported;
+
+  /** The contents of each slot. */
+  @NotNull private static final Site[] sites = new Site[CAPACITY];
+
+  @NotNull private static final String[] templates = new String[CAPACITY];
+  @NotNull private static final long[] times = new long[CAPACITY];
+  @NotNull private static final int[] suppressedCounts = new int[CAPACITY];
+  @NotNull private static final byte[] kinds1 = new byte[CAPACITY], kinds2 = new byte[CAPACITY];
+  @NotNull private static final Object[] objects1 = new Object[CAPACITY];
+  @NotNull private static final Object[] objects2 = new Object[CAPACITY];
+  @NotNull private static final double[] numbers1 = new double[CAPACITY];
+  @NotNull private static final double[] numbers2 = new double[CAPACITY];
+
+  /** Held while draining the queue, since both the writer and the shutdown hook can. */
+  @NotNull private static final Object writerLock = new Object();
+  /** Where messages are printed. */
+  @NotNull private static final PrintStream out = System.out;
+  /** Builds each line, so the writer doesn't allocate a new builder per message. */
+  @NotNull private static final StringBuilder line = new StringBuilder();
+
+  static {
+    for (int i = 0; i < CAPACITY; i++) {
+      sequences.set(i, i);
+    }
+    final Thread writer = new Thread(EventLog::writeLoop, "EventLog");
+    writer.setDaemon(true);
+    writer.setPriority(Thread.MIN_PRIORITY);
+    writer.start();
+    // Don't lose the last messages, e.g. the ones explaining a crash
+    Runtime.getRuntime().addShutdownHook(new Thread(EventLog::drain, "EventLogShutdown"));
+  }
+
+  /** Make constructor private so it can't be called */
+  private EventLog() {}
+
+  /**
+   * Creates a site with no rate limit.
+   *
+   * @param source The class that logs, used as the prefix.
+   * @param level The level of every message from the site.
+   * @return The site.
+   */
+  @NotNull
+  public static Site site(@NotNull final Class<?> source, @NotNull final Level level) {
+    return new Site(source, level, 0);
+  }
+
+  /**
+   * Creates a site that prints at most one message per period. The number of messages skipped is
+   * added to the next one printed.
+   *
+   * @param source The class that logs, used as the prefix.
+   * @param level The level of every message from the site.
+   * @param minPeriodSeconds The shortest time between two messages from the site, in seconds.
+   * @return The site.
+   */
+  @NotNull
+  public static Site site(
+      @NotNull final Class<?> source, @NotNull final Level level, final double minPeriodSeconds) {
+    return new Site(source, level, minPeriodSeconds);
+  }
+
+  /** @param level The lowest level that's printed. Defaults to {@link Level#INFO}. */
+  public static void setLevel(@NotNull final Level level) {
+    minLevel = level.ordinal();
+  }
+
+  /** @return The lowest level that's printed. */
+  @NotNull
+  public static Level getLevel() {
+    return Level.values()[minLevel];
+  }
+
+  /** @return The number of messages dropped because the queue was full. */
+  public static long getDropped() {
+    return dropped.get();
+  }
+
+  /** Claims a slot and fills it in, or drops the message if there isn't one free. */
+  private static void enqueue(
+      @NotNull final Site site,
+      final long time,
+      @NotNull final String template,
+      final int suppressed,
+      final byte kind1,
+      @Nullable final Object object1,
+      final double number1,
+      final byte kind2,
+      @Nullable final Object object2,
+      final double number2) {
+    long position = tail.get();
+    int slot;
+    while (true) {
+      slot = (int) position & (CAPACITY - 1);
+      final long difference = sequences.get(slot) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // The writer hasn't read this slot yet, so the queue is full
+        dropped.incrementAndGet();
+        return;
+      } else {
+        position = tail.get();
+      }
+    }
+    sites[slot] = site;
+    times[slot] = time;
+    templates[slot] = template;
+    suppressedCounts[slot] = suppressed;
+    kinds1[slot] = kind1;
+    objects1[slot] = object1;
+    numbers1[slot] = number1;
+    kinds2[slot] = kind2;
+    objects2[slot] = object2;
+    numbers2[slot] = number2;
+    // Publishes the writes above to the writer
+    sequences.set(slot, position + 1);
+  }
+
+  /** Prints messages as they come in until the robot code exits. */
+  private static void writeLoop() {
+    while (true) {
+      drain();
+      LockSupport.parkNanos(WRITER_PERIOD_MILLIS * 1_000_000);
+    }
+  }
+
+  /** Prints every message in the queue, and how many were dropped since the last time. */
+  private static void drain() {
+    synchronized (writerLock) {
+      boolean printed = false;
+      while (true) {
+        final int slot = (int) head & (CAPACITY - 1);
+        if (sequences.get(slot) != head + 1) {
+          break;
+        }
+        format(slot);
+        out.println(line);
+        printed = true;
+        objects1[slot] = null;
+        objects2[slot] = null;
+        sequences.set(slot, head + CAPACITY);
+        head++;
+      }
+      final long droppedNow = dropped.get();
+      if (droppedNow != droppedReported) {
+        out.println(
+            Util.getLogPrefix(EventLog.class)
+                + (droppedNow - droppedReported)
+                + " messages dropped because the queue was full");
+        droppedReported = droppedNow;
+        printed = true;
+      }
+      if (printed) {
+        out.flush();
+      }
+    }
+  }
+
+  /**
+   * Formats a message into {@link #line}.
+   *
+   * @param slot The slot the message is in.
+   */
+  private static void format(final int slot) {
+    line.setLength(0);
+    final long millis = times[slot] / 1_000_000;
+    line.append(millis / 1000).append('.');
+    final long fraction = millis % 1000;
+    if (fraction < 100) {
+      line.append('0');
+    }
+    if (fraction < 10) {
+      line.append('0');
+    }
+    line.append(fraction).append(' ').append(sites[slot].level).append(' ');
+    line.append(sites[slot].prefix);
+    final String template = templates[slot];
+    int start = 0;
+    for (int arg = 1; arg <= 2; arg++) {
+      final byte kind = arg == 1 ? kinds1[slot] : kinds2[slot];
+      if (kind == NONE) {
+        break;
+      }
+      final int placeholder = template.indexOf("{}", start);
+      if (placeholder < 0) {
+        break;
+      }
+      line.append(template, start, placeholder);
+      if (kind == NUMBER) {
+        final double number = arg == 1 ? numbers1[slot] : numbers2[slot];
+        // Whole numbers, e.g. times and counts, are printed without the ".0"
+        if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+          line.append((long) number);
+        } else {
+          line.append(number);
+        }
+      } else {
+        line.append(arg == 1 ? objects1[slot] : objects2[slot]);
+      }
+      start = placeholder + 2;
+    }
+    line.append(template, start, template.length());
+    if (suppressedCounts[slot] > 0) {
+      line.append(" (").append(suppressedCounts[slot]).append(" more suppressed)");
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package frc.team449.telemetry;
+
+import edu.wpi.first.wpilibj.shuffleboard.EventImportance;
+import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
+import frc.team449.other.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Adds Shuffleboard event markers from a background thread, so commands and motor wrappers can mark
+ * events without publishing to NetworkTables on the main thread, and without flooding it when
+ * something marks an event every loop.
+ *
+ * <p>{@link #add(String, String, EventImportance)} takes the same arguments as {@link
+ * Shuffleboard#addEventMarker(String, String, EventImportance)}. Markers with the same name and
+ * description are treated as the same event, and only the first one each {@link
+ * #MIN_PERIOD_SECONDS} is kept; the number skipped is added to the description of the next one.
+ * Kept markers wait in a ring of {@link #CAPACITY} until the dispatcher thread adds them. If the
+ * ring is full, new markers are dropped and counted instead of waiting.
+ *
+ * <p>Markers whose name includes a number, like a clipped setpoint, should use {@link #add(String,
+ * double, String, EventImportance)}, which only builds the name on the dispatcher thread and treats
+ * every value as the same event. Markers can be added from any thread.
+ */
+public class EventMarkers {
+
+  /** The number of markers that can be waiting to be added. */
+  public static final int CAPACITY = 64;
+  /** The shortest time between two markers with the same name and description, in seconds. */
+  public static final double MIN_PERIOD_SECONDS = 1;
+  /** How long the dispatcher waits between checks for new markers, in milliseconds. */
+  private static final long DISPATCH_PERIOD_MILLIS = 20;
+
+  /** {@link #MIN_PERIOD_SECONDS} in nanoseconds. */
+  private static final long MIN_PERIOD_NANOS = (long) (MIN_PERIOD_SECONDS * 1e9);
+
+  /** Guards everything below. */
+  @NotNull private static final Object lock = new Object();
+
+  /** The state of each event, by name and then description. */
+  @NotNull private static final Map<String, Map<String, Event>> events = new HashMap<>();
+
+  /** The event each waiting marker is for, in a ring. */
+  @NotNull private static final Event[] pending = new Event[CAPACITY];
+  /** The value each waiting marker has, if its event has one. */
+  @NotNull private static final double[] pendingValues = new double[CAPACITY];
+  /** The number of markers each waiting marker stands in for, other than itself. */
+  @NotNull private static final int[] pendingSuppressed = new int[CAPACITY];
+  /** The index of the oldest waiting marker. */
+  private static int head;
+  /** The number of waiting markers. */
+  private static int size;
+  /** The number of markers dropped because the ring was full. */
+  private static long dropped;
+  /** The number of markers skipped because the same event was marked too recently. */
+  private static long suppressed;
+
+  /** An event that's been marked, i.e. a name and description. */
+  private static final class Event {
+    /** The marker's name, or the part before the value if it has one. */
+    @NotNull final String name;
+    /** The marker's description. */
+    @NotNull final String description;
+    /** The marker's importance. */
+    @NotNull final EventImportance importance;
+    /** Whether the value is added to the end of the name. */
+    final boolean hasValue;
+    /** The {@link Clock} time this event was last kept, in nanoseconds. */
+    long lastNanos = Long.MIN_VALUE / 2;
+    /** The number of markers skipped since the last one that was kept. */
+    int suppressed;
+
+    Event(
+        @NotNull final String name,
+        @NotNull final String description,
+        @NotNull final EventImportance importance,
+        final boolean hasValue) {
+      this.name = name;
+      this.description = description;
+      this.importance = importance;
+      this.hasValue = hasValue;
+    }
+  }
+
+  static {
+    final Thread dispatcher = new Thread(EventMarkers::dispatchLoop, "EventMarkers");
+    dispatcher.setDaemon(true);
+    dispatcher.setPriority(Thread.MIN_PRIORITY);
+    dispatcher.start();
+  }
+
+  /** Make constructor private so it can't be called */
+  private EventMarkers() {}
+
+  /**
+   * Marks an event, unless the same one was marked too recently.
+   *
+   * @param name The name of the event. Should be a constant.
+   * @param description A description of the event.
+   * @param importance How important the event is.
+   */
+  public static void add(
+      @NotNull final String name,
+      @NotNull final String description,
+      @NotNull final EventImportance importance) {
+    enqueue(name, false, 0, description, importance);
+  }
+
+  /**
+   * Marks an event whose name ends with a number, unless the same one was marked too recently.
+   * Markers that only differ in the value count as the same event.
+   *
+   * @param name The name of the event, which the value is added to the end of. Should be a
+   *     constant.
+   * @param value The value.
+   * @param description A description of the event.
+   * @param importance How important the event is.
+   */
+  public static void add(
+      @NotNull final String name,
+      final double value,
+      @NotNull final String description,
+      @NotNull final EventImportance importance) {
+    enqueue(name, true, value, description, importance);
+  }
+
+  /** Applies the rate limit, then puts the marker in the ring. */
+  private static void enqueue(
+      @NotNull final String name,
+      final boolean hasValue,
+      final double value,
+      @NotNull final String description,
+      @NotNull final EventImportance importance) {
+    final long now = Clock.readTimeNanos();
+    synchronized (lock) {
+      final Event event =
+          events
+              .computeIfAbsent(name, n -> new HashMap<>())
+              .computeIfAbsent(description, d -> new Event(name, d, importance, hasValue));
+      if (now - event.lastNanos < MIN_PERIOD_NANOS) {
+        event.suppressed++;
+        suppressed++;
+        return;
+      }
+      if (size == CAPACITY) {
+        dropped++;
+        return;
+      }
+      event.lastNanos = now;
+      final int slot = (head + size) % CAPACITY;
+      pending[slot] = event;
+      pendingValues[slot] = value;
+      pendingSuppressed[slot] = event.suppressed;
+      event.suppressed = 0;
+      size++;
+    }
+  }
+
+  /** Adds waiting markers until the robot code exits. */
+  private static void dispatchLoop() {
+    while (true) {
+      while (true) {
+        final Event event;
+        final double value;
+        final int skipped;
+        synchronized (lock) {
+          if (size == 0) {
+            break;
+          }
+          event = pending[head];
+          value = pendingValues[head];
+          skipped = pendingSuppressed[head];
+          pending[head] = null;
+          head = (head + 1) % CAPACITY;
+          size--;
+        }
+        Shuffleboard.addEventMarker(
+            event.hasValue ? event.name + value : event.name,
+            skipped > 0 ? event.description + " (" + skipped + " more)" : event.description,
+            event.importance);
+      }
+      try {
+        Thread.sleep(DISPATCH_PERIOD_MILLIS);
+      } catch (final InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /** @return The number of markers dropped because too many were waiting to be added. */
+  public static long getDropped() {
+    synchronized (lock) {
+      return dropped;
+    }
+  }
+
+  /** @return The number of markers skipped because the same event was marked too recently. */
+  public static long getSuppressed() {
+    synchronized (lock) {
+      return suppressed;
+    }
+  }
+}
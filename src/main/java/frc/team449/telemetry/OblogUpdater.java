@@ -0,0 +1,61 @@
+package frc.team449.telemetry;
+
+import frc.team449.components.StatusFrameComponent;
+import io.github.oblarg.oblog.Logger;
+
+/**
+ * Calls Oblog's {@link Logger#updateEntries()} on a background thread, 10 times a second, so that
+ * reflecting over every {@code @Log} member never lands on the main loop, all at once or otherwise.
+ *
+ * <p>{@code @Log} members are called on this thread, so like {@link SnapshotLogger}'s sources they
+ * should return cached values, which may be up to a loop old when they're published. Reads made
+ * here count as logging to {@link StatusFrameComponent}. {@code @Config} setters would also be
+ * called on this thread, so any that are added must only write values that the main thread can
+ * safely see change at any time.
+ */
+public class OblogUpdater {
+  /** The time between updates, in milliseconds. */
+  public static final long PERIOD_MILLIS = 100;
+
+  /** Reports exceptions thrown while updating, which would otherwise stop the thread. */
+  private static final EventLog.Site FAILURE_LOG =
+      EventLog.site(OblogUpdater.class, EventLog.Level.WARN);
+
+  /** Whether the thread has been started. */
+  private static boolean started;
+
+  /** Make constructor private so it can't be called */
+  private OblogUpdater() {}
+
+  /**
+   * Starts the updater thread. Should be called once, after {@link
+   * Logger#configureLoggingAndConfig(Object, boolean)}. Calling it again does nothing.
+   */
+  public static void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    final Thread updater = new Thread(OblogUpdater::updateLoop, "OblogUpdater");
+    updater.setDaemon(true);
+    updater.start();
+  }
+
+  /** Runs forever on the updater thread, updating Oblog's entries once per period. */
+  private static void updateLoop() {
+    StatusFrameComponent.beginLogging();
+    while (true) {
+      try {
+        Logger.updateEntries();
+      } catch (final RuntimeException e) {
+        FAILURE_LOG.log("Oblog update failed: {}", e);
+      }
+      try {
+        Thread.sleep(PERIOD_MILLIS);
+      } catch (final InterruptedException e) {
+        StatusFrameComponent.endLogging();
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package frc.team449.telemetry;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Publishes values to NetworkTables from a snapshot taken once per loop, on a background thread.
+ *
+ * <p>Unlike Oblog's {@code @Log}, which reflects over every annotated member each time it's updated
+ * (see {@link OblogUpdater}), each entry here is registered once with a source and a {@link Rate}.
+ * {@link #capture()} reads only the sources that are due this loop into an array and hands that to
+ * the publisher thread, so the main thread never waits on NetworkTables. If the publisher falls
+ * behind, snapshots are merged and only the newest value of each entry is published.
+ *
+ * <p>Sources are read on the main thread, right after the updater, so they should return cached
+ * values. Anything that has to do a CAN read should use a slower rate. Entries with the same rate
+ * are spread over different loops so that the work per loop stays about the same.
+ *
+ * <p>Entries must be added before {@link #start()} is called. Like {@link
+ * frc.team449.other.LoopProfiler}, {@link #capture()} is only meant to be called from the main
+ * robot thread.
+ */
+public class SnapshotLogger {
+
+  /** How often an entry is published. The loop counts assume the default 20 ms period. */
+  public enum Rate {
+    EVERY_LOOP(1),
+    TEN_HZ(5),
+    ONE_HZ(50);
+
+    /** The number of loops between captures. */
+    private final int periodLoops;
+
+    Rate(final int periodLoops) {
+      this.periodLoops = periodLoops;
+    }
+  }
+
+  /** The table entries are published to. */
+  private static final NetworkTable table = NetworkTableInstance.getDefault().getTable("Telemetry");
+  /** Guards the pending snapshot, which is shared with the publisher thread. */
+  private static final Object lock = new Object();
+
+  /** The source of each entry that's a double, indexed by entry ID. */
+  @NotNull private static DoubleSupplier[] doubleSources = new DoubleSupplier[0];
+  /** The source of each entry that's a boolean, indexed by entry ID. */
+  @NotNull private static BooleanSupplier[] booleanSources = new BooleanSupplier[0];
+  /** How many loops each entry waits between captures, indexed by entry ID. */
+  private static int[] periods = new int[0];
+  /** The entry each value is published to, indexed by entry ID. */
+  @NotNull private static NetworkTableEntry[] entries = new NetworkTableEntry[0];
+
+  /** The values captured this loop, indexed by entry ID. Main thread only. */
+  private static double[] captured = new double[0];
+  /** Whether each entry was captured this loop, indexed by entry ID. Main thread only. */
+  private static boolean[] capturedDue = new boolean[0];
+  /** The values waiting to be published, indexed by entry ID. Guarded by lock. */
+  private static double[] pending = new double[0];
+  /** Whether each entry is waiting to be published, indexed by entry ID. Guarded by lock. */
+  private static boolean[] pendingDue = new boolean[0];
+  /** Whether anything is waiting to be published. Guarded by lock. */
+  private static boolean hasPending;
+  /** The values being published, indexed by entry ID. Publisher thread only. */
+  private static double[] publishing = new double[0];
+  /** Whether each entry is being published, indexed by entry ID. Publisher thread only. */
+  private static boolean[] publishingDue = new boolean[0];
+
+  /** The number of loops captured so far. */
+  private static long loop;
+  /** Whether the publisher thread has been started. */
+  private static boolean started;
+
+  /** Make constructor private so it can't be called */
+  private SnapshotLogger() {}
+
+  /**
+   * Adds a number to be published.
+   *
+   * @param group The subtable to publish under, usually the name of whatever owns the value.
+   * @param key The name of the value.
+   * @param rate How often to publish it.
+   * @param source Where to get the value from. Called on the main thread.
+   * @throws IllegalStateException if the publisher has already been started.
+   */
+  public static void addDouble(
+      @NotNull final String group,
+      @NotNull final String key,
+      @NotNull final Rate rate,
+      @NotNull final DoubleSupplier source) {
+    final int id = add(group, key, rate);
+    doubleSources[id] = source;
+  }
+
+  /**
+   * Adds a boolean to be published.
+   *
+   * @param group The subtable to publish under, usually the name of whatever owns the value.
+   * @param key The name of the value.
+   * @param rate How often to publish it.
+   * @param source Where to get the value from. Called on the main thread.
+   * @throws IllegalStateException if the publisher has already been started.
+   */
+  public static void addBoolean(
+      @NotNull final String group,
+      @NotNull final String key,
+      @NotNull final Rate rate,
+      @NotNull final BooleanSupplier source) {
+    final int id = add(group, key, rate);
+    booleanSources[id] = source;
+  }
+
+  /**
+   * Grows the arrays to fit a new entry.
+   *
+   * @return The ID of the new entry.
+   */
+  private static int add(
+      @NotNull final String group, @NotNull final String key, @NotNull final Rate rate) {
+    if (started) {
+      throw new IllegalStateException("Can't add " + group + "/" + key + " after starting");
+    }
+    final int id = entries.length;
+    final int size = id + 1;
+    doubleSources = Arrays.copyOf(doubleSources, size);
+    booleanSources = Arrays.copyOf(booleanSources, size);
+    periods = Arrays.copyOf(periods, size);
+    entries = Arrays.copyOf(entries, size);
+    captured = new double[size];
+    capturedDue = new boolean[size];
+    pending = new double[size];
+    pendingDue = new boolean[size];
+    publishing = new double[size];
+    publishingDue = new boolean[size];
+
+    periods[id] = rate.periodLoops;
+    entries[id] = table.getSubTable(group).getEntry(key);
+    return id;
+  }
+
+  /** Starts the publisher thread. Does nothing if it's already been started. */
+  public static void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    final Thread publisher = new Thread(SnapshotLogger::publishLoop, "SnapshotLogger");
+    publisher.setDaemon(true);
+    publisher.start();
+  }
+
+  /**
+   * Reads every entry that's due this loop and hands the values to the publisher thread. Should be
+   * called once per loop, after the updater. Does nothing until {@link #start()} has been called.
+   */
+  public static void capture() {
+    if (!started) {
+      return;
+    }
+    loop++;
+    boolean any = false;
+    for (int i = 0; i < entries.length; i++) {
+      // Offset by the ID so entries with the same rate don't all land on the same loop
+      capturedDue[i] = (loop + i) % periods[i] == 0;
+      if (capturedDue[i]) {
+        any = true;
+        captured[i] =
+            doubleSources[i] != null
+                ? doubleSources[i].getAsDouble()
+                : (booleanSources[i].getAsBoolean() ? 1 : 0);
+      }
+    }
+    if (!any) {
+      return;
+    }
+
+    synchronized (lock) {
+      for (int i = 0; i < entries.length; i++) {
+        if (capturedDue[i]) {
+          pending[i] = captured[i];
+          pendingDue[i] = true;
+        }
+      }
+      hasPending = true;
+      lock.notifyAll();
+    }
+  }
+
+  /** Publishes snapshots as they come in, until the robot code exits. */
+  private static void publishLoop() {
+    while (true) {
+      synchronized (lock) {
+        while (!hasPending) {
+          try {
+            lock.wait();
+          } catch (final InterruptedException e) {
+            return;
+          }
+        }
+        System.arraycopy(pending, 0, publishing, 0, pending.length);
+        System.arraycopy(pendingDue, 0, publishingDue, 0, pendingDue.length);
+        Arrays.fill(pendingDue, false);
+        hasPending = false;
+      }
+
+      for (int i = 0; i < entries.length; i++) {
+        if (!publishingDue[i]) {
+          continue;
+        }
+        if (doubleSources[i] != null) {
+          entries[i].setDouble(publishing[i]);
+        } else {
+          entries[i].setBoolean(publishing[i] != 0);
+        }
+      }
+    }
+  }
+}
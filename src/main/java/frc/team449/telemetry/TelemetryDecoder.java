@@ -0,0 +1,108 @@
+package frc.team449.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Converts a file written by {@link TelemetryRecorder} to CSV, with the records in the order they
+ * were written. Only depends on the JDK, so it can be run on a laptop after pulling the file off
+ * the robot:
+ *
+ * <pre>java -cp robot.jar frc.team449.telemetry.TelemetryDecoder telemetry.bin [out.csv]</pre>
+ */
+public final class TelemetryDecoder {
+
+  /** Make constructor private so it can't be called */
+  private TelemetryDecoder() {}
+
+  /**
+   * Decodes a telemetry file.
+   *
+   * @param args The file to read, then optionally the CSV file to write. If no output file is
+   *     given, the CSV is written to standard out.
+   * @throws IOException if either file can't be read or written.
+   */
+  public static void main(@NotNull final String[] args) throws IOException {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("Usage: TelemetryDecoder <telemetry.bin> [out.csv]");
+      System.exit(1);
+    }
+    final ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(Path.of(args[0])));
+    try (final PrintWriter out =
+        args.length == 2
+            ? new PrintWriter(Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8))
+            : new PrintWriter(
+                new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))) {
+      decode(in, out);
+    }
+  }
+
+  /**
+   * Writes the contents of a telemetry file as CSV, with a header row of "seq,time_s," followed by
+   * the column names.
+   *
+   * @param in The contents of the file.
+   * @param out Where to write the CSV.
+   * @throws IllegalArgumentException if the file isn't a telemetry file this can read.
+   */
+  public static void decode(@NotNull final ByteBuffer in, @NotNull final PrintWriter out) {
+    if (in.remaining() < TelemetryFormat.FIXED_HEADER_BYTES
+        || in.getInt(0) != TelemetryFormat.MAGIC) {
+      throw new IllegalArgumentException("Not a telemetry file");
+    }
+    final int version = in.getInt(Integer.BYTES);
+    if (version != TelemetryFormat.VERSION) {
+      throw new IllegalArgumentException("Unsupported telemetry format version " + version);
+    }
+    final int headerBytes = in.getInt(2 * Integer.BYTES);
+    final int recordBytes = in.getInt(3 * Integer.BYTES);
+    final int capacity = in.getInt(4 * Integer.BYTES);
+    final int numColumns = in.getInt(5 * Integer.BYTES);
+    final int nameBytesLength = in.getInt(6 * Integer.BYTES);
+    if (recordBytes != TelemetryFormat.recordBytes(numColumns)
+        || (long) headerBytes + (long) recordBytes * capacity > in.limit()) {
+      throw new IllegalArgumentException("Telemetry file is truncated or corrupt");
+    }
+
+    final byte[] names = new byte[nameBytesLength];
+    in.position(TelemetryFormat.FIXED_HEADER_BYTES);
+    in.get(names);
+
+    // Find the slots that hold a finished record, then put them back in the order they were written
+    final List<Integer> starts = new ArrayList<>();
+    for (int slot = 0; slot < capacity; slot++) {
+      final int start = headerBytes + slot * recordBytes;
+      if (in.getLong(start) != 0) {
+        starts.add(start);
+      }
+    }
+    starts.sort(Comparator.comparingLong(in::getLong));
+
+    out.print("seq,time_s");
+    if (numColumns > 0) {
+      out.print(',');
+      out.print(new String(names, StandardCharsets.UTF_8));
+    }
+    out.println();
+    final StringBuilder row = new StringBuilder();
+    for (final int start : starts) {
+      row.setLength(0);
+      row.append(in.getLong(start)).append(',').append(in.getLong(start + Long.BYTES) / 1e6);
+      for (int i = 0; i < numColumns; i++) {
+        row.append(',')
+            .append(in.getDouble(start + TelemetryFormat.RECORD_PREFIX_BYTES + i * Double.BYTES));
+      }
+      out.println(row);
+    }
+  }
+}
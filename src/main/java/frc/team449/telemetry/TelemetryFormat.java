@@ -0,0 +1,54 @@
+package frc.team449.telemetry;
+
+/**
+ * The layout of the files written by {@link TelemetryRecorder} and read by {@link
+ * TelemetryDecoder}.
+ *
+ * <p>A file is a header followed by a fixed number of fixed-size record slots that are reused as a
+ * ring. The header is:
+ *
+ * <ol>
+ *   <li>int magic number
+ *   <li>int format version
+ *   <li>int header size in bytes, including padding
+ *   <li>int record size in bytes
+ *   <li>int number of record slots
+ *   <li>int number of columns
+ *   <li>int length of the column names in bytes, then the names as UTF-8, separated by commas
+ * </ol>
+ *
+ * <p>Each record is a long sequence number (starting at 1, or 0 if the slot is empty or being
+ * written), a long timestamp in microseconds since recording started, and a double per column.
+ * Everything is big-endian.
+ */
+final class TelemetryFormat {
+  /** "T449" in ASCII. */
+  static final int MAGIC = 0x54343439;
+  /** The current format version. */
+  static final int VERSION = 1;
+  /** The size of the fixed part of the header, before the column names. */
+  static final int FIXED_HEADER_BYTES = 7 * Integer.BYTES;
+  /** The size of the sequence number and timestamp at the start of each record. */
+  static final int RECORD_PREFIX_BYTES = 2 * Long.BYTES;
+
+  /** Make constructor private so it can't be called */
+  private TelemetryFormat() {}
+
+  /**
+   * Rounds a header size up so records start on an 8-byte boundary.
+   *
+   * @param bytes The unpadded header size.
+   * @return The padded header size.
+   */
+  static int padHeader(final int bytes) {
+    return (bytes + 7) & ~7;
+  }
+
+  /**
+   * @param numColumns The number of columns in each record.
+   * @return The size of a record, in bytes.
+   */
+  static int recordBytes(final int numColumns) {
+    return RECORD_PREFIX_BYTES + numColumns * Double.BYTES;
+  }
+}
@@ -0,0 +1,288 @@
+package frc.team449.telemetry;
+
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.team449.components.StatusFrameComponent;
+import frc.team449.generalInterfaces.MotorContainer;
+import frc.team449.generalInterfaces.SmartMotor;
+import frc.team449.generalInterfaces.updatable.Updatable;
+import frc.team449.jacksonWrappers.MappedAHRS;
+import frc.team449.jacksonWrappers.PDP;
+import frc.team449.other.Clock;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Records a fixed set of values every loop to a memory-mapped binary file, for reading after a
+ * match with {@link TelemetryDecoder}.
+ *
+ * <p>Each call to {@link TelemetryRecorder#update()} writes one record with the PDP and AHRS
+ * caches and the position, velocity, current, voltage, and setpoint of every motor registered with
+ * {@link MotorContainer}. Records go into a ring of fixed-size slots, so the file never grows and
+ * the oldest records are overwritten once it's full. Writing a record is just a few stores into
+ * mapped memory, so nothing is allocated and the loop never waits on the disk; a background thread
+ * periodically forces the mapped pages to disk so little is lost if power is cut.
+ *
+ * <p>Nothing is opened until {@link #startAll()} is called from {@code robotInit}, so building a
+ * map, e.g. to check that it deserializes, doesn't create a file or start a thread. Since this
+ * reads other updatables' caches, it should be updated after them.
+ */
+public class TelemetryRecorder implements Updatable {
+  /** Warns when the file can't be opened. */
+  private static final EventLog.Site FILE_LOG =
+      EventLog.site(TelemetryRecorder.class, EventLog.Level.WARN);
+
+  /** How often to force the file to disk, in milliseconds. */
+  private static final long FLUSH_PERIOD_MILLIS = 1000;
+  /** Every recorder that's been created. */
+  @NotNull private static final List<TelemetryRecorder> recorders = new ArrayList<>();
+  /** The columns recorded for each motor, in order. */
+  private static final List<String> MOTOR_FIELDS =
+      List.of("position", "velocity", "current", "voltage", "setpoint");
+
+  /** The PDP to record, or null to not record one. */
+  @Nullable private final PDP pdp;
+  /** The AHRS to record, or null to not record one. */
+  @Nullable private final MappedAHRS ahrs;
+  /** The motors to record, in column order. */
+  @NotNull private final SmartMotor[] motors;
+  /** The number of record slots in the file. */
+  private final int capacity;
+  /** The size of each record, in bytes. */
+  private final int recordBytes;
+  /** The size of the header, in bytes. */
+  private final int headerBytes;
+  /** The file to record to. */
+  @NotNull private final Path file;
+  /** The name of every column, in order. */
+  @NotNull private final List<String> columns;
+  /** The mapped file, or null if it hasn't been opened or couldn't be. */
+  @Nullable private MappedByteBuffer buffer;
+  /** The {@link Clock} time when recording started, in nanoseconds. */
+  private long startNanos;
+  /** The sequence number of the last record written. */
+  private long sequence;
+
+  /**
+   * Default constructor. Only works out the layout of the file, which is opened by {@link
+   * #startAll()}.
+   *
+   * @param file The file to record to. It's created if it doesn't exist and overwritten if it does.
+   * @param capacity The number of records to keep. At 50 Hz, 30000 is 10 minutes.
+   * @param pdp The PDP to record, or null to not record one.
+   * @param ahrs The AHRS to record, or null to not record one.
+   */
+  public TelemetryRecorder(
+      @NotNull final Path file,
+      final int capacity,
+      @Nullable final PDP pdp,
+      @Nullable final MappedAHRS ahrs) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.pdp = pdp;
+    this.ahrs = ahrs;
+    this.capacity = capacity;
+    this.file = file;
+    this.motors = MotorContainer.getMotors().toArray(new SmartMotor[0]);
+
+    final List<String> columns = new ArrayList<>();
+    if (pdp != null) {
+      columns.addAll(List.of("pdp.voltage", "pdp.totalCurrent", "pdp.temperature"));
+    }
+    if (ahrs != null) {
+      columns.addAll(
+          List.of(
+              "ahrs.heading",
+              "ahrs.angularDisplacement",
+              "ahrs.angularVelocity",
+              "ahrs.xAccel",
+              "ahrs.yAccel",
+              "ahrs.pitch"));
+    }
+    for (final SmartMotor motor : this.motors) {
+      final String name = motor.configureLogName() + "_" + motor.getPort();
+      for (final String field : MOTOR_FIELDS) {
+        columns.add(name + "." + field);
+      }
+    }
+
+    this.columns = columns;
+    this.headerBytes =
+        TelemetryFormat.padHeader(TelemetryFormat.FIXED_HEADER_BYTES + this.namesBytes().length);
+    this.recordBytes = TelemetryFormat.recordBytes(columns.size());
+    synchronized (recorders) {
+      recorders.add(this);
+    }
+  }
+
+  /**
+   * Opens every recorder's file and starts its flusher thread. Should be called once, from {@code
+   * robotInit}, before the updater first runs. If a file can't be opened, a warning is printed and
+   * that recorder records nothing.
+   */
+  public static void startAll() {
+    synchronized (recorders) {
+      for (final TelemetryRecorder recorder : recorders) {
+        recorder.start();
+      }
+    }
+  }
+
+  /** Opens the file, writes the header, and starts the flusher thread, unless it's already open. */
+  private void start() {
+    if (this.buffer != null) {
+      return;
+    }
+    final byte[] names = this.namesBytes();
+    final MappedByteBuffer buffer =
+        this.map(this.file, (long) this.headerBytes + (long) this.recordBytes * this.capacity);
+    if (buffer == null) {
+      return;
+    }
+    buffer
+        .putInt(TelemetryFormat.MAGIC)
+        .putInt(TelemetryFormat.VERSION)
+        .putInt(this.headerBytes)
+        .putInt(this.recordBytes)
+        .putInt(this.capacity)
+        .putInt(this.columns.size())
+        .putInt(names.length)
+        .put(names);
+    this.startNanos = Clock.currentTimeNanos();
+    this.buffer = buffer;
+
+    final Thread flusher = new Thread(this::flushLoop, "TelemetryFlusher");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /** @return The column names as written in the header. */
+  @NotNull
+  private byte[] namesBytes() {
+    return String.join(",", this.columns).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return A new file in the robot's log directory, or in the temp directory when simulating,
+   *     named with the current time.
+   */
+  @NotNull
+  public static Path defaultFile() {
+    final Path dir =
+        RobotBase.isReal()
+            ? Path.of("/home/lvuser/logs")
+            : Path.of(System.getProperty("java.io.tmpdir"));
+    return dir.resolve(
+        "telemetry-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".bin");
+  }
+
+  /**
+   * Creates and maps the file.
+   *
+   * @param file The file to map.
+   * @param size The size of the file, in bytes.
+   * @return The mapped file, or null if it couldn't be opened.
+   */
+  @Nullable
+  private MappedByteBuffer map(@NotNull final Path file, final long size) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      try (final FileChannel channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE)) {
+        // The mapping stays valid after the channel is closed
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      }
+    } catch (final IOException e) {
+      FILE_LOG.log("Couldn't open {}, not recording telemetry: {}", file, e);
+      return null;
+    }
+  }
+
+  /** Forces the mapped file to disk every FLUSH_PERIOD_MILLIS until the robot code exits. */
+  private void flushLoop() {
+    final MappedByteBuffer buffer = this.buffer;
+    assert buffer != null;
+    while (true) {
+      try {
+        Thread.sleep(FLUSH_PERIOD_MILLIS);
+      } catch (final InterruptedException e) {
+        return;
+      }
+      buffer.force();
+    }
+  }
+
+  /** Writes one record with the current cached values. */
+  @Override
+  public void update() {
+    final MappedByteBuffer buffer = this.buffer;
+    if (buffer == null) {
+      return;
+    }
+    this.sequence++;
+    final int slot = (int) ((this.sequence - 1) % this.capacity);
+    final int start = this.headerBytes + slot * this.recordBytes;
+    // Mark the slot as empty while it's being written, so a torn record is never read back
+    buffer.putLong(start, 0);
+    buffer.putLong(start + Long.BYTES, (Clock.currentTimeNanos() - this.startNanos) / 1000);
+    int i = start + TelemetryFormat.RECORD_PREFIX_BYTES;
+
+    if (this.pdp != null) {
+      i = put(buffer, i, this.pdp.getVoltage());
+      i = put(buffer, i, this.pdp.getTotalCurrent());
+      i = put(buffer, i, this.pdp.getTemperature());
+    }
+    if (this.ahrs != null) {
+      i = put(buffer, i, this.ahrs.getCachedHeading());
+      i = put(buffer, i, this.ahrs.getCachedAngularDisplacement());
+      i = put(buffer, i, this.ahrs.getCachedAngularVelocity());
+      i = put(buffer, i, this.ahrs.getCachedXAccel());
+      i = put(buffer, i, this.ahrs.getCachedYAccel());
+      i = put(buffer, i, this.ahrs.getCachedPitch());
+    }
+    // Recording is logging, so it mustn't keep the motors' status frames fast
+    StatusFrameComponent.beginLogging();
+    for (final SmartMotor motor : this.motors) {
+      i = put(buffer, i, motor.getPositionCached());
+      i = put(buffer, i, motor.getVelocityCached());
+      i = put(buffer, i, motor.getOutputCurrentCached());
+      i = put(buffer, i, motor.getOutputVoltageCached());
+      i = put(buffer, i, motor.getSetpoint());
+    }
+    StatusFrameComponent.endLogging();
+
+    buffer.putLong(start, this.sequence);
+  }
+
+  /**
+   * Writes a value into a record.
+   *
+   * @param buffer The mapped file.
+   * @param index The index to write at.
+   * @param value The value to write.
+   * @return The index of the next value.
+   */
+  private static int put(
+      @NotNull final MappedByteBuffer buffer, final int index, final double value) {
+    buffer.putDouble(index, value);
+    return index + Double.BYTES;
+  }
+}
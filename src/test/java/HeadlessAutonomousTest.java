@@ -0,0 +1,55 @@
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.team449.Robot;
+import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
+import frc.team449.javaMaps.FullMap;
+import frc.team449.other.HeadlessSimulation;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs the full map's autonomous routine to the end in virtual time. Has to be in its own JVM,
+ * since a map can only be built once per JVM.
+ */
+public final class HeadlessAutonomousTest {
+  @org.junit.Before
+  public void before() {
+    Robot.notifyTesting();
+  }
+
+  @Test
+  public void autonomousEndsBehindTheStart() {
+    final HeadlessSimulation simulation = new HeadlessSimulation(FullMap::createRobotMap, 0.02);
+    final DriveUnidirectionalWithGyro drive =
+        simulation.getRobot().getRobotMap().getSubsystems().stream()
+            .filter(DriveUnidirectionalWithGyro.class::isInstance)
+            .map(DriveUnidirectionalWithGyro.class::cast)
+            .findFirst()
+            .orElseThrow();
+    final Iterator<Command> autoStartupCommands =
+        simulation.getRobot().getRobotMap().getAutoStartupCommands();
+    Assert.assertNotNull("The map has no autonomous routine", autoStartupCommands);
+    final List<Command> autoCommands = new ArrayList<>();
+    autoStartupCommands.forEachRemaining(autoCommands::add);
+    Assert.assertFalse("The map has no autonomous routine", autoCommands.isEmpty());
+
+    simulation.runFor(0.5);
+    simulation.startAutonomous();
+    // The routine backs up for 5 seconds, works the intake and elevator, then drives forward for 2
+    final boolean finished =
+        simulation.runUntil(() -> autoCommands.stream().noneMatch(Command::isScheduled), 30);
+    Assert.assertTrue("Autonomous didn't finish", finished);
+    // Let the drive come to a stop
+    simulation.runFor(1);
+
+    final Pose2d pose = drive.getCurrentPose();
+    Assert.assertTrue("Didn't end up behind the start: " + pose, pose.getX() < -1);
+    Assert.assertEquals("Drifted sideways: " + pose, 0, pose.getY(), 0.5);
+    Assert.assertEquals("Turned: " + pose, 0, pose.getRotation().getDegrees(), 5);
+    Assert.assertEquals(0, drive.getLeftVelCached(), 0.1);
+    Assert.assertEquals(0, drive.getRightVelCached(), 0.1);
+  }
+}
@@ -0,0 +1,50 @@
+import frc.team449.Robot;
+import frc.team449.drive.unidirectional.DriveUnidirectionalWithGyro;
+import frc.team449.javaMaps.Bunnybot2021Map;
+import frc.team449.other.HeadlessSimulation;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Drives the Bunnybot 2021 map with scripted sticks. Has to be in its own JVM, since a map can only
+ * be built once per JVM.
+ */
+public final class HeadlessSimulationTest {
+  @org.junit.Before
+  public void before() {
+    Robot.notifyTesting();
+  }
+
+  @Test
+  public void scriptedTeleopDrivesTheRobot() {
+    final HeadlessSimulation simulation =
+        new HeadlessSimulation(Bunnybot2021Map::createRobotMap, 0.02);
+    final DriveUnidirectionalWithGyro drive =
+        simulation.getRobot().getRobotMap().getSubsystems().stream()
+            .filter(DriveUnidirectionalWithGyro.class::isInstance)
+            .map(DriveUnidirectionalWithGyro.class::cast)
+            .findFirst()
+            .orElseThrow();
+
+    simulation.startTeleop();
+    simulation.runFor(0.5);
+    Assert.assertEquals(0, drive.getLeftVelCached(), 0.01);
+    Assert.assertEquals(0, drive.getRightVelCached(), 0.01);
+
+    // Push the forward stick for two seconds, then let go
+    simulation.at(1, () -> simulation.setAxis(Bunnybot2021Map.DRIVE_JOYSTICK_PORT, 3, 0.8));
+    simulation.at(3, () -> simulation.setAxis(Bunnybot2021Map.DRIVE_JOYSTICK_PORT, 3, 0));
+    simulation.runFor(2.5);
+
+    final double left = drive.getLeftVelCached(), right = drive.getRightVelCached();
+    Assert.assertTrue("Left side didn't move: " + left, Math.abs(left) > 0.5);
+    Assert.assertTrue("Right side didn't move: " + right, Math.abs(right) > 0.5);
+    Assert.assertEquals("Sides went different ways", Math.signum(left), Math.signum(right), 0);
+    final double distance = drive.getLeftPosCached();
+    Assert.assertTrue("Didn't go far: " + distance, Math.abs(distance) > 1);
+
+    simulation.runFor(2);
+    Assert.assertEquals(0, drive.getLeftVelCached(), 0.1);
+    Assert.assertEquals(0, drive.getRightVelCached(), 0.1);
+  }
+}
@@ -0,0 +1,154 @@
+import frc.team449.components.MapInterpolationComponent;
+import frc.team449.components.MapInterpolationComponent.InterpolationMethod;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the array-backed interpolation against the formulas the TreeMap version used, including
+ * outside the table, where the missing bound is the point (0, 0).
+ */
+public final class MapInterpolationComponentTest {
+  /** Measured values, deliberately unevenly spaced and given out of order. */
+  private static final List<Map.Entry<Double, Double>> ENTRIES =
+      List.of(
+          new AbstractMap.SimpleEntry<>(3., 40.),
+          new AbstractMap.SimpleEntry<>(1., 20.),
+          new AbstractMap.SimpleEntry<>(2., 26.),
+          new AbstractMap.SimpleEntry<>(4.5, 52.),
+          new AbstractMap.SimpleEntry<>(6., 55.),
+          new AbstractMap.SimpleEntry<>(7., 61.));
+
+  /** The table as a TreeMap, the way the old version kept it. */
+  private static final TreeMap<Double, Double> LUT = new TreeMap<>();
+
+  static {
+    for (final Map.Entry<Double, Double> entry : ENTRIES) {
+      LUT.put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** @return Inputs below, inside, on and above the table, in a random order. */
+  private static List<Double> inputs() {
+    final List<Double> inputs = new ArrayList<>();
+    for (double x = -1; x <= 9; x += 0.05) {
+      inputs.add(x);
+    }
+    inputs.addAll(LUT.keySet());
+    Collections.shuffle(inputs, new Random(449));
+    return inputs;
+  }
+
+  /**
+   * The bounds the old version interpolated between.
+   *
+   * @return The entry at or below x and the entry at or above it, or (0, 0) if there isn't one.
+   */
+  private static List<Map.Entry<Double, Double>> bounds(final double x) {
+    final Map.Entry<Double, Double> zero = new AbstractMap.SimpleEntry<>(0., 0.);
+    return List.of(
+        LUT.floorEntry(x) != null ? LUT.floorEntry(x) : zero,
+        LUT.ceilingEntry(x) != null ? LUT.ceilingEntry(x) : zero);
+  }
+
+  /** The old linear and cosine interpolation. */
+  private static double expectedLinear(final double x, final boolean cosine) {
+    if (LUT.containsKey(x)) {
+      return LUT.get(x);
+    }
+    final Map.Entry<Double, Double> lower = bounds(x).get(0), upper = bounds(x).get(1);
+    double ratio = (x - lower.getKey()) / (upper.getKey() - lower.getKey());
+    if (cosine) {
+      ratio = (1 - Math.cos(ratio * Math.PI)) / 2;
+    }
+    return lower.getValue() * (1 - ratio) + upper.getValue() * ratio;
+  }
+
+  /**
+   * The old cubic interpolation, or Catmull-Rom in the same place, and linear on the end segments
+   * and outside the table. Above the table, the old version took the neighbors of the (0, 0) bound
+   * from the start of the table instead of falling back to linear like its comment said.
+   */
+  private static double expectedCubic(final double x, final boolean catmullRom) {
+    if (LUT.containsKey(x)) {
+      return LUT.get(x);
+    }
+    final Map.Entry<Double, Double> lower = bounds(x).get(0), upper = bounds(x).get(1);
+    final Map.Entry<Double, Double> highUpper = LUT.higherEntry(upper.getKey());
+    final Map.Entry<Double, Double> lowLower = LUT.lowerEntry(lower.getKey());
+    if (x < LUT.firstKey() || x > LUT.lastKey() || highUpper == null || lowLower == null) {
+      return expectedLinear(x, false);
+    }
+    final double t = (x - lower.getKey()) / (upper.getKey() - lower.getKey());
+    final double y0 = lowLower.getValue(), y1 = lower.getValue();
+    final double y2 = upper.getValue(), y3 = highUpper.getValue();
+    if (catmullRom) {
+      return 0.5
+          * (2 * y1
+              + (-y0 + y2) * t
+              + (2 * y0 - 5 * y1 + 4 * y2 - y3) * t * t
+              + (-y0 + 3 * y1 - 3 * y2 + y3) * t * t * t);
+    }
+    final double c1 = y3 + y1 - y2 - y0;
+    final double c2 = y0 - y1 - c1;
+    final double c3 = y2 - y0;
+    return c1 * Math.pow(t, 3) + c2 * Math.pow(t, 2) + c3 * t + y1;
+  }
+
+  private static void assertMatches(final InterpolationMethod method) {
+    final MapInterpolationComponent component = new MapInterpolationComponent(method, ENTRIES);
+    for (final double x : inputs()) {
+      final double expected;
+      switch (method) {
+        case LINEAR:
+          expected = expectedLinear(x, false);
+          break;
+        case COSINE:
+          expected = expectedLinear(x, true);
+          break;
+        case CUBIC:
+          expected = expectedCubic(x, false);
+          break;
+        default:
+          expected = expectedCubic(x, true);
+      }
+      Assert.assertEquals(method + " at " + x, expected, component.calculate(x), 1e-9);
+    }
+  }
+
+  @Test
+  public void linearMatches() {
+    assertMatches(InterpolationMethod.LINEAR);
+  }
+
+  @Test
+  public void cosineMatches() {
+    assertMatches(InterpolationMethod.COSINE);
+  }
+
+  @Test
+  public void cubicMatches() {
+    assertMatches(InterpolationMethod.CUBIC);
+  }
+
+  @Test
+  public void catmullRomMatches() {
+    assertMatches(InterpolationMethod.CATMULL_ROM);
+  }
+
+  @Test
+  public void outsideTheTableUsesZero() {
+    final MapInterpolationComponent component =
+        new MapInterpolationComponent(InterpolationMethod.LINEAR, ENTRIES);
+    // Halfway between (0, 0) and (1, 20)
+    Assert.assertEquals(10, component.calculate(0.5), 1e-9);
+    // Above the table, the line from (7, 61) towards (0, 0) is extrapolated
+    Assert.assertEquals(61 * 1.25, component.calculate(8.75), 1e-9);
+  }
+}
@@ -0,0 +1,76 @@
+import frc.team449.generalInterfaces.doubleUnaryOperator.Polynomial;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Checks the compiled polynomial against evaluating each term of the map with Math.pow. */
+public final class PolynomialTest {
+  /** Inputs to check, including 0, both signs and values outside [-1, 1]. */
+  private static final double[] INPUTS = {
+    -3, -1, -0.75, -0.5, -0.1, -1e-3, 0, 1e-3, 0.1, 0.33, 0.5, 0.9, 1, 1.5, 3
+  };
+
+  /**
+   * Evaluates a polynomial the way it used to be, one Math.pow per term.
+   *
+   * @param terms The powers and coefficients of each term.
+   * @param x The input.
+   * @return The value at |x|, changed to the sign of x.
+   */
+  private static double evaluate(final Map<Double, Double> terms, final double x) {
+    final double abs = Math.abs(x);
+    double toRet = 0;
+    for (final Map.Entry<Double, Double> term : terms.entrySet()) {
+      toRet += Math.pow(abs, term.getKey()) * term.getValue();
+    }
+    return toRet * Math.signum(x);
+  }
+
+  private static void assertMatches(final Map<Double, Double> terms) {
+    final Polynomial polynomial = new Polynomial(terms, null);
+    for (final double x : INPUTS) {
+      final double expected = evaluate(terms, x);
+      final double tolerance = 1e-12 * Math.max(1, Math.abs(expected));
+      Assert.assertEquals("x = " + x, expected, polynomial.applyAsDouble(x), tolerance);
+    }
+  }
+
+  @Test
+  public void integerPowersMatch() {
+    assertMatches(Map.of(0., 0.1, 1., 0.5, 2., -0.3, 3., 0.7));
+  }
+
+  @Test
+  public void fractionalAndNegativePowersMatch() {
+    assertMatches(Map.of(0.5, 0.4, 1., 0.2, 2.5, 0.4));
+    assertMatches(Map.of(-1., 0.25, 2., 1.));
+  }
+
+  @Test
+  public void highPowersMatch() {
+    assertMatches(Map.of(1., 0.5, 32., 0.25, 40., 0.25));
+  }
+
+  @Test
+  public void scalingMatches() {
+    final Map<Double, Double> terms = Map.of(1., 1., 3., 3.);
+    final Polynomial polynomial = new Polynomial(terms, 1.);
+    for (final double x : INPUTS) {
+      Assert.assertEquals(evaluate(terms, x) / 4, polynomial.applyAsDouble(x), 1e-12);
+    }
+  }
+
+  @Test
+  public void lookupTableIsClose() {
+    final Map<Double, Double> terms = Map.of(1., 0.5, 3., 0.5);
+    final Polynomial polynomial = new Polynomial(terms, null, 256);
+    for (final double x : INPUTS) {
+      Assert.assertEquals("x = " + x, evaluate(terms, x), polynomial.applyAsDouble(x), 1e-4);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void lookupTableRejectsNegativePowers() {
+    new Polynomial(Map.of(-1., 1.), null, 256);
+  }
+}